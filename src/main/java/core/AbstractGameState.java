@@ -287,6 +287,19 @@ public abstract class AbstractGameState {
         return copy(-1);
     }
 
+    /**
+     * A full copy of the game state for observers that process it later, or on another thread (see
+     * {@link evaluation.listeners.AsyncGameListener}). Unlike copy() this also retains the game ID, as
+     * listeners use this to index the data they record.
+     *
+     * @return - full copy of this game state, with the same game ID
+     */
+    public final AbstractGameState snapshot() {
+        AbstractGameState s = copy(-1);
+        s.gameID = gameID;
+        return s;
+    }
+
     /**
      * Copies the current game state, including super class methods, given player ID.
      * Reduces state variables to only those that the player observes.
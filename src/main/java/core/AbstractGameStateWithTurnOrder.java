@@ -17,6 +17,9 @@ import evaluation.listeners.IGameListener;
 public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
 
     protected TurnOrder turnOrder;
+    // Position in the rules for games using an AbstractRuleBasedForwardModel: indices of the rule to be executed
+    // next and the rule executed last in its compiled RuleProgram (-1 for none)
+    private int nextRule, lastRule;
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -39,6 +42,8 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected void reset() {
         super.reset();
         turnOrder.reset();
+        nextRule = 0;
+        lastRule = -1;
     }
 
     public final TurnOrder getTurnOrder() {
@@ -62,6 +67,16 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     public final void setTurnOrder(TurnOrder turnOrder) {
         this.turnOrder = turnOrder;
     }
+    public final int getNextRule() {
+        return nextRule;
+    }
+    public final int getLastRule() {
+        return lastRule;
+    }
+    public final void setRuleCursor(int nextRule, int lastRule) {
+        this.nextRule = nextRule;
+        this.lastRule = lastRule;
+    }
 
 
     public void addListener(IGameListener listener) {
@@ -81,6 +96,8 @@ public abstract class AbstractGameStateWithTurnOrder extends AbstractGameState {
     protected  AbstractGameStateWithTurnOrder _copy(int playerId) {
         AbstractGameStateWithTurnOrder retValue = __copy(playerId);
         retValue.turnOrder = turnOrder.copy();
+        retValue.nextRule = nextRule;
+        retValue.lastRule = lastRule;
         return retValue;
     }
 
@@ -9,7 +9,6 @@ import evaluation.listeners.IGameListener;
 import evaluation.metrics.Event;
 import evaluation.summarisers.TAGNumericStatSummary;
 import games.GameType;
-import games.pandemic.PandemicForwardModel;
 import gui.AbstractGUIManager;
 import gui.GUI;
 import gui.GamePanel;
@@ -35,7 +34,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 
-public class Game {
+public class Game implements Cloneable {
 
     private static final AtomicInteger idFountain = new AtomicInteger(0);
     // Type of game
@@ -69,6 +68,11 @@ public class Game {
     String codecName = null;
     int snapsPerSecond = 10;
     private int turnPause;
+    // Copy of the game state published for the GUI after each action (see setRenderSnapshots)
+    private boolean renderSnapshots = false;
+    private volatile AbstractGameState renderSnapshot;
+    // The snapshot last drawn by updateGUI, so that the GUI is only redrawn when there is a new one
+    private AbstractGameState lastRendered;
 
     /**
      * Game constructor. Receives a list of players, a forward model and a game state. Sets unique and final
@@ -160,6 +164,7 @@ public class Game {
                 game.areaBounds = new Rectangle(0, 0, frame.getWidth(), frame.getHeight());
             }
 
+            game.setRenderSnapshots(true);
             Timer guiUpdater = new Timer((int) game.getCoreParameters().frameSleepMS, event -> game.updateGUI(gui, frame));
             guiUpdater.start();
 
@@ -180,20 +185,44 @@ public class Game {
         this.turnPause = turnPause;
     }
 
+    /**
+     * If set, a copy of the game state is published after reset, after every action and at the end of the game,
+     * for a GUI to render from. The game loop never touches a published copy again, so the GUI can read it on its
+     * own thread without locking, and without seeing an action half applied.
+     */
+    public void setRenderSnapshots(boolean renderSnapshots) {
+        this.renderSnapshots = renderSnapshots;
+        renderSnapshot = null;
+        publishRenderSnapshot();
+    }
+
+    private void publishRenderSnapshot() {
+        if (renderSnapshots)
+            renderSnapshot = gameState.copy();
+    }
+
+    /**
+     * @return the latest copy of the game state published for rendering. This must be treated as read-only.
+     * If render snapshots are not enabled, this is the live game state.
+     */
+    public AbstractGameState getRenderSnapshot() {
+        AbstractGameState snapshot = renderSnapshot;
+        return snapshot == null ? gameState : snapshot;
+    }
+
     /**
      * Performs GUI update.
      *
      * @param gui - gui to update.
      */
     public void updateGUI(AbstractGUIManager gui, JFrame frame) {
-        // synchronise on game to avoid updating GUI in middle of action being taken
-        AbstractGameState gameState = getGameState();
-        int currentPlayer = gameState.getCurrentPlayer();
-        AbstractPlayer player = getPlayers().get(currentPlayer);
-        if (gui != null) {
-            gui.update(player, gameState, isHumanToMove());
-            frame.repaint();
-        }
+        AbstractGameState gameState = getRenderSnapshot();
+        if (gui == null || (gameState == lastRendered && gameState != this.gameState))
+            return;
+        lastRendered = gameState;
+        AbstractPlayer player = getPlayers().get(gameState.getCurrentPlayer());
+        gui.update(player, gameState, player instanceof HumanGUIPlayer);
+        frame.repaint();
     }
 
     public final void reset(List<AbstractPlayer> players) {
@@ -214,10 +243,7 @@ public class Game {
 
         // set forward models for all players
         for (AbstractPlayer player : players) {
-            if (forwardModel instanceof PandemicForwardModel pfm)
-                player.setForwardModel(pfm.copy());
-            else
-                player.setForwardModel(this.forwardModel);
+            player.setForwardModel(this.forwardModel);
         }
 
         if (players.size() == gameState.getNPlayers()) {
@@ -249,6 +275,7 @@ public class Game {
         int gameID = idFountain.incrementAndGet();
         gameState.setGameID(gameID);
         resetStats();
+        publishRenderSnapshot();
     }
 
     /**
@@ -489,6 +516,7 @@ public class Game {
         // (such as the next player)
         AbstractAction finalAction1 = action;
         listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.ACTION_TAKEN, gameState, finalAction1.copy(), activePlayer)));
+        publishRenderSnapshot();
 
         if (debug) System.out.printf("Finishing oneAction for player %s%n", activePlayer);
         return action;
@@ -496,8 +524,10 @@ public class Game {
 
     /**
      * Called at the end of game loop execution, when the game is over.
+     * This is public so that it can also be called when the actions have been applied outside run(), for example
+     * by the ReplayEngine.
      */
-    private void terminate() {
+    public void terminate() {
         // Print last state
         if (gameState instanceof IPrintable && gameState.coreGameParameters.verbose) {
             ((IPrintable) gameState).printToConsole();
@@ -506,6 +536,7 @@ public class Game {
         // Perform any end of game computations as required by the game
         forwardModel.endGame(gameState);
         listeners.forEach(l -> l.onEvent(Event.createEvent(Event.GameEvent.GAME_OVER, gameState)));
+        publishRenderSnapshot();
         if (gameState.coreGameParameters.recordEventHistory) {
             gameState.recordHistory(Event.GameEvent.GAME_OVER.name());
             for (int i = 0; i < gameState.getNPlayers(); i++) {
@@ -540,6 +571,30 @@ public class Game {
         return forwardModel;
     }
 
+    /**
+     * A detached copy of this game, holding its statistics (timers, action space sizes, decision counts) as they
+     * are now, and the state provided. This is for listeners that process an event after the game has moved on
+     * (see AsyncGameListener). It shares the players and forward model, has no listeners, and is not to be run.
+     *
+     * @param state - the state to hold, normally a snapshot taken at the same time
+     */
+    public Game snapshot(AbstractGameState state) {
+        try {
+            Game copy = (Game) super.clone();
+            copy.gameState = state;
+            copy.players = new ArrayList<>(players);
+            copy.actionSpaceSize = actionSpaceSize == null ? null : new ArrayList<>(actionSpaceSize);
+            copy.listeners = new ArrayList<>();
+            copy.frame = null;
+            copy.renderSnapshots = false;
+            copy.renderSnapshot = null;
+            copy.lastRendered = null;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Game is Cloneable", e);
+        }
+    }
+
     /**
      * Retrieves agent timer value, i.e. how long the AI players took to make decisions in this game.
      *
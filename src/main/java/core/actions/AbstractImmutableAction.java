@@ -0,0 +1,46 @@
+package core.actions;
+
+/**
+ * Opt-in base class for actions that are pure value objects. All fields must be final, and hold either primitives
+ * or other immutable values; execute() must never modify the action itself.
+ * <p>
+ * Under this contract copy() can safely return this, so the many defensive copies taken by the game loop and
+ * the search agents cost nothing. The hash code is also computed once and then cached, which makes these
+ * actions cheap to use as keys in the HashMaps used by MCTS and MAST.
+ * <p>
+ * Equal instances can additionally be shared through {@link ActionInterner}.
+ */
+public abstract class AbstractImmutableAction extends AbstractAction {
+
+    // 0 means 'not yet computed' (in the same way as String.hashCode()). The race on first computation is benign,
+    // as every thread will calculate the same value.
+    private int hash;
+
+    /**
+     * Immutable actions do not need to be copied.
+     *
+     * @return - this action
+     */
+    @Override
+    public AbstractImmutableAction copy() {
+        return this;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = computeHashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Calculates the hash code of this action. This is only called once per instance, with the result cached.
+     * It must be consistent with equals() in the usual way.
+     *
+     * @return - the hash code of this action
+     */
+    protected abstract int computeHashCode();
+}
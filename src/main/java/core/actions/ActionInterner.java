@@ -0,0 +1,69 @@
+package core.actions;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide cache of immutable actions, so that all equal actions share a single instance.
+ * <p>
+ * This is used by forward models with small, fixed action spaces (Chess, Dots and Boxes) when they compute the
+ * available actions. Only actions whose equality does not depend on anything specific to one game (such as the
+ * componentID of a board, which is new in every game) should be interned, or each game would add a fresh set of
+ * entries until the cache is full. Search agents then find the same instance in the action list, in their
+ * tree nodes and in MAST statistics; the cached hash code is calculated once, and most equals() checks
+ * succeed on the identity test.
+ * <p>
+ * The cache is bounded; once full, new actions are simply returned un-interned (which is always safe).
+ */
+public final class ActionInterner {
+
+    private static final int MAX_SIZE = 1 << 16;
+
+    private static final ConcurrentHashMap<AbstractImmutableAction, AbstractImmutableAction> cache = new ConcurrentHashMap<>();
+
+    private ActionInterner() {
+    }
+
+    /**
+     * Returns the canonical instance equal to the action provided.
+     *
+     * @param action - the action to intern
+     * @return - an action equal to the one provided; this will be the first such instance seen
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends AbstractImmutableAction> T intern(T action) {
+        AbstractImmutableAction existing = cache.get(action);
+        if (existing != null && existing.getClass() == action.getClass())
+            return (T) existing;
+        if (existing == null && cache.size() < MAX_SIZE) {
+            existing = cache.putIfAbsent(action, action);
+            if (existing == null)
+                return action;
+            if (existing.getClass() == action.getClass())
+                return (T) existing;
+        }
+        return action;
+    }
+
+    /**
+     * Interns all the immutable actions in the list, in place. Any other actions are left untouched.
+     *
+     * @param actions - the list of actions to intern
+     * @return - the same list
+     */
+    public static List<AbstractAction> internAll(List<AbstractAction> actions) {
+        for (int i = 0; i < actions.size(); i++) {
+            if (actions.get(i) instanceof AbstractImmutableAction immutable)
+                actions.set(i, intern(immutable));
+        }
+        return actions;
+    }
+
+    public static int size() {
+        return cache.size();
+    }
+
+    public static void clear() {
+        cache.clear();
+    }
+}
@@ -8,7 +8,7 @@ import core.components.GridBoard;
 
 import java.util.Objects;
 
-public class SetGridValueAction extends AbstractAction implements IPrintable {
+public class SetGridValueAction extends AbstractImmutableAction implements IPrintable {
 
     private final int gridBoard;
     private final int x;
@@ -34,11 +34,6 @@ public class SetGridValueAction extends AbstractAction implements IPrintable {
         return ((GridBoard)gs.getComponentById(gridBoard)).setElement(x, y, value);
     }
 
-    @Override
-    public SetGridValueAction copy() {
-        return this;
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -47,7 +42,7 @@ public class SetGridValueAction extends AbstractAction implements IPrintable {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(gridBoard, x, y, valueID);
     }
 
@@ -4,7 +4,6 @@ import core.AbstractGameState;
 import core.CoreConstants.VisibilityMode;
 import org.jetbrains.annotations.NotNull;
 import utilities.DeterminisationUtilities;
-import utilities.Pair;
 
 import java.util.*;
 
@@ -14,25 +13,38 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     // (true if player can see the deck, false otherwise)
     protected boolean[] deckVisibility;
 
-    // Visibility of each component in the deck, order corresponds to order of elements in the deck;
-    protected List<boolean[]> elementVisibility = new LinkedList<>();
+    // deckVisibility packed as a bitmask, with bit i set if player i can see the deck
+    protected long deckMask;
+
+    // Visibility of each component in the deck, order corresponds to order of elements in the deck.
+    // Each entry is a bitmask with bit i set if player i can see the component (hence at most 64 players), and
+    // only the first nElements entries are in use.
+    protected long[] elementVisibility = new long[8];
+    protected int nElements;
 
     public boolean getVisibilityForPlayer(int elementIdx, int playerID) {
-        return elementVisibility.get(elementIdx)[playerID];
+        return (mask(elementIdx) & (1L << playerID)) != 0;
     }
 
+    /**
+     * @return the visibility of the component for each player. This is a new array, so changes to it do not
+     * affect the deck; use setVisibilityOfComponent() for that.
+     */
     public boolean[] getVisibilityOfComponent(int elementIdx) {
-        return elementVisibility.get(elementIdx);
+        return toArray(mask(elementIdx));
     }
 
 
     public PartialObservableDeck(String id, int ownerID, boolean[] defaultVisibility) {
         super(id, ownerID, VisibilityMode.MIXED_VISIBILITY);
         this.deckVisibility = defaultVisibility;
+        this.deckMask = toMask(defaultVisibility);
     }
 
     public PartialObservableDeck(String id, int ownerID, int nPlayers, VisibilityMode visibilityMode) {
         super(id, ownerID, visibilityMode);
+        if (nPlayers > 64)
+            throw new IllegalArgumentException("PartialObservableDeck supports at most 64 players, not " + nPlayers);
         deckVisibility = new boolean[nPlayers];
         switch (visibilityMode) {
             case VISIBLE_TO_ALL:
@@ -46,11 +58,64 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
                 // more complicated. Needs to be set elsewhere
                 break;
         }
+        deckMask = toMask(deckVisibility);
     }
 
     private PartialObservableDeck(String name, int ownerID, boolean[] defaultVisibility, int ID) {
         super(name, ownerID, ID, VisibilityMode.MIXED_VISIBILITY);
         this.deckVisibility = defaultVisibility;
+        this.deckMask = toMask(defaultVisibility);
+    }
+
+    private long toMask(boolean[] visibility) {
+        if (visibility.length > 64)
+            throw new IllegalArgumentException("PartialObservableDeck supports at most 64 players, not " + visibility.length);
+        long mask = 0L;
+        for (int i = 0; i < visibility.length; i++)
+            if (visibility[i]) mask |= 1L << i;
+        return mask;
+    }
+
+    private boolean[] toArray(long mask) {
+        boolean[] retValue = new boolean[deckVisibility.length];
+        for (int i = 0; i < retValue.length; i++)
+            retValue[i] = (mask & (1L << i)) != 0;
+        return retValue;
+    }
+
+    private long allPlayers() {
+        return deckVisibility.length == 64 ? -1L : (1L << deckVisibility.length) - 1;
+    }
+
+    private long mask(int elementIdx) {
+        if (elementIdx < 0 || elementIdx >= nElements)
+            throw new IndexOutOfBoundsException("Index " + elementIdx + " is out of bounds for deck of size " + nElements);
+        return elementVisibility[elementIdx];
+    }
+
+    private void insertMask(int index, long mask) {
+        insertMasks(index, 1);
+        elementVisibility[index] = mask;
+    }
+
+    // opens a gap of count entries at index
+    private void insertMasks(int index, int count) {
+        if (nElements + count > elementVisibility.length)
+            elementVisibility = Arrays.copyOf(elementVisibility, Math.max(nElements + count, elementVisibility.length * 2));
+        System.arraycopy(elementVisibility, index, elementVisibility, index + count, nElements - index);
+        nElements += count;
+    }
+
+    private void removeMask(int index) {
+        System.arraycopy(elementVisibility, index + 1, elementVisibility, index, nElements - index - 1);
+        nElements--;
+    }
+
+    private void setMasks(List<boolean[]> visibility) {
+        elementVisibility = new long[Math.max(8, visibility.size())];
+        nElements = 0;
+        for (boolean[] b : visibility)
+            elementVisibility[nElements++] = toMask(b);
     }
 
     /**
@@ -66,12 +131,10 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
 
         List<T> visibleComponents = new ArrayList<>(components.size());
-        for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerID])
-                visibleComponents.add(i, components.get(i));
-            else
-                visibleComponents.add(i, null);
+        long player = 1L << playerID;
+        int i = 0;
+        for (T c : components) {
+            visibleComponents.add((elementVisibility[i++] & player) != 0 ? c : null);
         }
         return visibleComponents;
     }
@@ -86,7 +149,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public boolean isComponentVisible(int idx, int playerID) {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
-        return elementVisibility.get(idx)[playerID];
+        return getVisibilityForPlayer(idx, playerID);
     }
 
 
@@ -106,7 +169,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void setComponents(List<T> components, List<boolean[]> visibilityPerPlayer) {
         super.setComponents(components);
-        this.elementVisibility = visibilityPerPlayer;
+        setMasks(visibilityPerPlayer);
     }
 
 
@@ -120,16 +183,15 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
             if (b.length != this.deckVisibility.length)
                 throw new IllegalArgumentException("All entries of visibility need to have length " + deckVisibility.length +
                         " but at least one entry is of length " + b.length);
-        this.elementVisibility = visibility;
+        setMasks(visibility);
     }
 
     private void applyVisibilityMode() {
+        if (nElements == 0) return;
         if (getVisibilityMode() == VisibilityMode.TOP_VISIBLE_TO_ALL)
-            for (int j = 0; j < deckVisibility.length; j++)
-                elementVisibility.get(0)[j] = true;
+            elementVisibility[0] = allPlayers();
         if (getVisibilityMode() == VisibilityMode.BOTTOM_VISIBLE_TO_ALL)
-            for (int j = 0; j < deckVisibility.length; j++)
-                elementVisibility.get(components.size() - 1)[j] = true;
+            elementVisibility[nElements - 1] = allPlayers();
     }
 
     /**
@@ -140,10 +202,13 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, int playerID, boolean visibility) {
-        if (index >= 0 && index < elementVisibility.size()) {
-            if (playerID >= 0 && playerID < deckVisibility.length)
-                this.elementVisibility.get(index)[playerID] = visibility;
-            else
+        if (index >= 0 && index < nElements) {
+            if (playerID >= 0 && playerID < deckVisibility.length) {
+                if (visibility)
+                    elementVisibility[index] |= 1L << playerID;
+                else
+                    elementVisibility[index] &= ~(1L << playerID);
+            } else
                 throw new IllegalArgumentException("playerID " + playerID + "needs to be in range [0," + (deckVisibility.length - 1) + "]");
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + (components.size() - 1) + "]");
@@ -157,8 +222,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visibility - true if player can see this component, false otherwise.
      */
     public void setVisibilityOfComponent(int index, boolean[] visibility) {
-        if (index >= 0 && index < elementVisibility.size() && visibility.length == deckVisibility.length) {
-            this.elementVisibility.set(index, visibility.clone());
+        if (index >= 0 && index < nElements && visibility.length == deckVisibility.length) {
+            elementVisibility[index] = toMask(visibility);
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + components.size() + "]");
         }
@@ -186,8 +251,12 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(T c, int index, boolean[] visibilityPerPlayer) {
-        this.elementVisibility.add(index, visibilityPerPlayer.clone());
+        return add(c, index, toMask(visibilityPerPlayer));
+    }
+
+    private boolean add(T c, int index, long visibilityMask) {
         boolean retValue = super.add(c, index);
+        insertMask(index, visibilityMask);
         applyVisibilityMode();
         return retValue;
     }
@@ -201,29 +270,26 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     @Override
     public boolean add(Deck<T> d, int index) {
+        int length = d.components.size();
+        boolean retValue = super.add(d, index);
+        // the new components are in the same order as in d, so we copy its visibility in as a block
+        insertMasks(index, length);
         if (d instanceof PartialObservableDeck<T> pod) {
-            int length = d.components.size();
-            for (int i = 0; i < length; i++) {
-                // Add in reverse order to keep the order of the deck
-                // this is to ties up with addAll() of components in super.add() a few lines down
-                this.elementVisibility.add(index, pod.elementVisibility.get(length - i - 1).clone());
-            }
+            System.arraycopy(pod.elementVisibility, 0, elementVisibility, index, length);
         } else {
-            for (int i = 0; i < d.components.size(); i++) {
-                this.elementVisibility.add(index, deckVisibility.clone());
-            }
+            Arrays.fill(elementVisibility, index, index + length, deckMask);
         }
-        boolean retValue = super.add(d, index);
         applyVisibilityMode();
         return retValue;
     }
 
     @Override
     public boolean add(Collection<T> d, int index) {
-        for (int i = 0; i < d.size(); i++) {
-            this.elementVisibility.add(index, deckVisibility.clone());
-        }
-        return super.add(d, index);
+        int length = d.size();
+        boolean retValue = super.add(d, index);
+        insertMasks(index, length);
+        Arrays.fill(elementVisibility, index, index + length, deckMask);
+        return retValue;
     }
 
     @Override
@@ -234,10 +300,9 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     @Override
     public void setComponents(List<T> components) {
         super.setComponents(components);
-        elementVisibility.clear();
-        for (int i = 0; i < components.size(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
+        nElements = 0;
+        insertMasks(0, components.size());
+        Arrays.fill(elementVisibility, 0, nElements, deckMask);
         applyVisibilityMode();
     }
 
@@ -245,7 +310,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public T pick(int idx) {
         T el = super.pick(idx);
         if (el != null) {
-            elementVisibility.remove(idx);
+            removeMask(idx);
             return el;
         }
         return null;
@@ -253,31 +318,29 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     @Override
     public boolean add(T c, int index) {
-        return add(c, index, deckVisibility);
+        return add(c, index, deckMask);
     }
 
     @Override
     public boolean addToBottom(T c) {
-        if (components.isEmpty())
-            return add(c, 0, deckVisibility);
-        return add(c, components.size(), deckVisibility);
+        return add(c, components.size(), deckMask);
     }
 
     @Override
     public boolean add(T c) {
-        return add(c, deckVisibility);
+        return add(c, 0, deckMask);
     }
 
     @Override
     public void remove(int idx) {
         super.remove(idx);
-        elementVisibility.remove(idx);
+        removeMask(idx);
     }
 
     @Override
     public void clear() {
         super.clear();
-        elementVisibility.clear();
+        nElements = 0;
     }
 
     /**
@@ -289,7 +352,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     @Override
     public void shuffle(Random rnd) {
-        elementVisibility.replaceAll(ignored -> deckVisibility.clone());
+        Arrays.fill(elementVisibility, 0, nElements, deckMask);
         super.shuffle(rnd);
         applyVisibilityMode();
     }
@@ -300,39 +363,10 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param rnd random number generator to be used in shuffling.
      */
     public void shuffleAndKeepVisibility(Random rnd) {
-        Pair<List<T>, List<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
-        components = shuffled.a;
-        elementVisibility = shuffled.b;
+        DeterminisationUtilities.shuffleTogether(components, elementVisibility, rnd);
         applyVisibilityMode();
     }
 
-
-    /**
-     * Shuffles a list of components and associated visibility
-     *
-     * @param comps - list of components
-     * @param vis   - associated visibility
-     * @param rnd   - random number generator to be used in shuffling.
-     * @return - both lists shuffled, keeping the mapping from component to visibility at the same index.
-     */
-    private Pair<List<T>, List<boolean[]>> shuffleLists(List<T> comps, List<boolean[]> vis, Random rnd) {
-        List<T> tmp_components = new LinkedList<>();
-        List<boolean[]> tmp_visibility = new LinkedList<>();
-
-        List<Integer> indexList = new ArrayList<>(comps.size());
-        for (int i = 0; i < comps.size(); i++)
-            indexList.add(i);
-        Collections.shuffle(indexList, rnd);
-
-        for (int targetIndex = 0; targetIndex < indexList.size(); targetIndex++) {
-            int sourceIndex = indexList.get(targetIndex);
-            tmp_components.add(targetIndex, comps.get(sourceIndex));
-            tmp_visibility.add(targetIndex, vis.get(sourceIndex));
-        }
-
-        return new Pair<>(tmp_components, tmp_visibility);
-    }
-
     /**
      * Shuffles components based on visibility, leaving those with opposite visibility in the same place.
      *
@@ -365,12 +399,9 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     @NotNull
     private PartialObservableDeck<T> commonCopy(PartialObservableDeck<T> dp) {
         dp.deckVisibility = deckVisibility.clone();
-
-        ArrayList<boolean[]> newVisibility = new ArrayList<>();
-        for (boolean[] visibility : elementVisibility) {
-            newVisibility.add(visibility.clone());
-        }
-        dp.elementVisibility = newVisibility;
+        dp.deckMask = deckMask;
+        dp.elementVisibility = Arrays.copyOf(elementVisibility, Math.max(8, nElements));
+        dp.nElements = nElements;
 
         return dp;
     }
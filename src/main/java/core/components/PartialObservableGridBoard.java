@@ -7,60 +7,45 @@ public class PartialObservableGridBoard extends GridBoard
     //visibility of Board for each player
     private boolean[] gridBoardVisibility;
 
-    //visibility of cell in Grid for each player, order corresponds to playerID
-    private List<boolean[][]> elementVisibility = new ArrayList<>();
+    //visibility of each cell in Grid, indexed by y * width + x; bit i is set if player i can see the cell
+    private long[] elementVisibility;
 //--------------------------------------------------------------------------------------------------//
 //region Constructor
     public PartialObservableGridBoard(int width, int height, int nPlayers, boolean defaultValue)
     {
         super(width, height);
-
-        //filling Visibility for each cell in grid
-        boolean[][] visibilityGrid = new boolean[height][width];
-        for(int i = 0; i < height; i++)
-        {
-            Arrays.fill(visibilityGrid[i], defaultValue);
-        }
-        for(int i = 0; i < nPlayers; i++)
-        {
-            elementVisibility.add(visibilityGrid);
-        }
-
-        //filling Visibility of overall grid for each player
-        gridBoardVisibility = new boolean[nPlayers];
-        Arrays.fill(gridBoardVisibility, defaultValue);
+        initVisibility(width, height, nPlayers, defaultValue);
     }
 
     private PartialObservableGridBoard(int width, int height, int nPlayers, boolean defaultValue, int componentID)
     {
         super(width, height, componentID);
+        initVisibility(width, height, nPlayers, defaultValue);
+    }
+
+    private PartialObservableGridBoard(BoardNode[][] grid, boolean[] gridBoardVisibility, long[] elementVisibility, int componentID)
+    {
+        super(grid, componentID);
+        this.gridBoardVisibility = gridBoardVisibility.clone();
+        this.elementVisibility = elementVisibility.clone();
+    }
+
+    private void initVisibility(int width, int height, int nPlayers, boolean defaultValue)
+    {
+        if (nPlayers > 64)
+            throw new IllegalArgumentException("PartialObservableGridBoard supports at most 64 players, not " + nPlayers);
 
         //filling Visibility for each cell in grid
-        boolean[][] visibilityGrid = new boolean[height][width];
-        for(int i = 0; i < height; i++)
+        elementVisibility = new long[width * height];
+        if (defaultValue)
         {
-            Arrays.fill(visibilityGrid[i], defaultValue);
-        }
-        for(int i = 0; i < nPlayers; i++)
-        {
-            elementVisibility.add(visibilityGrid);
+            Arrays.fill(elementVisibility, nPlayers == 64 ? -1L : (1L << nPlayers) - 1);
         }
 
         //filling Visibility of overall grid for each player
         gridBoardVisibility = new boolean[nPlayers];
         Arrays.fill(gridBoardVisibility, defaultValue);
     }
-
-    private PartialObservableGridBoard(BoardNode[][] grid, boolean[] gridBoardVisibility, List<boolean[][]> elementVisibility, int componentID)
-    {
-        super(grid, componentID);
-        this.gridBoardVisibility = gridBoardVisibility.clone();
-        this.elementVisibility = new ArrayList<>();
-        for(boolean[][] visibility : elementVisibility)
-        {
-            this.elementVisibility.add(visibility.clone());
-        }
-    }
 //endregion
 //--------------------------------------------------------------------------------------------------//
 //region isVisible Functions
@@ -81,7 +66,7 @@ public class PartialObservableGridBoard extends GridBoard
         checkBoardVisibilityArgument(playerID);
         CheckGridRangeArgument(x,y);
 
-        return elementVisibility.get(playerID)[y][x];
+        return getElementVisibility(x, y, playerID);
     }
 //endregion
 //--------------------------------------------------------------------------------------------------//
@@ -90,21 +75,31 @@ public class PartialObservableGridBoard extends GridBoard
     {
         checkBoardVisibilityArgument(playerID);
 
-        elementVisibility.get(playerID)[y][x] = value;
+        if (value)
+            elementVisibility[cell(x, y)] |= 1L << playerID;
+        else
+            elementVisibility[cell(x, y)] &= ~(1L << playerID);
     }
 
     public boolean getElementVisibility(int x, int y, int player) {
-        return elementVisibility.get(player)[y][x];
+        return (elementVisibility[cell(x, y)] & (1L << player)) != 0;
     }
 
     public List<Boolean> getElementVisibility(int x, int y) {
-        List<Boolean> vis = new ArrayList<>();
-        for (boolean[][] booleans : elementVisibility) {
-            vis.add(booleans[y][x]);
+        long mask = elementVisibility[cell(x, y)];
+        List<Boolean> vis = new ArrayList<>(gridBoardVisibility.length);
+        for (int i = 0; i < gridBoardVisibility.length; i++) {
+            vis.add((mask & (1L << i)) != 0);
         }
         return vis;
     }
 
+    private int cell(int x, int y) {
+        if (x < 0 || x >= getWidth() || y < 0 || y >= getHeight())
+            throw new IndexOutOfBoundsException("Cell (" + x + ", " + y + ") is outside the " + getWidth() + "x" + getHeight() + " grid");
+        return y * getWidth() + x;
+    }
+
 //region Argument Checks
     public void checkBoardVisibilityArgument(int playerID)
     {
@@ -153,7 +148,7 @@ public class PartialObservableGridBoard extends GridBoard
     }
 
     public PartialObservableGridBoard emptyCopy() {
-        PartialObservableGridBoard g = new PartialObservableGridBoard(getWidth(), getHeight(), elementVisibility.size(), true, componentID);
+        PartialObservableGridBoard g = new PartialObservableGridBoard(getWidth(), getHeight(), gridBoardVisibility.length, true, componentID);
         copyComponentTo(g);
         return g;
     }
@@ -221,15 +216,13 @@ public class PartialObservableGridBoard extends GridBoard
         if (this == o) return true;
         if (!(o instanceof PartialObservableGridBoard that)) return false;
         if (!super.equals(o)) return false;
-        return Arrays.equals(gridBoardVisibility, that.gridBoardVisibility) && Objects.equals(elementVisibility, that.elementVisibility);
+        return Arrays.equals(gridBoardVisibility, that.gridBoardVisibility) && Arrays.equals(elementVisibility, that.elementVisibility);
     }
 
     @Override
     public int hashCode() {
         int result = Objects.hash(super.hashCode());
-        result = 31 * result + elementVisibility.stream()
-                .mapToInt(Arrays::deepHashCode) // Apply deepHashCode for each boolean[][]
-                .reduce(31, (acc, hash) -> 31 * acc + hash);
+        result = 31 * result + Arrays.hashCode(elementVisibility);
         result = 31 * result + Arrays.hashCode(gridBoardVisibility);
         return result;
     }
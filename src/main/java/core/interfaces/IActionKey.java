@@ -22,4 +22,20 @@ public interface IActionKey {
     default int hash(AbstractAction action) {
         return key(action).hashCode();
     }
+
+    /**
+     * A 64-bit key for the action, used by MASTTable. Unlike hash() this does not depend on String.hashCode(),
+     * so distinct keys are very unlikely to clash. The default is a 64-bit FNV-1a hash of key(action).
+     * @param action
+     * @return
+     */
+    default long longKey(AbstractAction action) {
+        String key = key(action);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
 }
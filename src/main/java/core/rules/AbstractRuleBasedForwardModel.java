@@ -5,16 +5,13 @@ import core.AbstractGameState;
 import core.AbstractGameStateWithTurnOrder;
 import core.CoreConstants;
 import core.actions.AbstractAction;
-import core.rules.nodetypes.BranchingRuleNode;
-import core.rules.nodetypes.ConditionNode;
-import core.rules.nodetypes.RuleNode;
-
-import java.util.HashMap;
 
 public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel {
 
-    // Rule executed last, rule to be executed next, and first rule to be executed in a turn (root)
-    protected Node lastRule, nextRule, root;
+    // First rule to be executed in a turn (root)
+    protected Node root;
+    // The rule graph compiled from root; the position in it is kept in the game state
+    private volatile RuleProgram program;
 
     /**
      * Default constructor. Any classes extending this should initialise the root node variable to the first rule
@@ -30,17 +27,21 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      *      - Use core.rules.rulenodes.ForceAllPlayerReaction.java type rules to force all players to react (if using
      *      a ReactiveTurnOrder).
      *
+     * The graph is compiled into an immutable RuleProgram the first time it is needed, and must not be changed
+     * after that. The current position in the rules is kept in the AbstractGameStateWithTurnOrder, so one forward
+     * model can be shared by any number of game states, agents and threads.
+     *
      * Can use utilities.GameFlowDiagram.java class to visualise game flow, given a root node (and all children assigned)
      */
     protected AbstractRuleBasedForwardModel() {}
 
     /**
-     * Copy constructor from root node.
-     * @param root - root rule node.
+     * Copy constructor from a compiled rule program, which is shared.
+     * @param program - compiled rule graph.
      */
-    protected AbstractRuleBasedForwardModel(Node root) {
-        this.root = root;
-        this.nextRule = root;
+    protected AbstractRuleBasedForwardModel(RuleProgram program) {
+        this.root = program.getRoot();
+        this.program = program;
     }
 
     /**
@@ -49,8 +50,8 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
      */
     protected void abstractSetup(AbstractGameState firstState) {
         super.abstractSetup(firstState);
-        nextRule = root;
-        lastRule = null;
+        if (firstState instanceof AbstractGameStateWithTurnOrder)
+            ((AbstractGameStateWithTurnOrder) firstState).setRuleCursor(RuleProgram.ROOT, RuleProgram.NONE);
     }
 
     /**
@@ -64,77 +65,19 @@ public abstract class AbstractRuleBasedForwardModel extends AbstractForwardModel
         if (!(state instanceof AbstractGameStateWithTurnOrder))
             throw new AssertionError("Rules Based Forward Model is only usable with AbstractGameStateWithTurnOrder");
 
-        AbstractGameStateWithTurnOrder currentState = (AbstractGameStateWithTurnOrder) state;
-        if (nextRule == null) {
-            nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
-            if (nextRule == null) nextRule = root;
-            return;
-        }
-
-        do {
-            if (nextRule.requireAction()) {
-                if (action != null) {
-                    nextRule.setAction(action);
-                    action = null;
-                } else {
-                    return;  // Wait for action to be sent to execute this rule requiring action
-                }
-            }
-            lastRule = nextRule;
-            nextRule = nextRule.execute(currentState);
-        } while (nextRule != null);
-
-        nextRule = lastRule.getNext();  // Go back to parent, skip it and go to next rule
+        getProgram().run((AbstractGameStateWithTurnOrder) state, action);
     }
 
     /**
-     * Copy root node with rule graph.
-     * @return - New copy of root
+     * @return the rule graph compiled from root, compiling it on first use.
      */
-    protected Node copyRoot() {
-        return copyNodeGraph(new HashMap<>(), root);
-    }
-
-    /**
-     * Recursive copy of nodes in rule graph
-     * @param visitedNodes - Map keeping track of visited nodes
-     * @param node - Original node
-     * @return - Node with copy of rule graph
-     */
-    private Node copyNodeGraph(HashMap<Integer, Node> visitedNodes, Node node) {
-
-        if(node == null) {
-            throw new AssertionError("Can't copy rule graph containing null nodes!");
-        }
-        if(visitedNodes.containsKey(node.getId())) {
-            return visitedNodes.get(node.getId());
-        }
-
-        Node copy = node.copy();
-        visitedNodes.put(node.getId(), copy);
-
-        if(node instanceof RuleNode) {
-            if(node instanceof BranchingRuleNode) {
-                Node[] children = ((BranchingRuleNode) node).getChildren();
-                Node[] copies = new Node[children.length];
-                for (int j = 0; j < copies.length; j++) {
-                    copies[j] = copyNodeGraph(visitedNodes, children[j].getNext());
-                    if (children[j].parent != null) copies[j].setParent(copy);
-                }
-                ((BranchingRuleNode) copy).setNext(copies);
-            } else {
-                Node child = copyNodeGraph(visitedNodes, node.getNext());
-                if (node.getNext().parent != null) child.setParent(copy);
-                ((RuleNode) copy).setNext(child);
-            }
-
-        } else if(node instanceof ConditionNode) {
-            Node childYes = copyNodeGraph(visitedNodes, ((ConditionNode) node).getYesNo()[0]);
-            Node childNo = copyNodeGraph(visitedNodes, ((ConditionNode) node).getYesNo()[1]);
-            if (((ConditionNode) node).getYesNo()[0].parent != null) childYes.setParent(copy);
-            if (((ConditionNode) node).getYesNo()[1].parent != null) childNo.setParent(copy);
-            ((ConditionNode) copy).setYesNo(childYes, childNo);
+    public final RuleProgram getProgram() {
+        RuleProgram retValue = program;
+        if (retValue == null) {
+            // Compiling twice in a race is harmless, as the result is the same
+            retValue = new RuleProgram(root);
+            program = retValue;
         }
-        return copy;
+        return retValue;
     }
 }
@@ -3,20 +3,23 @@ package core.rules;
 import core.AbstractGameStateWithTurnOrder;
 import core.actions.AbstractAction;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * A node in a tree of game rules. Receives a unique ID on creation, and keeps track of node properties.
+ * Nodes are immutable once the rule graph is compiled into a RuleProgram; any information that needs to pass from
+ * one node to the next must be kept in the game state.
  */
 public abstract class Node {
-    private static int nextID = 0;
+    private static final AtomicInteger nextID = new AtomicInteger();
 
     private int id;  // Unique id for this node
     protected boolean actionNode;  // True if this node requires an action to execute
     protected boolean nextPlayerNode;  // True if this action changes active player
-    protected AbstractAction action;  // Action to execute if this node requires one
     protected Node parent;  // Parent node, can be used to retrieve parameters set by a previous node
 
     public Node() {
-        id = nextID++;
+        id = nextID.getAndIncrement();
     }
 
     /**
@@ -27,7 +30,6 @@ public abstract class Node {
         this.id = node.id;
         this.actionNode = node.actionNode;
         this.nextPlayerNode = node.nextPlayerNode;
-        this.action = node.action;
     }
 
     /**
@@ -43,9 +45,10 @@ public abstract class Node {
     /**
      * Executes the functionality of this node.
      * @param gs - game state to apply functionality in.
+     * @param action - action to execute if this node requires one, null otherwise.
      * @return - Node, the next node to execute afterwards.
      */
-    public abstract Node execute(AbstractGameStateWithTurnOrder gs);
+    public abstract Node execute(AbstractGameStateWithTurnOrder gs, AbstractAction action);
 
     /**
      * Retrieves the next node to execute after this.
@@ -54,9 +57,6 @@ public abstract class Node {
     public abstract Node getNext();
 
     // Getters & setters
-    public final void setAction(AbstractAction action) {
-        this.action = action;
-    }
     public final boolean requireAction() { return actionNode; }
     public final void setNextPlayerNode() {
         nextPlayerNode = true;
@@ -0,0 +1,159 @@
+package core.rules;
+
+import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
+import core.rules.nodetypes.BranchingRuleNode;
+import core.rules.nodetypes.ConditionNode;
+import core.rules.nodetypes.RuleNode;
+
+import java.util.*;
+
+/**
+ * An immutable, compiled form of a rule graph. The nodes reachable from the root are flattened into a table, with
+ * the root at index 0, and the links between them replaced by int indices.
+ *
+ * The position in the rule graph is not kept here, or in the nodes, but in the game state (see
+ * AbstractGameStateWithTurnOrder.getNextRule() and getLastRule()), as a pair of indices into this table. A single
+ * program can therefore be shared by all copies of the forward model, and all agents and threads using them, and
+ * copying a game state copies its position in the rules along with everything else.
+ *
+ * Nodes must not be modified once compiled; and must not keep any state of their own between executions.
+ */
+public final class RuleProgram {
+
+    public static final int NONE = -1;
+    public static final int ROOT = 0;
+
+    private final Node[] nodes;
+    // For each node, the index of the node to resume from after the game loop is interrupted at it (NONE if there is none)
+    private final int[] resume;
+    // For each node, the indices of all nodes it may return from execute()
+    private final int[][] successors;
+    private final boolean[] requireAction;
+    private final Map<Node, Integer> index;
+
+    /**
+     * Compiles the graph of rules reachable from the given root.
+     * @param root - first rule to be executed in a turn.
+     */
+    public RuleProgram(Node root) {
+        if (root == null)
+            throw new AssertionError("Can't compile a rule graph without a root node");
+        List<Node> order = new ArrayList<>();
+        Map<Node, Integer> ids = new IdentityHashMap<>();
+        Deque<Node> toVisit = new ArrayDeque<>();
+        toVisit.add(root);
+        while (!toVisit.isEmpty()) {
+            Node node = toVisit.poll();
+            if (ids.containsKey(node)) continue;
+            ids.put(node, order.size());
+            order.add(node);
+            for (Node child : children(node)) {
+                if (child != null && !ids.containsKey(child)) toVisit.add(child);
+            }
+        }
+
+        int n = order.size();
+        nodes = order.toArray(new Node[0]);
+        resume = new int[n];
+        successors = new int[n][];
+        requireAction = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Node node = nodes[i];
+            requireAction[i] = node.requireAction();
+            // Only rule nodes interrupt the loop; a condition only returns null if the chosen branch is empty
+            resume[i] = node instanceof RuleNode ? indexOf(ids, node.getNext()) : NONE;
+            List<Node> children = children(node);
+            successors[i] = new int[children.size()];
+            for (int c = 0; c < successors[i].length; c++)
+                successors[i][c] = indexOf(ids, children.get(c));
+        }
+        index = Collections.unmodifiableMap(ids);
+    }
+
+    private static List<Node> children(Node node) {
+        List<Node> children = new ArrayList<>();
+        if (node instanceof ConditionNode) {
+            children.addAll(Arrays.asList(((ConditionNode) node).getYesNo()));
+        } else {
+            if (node instanceof BranchingRuleNode && ((BranchingRuleNode) node).getChildren() != null)
+                children.addAll(Arrays.asList(((BranchingRuleNode) node).getChildren()));
+            children.add(node.getNext());
+        }
+        return children;
+    }
+
+    private static int indexOf(Map<Node, Integer> ids, Node node) {
+        if (node == null) return NONE;
+        return ids.get(node);
+    }
+
+    /**
+     * Applies the given action and executes game rules from the position stored in the game state, until the game
+     * loop is interrupted or an action is required. The new position is stored back in the game state.
+     * @param gs - game state to modify.
+     * @param action - action requested to be played by a player, may be null.
+     */
+    public void run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        int next = gs.getNextRule();
+        int last = gs.getLastRule();
+        if (next == NONE) {
+            next = last == NONE ? NONE : resume[last];  // Go back to parent, skip it and go to next rule
+            gs.setRuleCursor(next == NONE ? ROOT : next, last);
+            return;
+        }
+
+        do {
+            AbstractAction nodeAction = null;
+            if (requireAction[next]) {
+                if (action != null) {
+                    nodeAction = action;
+                    action = null;
+                } else {
+                    gs.setRuleCursor(next, last);  // Wait for action to be sent to execute this rule requiring action
+                    return;
+                }
+            }
+            last = next;
+            next = successor(last, nodes[last].execute(gs, nodeAction));
+        } while (next != NONE);
+
+        gs.setRuleCursor(resume[last], last);  // Go back to parent, skip it and go to next rule
+    }
+
+    private int successor(int from, Node node) {
+        if (node == null) return NONE;
+        for (int s : successors[from]) {
+            if (s != NONE && nodes[s] == node) return s;
+        }
+        Integer i = index.get(node);
+        if (i == null)
+            throw new AssertionError("Rule " + nodes[from] + " returned a node that is not in the compiled rule graph");
+        return i;
+    }
+
+    /**
+     * @param i - index of a node in the program.
+     * @return the node at that index.
+     */
+    public Node getNode(int i) {
+        return i == NONE ? null : nodes[i];
+    }
+
+    /**
+     * @param node - a node in the rule graph.
+     * @return the index of the node in the program, or NONE if it is not in it.
+     */
+    public int indexOf(Node node) {
+        Integer i = node == null ? null : index.get(node);
+        return i == null ? NONE : i;
+    }
+
+    public Node getRoot() {
+        return nodes[ROOT];
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+}
@@ -1,6 +1,7 @@
 package core.rules.nodetypes;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.rules.Node;
 
 /**
@@ -39,9 +40,10 @@ public abstract class BranchingRuleNode extends RuleNode {
      * Apply the functionality of the rule in the given game state, and decide which of the children is to be executed
      * next.
      * @param gs - game state to modify.
+     * @param action - action requested by the player, if this node requires one; null otherwise.
      * @return - true if successfully executed, false if not and game loop should be interrupted after the execution.
      */
-    protected abstract boolean run(AbstractGameStateWithTurnOrder gs);
+    protected abstract boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action);
 
     // Getters & Setters
     public final void setNext(Node[] children) {
@@ -2,6 +2,7 @@ package core.rules.nodetypes;
 
 import core.AbstractGameState;
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.rules.Node;
 
 /**
@@ -14,7 +15,6 @@ import core.rules.Node;
 public abstract class ConditionNode extends Node {
     Node childYes;  // Node to execute if the condition test returns true
     Node childNo;  // Node to execute if the condition test returns false
-    boolean passed;  // The result of the test, true if condition test returns true, false otherwise
 
     /**
      * Copy constructor, does not copy childYes or childNo to avoid endless recursion in looping graphs.
@@ -24,7 +24,6 @@ public abstract class ConditionNode extends Node {
         super(node);
         childYes = node.childYes;
         childNo = node.childNo;
-        passed = node.passed;
     }
 
     public ConditionNode() {
@@ -39,15 +38,18 @@ public abstract class ConditionNode extends Node {
     protected abstract boolean test(AbstractGameState gs);
 
     @Override
-    public final Node execute(AbstractGameStateWithTurnOrder gs) {
-        passed = test(gs);
-        return getNext();
+    public final Node execute(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        if (test(gs)) return childYes;
+        else return childNo;
     }
 
+    /**
+     * The next node depends on the result of the test, so there is no single next node; see getYesNo().
+     * @return - null
+     */
     @Override
     public final Node getNext() {
-        if (passed) return childYes;
-        else return childNo;
+        return null;
     }
 
     // Getters & Setters
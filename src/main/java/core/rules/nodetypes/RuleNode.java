@@ -2,6 +2,7 @@ package core.rules.nodetypes;
 
 import core.AbstractGameStateWithTurnOrder;
 import core.CoreConstants;
+import core.actions.AbstractAction;
 import core.rules.GameOverCondition;
 import core.rules.Node;
 
@@ -48,9 +49,10 @@ public abstract class RuleNode extends Node {
     /**
      * Apply the functionality of the rule in the given game state.
      * @param gs - game state to modify.
+     * @param action - action requested by the player, if this node requires one; null otherwise.
      * @return - true if successfully executed, false if not and game loop should be interrupted after the execution.
      */
-    protected abstract boolean run(AbstractGameStateWithTurnOrder gs);
+    protected abstract boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action);
 
     /**
      * Adds a new game over condition to this node.
@@ -64,13 +66,14 @@ public abstract class RuleNode extends Node {
      * Executes the rule if all requirements met, and tests any game over conditions included with the rule. If any
      * game over conditions trigger, the child of this rule is set to null to break the game loop.
      * @param gs - game state to apply functionality in.
+     * @param action - action to execute if this node requires one.
      * @return - the next child to execute if the rule did not request an interruption, or null otherwise (and if
      * requirements for execution are not met, or the game is over).
      */
-    public final Node execute(AbstractGameStateWithTurnOrder gs) {
+    public final Node execute(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         if (requireAction() && action == null) return null;
 
-        boolean interrupted = !run(gs);
+        boolean interrupted = !run(gs, action);
         if (gameOverConditions != null && gameOverConditions.size() > 0) {
             for (GameOverCondition goc: gameOverConditions) {  // TODO: this triggers first condition, maybe order matters/loss first
                 CoreConstants.GameResult result = goc.test(gs);
@@ -1,6 +1,7 @@
 package core.rules.rulenodes;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.rules.Node;
 import core.rules.nodetypes.RuleNode;
 import core.turnorders.ReactiveTurnOrder;
@@ -26,7 +27,7 @@ public class ForceAllPlayerReaction extends RuleNode {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         ((ReactiveTurnOrder)gs.getTurnOrder()).addAllReactivePlayers(gs);
         gs.setGamePhase(PlayerReaction);
         return false;
@@ -1,6 +1,7 @@
 package core.rules.rulenodes;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.rules.Node;
 import core.rules.nodetypes.RuleNode;
 
@@ -23,7 +24,7 @@ public class PlayerAction extends RuleNode {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         if (action != null) {
             action.execute(gs);
             return true;
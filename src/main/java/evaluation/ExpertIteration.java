@@ -5,7 +5,9 @@ import core.AbstractPlayer;
 import core.interfaces.*;
 import evaluation.listeners.ActionFeatureListener;
 import evaluation.listeners.FeatureListener;
+import evaluation.listeners.IGameListener;
 import evaluation.listeners.StateFeatureListener;
+import evaluation.loggers.ColumnarStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 import evaluation.optimisation.ITPSearchSpace;
@@ -41,7 +43,9 @@ public class ExpertIteration {
     double sampleRate;
     String[] stateDataFilesByIteration;
     String[] actionDataFilesByIteration;
-    boolean useRounds, useStateInAction;
+    boolean useRounds, useStateInAction, binaryData, pipeline;
+    int dataThreads, gamesPerShard;
+    Random seedRnd;
     String prefix = "EI";
     AbstractPlayer bestAgent = null;
     Map<String, Integer> tournamentWinsByAgent = new HashMap<>();
@@ -65,6 +69,7 @@ public class ExpertIteration {
         iterations = (int) config.get(RunArg.iterations);
         useRounds = (boolean) config.get(RunArg.useRounds);
         useStateInAction = (boolean) config.get(RunArg.stateForAction);
+        binaryData = (boolean) config.get(RunArg.binaryData);
         player = (String) config.get(RunArg.playerDirectory);
         dataDir = (String) config.get(RunArg.destDir);
         gameToPlay = GameType.valueOf((String) config.get(RunArg.game));
@@ -72,6 +77,10 @@ public class ExpertIteration {
         bicTimer = (int) config.get(RunArg.bicTimer);
         sampleRate = (double) config.get(RunArg.sampleRate);
         expertTime = (int) config.get(RunArg.expertTime);
+        pipeline = (boolean) config.get(RunArg.pipeline);
+        dataThreads = (int) config.get(RunArg.dataThreads);
+        gamesPerShard = (int) config.get(RunArg.gamesPerShard);
+        seedRnd = new Random(((Number) config.get(RunArg.seed)).longValue());
 
         params = AbstractParameters.createFromFile(gameToPlay, (String) config.get(RunArg.gameParams));
 
@@ -151,11 +160,14 @@ public class ExpertIteration {
         if (restartAtIteration > 0) {
             // we are restarting the process, so we need to load the data files from the previous iteration
             iter = restartAtIteration;
+            // (as written by startSelfPlay() when pipelined, and runTournamentAndCheckConvergence() otherwise)
             if (stateLearnerFile != null) {
-                stateDataFilesByIteration[iter - 1] = dataDir + File.separator + String.format("State_%s_%02d.txt", prefix, iter - 1);
+                stateDataFilesByIteration[iter - 1] = dataDir + File.separator +
+                        (pipeline ? dataDirectoryName("State", iter - 1) : dataFileName("State", iter - 1));
             }
             if (actionLearnerFile != null) {
-                actionDataFilesByIteration[iter - 1] = dataDir + File.separator + String.format("Action_%s_%02d.txt", prefix, iter - 1);
+                actionDataFilesByIteration[iter - 1] = dataDir + File.separator +
+                        (pipeline ? dataDirectoryName("Action", iter - 1) : dataFileName("Action", iter - 1));
             }
 
             // then load in the agents from the previous iterations
@@ -176,10 +188,15 @@ public class ExpertIteration {
             }
         }
 
+        if (pipeline) {
+            runPipelined();
+            return;
+        }
+
         do {
             long iterationStartTime = System.currentTimeMillis();
             // learn the heuristics from the data
-            finished = gatherDataAndCheckConvergence();
+            finished = runTournamentAndCheckConvergence(true);
 
             long dataGatheringTime = System.currentTimeMillis() - iterationStartTime;
             if (finished)
@@ -210,6 +227,104 @@ public class ExpertIteration {
         } while (true);
     }
 
+    /**
+     * As run(), but with the generation of data pipelined with learning and tuning. The data for iteration N + 1 is
+     * generated by self-play of the best agent (as of the start of iteration N) in the background, while the
+     * heuristics are learned from the data for iteration N and tuned. The tournament at the end of each iteration
+     * selects the best agent (and checks for convergence) exactly as in run(), but records no data.
+     */
+    private void runPipelined() {
+        SelfPlayGenerator generator = new SelfPlayGenerator(gameToPlay, params, nPlayers, dataThreads);
+        IActionHeuristic currentActionHeuristic = null;
+        SelfPlayGenerator.Batch nextData = startSelfPlay(generator);
+        try {
+            boolean finished = false;
+            while (!finished) {
+                long iterationStartTime = System.currentTimeMillis();
+                SelfPlayGenerator.Batch currentData = nextData;
+                currentData.awaitCompletion();
+                long dataWaitTime = System.currentTimeMillis() - iterationStartTime;
+
+                // the next iteration's data is gathered while we learn from this one's (and while we tune and run the
+                // tournament, so that any agent with a time budget there shares the CPU with the self-play threads)
+                nextData = iter + 1 < iterations ? startSelfPlay(generator, iter + 1) : null;
+
+                Pair<IStateHeuristic, IActionHeuristic> learnedHeuristics = learnFromNewData();
+                long learningTime = System.currentTimeMillis() - iterationStartTime - dataWaitTime;
+
+                tuneAgents(learnedHeuristics.a, learnedHeuristics.b, currentActionHeuristic);
+                currentActionHeuristic = learnedHeuristics.b;
+                long tuningTime = System.currentTimeMillis() - iterationStartTime - dataWaitTime - learningTime;
+
+                iter++;
+                // this is the tournament at the start of the next iteration in run()
+                finished = iter >= iterations || runTournamentAndCheckConvergence(false);
+
+                Pair<Long, Long> totalTime = calculateHoursAndMinutes(System.currentTimeMillis() - iterationStartTime);
+                Pair<Long, Long> dataTime = calculateHoursAndMinutes(dataWaitTime);
+                Pair<Long, Long> learnTime = calculateHoursAndMinutes(learningTime);
+                Pair<Long, Long> tuneTime = calculateHoursAndMinutes(tuningTime);
+                System.out.printf(
+                        "Iteration %d completed in %d h %2d m (waiting for data: %d h %2d m, learn: %d h %2d m, tune: %d h %2d m)%n",
+                        iter - 1, totalTime.a, totalTime.b,
+                        dataTime.a, dataTime.b,
+                        learnTime.a, learnTime.b,
+                        tuneTime.a, tuneTime.b
+                );
+            }
+        } finally {
+            if (nextData != null)
+                nextData.cancel();
+            generator.shutdown();
+        }
+    }
+
+    private SelfPlayGenerator.Batch startSelfPlay(SelfPlayGenerator generator) {
+        return startSelfPlay(generator, iter);
+    }
+
+    /**
+     * Starts the self-play games of the current best agent that provide the data for the given iteration. Each
+     * shard is written to its own file, in a State_ or Action_ directory for the iteration, which is then the data
+     * used by learnFromNewData().
+     */
+    private SelfPlayGenerator.Batch startSelfPlay(SelfPlayGenerator generator, int iteration) {
+        String expert = ((String) config.get(RunArg.expert)).toUpperCase();
+        int budget = (int) RGConfig.get(RunArg.budget);
+        AbstractPlayer agent = bestAgent.copy();
+        if (budget > 0 && agent instanceof IAnyTimePlayer anyTime)
+            anyTime.setBudget(budget);
+        MCTSPlayer oracle = actionLearnerFile == null ? null : createOracle(budget);
+        String stateDirectory = dataDirectoryName("State", iteration);
+        String actionDirectory = dataDirectoryName("Action", iteration);
+        String suffix = dataSuffix();
+        if (stateLearnerFile != null)
+            stateDataFilesByIteration[iteration] = dataDir + File.separator + stateDirectory;
+        if (actionLearnerFile != null)
+            actionDataFilesByIteration[iteration] = dataDir + File.separator + actionDirectory;
+
+        return generator.start(agent, matchups, gamesPerShard, seedRnd.nextLong(), shard -> {
+            List<IGameListener> listeners = new ArrayList<>();
+            if (stateLearnerFile != null) {
+                FeatureListener listener = createStateListener(expert);
+                if (listener != null) {
+                    listener.setLogger(createDataLogger(String.format("%s_%03d.%s", stateDirectory, shard, suffix)));
+                    listener.setOutputDirectory(dataDir, stateDirectory);
+                    listeners.add(listener);
+                }
+            }
+            if (actionLearnerFile != null) {
+                FeatureListener listener = createActionListener(expert, (MCTSPlayer) oracle.copy());
+                listener.setLogger(createDataLogger(String.format("%s_%03d.%s", actionDirectory, shard, suffix)));
+                listener.setOutputDirectory(dataDir, actionDirectory);
+                if (listener instanceof MCTSExpertIterationListener expertListener)
+                    expertListener.setStateOutputDirectory(dataDir, stateDirectory);
+                listeners.add(listener);
+            }
+            return listeners;
+        });
+    }
+
     /**
      * Converts milliseconds to a Pair of hours and minutes.
      *
@@ -222,10 +337,28 @@ public class ExpertIteration {
         return Pair.of(hours, minutes);
     }
 
-    // A tournament of all current agents to gather data for the next training run
+    private String dataSuffix() {
+        return binaryData ? "bin" : "txt";
+    }
+
+    // the file of State or Action data for an iteration, when recorded from the tournament
+    private String dataFileName(String type, int iteration) {
+        return String.format("%s_%s_%02d.%s", type, prefix, iteration, dataSuffix());
+    }
+
+    // the directory of State or Action data for an iteration, with a file per shard, when pipelined
+    private String dataDirectoryName(String type, int iteration) {
+        return String.format("%s_%s_%02d", type, prefix, iteration);
+    }
+
+    private IStatisticLogger createDataLogger(String fileName) {
+        return binaryData ? new ColumnarStatsLogger(fileName, false, false) : new FileStatsLogger(fileName, "\t", false);
+    }
+
+    // A tournament of all current agents to gather data for the next training run (if recordData is true)
     // any very poorly performing agents are removed from the list (dominated by all other agents)
     // This also checks for convergence; meaning that the best agent has not changed for 3 iterations
-    private boolean gatherDataAndCheckConvergence() {
+    private boolean runTournamentAndCheckConvergence(boolean recordData) {
         RGConfig.put(RunArg.mode, "random");  // we are most interested in a wide range of data, so do not want to reuse random seeds
         RGConfig.put(RunArg.verbose, false);
         String expert = ((String) config.get(RunArg.expert)).toUpperCase();
@@ -244,47 +377,20 @@ public class ExpertIteration {
 
         RoundRobinTournament tournament = new RoundRobinTournament(agents, gameToPlay, nPlayers, params, RGConfig);
         tournament.setResultsFile(dataDir + File.separator + String.format("TournamentResults_%s_%02d.txt", prefix, iter));
-        if (stateLearnerFile != null) {
-            stateListener = switch (expert) {
-                case "BASE", "MCTSACTION" -> new StateFeatureListener(stateFeatureVector,
-                        useRounds ? Event.GameEvent.ROUND_OVER : Event.GameEvent.TURN_OVER,
-                        false);
-                case "MCTS" -> null; // covered by ActionListener
-                default -> throw new IllegalArgumentException("Unexpected value for expert: " + expert);
-            };
-            String fileName = String.format("State_%s_%02d.txt", prefix, iter);
+        if (recordData && stateLearnerFile != null) {
+            stateListener = createStateListener(expert);
+            String fileName = dataFileName("State", iter);
             stateDataFilesByIteration[iter] = dataDir + File.separator + fileName;
             if (stateListener != null) {
-                stateListener.setSampleRate(sampleRate);
-                stateListener.setLogger(new FileStatsLogger(fileName, "\t", false));
+                stateListener.setLogger(createDataLogger(fileName));
                 stateListener.setOutputDirectory(dataDir);
                 tournament.addListener(stateListener);
             }
         }
-        if (actionLearnerFile != null) {
-            MCTSPlayer oracle = (MCTSPlayer) bestAgent.copy();
-            // For the oracle we set a high budget, and tweak parameters to ensure some exploration
-            oracle.setName("Oracle");
-            oracle.setBudget(budget * expertTime);
-            oracle.getParameters().setParameterValue("reuseTree", false); // we only look at occasional actions
-            oracle.getParameters().setParameterValue("maxTreeDepth", 1000);
-            if (((double) oracle.getParameters().getParameterValue("FPU")) < 1000.0)
-                oracle.getParameters().setParameterValue("FPU", 1000.0);
-            if (((double) oracle.getParameters().getParameterValue("K")) < 1.0)
-                oracle.getParameters().setParameterValue("K", 1.0);
-            actionListener = switch (expert) {
-                case "BASE" -> new ActionFeatureListener(actionFeatureVector, stateFeatureVector,
-                        Event.GameEvent.ACTION_CHOSEN,
-                        true);
-                case "MCTS" -> new MCTSExpertIterationListener(oracle, actionFeatureVector, stateFeatureVector,
-                        100, 0, true);
-                case "MCTSACTION" -> new MCTSExpertIterationListener(oracle, actionFeatureVector, stateFeatureVector,
-                        100, 0, false);
-                default -> throw new IllegalArgumentException("Unexpected value for expert: " + expert);
-            };
-            actionListener.setSampleRate(sampleRate);
-            String fileName = String.format("Action_%s_%02d.txt", prefix, iter);
-            actionListener.setLogger(new FileStatsLogger(fileName, "\t", false));
+        if (recordData && actionLearnerFile != null) {
+            actionListener = createActionListener(expert, createOracle(budget));
+            String fileName = dataFileName("Action", iter);
+            actionListener.setLogger(createDataLogger(fileName));
             actionListener.setOutputDirectory(dataDir);
 
             tournament.addListener(actionListener);
@@ -336,6 +442,49 @@ public class ExpertIteration {
 
     }
 
+    private MCTSPlayer createOracle(int budget) {
+        MCTSPlayer oracle = (MCTSPlayer) bestAgent.copy();
+        // For the oracle we set a high budget, and tweak parameters to ensure some exploration
+        oracle.setName("Oracle");
+        oracle.setBudget(budget * expertTime);
+        oracle.getParameters().setParameterValue("reuseTree", false); // we only look at occasional actions
+        oracle.getParameters().setParameterValue("maxTreeDepth", 1000);
+        if (((double) oracle.getParameters().getParameterValue("FPU")) < 1000.0)
+            oracle.getParameters().setParameterValue("FPU", 1000.0);
+        if (((double) oracle.getParameters().getParameterValue("K")) < 1.0)
+            oracle.getParameters().setParameterValue("K", 1.0);
+        return oracle;
+    }
+
+    // null if the expert records the state data in the action listener
+    private FeatureListener createStateListener(String expert) {
+        FeatureListener retValue = switch (expert) {
+            case "BASE", "MCTSACTION" -> new StateFeatureListener(stateFeatureVector,
+                    useRounds ? Event.GameEvent.ROUND_OVER : Event.GameEvent.TURN_OVER,
+                    false);
+            case "MCTS" -> null; // covered by ActionListener
+            default -> throw new IllegalArgumentException("Unexpected value for expert: " + expert);
+        };
+        if (retValue != null)
+            retValue.setSampleRate(sampleRate);
+        return retValue;
+    }
+
+    private FeatureListener createActionListener(String expert, MCTSPlayer oracle) {
+        FeatureListener retValue = switch (expert) {
+            case "BASE" -> new ActionFeatureListener(actionFeatureVector, stateFeatureVector,
+                    Event.GameEvent.ACTION_CHOSEN,
+                    true);
+            case "MCTS" -> new MCTSExpertIterationListener(oracle, actionFeatureVector, stateFeatureVector,
+                    100, 0, true);
+            case "MCTSACTION" -> new MCTSExpertIterationListener(oracle, actionFeatureVector, stateFeatureVector,
+                    100, 0, false);
+            default -> throw new IllegalArgumentException("Unexpected value for expert: " + expert);
+        };
+        retValue.setSampleRate(sampleRate);
+        return retValue;
+    }
+
     // Learn agents from the data collected in the previous iteration
     // and add to the list of agents
     private Pair<IStateHeuristic, IActionHeuristic> learnFromNewData() {
@@ -169,6 +169,12 @@ public enum RunArg {
             "\t Defaults to the end of the tournament (-1)",
             -1,
             new Usage[]{Usage.RunGames}),
+    resultCache("(Optional) A file in which to store the result of every tournament game, keyed by the game, its parameters,\n" +
+            "\t the ordered player configurations and the seed. A game already in the file is not played again, and its\n" +
+            "\t stored result is used instead (so listeners only see the games that are actually played).\n" +
+            "\t This is only useful with a fixed 'seed', as otherwise the game seeds differ on each run.",
+            "",
+            new Usage[]{Usage.RunGames, Usage.ParameterSearch, Usage.SkillLadder}),
     searchSpace("The json-format file of the search space to use. No default.",
             "",
             new Usage[]{Usage.ParameterSearch}),
@@ -196,6 +202,25 @@ public enum RunArg {
     stateForAction("Whether to use the state features when learning the action heuristic. Defaults to true.",
             true,
             new Usage[]{Usage.ExpertIteration}),
+    binaryData("If true, then the training data is written in the binary columnar format of ColumnarStatsLogger\n" +
+            "\t instead of as tab-delimited text. This is much quicker to write and to load for large data sets. Default is false.",
+            false,
+            new Usage[]{Usage.ExpertIteration}),
+    pipeline("If true, then the data for each iteration is generated by self-play of the best agent so far, on a pool of\n" +
+            "\t dataThreads worker threads. The data for the next iteration is generated while the heuristics are learned and tuned\n" +
+            "\t from this iteration's data, and the tournament of all agents is only used to select the best agent.\n" +
+            "\t Each worker writes its own shard of data to a directory for the iteration.\n" +
+            "\t As self-play shares the CPU with tuning and the tournament, agents there with a time budget get less search\n" +
+            "\t than when run on their own; use an iteration or FM call budget to compare them fairly. Default is false.",
+            false,
+            new Usage[]{Usage.ExpertIteration}),
+    dataThreads("The number of threads used to generate data by self-play if pipeline is true. Default is 1.",
+            1,
+            new Usage[]{Usage.ExpertIteration}),
+    gamesPerShard("The number of self-play games written to each shard of data if pipeline is true (the number of games\n" +
+            "\t in total is set by matchups). Default is 10.",
+            10,
+            new Usage[]{Usage.ExpertIteration}),
     bicMultiplier("The multiplier for the BIC regulariser when selecting features. Default is 3.0.",
             3,
             new Usage[]{Usage.ExpertIteration}),
@@ -0,0 +1,372 @@
+package evaluation;
+
+import evaluation.optimisation.ParameterSearch;
+import evaluation.tournaments.SkillLadder;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import utilities.Utils;
+
+import java.io.*;
+import java.net.*;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a JVM running, and runs jobs sent to it over a local socket, so that a sweep of many short jobs pays for
+ * JVM start-up, class loading and JIT warm-up only once (and reuses anything cached in static state, such as
+ * parsed game data).
+ * <p>
+ * A client sends one job per line, as a JSON object with a "job" key naming the RunArg.Usage to run (RunGames,
+ * ParameterSearch, SkillLadder or ExpertIteration). Everything else in the object is the same JSON configuration
+ * that would be given to that usage in a config file. An optional "args" array holds command line arguments
+ * (key=value) to add. A line {"job" : "shutdown"} stops the daemon once running jobs have finished.
+ * <p>
+ * Jobs run on a shared pool of worker threads. While a job runs, everything it prints (on any thread it starts) is
+ * sent back to its client as a JSON line {"out" : text} or {"err" : text}, and when it finishes a final line
+ * {"status" : "ok"|"failed", "job" : name, "millis" : time, "error" : reason} is sent. A client may send several jobs
+ * on one connection; they run one after another. With more than one worker thread, jobs on different connections
+ * run in parallel; this is not the default, as some agents (and games) still keep mutable static state.
+ * <p>
+ * By default the daemon listens on a Unix domain socket that only its owner can connect to, as a job can load any
+ * class named in its configuration, and write to any directory. A TCP port on the loopback interface can be used
+ * instead, but this is open to every local user.
+ */
+public class RunDaemon implements AutoCloseable {
+
+    private static final Map<RunArg.Usage, Consumer<String[]>> jobs = new EnumMap<>(RunArg.Usage.class);
+
+    static {
+        jobs.put(RunArg.Usage.RunGames, RunGames::main);
+        jobs.put(RunArg.Usage.ParameterSearch, ParameterSearch::main);
+        jobs.put(RunArg.Usage.SkillLadder, SkillLadder::main);
+        jobs.put(RunArg.Usage.ExpertIteration, ExpertIteration::main);
+    }
+
+    private final ServerSocketChannel server;
+    private final ExecutorService workers;
+    private final ExecutorService connections;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final Path socketFile;
+
+    /**
+     * @param address - a port number on the loopback interface (0 for any free port); or else the path of a Unix
+     *                domain socket
+     * @param threads - the number of jobs that can run at once
+     */
+    public RunDaemon(String address, int threads) throws IOException {
+        if (threads < 1)
+            throw new IllegalArgumentException("Must have at least one thread : " + threads);
+        if (address.matches("\\d+")) {
+            server = ServerSocketChannel.open(StandardProtocolFamily.INET);
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address)));
+            socketFile = null;
+        } else {
+            socketFile = Path.of(address);
+            Files.deleteIfExists(socketFile);  // left behind by an earlier daemon
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socketFile));
+            try {
+                Files.setPosixFilePermissions(socketFile, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // not a POSIX file system; access is then as set by the operating system
+            }
+        }
+        workers = Executors.newFixedThreadPool(threads, r -> new Thread(r, "RunDaemon-worker"));
+        connections = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "RunDaemon-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        JobOutput.install();
+    }
+
+    /**
+     * The address the daemon is listening on (which gives the port chosen if it was started on port 0).
+     */
+    public SocketAddress getAddress() throws IOException {
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Accepts connections on a background thread, and returns immediately.
+     */
+    public void start() {
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (server.isOpen())
+                    connections.submit(new Connection(server.accept()));
+            } catch (ClosedChannelException ignored) {
+                // the daemon has been closed
+            } catch (IOException e) {
+                System.out.println("RunDaemon stopped accepting connections : " + e.getMessage());
+            } finally {
+                close();
+            }
+        }, "RunDaemon-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Waits until the daemon has been shut down (by a client, or by close()).
+     */
+    public void awaitShutdown() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * Stops accepting connections. Jobs already running are allowed to finish.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            server.close();
+            if (socketFile != null)
+                Files.deleteIfExists(socketFile);
+        } catch (IOException e) {
+            System.out.println("Error closing RunDaemon socket : " + e.getMessage());
+        }
+        workers.shutdown();
+        if (stopped.getCount() > 0)
+            JobOutput.uninstall();
+        stopped.countDown();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String address = Utils.getArg(args, "address", "RunDaemon.sock");
+        int threads = Utils.getArg(args, "threads", 1);
+        try (RunDaemon daemon = new RunDaemon(address, threads)) {
+            daemon.start();
+            System.out.println("RunDaemon listening on " + daemon.getAddress() + " with " + threads + " threads");
+            daemon.awaitShutdown();
+        }
+    }
+
+    /**
+     * Runs a job on the calling thread, with its output sent to the sinks. Any temporary config file is deleted
+     * once the job is over.
+     */
+    @SuppressWarnings("unchecked")
+    static void runJob(JSONObject job, JobOutput out, JobOutput err) throws IOException {
+        RunArg.Usage usage = RunArg.Usage.valueOf((String) job.get("job"));
+        List<String> args = new ArrayList<>();
+        File configFile = null;
+        JSONObject config = new JSONObject();
+        for (Object key : job.keySet())
+            if (!key.equals("job") && !key.equals("args"))
+                config.put(key, job.get(key));
+        if (!config.isEmpty()) {
+            configFile = File.createTempFile("job", ".json");
+            Files.writeString(configFile.toPath(), config.toJSONString(), StandardCharsets.UTF_8);
+            args.add("config=" + configFile.getPath());
+        }
+        if (job.get("args") instanceof JSONArray extraArgs)
+            for (Object arg : extraArgs)
+                args.add(arg.toString());
+        JobOutput.route(out, err);
+        try {
+            jobs.get(usage).accept(args.toArray(new String[0]));
+        } finally {
+            JobOutput.route(null, null);
+            out.close();
+            err.close();
+            if (configFile != null)
+                configFile.delete();
+        }
+    }
+
+    /**
+     * Reads the jobs sent on one connection, and runs each in turn on the worker pool.
+     */
+    private class Connection implements Runnable {
+        private final SocketChannel channel;
+        private final Writer writer;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void run() {
+            try (channel; BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank())
+                        continue;
+                    if (!handle(line))
+                        break;
+                }
+            } catch (IOException e) {
+                // the client has gone away
+            }
+        }
+
+        // returns false once the daemon has been told to shut down
+        @SuppressWarnings("unchecked")
+        private boolean handle(String line) throws IOException {
+            long start = System.currentTimeMillis();
+            JSONObject status = new JSONObject();
+            String jobName = "";
+            try {
+                JSONObject job = (JSONObject) new JSONParser().parse(line);
+                jobName = String.valueOf(job.get("job"));
+                status.put("job", jobName);
+                if (jobName.equals("shutdown")) {
+                    status.put("status", "ok");
+                    send(status);
+                    RunDaemon.this.close();
+                    return false;
+                }
+                if (Arrays.stream(RunArg.Usage.values()).noneMatch(u -> u.name().equals(job.get("job"))))
+                    throw new IllegalArgumentException("Unknown job : " + jobName + " (expected one of " +
+                            Arrays.toString(RunArg.Usage.values()) + ")");
+                JobOutput out = new JobOutput("out", this);
+                JobOutput err = new JobOutput("err", this);
+                workers.submit(() -> {
+                    runJob(job, out, err);
+                    return null;
+                }).get();
+                status.put("status", "ok");
+            } catch (ExecutionException e) {
+                status.put("status", "failed");
+                status.put("error", String.valueOf(e.getCause()));
+            } catch (ParseException | ClassCastException | IllegalArgumentException | RejectedExecutionException e) {
+                status.put("status", "failed");
+                status.put("error", String.valueOf(e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while running " + jobName, e);
+            }
+            status.put("millis", System.currentTimeMillis() - start);
+            send(status);
+            return true;
+        }
+
+        synchronized void send(JSONObject message) throws IOException {
+            writer.write(message.toJSONString());
+            writer.write("\n");
+            writer.flush();
+        }
+    }
+
+    /**
+     * Collects what a job prints into lines, and sends each line to the job's client. Output from any thread
+     * started by the job is routed here too (the routing is inherited by new threads), until the job is over;
+     * after that, anything still printed by those threads goes to the daemon's own console.
+     */
+    static class JobOutput extends OutputStream {
+        private static final InheritableThreadLocal<JobOutput[]> current = new InheritableThreadLocal<>();
+        private static PrintStream consoleOut, consoleErr;
+        private static int installed = 0;
+
+        private final String stream;
+        private final Connection connection;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private volatile boolean open = true;
+
+        JobOutput(String stream, Connection connection) {
+            this.stream = stream;
+            this.connection = connection;
+        }
+
+        /**
+         * Replaces System.out and System.err with streams that send output to the job of the current thread, for as
+         * long as any daemon is running
+         */
+        static synchronized void install() {
+            if (installed++ > 0)
+                return;
+            consoleOut = System.out;
+            consoleErr = System.err;
+            System.setOut(new PrintStream(new Router(0, consoleOut), true, StandardCharsets.UTF_8));
+            System.setErr(new PrintStream(new Router(1, consoleErr), true, StandardCharsets.UTF_8));
+        }
+
+        static synchronized void uninstall() {
+            if (--installed > 0)
+                return;
+            System.setOut(consoleOut);
+            System.setErr(consoleErr);
+        }
+
+        static void route(JobOutput out, JobOutput err) {
+            if (out == null)
+                current.remove();
+            else
+                current.set(new JobOutput[]{out, err});
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            if (b == '\n')
+                sendLine();
+            else
+                line.write(b);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (line.size() > 0)
+                sendLine();
+            open = false;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void sendLine() throws IOException {
+            String text = line.toString(StandardCharsets.UTF_8);
+            line.reset();
+            if (text.endsWith("\r"))
+                text = text.substring(0, text.length() - 1);
+            JSONObject message = new JSONObject();
+            message.put(stream, text);
+            try {
+                connection.send(message);
+            } catch (IOException e) {
+                // the client has gone; the job carries on regardless
+            }
+        }
+
+        private static class Router extends OutputStream {
+            private final int index;
+            private final PrintStream console;
+
+            Router(int index, PrintStream console) {
+                this.index = index;
+                this.console = console;
+            }
+
+            private OutputStream target() {
+                JobOutput[] outputs = current.get();
+                return outputs != null && outputs[index].open ? outputs[index] : console;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                target().write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                target().write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                target().flush();
+            }
+        }
+    }
+}
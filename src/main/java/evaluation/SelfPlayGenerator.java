@@ -0,0 +1,143 @@
+package evaluation;
+
+import core.AbstractParameters;
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.IGameListener;
+import games.GameType;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+/**
+ * Plays games between copies of a single agent on a pool of worker threads, to generate training data.
+ * <p>
+ * The games are split into shards. Each shard is played on one thread, with its own Game, its own copies of the
+ * agent and its own listeners (and hence its own data file), so that nothing mutable is shared between threads.
+ * A shard's listeners are reported (and so their files completed) as soon as its last game is over.
+ */
+public class SelfPlayGenerator {
+
+    final GameType gameType;
+    final AbstractParameters params;
+    final int nPlayers;
+    private final ExecutorService pool;
+
+    public SelfPlayGenerator(GameType gameType, AbstractParameters params, int nPlayers, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("Must have at least one thread : " + threads);
+        this.gameType = gameType;
+        this.params = params;
+        this.nPlayers = nPlayers;
+        this.pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "SelfPlay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts playing the games in the background, and returns immediately.
+     *
+     * @param agent             - the agent to copy for every player
+     * @param games             - the total number of games to play
+     * @param gamesPerShard     - the number of games in each shard (the last may have fewer)
+     * @param seed              - the seed from which the seed of each game is generated
+     * @param listenersForShard - creates the listeners for a shard, given its index. This is called on the calling
+     *                          thread, before this method returns.
+     */
+    public Batch start(AbstractPlayer agent, int games, int gamesPerShard, long seed,
+                       IntFunction<List<IGameListener>> listenersForShard) {
+        if (gamesPerShard < 1)
+            throw new IllegalArgumentException("Must have at least one game per shard : " + gamesPerShard);
+        int shards = (games + gamesPerShard - 1) / gamesPerShard;
+        Random seedRnd = new Random(seed);
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(pool);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            int shardIndex = shard;
+            int gamesInShard = Math.min(gamesPerShard, games - shard * gamesPerShard);
+            long[] seeds = seedRnd.longs(gamesInShard).toArray();
+            List<AbstractPlayer> players = new ArrayList<>();
+            for (int p = 0; p < nPlayers; p++)
+                players.add(agent.copy());
+            List<IGameListener> listeners = listenersForShard.apply(shard);
+            futures.add(completion.submit(() -> {
+                playShard(players, seeds, listeners);
+                return shardIndex;
+            }));
+        }
+        return new Batch(completion, futures);
+    }
+
+    private void playShard(List<AbstractPlayer> players, long[] seeds, List<IGameListener> listeners) {
+        Game game = gameType.createGameInstance(nPlayers, seeds[0], params == null ? null : params.copy());
+        Set<String> agentNames = new HashSet<>();
+        for (AbstractPlayer player : players)
+            agentNames.add(player.toString());
+        for (IGameListener listener : listeners) {
+            listener.init(game, nPlayers, agentNames);
+            game.addListener(listener);
+        }
+        for (long seed : seeds) {
+            if (Thread.currentThread().isInterrupted())
+                break;  // the batch has been cancelled
+            game.reset(players, seed);
+            game.run();
+        }
+        for (IGameListener listener : listeners)
+            listener.report();
+    }
+
+    /**
+     * Stops the worker threads once any games already started are finished.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * The shards of games started by one call to start().
+     */
+    public static class Batch {
+        private final CompletionService<Integer> completion;
+        private final List<Future<Integer>> futures;
+        private final List<Integer> completed = new ArrayList<>();
+
+        Batch(CompletionService<Integer> completion, List<Future<Integer>> futures) {
+            this.completion = completion;
+            this.futures = futures;
+        }
+
+        public int shards() {
+            return futures.size();
+        }
+
+        /**
+         * Waits for every shard to be completed, taking them in the order that they finish, so that a failure
+         * in any shard is reported as soon as it happens.
+         *
+         * @return the indices of the shards, in the order they were completed
+         */
+        public List<Integer> awaitCompletion() {
+            while (completed.size() < futures.size()) {
+                try {
+                    completed.add(completion.take().get());
+                } catch (InterruptedException | ExecutionException e) {
+                    cancel();
+                    throw new RuntimeException("Failed to complete self-play shard", e);
+                }
+            }
+            return Collections.unmodifiableList(completed);
+        }
+
+        /**
+         * Abandons any shards not yet finished. A shard that has started stops after its current game.
+         */
+        public void cancel() {
+            for (Future<Integer> future : futures)
+                future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package evaluation.features;
+
+import core.actions.AbstractAction;
+import core.interfaces.IActionKey;
+
+/**
+ * Keys an action on the action itself, for use where no other IActionKey is specified.
+ * <p>
+ * The long key combines the hash of the class name with the hashCode() of the action, so actions of different
+ * classes do not clash, and the key is stable between runs as long as the action's hashCode() depends only on its
+ * content (as it should, given that actions are compared with equals()). Two unequal actions of the same class with
+ * the same hashCode() still share a key, so MASTTable (which uses this when no IActionKey is given) keeps the action
+ * with its statistics, and compares them with equals() when keys collide.
+ */
+public class ActionHashKey implements IActionKey {
+
+    public static final ActionHashKey INSTANCE = new ActionHashKey();
+
+    @Override
+    public String key(AbstractAction action) {
+        return action.getClass().getName() + "_" + action.hashCode();
+    }
+
+    @Override
+    public int hash(AbstractAction action) {
+        return action.hashCode();
+    }
+
+    @Override
+    public long longKey(AbstractAction action) {
+        return ((long) action.getClass().getName().hashCode() << 32) | (action.hashCode() & 0xffffffffL);
+    }
+}
@@ -5,6 +5,9 @@ import core.actions.AbstractAction;
 import core.interfaces.IActionFeatureVector;
 import core.interfaces.IStateFeatureVector;
 import core.interfaces.IToJSON;
+import evaluation.loggers.ColumnarDataReader;
+import evaluation.loggers.ColumnarStatsLogger;
+import evaluation.loggers.DataChunkReader;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import utilities.JSONUtils;
@@ -12,6 +15,8 @@ import utilities.Pair;
 import utilities.Utils;
 
 import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
 import java.util.stream.IntStream;
 
 public class AutomatedFeatures implements IStateFeatureVector, IActionFeatureVector, IToJSON {
@@ -406,27 +411,28 @@ public class AutomatedFeatures implements IStateFeatureVector, IActionFeatureVec
 
         // load files...the columns should correspond to the underlying vector
         // while allowing for additional columns (for target values)
-        Pair<List<String>, List<List<String>>> data = Utils.loadDataWithHeader("\t", inputFiles);
-        List<String> headers = data.a;
-        List<List<String>> dataRows = data.b;
-
-        // We now want to convert the dataRows into dataColumns
+        // the files are read a chunk at a time, and we stop after maxRecords rows, so the memory needed does not
+        // depend on the size of the files
+        List<String> headers;
         List<List<String>> dataColumns = new ArrayList<>();
-        for (int i = 0; i < headers.size(); i++) {
-            dataColumns.add(new ArrayList<>());
-        }
-        int count = 0;
-        for (List<String> row : dataRows) {
-            if (row.size() != headers.size()) {
-                System.err.println("Warning: Skipping row with inconsistent number of columns: " + row);
-                continue; // Skip rows with inconsistent number of columns
-            }
+        try (DataChunkReader reader = new DataChunkReader(inputFiles)) {
+            headers = Arrays.asList(reader.getHeader());
+            // We convert the dataRows into dataColumns as we go
             for (int i = 0; i < headers.size(); i++) {
-                dataColumns.get(i).add(row.get(i));
+                dataColumns.add(new ArrayList<>());
             }
-            count++;
-            if (maxRecords > 0 && count >= maxRecords) {
-                break; // Stop processing if we reached the maximum number of records
+            int count = 0;
+            List<String[]> chunk;
+            while ((maxRecords <= 0 || count < maxRecords) && (chunk = reader.nextChunk()) != null) {
+                for (String[] row : chunk) {
+                    for (int i = 0; i < headers.size(); i++) {
+                        dataColumns.get(i).add(row[i]);
+                    }
+                    count++;
+                    if (maxRecords > 0 && count >= maxRecords) {
+                        break; // Stop processing if we reached the maximum number of records
+                    }
+                }
             }
         }
         List<List<?>> newDataColumns = new ArrayList<>(); // set up to take the new data (especially where we can just copy this from the old)
@@ -644,11 +650,87 @@ public class AutomatedFeatures implements IStateFeatureVector, IActionFeatureVec
             }
         }
 
-        Utils.writeDataWithHeader("\t", newColumnDetails.stream().map(r -> r.name).toList(),
-                newDataRows, outputFile);
+        // the output is written in the same format as the input
+        List<String> newNames = newColumnDetails.stream().map(r -> r.name).toList();
+        if (inputFiles.length > 0 && Arrays.stream(inputFiles).allMatch(ColumnarDataReader::isColumnarFile))
+            ColumnarStatsLogger.writeDataWithHeader(newNames, newDataRows, outputFile);
+        else
+            Utils.writeDataWithHeader("\t", newNames, newDataRows, outputFile);
         return newDataRows;
     }
 
+    /**
+     * Maps the columns of a file of raw data (with the values of the underlying feature vectors, as recorded during
+     * play) to the underlying features, for use with expandRow().
+     *
+     * @return the index in the header of each underlying feature, or -1 if it is not present
+     */
+    public int[] underlyingColumns(String[] header) {
+        List<String> headerList = Arrays.asList(header);
+        int[] retValue = new int[underlyingNames.length];
+        for (int i = 0; i < underlyingNames.length; i++)
+            retValue[i] = headerList.indexOf(underlyingNames[i]);
+        return retValue;
+    }
+
+    /**
+     * Calculates the value of every feature directly from one row of raw data. This gives the same values as the
+     * columns written by processData(), but without needing them to be written (or the data to be held in memory),
+     * so data can be streamed through the features as it is read.
+     * A missing underlying column gives a value of zero; a non-numeric value for a RAW or RANGE feature gives NaN.
+     *
+     * @param row               - the raw data
+     * @param underlyingColumns - from underlyingColumns()
+     * @param into              - the array to fill in, with one entry per feature (from the second entry if
+     *                          offset is 1, say to leave space for a bias term)
+     */
+    public void expandRow(String[] row, int[] underlyingColumns, double[] into, int offset) {
+        expandRow(c -> DataChunkReader.parseNumber(row[c]), c -> row[c], underlyingColumns, into, offset);
+    }
+
+    /**
+     * As expandRow() for a row of Strings, but for one row of a chunk read by DataChunkReader.nextColumnChunk(), so
+     * that numeric columns are used without being parsed.
+     */
+    public void expandRow(DataChunkReader.Chunk chunk, int row, int[] underlyingColumns, double[] into, int offset) {
+        expandRow(c -> chunk.getDouble(row, c), c -> chunk.getString(row, c), underlyingColumns, into, offset);
+    }
+
+    private void expandRow(IntToDoubleFunction number, IntFunction<String> string, int[] underlyingColumns,
+                           double[] into, int offset) {
+        for (int i = 0; i < featureNames.size(); i++) {
+            int underlyingIndex = featureIndices.get(i);
+            if (underlyingIndex == -1) continue; // Interactions covered on second pass
+            int column = underlyingColumns[underlyingIndex];
+            if (column < 0) {
+                into[offset + i] = 0.0;
+                continue;
+            }
+            into[offset + i] = switch (featureTypes.get(i)) {
+                case RAW -> number.applyAsDouble(column);
+                case ENUM -> ((Enum<?>) enumValues.get(i)).name().equals(string.apply(column)) ? 1 : 0;
+                case STRING -> enumValues.get(i).equals(string.apply(column)) ? 1 : 0;
+                case RANGE -> {
+                    double numericValue = number.applyAsDouble(column);
+                    Pair<Number, Number> range = featureRanges.get(i);
+                    yield numericValue >= range.a.doubleValue() && numericValue < range.b.doubleValue() ? 1 : 0;
+                }
+                case INTERACTION -> 0.0;
+                default -> throw new IllegalArgumentException("Unsupported type: " + featureTypes.get(i));
+            };
+        }
+        // second pass for interactions
+        for (int i = 0; i < featureNames.size(); i++) {
+            if (featureTypes.get(i) == featureType.INTERACTION) {
+                double value = 1.0;
+                for (int index : interactions.get(i)) {
+                    value *= into[offset + index];
+                }
+                into[offset + i] = value;
+            }
+        }
+    }
+
     public int addFeature(ColumnDetails column) {
         featureNames.add(column.name);
         featureTypes.add(column.type);
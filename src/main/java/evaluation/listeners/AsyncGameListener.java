@@ -0,0 +1,248 @@
+package evaluation.listeners;
+
+import core.Game;
+import core.interfaces.IGameEvent;
+import evaluation.metrics.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static evaluation.metrics.Event.GameEvent.GAME_OVER;
+
+/**
+ * Wraps another IGameListener so that its (potentially expensive) processing of events runs on a separate worker
+ * thread instead of the game thread.
+ * <p>
+ * Each event is published with a snapshot of the game state (see AbstractGameState.snapshot()), and of the Game
+ * itself with its statistics such as timings (see Game.snapshot()), into a bounded ring buffer. A single worker thread then takes events off the buffer in batches and passes them to the
+ * wrapped listener in exactly the order they were published. If the buffer is full, the game thread blocks until
+ * there is space (back-pressure), so memory use is bounded by the buffer size. While the wrapped listener processes
+ * an event, its getGame() returns the snapshot of the Game taken with that event, so nothing it reads is changed
+ * by the game thread in the meantime.
+ * <p>
+ * GAME_OVER is a synchronisation point. The buffer is flushed, and then GAME_OVER is passed on directly
+ * on the game thread with the live state. The same applies to report(), reset() and init(). So by the time a game
+ * finishes, the wrapped listener has seen every event from it, just as in synchronous operation.
+ * <p>
+ * The worker thread is started with the first event, and stopped by close(), which report() calls once everything
+ * has been passed on. If more events follow, a new worker is started for them.
+ * <p>
+ * To use this from a JSON listener config, wrap the existing definition, for example:
+ * <pre>
+ * { "class": "evaluation.listeners.AsyncGameListener",
+ *   "args": ["metrics/MetricsGameListener.json", 1024] }
+ * </pre>
+ */
+public class AsyncGameListener implements IGameListener {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+    private static final int MAX_BATCH = 64;
+
+    private final IGameListener delegate;
+    private final BlockingQueue<Pending> buffer;
+    private final Object flushLock = new Object();
+    // both guarded by flushLock
+    private long published, processed;
+    private volatile Throwable failure;
+    private Thread worker;
+    // the live game, given back to the wrapped listener for events passed on directly
+    private Game game;
+
+    // An event, with the Game as it was when the event happened
+    private record Pending(Event event, Game game) {
+    }
+
+    public AsyncGameListener(IGameListener delegate) {
+        this(delegate, DEFAULT_BUFFER_SIZE);
+    }
+
+    public AsyncGameListener(IGameListener delegate, int bufferSize) {
+        if (bufferSize < 1)
+            throw new IllegalArgumentException("Buffer size must be positive");
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    public IGameListener getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (!isOfInterest(event.type))
+            return;
+        if (event.type == GAME_OVER) {
+            flush();
+            restoreGame();
+            delegate.onEvent(event);
+            return;
+        }
+        Event snapshot = Event.createEvent(event.type,
+                event.state == null ? null : event.state.snapshot(),
+                event.action == null ? null : event.action.copy(),
+                event.playerID);
+        Game liveGame = game != null ? game : delegate.getGame();
+        if (game == null)
+            game = liveGame;
+        publish(new Pending(snapshot, liveGame == null ? null : liveGame.snapshot(snapshot.state)));
+    }
+
+    // after a flush the worker is idle, so the live game can be handed back to the wrapped listener
+    private void restoreGame() {
+        if (game != null)
+            delegate.setGame(game);
+    }
+
+    /**
+     * Avoids copying states for events that the wrapped listener is going to ignore anyway
+     */
+    private boolean isOfInterest(IGameEvent type) {
+        if (delegate instanceof MetricsGameListener mgl)
+            return mgl.eventsOfInterest.contains(type);
+        if (delegate instanceof FeatureListener fl)
+            return type == fl.frequency || type == GAME_OVER;
+        return true;
+    }
+
+    private void publish(Pending event) {
+        checkForFailure();
+        startWorkerIfNeeded();
+        synchronized (flushLock) {
+            published++;
+        }
+        try {
+            buffer.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while publishing event " + event.event().type, e);
+        }
+    }
+
+    private synchronized void startWorkerIfNeeded() {
+        if (worker == null) {
+            worker = new Thread(this::processEvents, "AsyncGameListener-" + delegate.getClass().getSimpleName());
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    private void processEvents() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (true) {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, MAX_BATCH - 1);
+                for (Pending p : batch) {
+                    if (failure == null) {
+                        try {
+                            if (p.game() != null)
+                                delegate.setGame(p.game());
+                            delegate.onEvent(p.event());
+                        } catch (Throwable t) {
+                            // we keep draining the buffer, so that the game thread is not blocked, and report on the next flush
+                            failure = t;
+                        }
+                    }
+                }
+                synchronized (flushLock) {
+                    processed += batch.size();
+                    flushLock.notifyAll();
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // terminate quietly
+        }
+    }
+
+    /**
+     * Blocks until the wrapped listener has processed every event published so far.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            while (processed < published) {
+                try {
+                    flushLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while flushing events", e);
+                }
+            }
+        }
+        checkForFailure();
+    }
+
+    private void checkForFailure() {
+        Throwable t = failure;
+        if (t != null) {
+            failure = null;
+            throw new RuntimeException("Error in asynchronous processing by " + delegate.getClass().getSimpleName(), t);
+        }
+    }
+
+    @Override
+    public void report() {
+        flush();
+        restoreGame();
+        delegate.report();
+        close();
+    }
+
+    /**
+     * Passes on every event published so far, and then stops the worker thread.
+     */
+    public void close() {
+        Thread toStop;
+        synchronized (this) {
+            toStop = worker;
+            worker = null;
+        }
+        if (toStop == null)
+            return;
+        try {
+            flush();
+        } finally {
+            // the worker is now waiting for the next event, so this is where it is interrupted
+            toStop.interrupt();
+            try {
+                toStop.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean setOutputDirectory(String... nestedDirectories) {
+        return delegate.setOutputDirectory(nestedDirectories);
+    }
+
+    @Override
+    public void setGame(Game game) {
+        flush();
+        this.game = game;
+        delegate.setGame(game);
+    }
+
+    @Override
+    public Game getGame() {
+        return game != null ? game : delegate.getGame();
+    }
+
+    @Override
+    public void reset() {
+        flush();
+        restoreGame();
+        delegate.reset();
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        flush();
+        this.game = game;
+        delegate.init(game, nPlayersPerGame, playerNames);
+    }
+}
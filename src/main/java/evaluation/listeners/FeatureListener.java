@@ -3,6 +3,7 @@ package evaluation.listeners;
 import core.*;
 import core.actions.AbstractAction;
 import core.interfaces.IStatisticLogger;
+import evaluation.loggers.ColumnarStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 
@@ -72,6 +73,8 @@ public abstract class FeatureListener implements IGameListener {
     public boolean setOutputDirectory(String... nestedDirectories) {
         if (logger instanceof FileStatsLogger fileLogger) {
             fileLogger.setOutPutDirectory(nestedDirectories);
+        } else if (logger instanceof ColumnarStatsLogger columnarLogger) {
+            columnarLogger.setOutPutDirectory(nestedDirectories);
         }
         return true;
     }
@@ -0,0 +1,140 @@
+package evaluation.listeners;
+
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import core.actions.ActionSpace;
+import evaluation.metrics.Event;
+import evaluation.replay.GameTrace;
+import utilities.Utils;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+
+import static evaluation.metrics.Event.GameEvent.*;
+
+/**
+ * Records every game it listens to as a compact {@link GameTrace}, appended to a binary trace file. The games can
+ * then be re-run at forward model speed by {@link evaluation.replay.ReplayEngine}, for example to regenerate
+ * features, metrics or GUI views without re-running expensive agents.
+ * <p>
+ * The index of each action is taken in the list of available actions computed on the full game state at each
+ * ACTION_CHOSEN event. This is the same computation that the ReplayEngine will make, so the indices are guaranteed
+ * to line up. (The player chose from the actions computed on their observation of the state, but a copy for a player
+ * is redeterminised with an unseeded random number generator, so cannot be recreated in a replay.) If the action
+ * taken is not in that list, as when the actions available depend on hidden information, the game cannot be traced
+ * and is not written. Each game is written (and flushed) when it finishes, so an interrupted run loses at most the
+ * game in progress.
+ */
+public class GameTraceListener implements IGameListener {
+
+    private String fileName;
+    private Game game;
+    private DataOutputStream out;
+
+    private long seed;
+    private String parameters;
+    private ActionSpace[] actionSpaces;
+    private String[] playerNames;
+    private int[] actions = new int[256];
+    private int nActions;
+    private List<AbstractAction> availableActions;
+    private boolean valid;
+
+    public GameTraceListener(String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (event.type == ABOUT_TO_START) {
+            startTrace(event.state);
+        } else if (event.type == ACTION_CHOSEN) {
+            availableActions = game.getForwardModel().computeAvailableActions(event.state, actionSpaces[event.playerID]);
+        } else if (event.type == ACTION_TAKEN) {
+            int index = availableActions == null ? -1 : availableActions.indexOf(event.action);
+            if (index < 0) {
+                valid = false;
+            } else {
+                if (nActions == actions.length)
+                    actions = Arrays.copyOf(actions, nActions * 2);
+                actions[nActions++] = index;
+            }
+            availableActions = null;
+        } else if (event.type == GAME_OVER) {
+            endTrace(event.state);
+        }
+    }
+
+    private void startTrace(AbstractGameState state) {
+        int nPlayers = state.getNPlayers();
+        seed = state.getGameParameters().getRandomSeed();
+        parameters = GameTrace.parametersToJSON(state.getGameParameters());
+        actionSpaces = new ActionSpace[nPlayers];
+        playerNames = new String[nPlayers];
+        for (int p = 0; p < nPlayers; p++) {
+            actionSpaces[p] = game.getPlayers().get(p).getParameters().actionSpace;
+            playerNames[p] = game.getPlayers().get(p).toString();
+        }
+        nActions = 0;
+        valid = true;
+    }
+
+    private void endTrace(AbstractGameState state) {
+        if (actionSpaces == null)
+            return; // we did not see the start of the game
+        if (!valid) {
+            System.out.println("Game " + state.getGameID() + " could not be traced, as an action taken was not in the list of actions available in the full game state");
+            return;
+        }
+        double[] finalScores = new double[state.getNPlayers()];
+        for (int p = 0; p < finalScores.length; p++)
+            finalScores[p] = state.getGameScore(p);
+        GameTrace trace = new GameTrace(state.getGameType(), state.getNPlayers(), seed, parameters, actionSpaces,
+                playerNames, Arrays.copyOf(actions, nActions), finalScores);
+        try {
+            if (out == null)
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName, true), 1 << 16));
+            trace.write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new AssertionError("Problem writing to trace file " + fileName + " : " + e.getMessage());
+        }
+        actionSpaces = null;
+    }
+
+    @Override
+    public void report() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new AssertionError("Problem closing trace file " + fileName + " : " + e.getMessage());
+            }
+            out = null;
+        }
+    }
+
+    @Override
+    public boolean setOutputDirectory(String... nestedDirectories) {
+        report();
+        String folder = Utils.createDirectory(nestedDirectories);
+        fileName = folder + File.separator + new File(fileName).getName();
+        return true;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public Game getGame() {
+        return game;
+    }
+}
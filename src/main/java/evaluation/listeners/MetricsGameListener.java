@@ -59,18 +59,43 @@ public class MetricsGameListener implements IGameListener {
     }
 
     public MetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes, AbstractMetric[] metrics) {
+        this(logTo, dataTypes, metrics, new String[]{DataTableSaw.class.getName()});
+    }
+
+    /**
+     * @param dataLoggers - the IDataLogger class to use for each metric, in the same order as metrics. If only one is
+     *                    given then it is used for all metrics. For example, use
+     *                    "evaluation.metrics.streaming.StreamingDataLogger" for metrics that record a lot of data
+     *                    over a long run, and only need summaries. The class must have a constructor that takes the
+     *                    AbstractMetric.
+     */
+    public MetricsGameListener(IDataLogger.ReportDestination logTo, IDataLogger.ReportType[] dataTypes, AbstractMetric[] metrics, String[] dataLoggers) {
+        if (dataLoggers.length != 1 && dataLoggers.length != metrics.length)
+            throw new IllegalArgumentException("Need either one data logger for all metrics, or one per metric");
         reportDestinations = Collections.singletonList(logTo);
         this.reportTypes = Arrays.asList(dataTypes);
         this.metrics = new LinkedHashMap<>();
         this.firstReport = true;
-        for (AbstractMetric m : metrics) {
-            m.setDataLogger(new DataTableSaw(m)); //todo this logger needs to be read from JSON
+        for (int i = 0; i < metrics.length; i++) {
+            AbstractMetric m = metrics[i];
+            m.setDataLogger(createDataLogger(dataLoggers.length == 1 ? dataLoggers[0] : dataLoggers[i], m));
             this.metrics.put(m.getName(), m);
             eventsOfInterest.addAll(m.getEventTypes());
         }
         eventsOfInterest.add(Event.GameEvent.GAME_OVER);
     }
 
+    private static IDataLogger createDataLogger(String className, AbstractMetric metric) {
+        if (className.equals(DataTableSaw.class.getName()))
+            return new DataTableSaw(metric);
+        try {
+            Class<?> clazz = Class.forName(className);
+            return (IDataLogger) clazz.getConstructor(AbstractMetric.class).newInstance(metric);
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new AssertionError("Problem creating data logger " + className + " for " + metric.getName() + " : " + e.getMessage());
+        }
+    }
+
     /**
      * Manages all events.
      *
@@ -138,7 +163,8 @@ public class MetricsGameListener implements IGameListener {
             for (IGameEvent event : eventsOfInterest) {
                 List<AbstractMetric> eventMetrics = new ArrayList<>();
                 for (AbstractMetric metric : metrics.values()) {
-                    if (metric.listens(event)) {
+                    // only DataTableSaw keeps the raw data needed to do this
+                    if (metric.listens(event) && metric.getDataLogger() instanceof DataTableSaw) {
                         eventMetrics.add(metric);
                     }
                 }
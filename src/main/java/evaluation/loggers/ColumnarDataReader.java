@@ -0,0 +1,329 @@
+package evaluation.loggers;
+
+import utilities.Pair;
+import utilities.Utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static evaluation.loggers.ColumnarStatsLogger.*;
+
+/**
+ * Reads files written by {@link ColumnarStatsLogger}.
+ * <p>
+ * On opening, only the header and the small per-chunk index blocks are read. Column data is then read on demand,
+ * one column at a time, from memory-mapped regions of the file; uncompressed numeric columns are bulk-copied
+ * straight from the mapped buffer without any parsing. Each column is only mapped for the duration of the read,
+ * so files larger than 2GB are supported, and the memory used is that of the columns actually requested.
+ */
+public class ColumnarDataReader implements AutoCloseable {
+
+    private final String fileName;
+    private final FileChannel channel;
+    private final String[] header;
+    private final boolean compressed;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private final int rows;
+
+    private record Chunk(int nRows, byte[] types, int[] rawLengths, int[] storedLengths, long[] offsets) {
+    }
+
+    /**
+     * @return true if the file starts with the ColumnarStatsLogger magic number
+     */
+    public static boolean isColumnarFile(String fileName) {
+        File file = new File(fileName);
+        if (!file.isFile() || file.length() < 4) return false;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public ColumnarDataReader(String fileName) {
+        this.fileName = fileName;
+        try {
+            channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+            long position = 0;
+            ByteBuffer fixed = read(position, 13);
+            if (fixed.getInt() != MAGIC)
+                throw new AssertionError("File " + fileName + " is not a columnar data file");
+            int version = fixed.getInt();
+            if (version != VERSION)
+                throw new AssertionError("Unsupported columnar data file version " + version + " in " + fileName);
+            compressed = fixed.get() != 0;
+            int nColumns = fixed.getInt();
+            position += 13;
+            header = new String[nColumns];
+            for (int i = 0; i < nColumns; i++) {
+                int length = read(position, 4).getInt();
+                header[i] = StandardCharsets.UTF_8.decode(read(position + 4, length)).toString();
+                position += 4 + length;
+            }
+
+            // Then index the chunks
+            int totalRows = 0;
+            long fileSize = channel.size();
+            int indexSize = 4 + 9 * nColumns;
+            while (position < fileSize) {
+                ByteBuffer index = read(position, indexSize);
+                int nRows = index.getInt();
+                byte[] types = new byte[nColumns];
+                int[] rawLengths = new int[nColumns];
+                int[] storedLengths = new int[nColumns];
+                long[] offsets = new long[nColumns];
+                long offset = position + indexSize;
+                for (int i = 0; i < nColumns; i++) {
+                    types[i] = index.get();
+                    rawLengths[i] = index.getInt();
+                    storedLengths[i] = index.getInt();
+                    offsets[i] = offset;
+                    offset += storedLengths[i];
+                }
+                chunks.add(new Chunk(nRows, types, rawLengths, storedLengths, offsets));
+                totalRows += nRows;
+                position = offset;
+            }
+            if (position != fileSize)
+                throw new AssertionError("Truncated chunk at end of " + fileName);
+            rows = totalRows;
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+                throw new EOFException("Unexpected end of file " + fileName);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private ByteBuffer payload(Chunk chunk, int column) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, chunk.offsets[column], chunk.storedLengths[column]);
+        if (!compressed)
+            return mapped;
+        byte[] stored = new byte[chunk.storedLengths[column]];
+        mapped.get(stored);
+        byte[] raw = new byte[chunk.rawLengths[column]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            int n = 0;
+            while (n < raw.length && !inflater.finished())
+                n += inflater.inflate(raw, n, raw.length - n);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed column " + header[column] + " : " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    public String[] getHeader() {
+        return header.clone();
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public int columnIndex(String name) {
+        for (int i = 0; i < header.length; i++)
+            if (header[i].equals(name)) return i;
+        return -1;
+    }
+
+    /**
+     * Reads a whole column as doubles. Missing values are NaN, and string values are parsed (with "NA" and
+     * anything else non-numeric also being NaN).
+     */
+    public double[] getDoubleColumn(int column) {
+        double[] retValue = new double[rows];
+        int start = 0;
+        for (Chunk chunk : chunks) {
+            readDoubles(chunk, column, retValue, start);
+            start += chunk.nRows;
+        }
+        return retValue;
+    }
+
+    private void readDoubles(Chunk chunk, int column, double[] into, int start) {
+        try {
+            ByteBuffer data = payload(chunk, column);
+            switch (chunk.types[column]) {
+                case DOUBLE_COLUMN -> data.asDoubleBuffer().get(into, start, chunk.nRows);
+                case INT_COLUMN -> {
+                    for (int i = 0; i < chunk.nRows; i++)
+                        into[start + i] = data.getInt();
+                }
+                default -> {
+                    for (int i = 0; i < chunk.nRows; i++)
+                        into[start + i] = parseDouble(readString(data));
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading column " + header[column] + " from " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a whole column as Strings, in the same format that FileStatsLogger would have used for
+     * everything other than doubles (which use Double.toString()). Missing values are "NA".
+     */
+    public String[] getStringColumn(int column) {
+        String[] retValue = new String[rows];
+        int start = 0;
+        for (Chunk chunk : chunks) {
+            readStrings(chunk, column, retValue, start);
+            start += chunk.nRows;
+        }
+        return retValue;
+    }
+
+    /**
+     * @return the number of chunks in the file; each was written as one block by ColumnarStatsLogger
+     */
+    public int chunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Reads the rows of one chunk as Strings (as for getStringColumn()), so that a file can be processed a chunk
+     * at a time without holding whole columns in memory.
+     *
+     * @return one array per row, with one entry per column
+     */
+    public String[][] getChunkRows(int chunkIndex) {
+        Chunk chunk = chunks.get(chunkIndex);
+        String[][] retValue = new String[chunk.nRows][header.length];
+        String[] column = new String[chunk.nRows];
+        for (int c = 0; c < header.length; c++) {
+            readStrings(chunk, c, column, 0);
+            for (int r = 0; r < chunk.nRows; r++)
+                retValue[r][c] = column[r];
+        }
+        return retValue;
+    }
+
+    /**
+     * Reads one chunk by column, for DataChunkReader.nextColumnChunk(). Numeric columns are read straight into
+     * doubles, as for getDoubleColumn(), and only String columns are read as Strings.
+     */
+    DataChunkReader.Chunk getChunk(int chunkIndex) {
+        Chunk chunk = chunks.get(chunkIndex);
+        double[][] numbers = new double[header.length][];
+        String[][] strings = new String[header.length][];
+        for (int c = 0; c < header.length; c++) {
+            if (chunk.types[c] == STRING_COLUMN) {
+                strings[c] = new String[chunk.nRows];
+                readStrings(chunk, c, strings[c], 0);
+            } else {
+                numbers[c] = new double[chunk.nRows];
+                readDoubles(chunk, c, numbers[c], 0);
+            }
+        }
+        return new DataChunkReader.Chunk(chunk.nRows, numbers, strings);
+    }
+
+    private void readStrings(Chunk chunk, int column, String[] into, int start) {
+        try {
+            ByteBuffer data = payload(chunk, column);
+            for (int i = 0; i < chunk.nRows; i++) {
+                into[start + i] = switch (chunk.types[column]) {
+                    case DOUBLE_COLUMN -> {
+                        double d = data.getDouble();
+                        yield Double.isNaN(d) ? "NA" : String.valueOf(d);
+                    }
+                    case INT_COLUMN -> String.valueOf(data.getInt());
+                    default -> readString(data);
+                };
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading column " + header[column] + " from " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * As Utils.loadDataWithHeader(), but also accepts files written by ColumnarStatsLogger (recognised by their magic
+     * number, for which the delimiter is irrelevant), so that either format can be used wherever data files are read.
+     *
+     * @param files files to load (all must have the same columns)
+     * @return the header, and the rows of data
+     */
+    public static Pair<List<String>, List<List<String>>> loadDataWithHeader(String delimiter, String... files) {
+        List<List<String>> data = new ArrayList<>();
+        List<String> header = new ArrayList<>();
+        for (String file : files) {
+            if (isColumnarFile(file)) {
+                try (ColumnarDataReader reader = new ColumnarDataReader(file)) {
+                    header = Arrays.asList(reader.getHeader());
+                    data.addAll(reader.toRows());
+                }
+            } else {
+                Pair<List<String>, List<List<String>>> textData = Utils.loadDataWithHeader(delimiter, file);
+                header = textData.a;
+                data.addAll(textData.b);
+            }
+        }
+        return Pair.of(header, data);
+    }
+
+    /**
+     * Converts the whole file to rows of Strings, in the same form as Utils.loadDataWithHeader() provides
+     * for tab-delimited files.
+     */
+    public List<List<String>> toRows() {
+        String[][] columns = new String[header.length][];
+        for (int c = 0; c < header.length; c++)
+            columns[c] = getStringColumn(c);
+        List<List<String>> retValue = new ArrayList<>(rows);
+        for (int r = 0; r < rows; r++) {
+            String[] row = new String[header.length];
+            for (int c = 0; c < header.length; c++)
+                row[c] = columns[c][r];
+            retValue.add(Arrays.asList(row));
+        }
+        return retValue;
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = data.getInt();
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static double parseDouble(String s) {
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new AssertionError("Problem closing file " + fileName + " : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package evaluation.loggers;
+
+import core.interfaces.IStatisticLogger;
+import evaluation.summarisers.TAGOccurrenceStatSummary;
+import evaluation.summarisers.TAGStatSummary;
+import utilities.Utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+
+/**
+ * A binary alternative to FileStatsLogger for large volumes of data (for example the training data generated by
+ * StateFeatureListener and ActionFeatureListener in ExpertIteration).
+ * <p>
+ * Records are buffered in memory by column, and written out as a chunk of typed columns every chunkSize rows
+ * (or when processDataAndNotFinish() is called). Each column in a chunk is stored as raw doubles, raw ints,
+ * or length-prefixed UTF-8 strings, depending on the values actually seen in that chunk. Each column can
+ * optionally be compressed with Deflate. No string formatting is needed for numeric data.
+ * <p>
+ * As with FileStatsLogger, the set of columns is fixed by the first record (or by the existing file when appending).
+ * Values for unknown keys are ignored, and missing values are written as NaN (or "NA" in a string column).
+ * <p>
+ * Files are read with {@link ColumnarDataReader}. ColumnarDataReader.loadDataWithHeader() and DataChunkReader (and
+ * hence AutomatedFeatures and all the learners) recognise these files automatically, so they can be used wherever
+ * tab-delimited data files are.
+ * <p>
+ * File layout (all big-endian):
+ * <pre>
+ * header: int MAGIC, int VERSION, byte compressed, int nColumns, nColumns x (int length, UTF-8 name)
+ * chunk:  int nRows, nColumns x (byte type, int rawLength, int storedLength), then the nColumns payloads in order
+ * </pre>
+ */
+public class ColumnarStatsLogger implements IStatisticLogger {
+
+    static final int MAGIC = 0x54414743; // "TAGC"
+    static final int VERSION = 1;
+    static final byte DOUBLE_COLUMN = 0;
+    static final byte INT_COLUMN = 1;
+    static final byte STRING_COLUMN = 2;
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private String fileName;
+    private String actionName;
+    private final boolean append;
+    private final boolean compress;
+    private final int chunkSize;
+    private boolean compressChunks;
+    private DataOutputStream out;
+
+    private List<String> allKeys = new ArrayList<>();
+    private Map<String, Integer> keyIndex = new HashMap<>();
+    private ColumnBuffer[] buffers;
+    private int rowsInChunk;
+
+    public ColumnarStatsLogger(String fileName, boolean append, boolean compress, int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be positive");
+        this.fileName = fileName;
+        this.append = append;
+        this.compress = compress;
+        this.chunkSize = chunkSize;
+    }
+
+    public ColumnarStatsLogger(String fileName, boolean append, boolean compress) {
+        this(fileName, append, compress, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ColumnarStatsLogger(String fileName) {
+        this(fileName, true, false);
+    }
+
+    private void initialise(Collection<String> firstKeys) {
+        File file = new File(fileName);
+        try {
+            if (append && file.exists() && file.length() > 0) {
+                // the schema (and compression setting) of the existing file take precedence
+                try (ColumnarDataReader existing = new ColumnarDataReader(fileName)) {
+                    setColumns(Arrays.asList(existing.getHeader()));
+                    compressChunks = existing.isCompressed();
+                }
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true), 1 << 16));
+            } else {
+                setColumns(firstKeys.stream().map(this::columnName).toList());
+                compressChunks = compress;
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, false), 1 << 16));
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeByte(compress ? 1 : 0);
+                out.writeInt(allKeys.size());
+                for (String key : allKeys)
+                    writeString(out, key);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem opening file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * As in FileStatsLogger, the action name suffix (see emptyCopy()) is stripped from the column names
+     */
+    private String columnName(String key) {
+        if (actionName != null && key.endsWith(":" + actionName))
+            return key.substring(0, key.length() - actionName.length() - 1);
+        return key;
+    }
+
+    private void setColumns(Collection<String> keys) {
+        allKeys = new ArrayList<>(keys);
+        keyIndex = new HashMap<>();
+        for (int i = 0; i < allKeys.size(); i++)
+            keyIndex.put(allKeys.get(i), i);
+        buffers = new ColumnBuffer[allKeys.size()];
+        for (int i = 0; i < buffers.length; i++)
+            buffers[i] = new ColumnBuffer(chunkSize);
+    }
+
+    public void setOutPutDirectory(String... nestedDirectories) {
+        if (out != null) {
+            processDataAndFinish();
+            out = null;
+        }
+        String folder = Utils.createDirectory(nestedDirectories);
+        this.fileName = folder + File.separator + this.fileName;
+    }
+
+    /**
+     * Use to register a set of data in one go. As with FileStatsLogger, it is not possible to add new keys after the
+     * first call of record(Map), and nested Maps are flattened.
+     *
+     * @param rawData A map of name -> value pairs
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void record(Map<String, ?> rawData) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (String key : rawData.keySet()) {
+            Object thing = rawData.get(key);
+            if (thing instanceof Map) {
+                data.putAll((Map<? extends String, ?>) thing);
+            } else {
+                data.put(key, thing);
+            }
+        }
+        if (out == null) initialise(data.keySet());
+
+        boolean[] seen = new boolean[buffers.length];
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            Integer index = keyIndex.get(columnName(entry.getKey()));
+            if (index == null) continue;
+            Object datum = entry.getValue();
+            if (datum instanceof TAGOccurrenceStatSummary summary)
+                datum = summary.getHighestOccurrence().a;
+            if (datum instanceof Map<?, ?> map)
+                datum = map.size() == 1 ? map.values().iterator().next() : map.toString();
+            buffers[index].add(rowsInChunk, datum);
+            seen[index] = true;
+        }
+        for (int i = 0; i < seen.length; i++) {
+            if (!seen[i]) buffers[i].add(rowsInChunk, null);
+        }
+        rowsInChunk++;
+        if (rowsInChunk == chunkSize)
+            writeChunk();
+    }
+
+    /**
+     * Writes the rows in this format, in the same way that Utils.writeDataWithHeader() writes them as text
+     */
+    public static void writeDataWithHeader(List<String> names, List<List<Object>> rows, String outputFile) {
+        ColumnarStatsLogger logger = new ColumnarStatsLogger(outputFile, false, false);
+        for (List<Object> row : rows) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            for (int i = 0; i < names.size(); i++)
+                data.put(names.get(i), row.get(i));
+            logger.record(data);
+        }
+        if (rows.isEmpty())
+            logger.initialise(names);
+        logger.processDataAndFinish();
+    }
+
+    @Override
+    public void record(String key, Object datum) {
+        // as with FileStatsLogger, only complete records are supported
+    }
+
+    private void writeChunk() {
+        if (rowsInChunk == 0) return;
+        try {
+            byte[][] payloads = new byte[buffers.length][];
+            byte[] types = new byte[buffers.length];
+            int[] rawLengths = new int[buffers.length];
+            for (int i = 0; i < buffers.length; i++) {
+                types[i] = buffers[i].type();
+                byte[] raw = buffers[i].encode(rowsInChunk);
+                rawLengths[i] = raw.length;
+                payloads[i] = compressChunks ? deflate(raw) : raw;
+                buffers[i].clear();
+            }
+            out.writeInt(rowsInChunk);
+            for (int i = 0; i < buffers.length; i++) {
+                out.writeByte(types[i]);
+                out.writeInt(rawLengths[i]);
+                out.writeInt(payloads[i].length);
+            }
+            for (byte[] payload : payloads)
+                out.write(payload);
+            rowsInChunk = 0;
+        } catch (IOException e) {
+            throw new AssertionError("Problem writing to file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 2 + 16);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            bytes.write(buffer, 0, n);
+        }
+        deflater.end();
+        return bytes.toByteArray();
+    }
+
+    static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes any buffered rows as a final chunk, and closes the file
+     */
+    @Override
+    public void processDataAndFinish() {
+        if (out == null) return;
+        try {
+            writeChunk();
+            out.flush();
+            out.close();
+        } catch (IOException e) {
+            throw new AssertionError("Problem closing file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes any buffered rows as a chunk, so that everything recorded so far is on disk
+     */
+    @Override
+    public void processDataAndNotFinish() {
+        if (out == null) return;
+        try {
+            writeChunk();
+            out.flush();
+        } catch (IOException e) {
+            throw new AssertionError("Problem flushing file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * This always returns an empty Map
+     *
+     * @return A summary of the data
+     */
+    @Override
+    public Map<String, TAGStatSummary> summary() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public ColumnarStatsLogger emptyCopy(String id) {
+        String[] fileParts = fileName.split(Pattern.quote("."));
+        if (fileParts.length != 2)
+            throw new AssertionError("Filename does not conform to expected <stem>.<type>");
+        String newFileName = fileParts[0] + "_" + id + "." + fileParts[1];
+        ColumnarStatsLogger retValue = new ColumnarStatsLogger(newFileName, append, compress, chunkSize);
+        retValue.actionName = id;
+        return retValue;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public boolean isAppend() {
+        return append;
+    }
+
+    public boolean isCompressed() {
+        return compress;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Holds the values for one column of the current chunk. Numbers are kept unboxed; we only fall back to
+     * Strings if something non-numeric turns up in the chunk.
+     */
+    private static class ColumnBuffer {
+        final double[] numbers;
+        String[] strings;
+        boolean allInts = true;
+
+        ColumnBuffer(int size) {
+            numbers = new double[size];
+        }
+
+        void add(int row, Object datum) {
+            if (strings == null && (datum == null || datum instanceof Number)) {
+                if (datum == null) {
+                    numbers[row] = Double.NaN;
+                    allInts = false;
+                } else {
+                    numbers[row] = ((Number) datum).doubleValue();
+                    if (allInts && !(datum instanceof Integer || datum instanceof Short || datum instanceof Byte))
+                        allInts = false;
+                }
+                return;
+            }
+            if (strings == null) {
+                // switch to strings for the rest of this chunk, converting what we have so far
+                strings = new String[numbers.length];
+                for (int i = 0; i < row; i++)
+                    strings[i] = asString(numbers[i]);
+            }
+            strings[row] = datum == null ? "NA" : datum.toString();
+        }
+
+        private String asString(double d) {
+            if (Double.isNaN(d)) return "NA";
+            return allInts ? String.valueOf((int) d) : String.valueOf(d);
+        }
+
+        byte type() {
+            if (strings != null) return STRING_COLUMN;
+            return allInts ? INT_COLUMN : DOUBLE_COLUMN;
+        }
+
+        byte[] encode(int rows) throws IOException {
+            switch (type()) {
+                case DOUBLE_COLUMN -> {
+                    ByteBuffer buffer = ByteBuffer.allocate(rows * 8);
+                    buffer.asDoubleBuffer().put(numbers, 0, rows);
+                    return buffer.array();
+                }
+                case INT_COLUMN -> {
+                    ByteBuffer buffer = ByteBuffer.allocate(rows * 4);
+                    for (int i = 0; i < rows; i++)
+                        buffer.putInt((int) numbers[i]);
+                    return buffer.array();
+                }
+                default -> {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(rows * 8);
+                    DataOutputStream data = new DataOutputStream(bytes);
+                    for (int i = 0; i < rows; i++)
+                        writeString(data, strings[i]);
+                    data.flush();
+                    return bytes.toByteArray();
+                }
+            }
+        }
+
+        void clear() {
+            strings = null;
+            allInts = true;
+        }
+    }
+}
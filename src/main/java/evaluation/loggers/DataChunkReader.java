@@ -0,0 +1,216 @@
+package evaluation.loggers;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Reads one or more data files a chunk of rows at a time, so that data sets larger than memory can be processed
+ * in a single pass. The files may be tab-delimited text (with a header line) or written by ColumnarStatsLogger,
+ * and all must have the same columns.
+ * <p>
+ * Rows are provided either in the same String form as Utils.loadDataWithHeader() (nextChunk()), or by column
+ * (nextColumnChunk()), in which the numeric columns of a ColumnarStatsLogger file are read straight into doubles
+ * without being converted to and from text. In either case rows with the wrong number of columns are skipped.
+ */
+public class DataChunkReader implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final String[] files;
+    private final int chunkSize;
+    private final String delimiter;
+    private String[] header;
+
+    private int fileIndex = -1;
+    private BufferedReader textReader;
+    private ColumnarDataReader columnarReader;
+    private int columnarChunk;
+
+    public DataChunkReader(String... files) {
+        this(DEFAULT_CHUNK_SIZE, "\t", files);
+    }
+
+    public DataChunkReader(int chunkSize, String delimiter, String... files) {
+        if (files.length == 0)
+            throw new IllegalArgumentException("No data files specified");
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be positive : " + chunkSize);
+        this.files = files;
+        this.chunkSize = chunkSize;
+        this.delimiter = delimiter;
+        openNextFile();
+    }
+
+    /**
+     * One chunk of rows, held by column. Numeric columns from a ColumnarStatsLogger file are held as doubles; String
+     * columns, and all the columns of a text file (which has no types), are held as Strings and parsed on access.
+     */
+    public static final class Chunk {
+        private final int rows;
+        private final double[][] numbers;  // by column; null for a column held as Strings
+        private final String[][] strings;  // by column; null for a column held as numbers
+
+        Chunk(int rows, double[][] numbers, String[][] strings) {
+            this.rows = rows;
+            this.numbers = numbers;
+            this.strings = strings;
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        /**
+         * @return the value as a number (see parseNumber())
+         */
+        public double getDouble(int row, int column) {
+            double[] values = numbers[column];
+            return values != null ? values[row] : parseNumber(strings[column][row]);
+        }
+
+        /**
+         * @return the value as a String (with missing numbers as "NA")
+         */
+        public String getString(int row, int column) {
+            String[] values = strings[column];
+            if (values != null)
+                return values[row];
+            double value = numbers[column][row];
+            return Double.isNaN(value) ? "NA" : String.valueOf(value);
+        }
+    }
+
+    /**
+     * @return the value of a field in a row of data (booleans as 1.0 / 0.0), or NaN if it is not a number
+     */
+    public static double parseNumber(String value) {
+        if (value.equalsIgnoreCase("true")) return 1.0;
+        if (value.equalsIgnoreCase("false")) return 0.0;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    public String[] getHeader() {
+        return header.clone();
+    }
+
+    /**
+     * @return the next chunk of rows (at most chunkSize, but possibly fewer even before the end of the data),
+     * or null once all the files have been read
+     */
+    public List<String[]> nextChunk() {
+        while (fileIndex < files.length) {
+            List<String[]> retValue = columnarReader != null ? nextColumnarChunk() : nextTextChunk();
+            if (!retValue.isEmpty())
+                return retValue;
+            openNextFile();
+        }
+        return null;
+    }
+
+    /**
+     * As nextChunk(), but with the rows held by column, so that numeric data in ColumnarStatsLogger files is never
+     * converted to text. The two may be used alternately on the same reader.
+     *
+     * @return the next chunk of rows, or null once all the files have been read
+     */
+    public Chunk nextColumnChunk() {
+        while (fileIndex < files.length) {
+            if (columnarReader != null) {
+                if (columnarChunk < columnarReader.chunkCount())
+                    return columnarReader.getChunk(columnarChunk++);
+            } else {
+                List<String[]> rows = nextTextChunk();
+                if (!rows.isEmpty()) {
+                    String[][] columns = new String[header.length][rows.size()];
+                    for (int r = 0; r < rows.size(); r++) {
+                        String[] row = rows.get(r);
+                        for (int c = 0; c < header.length; c++)
+                            columns[c][r] = row[c];
+                    }
+                    return new Chunk(rows.size(), new double[header.length][], columns);
+                }
+            }
+            openNextFile();
+        }
+        return null;
+    }
+
+    private List<String[]> nextTextChunk() {
+        List<String[]> retValue = new ArrayList<>(chunkSize);
+        try {
+            String line;
+            while (retValue.size() < chunkSize && (line = textReader.readLine()) != null) {
+                String[] row = line.split(Pattern.quote(delimiter), -1);  // keeps trailing empty fields
+                if (row.length == header.length)
+                    retValue.add(row);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading file " + files[fileIndex] + " : " + e.getMessage());
+        }
+        return retValue;
+    }
+
+    private List<String[]> nextColumnarChunk() {
+        // we use the chunks as written, as these can be read directly
+        if (columnarChunk >= columnarReader.chunkCount())
+            return Collections.emptyList();
+        return Arrays.asList(columnarReader.getChunkRows(columnarChunk++));
+    }
+
+    private void openNextFile() {
+        closeCurrentFile();
+        fileIndex++;
+        if (fileIndex >= files.length)
+            return;
+        String file = files[fileIndex];
+        String[] fileHeader;
+        if (ColumnarDataReader.isColumnarFile(file)) {
+            columnarReader = new ColumnarDataReader(file);
+            columnarChunk = 0;
+            fileHeader = columnarReader.getHeader();
+        } else {
+            try {
+                textReader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+                String line = textReader.readLine();
+                if (line == null)
+                    throw new AssertionError("Missing header in file " + file);
+                fileHeader = line.split(Pattern.quote(delimiter), -1);
+            } catch (IOException e) {
+                throw new AssertionError("Problem reading file " + file + " : " + e.getMessage());
+            }
+        }
+        if (header == null) {
+            header = fileHeader;
+        } else if (!Arrays.equals(header, fileHeader)) {
+            closeCurrentFile();
+            throw new IllegalArgumentException("All data files must have the same columns : " + Arrays.toString(files));
+        }
+    }
+
+    private void closeCurrentFile() {
+        if (columnarReader != null) {
+            columnarReader.close();
+            columnarReader = null;
+        }
+        if (textReader != null) {
+            try {
+                textReader.close();
+            } catch (IOException e) {
+                throw new AssertionError("Problem closing file " + files[fileIndex] + " : " + e.getMessage());
+            }
+            textReader = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        closeCurrentFile();
+        fileIndex = files.length;
+    }
+}
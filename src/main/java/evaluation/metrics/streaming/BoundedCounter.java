@@ -0,0 +1,98 @@
+package evaluation.metrics.streaming;
+
+import java.util.*;
+
+/**
+ * Counts occurrences of categorical values using the Space-Saving algorithm (Metwally et al. 2005), so that at most
+ * a fixed number of categories are tracked at once.
+ * <p>
+ * As long as no more than capacity distinct values are seen the counts are exact. After that, when a new value
+ * arrives the least frequent tracked value is evicted and the new one inherits its count (plus one). Any value that
+ * occurs more than total/capacity times is guaranteed to be tracked, and each count overestimates the true count by
+ * at most its recorded error.
+ */
+public class BoundedCounter {
+
+    private final int capacity;
+    // value -> {count, error}
+    private final Map<String, long[]> counts = new HashMap<>();
+    private long total;
+
+    public BoundedCounter(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive");
+        this.capacity = capacity;
+    }
+
+    public void add(String value) {
+        total++;
+        long[] entry = counts.get(value);
+        if (entry != null) {
+            entry[0]++;
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(value, new long[]{1, 0});
+            return;
+        }
+        String minKey = null;
+        long minCount = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> e : counts.entrySet()) {
+            if (e.getValue()[0] < minCount) {
+                minCount = e.getValue()[0];
+                minKey = e.getKey();
+            }
+        }
+        counts.remove(minKey);
+        counts.put(value, new long[]{minCount + 1, minCount});
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int tracked() {
+        return counts.size();
+    }
+
+    /**
+     * @return true if more distinct values have been seen than could be tracked, so counts may be approximate
+     */
+    public boolean isApproximate() {
+        for (long[] entry : counts.values())
+            if (entry[1] > 0) return true;
+        return false;
+    }
+
+    public long count(String value) {
+        long[] entry = counts.get(value);
+        return entry == null ? 0 : entry[0];
+    }
+
+    public long error(String value) {
+        long[] entry = counts.get(value);
+        return entry == null ? 0 : entry[1];
+    }
+
+    /**
+     * @return tracked values, most frequent first
+     */
+    public List<String> values() {
+        List<String> retValue = new ArrayList<>(counts.keySet());
+        retValue.sort(Comparator.comparingLong((String s) -> -counts.get(s)[0]).thenComparing(s -> s));
+        return retValue;
+    }
+
+    public BoundedCounter copy() {
+        BoundedCounter retValue = new BoundedCounter(capacity);
+        for (Map.Entry<String, long[]> e : counts.entrySet())
+            retValue.counts.put(e.getKey(), e.getValue().clone());
+        retValue.total = total;
+        return retValue;
+    }
+
+    public void clear() {
+        counts.clear();
+        total = 0;
+    }
+}
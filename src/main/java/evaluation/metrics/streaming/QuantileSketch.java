@@ -0,0 +1,166 @@
+package evaluation.metrics.streaming;
+
+import java.util.Arrays;
+
+/**
+ * A small merging t-digest for estimating quantiles of a stream of doubles in bounded memory.
+ * <p>
+ * Incoming values are buffered, and every time the buffer is full it is sorted and merged into a list of
+ * weighted centroids. Centroids are kept small near the tails (q close to 0 or 1) and are allowed to grow in the
+ * middle of the distribution, so extreme quantiles are estimated more accurately than the median. The number of
+ * centroids is bounded by the compression parameter, so memory use does not grow with the number of values seen.
+ */
+public class QuantileSketch {
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int nCentroids;
+    private final double[] buffer;
+    private int nBuffered;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    // scratch space for merging, reused to avoid allocation on every merge
+    private double[] mergeMeans, mergeWeights;
+
+    public QuantileSketch(int compression) {
+        if (compression < 10)
+            throw new IllegalArgumentException("Compression must be at least 10");
+        this.compression = compression;
+        int capacity = 2 * compression;
+        means = new double[capacity];
+        weights = new double[capacity];
+        buffer = new double[5 * compression];
+        mergeMeans = new double[capacity + buffer.length];
+        mergeWeights = new double[capacity + buffer.length];
+    }
+
+    public void add(double x) {
+        if (Double.isNaN(x)) return;
+        buffer[nBuffered++] = x;
+        if (x < min) min = x;
+        if (x > max) max = x;
+        if (nBuffered == buffer.length)
+            merge();
+    }
+
+    public long size() {
+        return Math.round(totalWeight) + nBuffered;
+    }
+
+    public void clear() {
+        nCentroids = 0;
+        nBuffered = 0;
+        totalWeight = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Scale function k1 from Dunning and Ertl; centroids may span at most one unit of k
+     */
+    private double k(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+    }
+
+    private void merge() {
+        if (nBuffered == 0) return;
+        Arrays.sort(buffer, 0, nBuffered);
+
+        // merge the two sorted lists (centroids and buffered points of weight 1)
+        int n = 0, i = 0, j = 0;
+        while (i < nCentroids || j < nBuffered) {
+            if (j == nBuffered || (i < nCentroids && means[i] <= buffer[j])) {
+                mergeMeans[n] = means[i];
+                mergeWeights[n++] = weights[i++];
+            } else {
+                mergeMeans[n] = buffer[j++];
+                mergeWeights[n++] = 1.0;
+            }
+        }
+        double newTotal = totalWeight + nBuffered;
+
+        // and then compress greedily from left to right
+        int out = 0;
+        double curMean = mergeMeans[0], curWeight = mergeWeights[0];
+        double weightSoFar = 0;
+        double kLeft = k(0);
+        for (int m = 1; m < n; m++) {
+            double proposed = weightSoFar + curWeight + mergeWeights[m];
+            if (k(proposed / newTotal) - kLeft <= 1.0) {
+                curWeight += mergeWeights[m];
+                curMean += (mergeMeans[m] - curMean) * mergeWeights[m] / curWeight;
+            } else {
+                weightSoFar += curWeight;
+                out = emit(out, curMean, curWeight);
+                kLeft = k(weightSoFar / newTotal);
+                curMean = mergeMeans[m];
+                curWeight = mergeWeights[m];
+            }
+        }
+        out = emit(out, curMean, curWeight);
+        nCentroids = out;
+        totalWeight = newTotal;
+        nBuffered = 0;
+    }
+
+    private int emit(int index, double mean, double weight) {
+        if (index == means.length) {
+            // should not happen with the k1 scale function, but we never want to throw while recording data
+            means = Arrays.copyOf(means, index * 2);
+            weights = Arrays.copyOf(weights, index * 2);
+            mergeMeans = new double[means.length + buffer.length];
+            mergeWeights = new double[means.length + buffer.length];
+        }
+        means[index] = mean;
+        weights[index] = weight;
+        return index + 1;
+    }
+
+    /**
+     * @param q quantile in [0, 1]
+     * @return the estimated value at quantile q, or NaN if no data has been added
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1)
+            throw new IllegalArgumentException("Quantile must be in [0, 1] : " + q);
+        merge();
+        if (nCentroids == 0) return Double.NaN;
+        if (nCentroids == 1) return means[0];
+        double target = q * totalWeight;
+        // each centroid is treated as being centred at the middle of its weight
+        double cumulative = weights[0] / 2;
+        if (target < cumulative)
+            return min + (means[0] - min) * target / cumulative;
+        for (int i = 0; i < nCentroids - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (target <= cumulative + gap)
+                return means[i] + (means[i + 1] - means[i]) * (target - cumulative) / gap;
+            cumulative += gap;
+        }
+        double lastHalf = weights[nCentroids - 1] / 2;
+        return means[nCentroids - 1] + (max - means[nCentroids - 1]) * Math.min(1.0, (target - cumulative) / lastHalf);
+    }
+
+    public QuantileSketch copy() {
+        QuantileSketch retValue = new QuantileSketch((int) compression);
+        retValue.means = means.clone();
+        retValue.weights = weights.clone();
+        retValue.mergeMeans = new double[mergeMeans.length];
+        retValue.mergeWeights = new double[mergeWeights.length];
+        retValue.nCentroids = nCentroids;
+        System.arraycopy(buffer, 0, retValue.buffer, 0, nBuffered);
+        retValue.nBuffered = nBuffered;
+        retValue.totalWeight = totalWeight;
+        retValue.min = min;
+        retValue.max = max;
+        return retValue;
+    }
+
+    public int centroidCount() {
+        merge();
+        return nCentroids;
+    }
+}
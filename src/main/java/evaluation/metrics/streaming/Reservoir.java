@@ -0,0 +1,64 @@
+package evaluation.metrics.streaming;
+
+import java.util.Random;
+
+/**
+ * A fixed-size uniform sample (Vitter's Algorithm R) of (x, y) points from a stream, used to keep a picture of how a
+ * value progresses over a game (for example against Tick or Round) without storing every point.
+ */
+public class Reservoir {
+
+    private final double[] xs, ys;
+    private final Random rnd;
+    private long seen;
+
+    public Reservoir(int capacity, long seed) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive");
+        xs = new double[capacity];
+        ys = new double[capacity];
+        rnd = new Random(seed);
+    }
+
+    public void add(double x, double y) {
+        if (seen < xs.length) {
+            xs[(int) seen] = x;
+            ys[(int) seen] = y;
+        } else {
+            long slot = (long) (rnd.nextDouble() * (seen + 1));
+            if (slot < xs.length) {
+                xs[(int) slot] = x;
+                ys[(int) slot] = y;
+            }
+        }
+        seen++;
+    }
+
+    public long seen() {
+        return seen;
+    }
+
+    public int size() {
+        return (int) Math.min(seen, xs.length);
+    }
+
+    public double x(int i) {
+        return xs[i];
+    }
+
+    public double y(int i) {
+        return ys[i];
+    }
+
+    public Reservoir copy() {
+        Reservoir retValue = new Reservoir(xs.length, rnd.nextLong());
+        System.arraycopy(xs, 0, retValue.xs, 0, size());
+        System.arraycopy(ys, 0, retValue.ys, 0, size());
+        retValue.seen = seen;
+        return retValue;
+    }
+
+    public void clear() {
+        seen = 0;
+    }
+}
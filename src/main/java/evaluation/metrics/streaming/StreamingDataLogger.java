@@ -0,0 +1,243 @@
+package evaluation.metrics.streaming;
+
+import core.Game;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.IDataProcessor;
+
+import java.util.*;
+
+/**
+ * A data logger that keeps summaries of the data instead of the data itself, so that memory use stays constant
+ * however many games (or events) are recorded. This is useful for very long runs, where DataTableSaw would keep every
+ * row of every metric in memory until the end.
+ * <p>
+ * For each column recorded by the metric:
+ * - numeric columns (Integer or Double) keep running moments (count, mean, variance, min, max) and a
+ * {@link QuantileSketch} for the median and other quantiles
+ * - categorical columns (anything else) keep a {@link BoundedCounter} of the most frequent values
+ * - numeric columns also keep a fixed-size {@link Reservoir} sample of (Tick, value) pairs, which is used to report
+ * how the value progresses through a game for metrics that record more than once per game
+ * <p>
+ * Raw data is not retained, so RawData and RawDataPerEvent reports are not available for metrics using this logger.
+ * <p>
+ * To use this for a metric, specify it in the listener JSON config (see MetricsGameListener).
+ */
+public class StreamingDataLogger implements IDataLogger {
+
+    public static final int DEFAULT_COMPRESSION = 100;
+    public static final int DEFAULT_MAX_CATEGORIES = 100;
+    public static final int DEFAULT_RESERVOIR_SIZE = 1000;
+
+    final AbstractMetric metric;
+    final int compression, maxCategories, reservoirSize;
+    final Map<String, ColumnSummary> columns = new LinkedHashMap<>();
+    long rows;
+    private double currentTick;
+
+    public StreamingDataLogger(AbstractMetric metric) {
+        this(metric, DEFAULT_COMPRESSION, DEFAULT_MAX_CATEGORIES, DEFAULT_RESERVOIR_SIZE);
+    }
+
+    public StreamingDataLogger(AbstractMetric metric, int compression, int maxCategories, int reservoirSize) {
+        this.metric = metric;
+        this.compression = compression;
+        this.maxCategories = maxCategories;
+        this.reservoirSize = reservoirSize;
+    }
+
+    /**
+     * The summaries kept for one column
+     */
+    class ColumnSummary {
+        final String name;
+        final boolean numeric;
+        long count, missing;
+        double mean, m2;
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        QuantileSketch sketch;
+        Reservoir progression;
+        // also used for any non-numeric values turning up in a numeric column
+        BoundedCounter categories;
+
+        ColumnSummary(String name, boolean numeric) {
+            this.name = name;
+            this.numeric = numeric;
+            if (numeric) {
+                sketch = new QuantileSketch(compression);
+                progression = new Reservoir(reservoirSize, name.hashCode());
+            } else {
+                categories = new BoundedCounter(maxCategories);
+            }
+        }
+
+        ColumnSummary(ColumnSummary other) {
+            this.name = other.name;
+            this.numeric = other.numeric;
+            this.count = other.count;
+            this.missing = other.missing;
+            this.mean = other.mean;
+            this.m2 = other.m2;
+            this.min = other.min;
+            this.max = other.max;
+            this.sketch = other.sketch == null ? null : other.sketch.copy();
+            this.progression = other.progression == null ? null : other.progression.copy();
+            this.categories = other.categories == null ? null : other.categories.copy();
+        }
+
+        void add(Object data) {
+            if (data == null) {
+                missing++;
+            } else if (numeric && data instanceof Number number) {
+                double x = number.doubleValue();
+                count++;
+                // Welford's update
+                double delta = x - mean;
+                mean += delta / count;
+                m2 += delta * (x - mean);
+                if (x < min) min = x;
+                if (x > max) max = x;
+                sketch.add(x);
+                progression.add(currentTick, x);
+            } else {
+                if (categories == null)
+                    categories = new BoundedCounter(maxCategories);
+                categories.add(data.toString());
+            }
+        }
+
+        double variance() {
+            return count > 1 ? m2 / (count - 1) : 0.0;
+        }
+
+        void clear() {
+            count = 0;
+            missing = 0;
+            mean = 0;
+            m2 = 0;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+            if (sketch != null) sketch.clear();
+            if (progression != null) progression.clear();
+            if (categories != null) categories.clear();
+        }
+    }
+
+    private static boolean isNumeric(Class<?> c) {
+        return c == Integer.class || c == Double.class || c == Long.class || c == Float.class;
+    }
+
+    @Override
+    public void reset() {
+        columns.clear();
+        rows = 0;
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        // As for DataTableSaw, we only summarise the metric-defined columns, but still need to register them
+        Map<String, Class<?>> metricColumns = metric.getColumns(nPlayersPerGame, playerNames);
+        for (Map.Entry<String, Class<?>> entry : metricColumns.entrySet()) {
+            if (!columns.containsKey(entry.getKey())) {
+                columns.put(entry.getKey(), new ColumnSummary(entry.getKey(), isNumeric(entry.getValue())));
+                metric.addColumnName(entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void addData(String columnName, Object data) {
+        // The default columns are always added first for each record (see AbstractMetric.run())
+        switch (columnName) {
+            case "GameID" -> rows++;
+            case "Tick" -> currentTick = data instanceof Number n ? n.doubleValue() : Double.NaN;
+            default -> {
+                ColumnSummary summary = columns.get(columnName);
+                if (summary != null)
+                    summary.add(data);
+            }
+        }
+    }
+
+    @Override
+    public IDataProcessor getDefaultProcessor() {
+        return new StreamingDataProcessor();
+    }
+
+    /**
+     * Clears the summaries, but keeps the columns
+     */
+    @Override
+    public void flush() {
+        for (ColumnSummary summary : columns.values())
+            summary.clear();
+        rows = 0;
+    }
+
+    @Override
+    public IDataLogger copy() {
+        StreamingDataLogger retValue = new StreamingDataLogger(metric, compression, maxCategories, reservoirSize);
+        for (ColumnSummary summary : columns.values())
+            retValue.columns.put(summary.name, retValue.new ColumnSummary(summary));
+        retValue.rows = rows;
+        return retValue;
+    }
+
+    @Override
+    public IDataLogger emptyCopy() {
+        StreamingDataLogger retValue = new StreamingDataLogger(metric, compression, maxCategories, reservoirSize);
+        for (ColumnSummary summary : columns.values())
+            retValue.columns.put(summary.name, retValue.new ColumnSummary(summary.name, summary.numeric));
+        return retValue;
+    }
+
+    @Override
+    public IDataLogger create() {
+        return new StreamingDataLogger(metric, compression, maxCategories, reservoirSize);
+    }
+
+    public AbstractMetric getMetric() {
+        return metric;
+    }
+
+    /**
+     * @return the number of records seen since the last flush
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getCount(String column) {
+        return columns.get(column).count;
+    }
+
+    public long getMissing(String column) {
+        return columns.get(column).missing;
+    }
+
+    public double getMean(String column) {
+        return columns.get(column).mean;
+    }
+
+    public double getStandardDeviation(String column) {
+        return Math.sqrt(columns.get(column).variance());
+    }
+
+    public double getMin(String column) {
+        return columns.get(column).min;
+    }
+
+    public double getMax(String column) {
+        return columns.get(column).max;
+    }
+
+    public double getQuantile(String column, double q) {
+        QuantileSketch sketch = columns.get(column).sketch;
+        return sketch == null ? Double.NaN : sketch.quantile(q);
+    }
+
+    public long getCategoryCount(String column, String value) {
+        BoundedCounter counter = columns.get(column).categories;
+        return counter == null ? 0 : counter.count(value);
+    }
+}
@@ -0,0 +1,205 @@
+package evaluation.metrics.streaming;
+
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.IDataProcessor;
+import evaluation.metrics.tablessaw.TableSawDataProcessor.TAGPlot;
+import tech.tablesaw.plotly.components.Axis;
+import tech.tablesaw.plotly.components.Figure;
+import tech.tablesaw.plotly.components.Layout;
+import tech.tablesaw.plotly.traces.BarTrace;
+import tech.tablesaw.plotly.traces.ScatterTrace;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.*;
+
+import static utilities.Utils.createDirectory;
+
+/**
+ * Reports the summaries held by a {@link StreamingDataLogger}. Summaries are written in the same folder layout as
+ * TableSawDataProcessor uses (summaries/metricName/...csv), and so are plots (plots/metricName/...html). As the raw
+ * data is not kept, numeric columns are plotted as their distribution (from the quantile sketch) or, if recorded
+ * during the game, as the sample of their progression; and other columns as the counts of each value.
+ */
+public class StreamingDataProcessor implements IDataProcessor {
+
+    static final double[] QUANTILES = {0.05, 0.25, 0.5, 0.75, 0.95};
+
+    @Override
+    public void processRawDataToConsole(IDataLogger logger) {
+        System.out.println("Raw data is not retained by " + logger.getClass().getSimpleName());
+    }
+
+    @Override
+    public void processRawDataToFile(IDataLogger logger, String folderName, boolean append) {
+        System.out.println("Raw data is not retained by " + logger.getClass().getSimpleName());
+    }
+
+    /**
+     * Plots are only written to file (as by TableSawDataProcessor), so this does nothing.
+     */
+    @Override
+    public void processPlotToConsole(IDataLogger logger) {
+    }
+
+    @Override
+    public void processPlotToFile(IDataLogger logger, String folderName) {
+        StreamingDataLogger sdl = (StreamingDataLogger) logger;
+        String name = sdl.metric.getName();
+        String metricFolder = folderName + "/plots/" + name;
+        if (!new File(metricFolder).exists()) {
+            createDirectory(metricFolder);
+        }
+        for (Map.Entry<String, Figure> figure : plotData(sdl).entrySet())
+            TAGPlot.save(figure.getValue(), new File(metricFolder + "/" + figure.getKey() + ".html"));
+    }
+
+    /**
+     * @return a figure for each column with any data, keyed by the column name
+     */
+    Map<String, Figure> plotData(StreamingDataLogger sdl) {
+        String name = sdl.metric.getName();
+        boolean progression = isProgression(sdl);
+        Map<String, Figure> figures = new LinkedHashMap<>();
+        for (StreamingDataLogger.ColumnSummary summary : sdl.columns.values()) {
+            if (summary.count > 0) {
+                double[] x, y;
+                String xTitle;
+                if (progression) {
+                    x = new double[summary.progression.size()];
+                    y = new double[x.length];
+                    for (int i = 0; i < x.length; i++) {
+                        x[i] = summary.progression.x(i);
+                        y[i] = summary.progression.y(i);
+                    }
+                    xTitle = "Tick";
+                } else {
+                    // the cumulative distribution, with the min and max at either end
+                    x = new double[101];
+                    y = new double[101];
+                    for (int i = 0; i <= 100; i++) {
+                        x[i] = i / 100.0;
+                        y[i] = i == 0 ? summary.min : i == 100 ? summary.max : summary.sketch.quantile(x[i]);
+                    }
+                    xTitle = "Quantile";
+                }
+                Layout layout = Layout.builder().title(name)
+                        .height(600).width(800)
+                        .yAxis(Axis.builder().title(summary.name).build())
+                        .xAxis(Axis.builder().title(xTitle).build())
+                        .build();
+                ScatterTrace trace = ScatterTrace.builder(x, y)
+                        .mode(progression ? ScatterTrace.Mode.MARKERS : ScatterTrace.Mode.LINE)
+                        .build();
+                figures.put(summary.name, new Figure(layout, trace));
+            }
+            if (summary.categories != null && summary.categories.total() > 0) {
+                List<String> values = summary.categories.values();
+                double[] counts = values.stream().mapToDouble(summary.categories::count).toArray();
+                Layout layout = Layout.builder().title(name)
+                        .yAxis(Axis.builder().title(summary.name).build())
+                        .xAxis(Axis.builder().categoryOrder(Axis.CategoryOrder.TRACE).build())
+                        .build();
+                BarTrace trace = BarTrace.builder(values.toArray(new String[0]), counts).build();
+                figures.put(summary.name + (summary.numeric ? "_categories" : ""), new Figure(layout, trace));
+            }
+        }
+        return figures;
+    }
+
+    /**
+     * @return true if the metric has recorded more than once per game, in which case we also report progression
+     */
+    private boolean isProgression(StreamingDataLogger sdl) {
+        return sdl.metric.getGamesCompleted() < sdl.rows;
+    }
+
+    @Override
+    public void processSummaryToConsole(IDataLogger logger) {
+        StreamingDataLogger sdl = (StreamingDataLogger) logger;
+        String name = sdl.metric.getName();
+        System.out.println();
+        for (StreamingDataLogger.ColumnSummary summary : sdl.columns.values()) {
+            if (summary.count > 0) {
+                StringBuilder sb = new StringBuilder();
+                sb.append(String.format("%s_%s: n=%d, missing=%d, mean=%.4g, sd=%.4g, min=%.4g, max=%.4g",
+                        name, summary.name, summary.count, summary.missing, summary.mean,
+                        Math.sqrt(summary.variance()), summary.min, summary.max));
+                for (double q : QUANTILES)
+                    sb.append(String.format(", p%d=%.4g", Math.round(q * 100), summary.sketch.quantile(q)));
+                System.out.println(sb);
+            }
+            if (summary.categories != null && summary.categories.total() > 0) {
+                StringBuilder sb = new StringBuilder(name + "_" + summary.name + ":");
+                if (summary.categories.isApproximate())
+                    sb.append(" (approximate, top ").append(summary.categories.tracked()).append(")");
+                for (String value : summary.categories.values())
+                    sb.append(String.format("%n\t%s: %d", value, summary.categories.count(value)));
+                System.out.println(sb);
+            }
+        }
+    }
+
+    @Override
+    public void processSummaryToFile(IDataLogger logger, String folderName) {
+        StreamingDataLogger sdl = (StreamingDataLogger) logger;
+        String name = sdl.metric.getName();
+        String metricFolder = folderName + "/summaries/" + name;
+        if (!new File(metricFolder).exists()) {
+            createDirectory(metricFolder);
+        }
+        boolean progression = isProgression(sdl);
+
+        for (StreamingDataLogger.ColumnSummary summary : sdl.columns.values()) {
+            String stem = metricFolder + "/" + name + "_" + summary.name;
+            if (summary.count > 0) {
+                List<String> lines = new ArrayList<>();
+                lines.add("Measure,Value");
+                lines.add("Count," + summary.count);
+                lines.add("Missing," + summary.missing);
+                lines.add("Mean," + summary.mean);
+                lines.add("Std. Dev," + Math.sqrt(summary.variance()));
+                lines.add("Min," + summary.min);
+                for (double q : QUANTILES)
+                    lines.add("P" + Math.round(q * 100) + "," + summary.sketch.quantile(q));
+                lines.add("Max," + summary.max);
+                write(stem + ".csv", lines);
+
+                if (progression) {
+                    List<double[]> points = new ArrayList<>();
+                    for (int i = 0; i < summary.progression.size(); i++)
+                        points.add(new double[]{summary.progression.x(i), summary.progression.y(i)});
+                    points.sort(Comparator.comparingDouble(p -> p[0]));
+                    List<String> sample = new ArrayList<>();
+                    sample.add("Tick," + summary.name);
+                    for (double[] p : points)
+                        sample.add(p[0] + "," + p[1]);
+                    write(stem + "_progression.csv", sample);
+                }
+            }
+            if (summary.categories != null && summary.categories.total() > 0) {
+                List<String> lines = new ArrayList<>();
+                lines.add("Category,Count,MaxError");
+                for (String value : summary.categories.values())
+                    lines.add(csvEscape(value) + "," + summary.categories.count(value) + "," + summary.categories.error(value));
+                write(stem + (summary.numeric ? "_categories.csv" : ".csv"), lines);
+            }
+        }
+    }
+
+    private static String csvEscape(String s) {
+        if (s.contains(",") || s.contains("\"") || s.contains("\n"))
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        return s;
+    }
+
+    private static void write(String fileName, List<String> lines) {
+        try (FileWriter writer = new FileWriter(fileName, false)) {
+            for (String line : lines)
+                writer.write(line + "\n");
+        } catch (IOException e) {
+            throw new AssertionError("Problem writing file " + fileName + " : " + e.getMessage());
+        }
+    }
+}
@@ -213,6 +213,10 @@ public class NTBEA {
                 config.put(RunArg.budget, params.budget);
                 config.put(RunArg.verbose, false);
                 config.put(RunArg.destDir, params.destDir);
+                if (!params.resultCache.isEmpty()) {
+                    config.put(RunArg.seed, params.seed);
+                    config.put(RunArg.resultCache, params.resultCache);
+                }
                 RoundRobinTournament tournament = new RoundRobinTournament(players, game, nPlayers, params.gameParams, config);
                 createListeners().forEach(tournament::addListener);
                 tournament.run();
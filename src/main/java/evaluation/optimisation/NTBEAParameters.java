@@ -54,6 +54,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
     public String logFile = "NTBEA.log";
     public List<String> listenerClasses = Collections.emptyList();
     public String destDir = "NTBEA";
+    public String resultCache = "";
     public SearchSpace searchSpace;
     public AbstractParameters gameParams;
     public boolean byTeam = false;
@@ -152,6 +153,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         listenerClasses = (List<String>) args.get(RunArg.listener);
         destDir = (String) args.get(RunArg.destDir);
         if (destDir.isEmpty()) destDir = "NTBEA";
+        resultCache = (String) args.getOrDefault(RunArg.resultCache, "");
         if (tuningGame && opponentDescriptor.isEmpty()) {
             throw new IllegalArgumentException("Must specify opponent descriptor when tuning a game");
         }
@@ -228,6 +230,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
         ntp.byTeam = byTeam;
         ntp.listenerClasses = listenerClasses;
         ntp.destDir = destDir;
+        ntp.resultCache = resultCache;
         ntp.gameType = gameType;
         ntp.nPlayers = nPlayers;
         ntp.logFile = logFile;
@@ -243,6 +246,7 @@ public class NTBEAParameters extends TunableParameters<NTBEA> {
                     byTeam == parameters.byTeam &&
                     listenerClasses.equals(parameters.listenerClasses) &&
                     destDir.equals(parameters.destDir) &&
+                    resultCache.equals(parameters.resultCache) &&
                     gameType.equals(parameters.gameType) &&
                     logFile.equals(parameters.logFile) &&
                     nPlayers == parameters.nPlayers;
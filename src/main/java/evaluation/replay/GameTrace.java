@@ -0,0 +1,196 @@
+package evaluation.replay;
+
+import core.AbstractParameters;
+import core.actions.ActionSpace;
+import evaluation.optimisation.TunableParameters;
+import games.GameType;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A compact record of a single game, from which the whole game can be deterministically re-run by {@link ReplayEngine}.
+ * <p>
+ * Rather than storing the actions themselves, each decision is stored as the index of the chosen action in the list
+ * returned by forwardModel.computeAvailableActions(state, actionSpace) on the full game state (not on the acting
+ * player's observation, as that is redeterminised with an unseeded random number generator). Together with the
+ * game type, random seed and game parameters this is sufficient to recreate every state in the game (all game
+ * randomness comes from the seeded AbstractGameState.rnd). The final scores are also stored, so that a replay can
+ * be checked against the original.
+ * <p>
+ * Indices are written as unsigned varints, so a typical decision costs a single byte.
+ * <p>
+ * Record layout (big-endian): int MAGIC, int length of body, then the body:
+ * <pre>
+ * byte VERSION, string gameType, byte nPlayers, long seed, string parameters (JSON, or empty for defaults),
+ * nPlayers x (byte structure, byte flexibility, byte context, string playerName),
+ * int nActions, nActions x varint index, nPlayers x double finalScore
+ * </pre>
+ * Strings are an int length followed by UTF-8 bytes.
+ */
+public class GameTrace {
+
+    static final int MAGIC = 0x54414754; // "TAGT"
+    static final byte VERSION = 1;
+
+    public final GameType gameType;
+    public final int nPlayers;
+    public final long seed;
+    public final String parameters;
+    public final ActionSpace[] actionSpaces;
+    public final String[] playerNames;
+    public final int[] actions;
+    public final double[] finalScores;
+
+    public GameTrace(GameType gameType, int nPlayers, long seed, String parameters, ActionSpace[] actionSpaces,
+                     String[] playerNames, int[] actions, double[] finalScores) {
+        if (actionSpaces.length != nPlayers || playerNames.length != nPlayers || finalScores.length != nPlayers)
+            throw new IllegalArgumentException("Need one action space, name and final score per player");
+        this.gameType = gameType;
+        this.nPlayers = nPlayers;
+        this.seed = seed;
+        this.parameters = parameters == null ? "" : parameters;
+        this.actionSpaces = actionSpaces;
+        this.playerNames = playerNames;
+        this.actions = actions;
+        this.finalScores = finalScores;
+    }
+
+    /**
+     * @return the parameters as a JSON String, or an empty String if they cannot be serialised (in which case the
+     * replay will use the default parameters for the game)
+     */
+    public static String parametersToJSON(AbstractParameters params) {
+        if (params instanceof TunableParameters<?> tp) {
+            try {
+                return tp.instanceToJSON(true, new HashMap<>()).toJSONString();
+            } catch (AssertionError e) {
+                // some parameter values cannot be written out
+            }
+        }
+        return "";
+    }
+
+    /**
+     * @return game parameters for replaying this trace, with the random seed set
+     */
+    public AbstractParameters createParameters() {
+        AbstractParameters params = gameType.createParameters(seed);
+        if (!parameters.isEmpty() && params instanceof TunableParameters<?> tp) {
+            try {
+                TunableParameters.loadFromJSON(tp, (JSONObject) new JSONParser().parse(parameters));
+            } catch (ParseException e) {
+                throw new AssertionError("Problem parsing parameters in trace : " + e.getMessage());
+            }
+        }
+        params.setRandomSeed(seed);
+        return params;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + actions.length);
+        DataOutputStream body = new DataOutputStream(bytes);
+        body.writeByte(VERSION);
+        writeString(body, gameType.name());
+        body.writeByte(nPlayers);
+        body.writeLong(seed);
+        writeString(body, parameters);
+        for (int p = 0; p < nPlayers; p++) {
+            body.writeByte(actionSpaces[p].structure.ordinal());
+            body.writeByte(actionSpaces[p].flexibility.ordinal());
+            body.writeByte(actionSpaces[p].context.ordinal());
+            writeString(body, playerNames[p]);
+        }
+        body.writeInt(actions.length);
+        for (int index : actions)
+            writeVarint(body, index);
+        for (double score : finalScores)
+            body.writeDouble(score);
+        body.flush();
+
+        out.writeInt(MAGIC);
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    /**
+     * @return the next trace from the stream, or null at the end of the stream
+     */
+    public static GameTrace read(DataInputStream in) throws IOException {
+        int magic;
+        try {
+            magic = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (magic != MAGIC)
+            throw new IOException("Not a game trace record");
+        byte[] raw = new byte[in.readInt()];
+        in.readFully(raw);
+        DataInputStream body = new DataInputStream(new ByteArrayInputStream(raw));
+        byte version = body.readByte();
+        if (version != VERSION)
+            throw new IOException("Unsupported game trace version " + version);
+        GameType gameType = GameType.valueOf(readString(body));
+        int nPlayers = body.readByte();
+        long seed = body.readLong();
+        String parameters = readString(body);
+        ActionSpace[] actionSpaces = new ActionSpace[nPlayers];
+        String[] playerNames = new String[nPlayers];
+        for (int p = 0; p < nPlayers; p++) {
+            actionSpaces[p] = new ActionSpace(ActionSpace.Structure.values()[body.readByte()],
+                    ActionSpace.Flexibility.values()[body.readByte()],
+                    ActionSpace.Context.values()[body.readByte()]);
+            playerNames[p] = readString(body);
+        }
+        int[] actions = new int[body.readInt()];
+        for (int i = 0; i < actions.length; i++)
+            actions[i] = readVarint(body);
+        double[] finalScores = new double[nPlayers];
+        for (int p = 0; p < nPlayers; p++)
+            finalScores[p] = body.readDouble();
+        return new GameTrace(gameType, nPlayers, seed, parameters, actionSpaces, playerNames, actions, finalScores);
+    }
+
+    static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d players, seed %d) : %d actions, final scores %s",
+                gameType, nPlayers, seed, actions.length, Arrays.toString(finalScores));
+    }
+}
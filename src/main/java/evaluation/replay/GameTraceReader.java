@@ -0,0 +1,62 @@
+package evaluation.replay;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Streams the {@link GameTrace}s from a trace file written by GameTraceListener, one at a time.
+ */
+public class GameTraceReader implements Iterator<GameTrace>, AutoCloseable {
+
+    private final String fileName;
+    private final DataInputStream in;
+    private GameTrace next;
+
+    public GameTraceReader(String fileName) {
+        this.fileName = fileName;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName), 1 << 16));
+            next = GameTrace.read(in);
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading trace file " + fileName + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads all the traces in a file
+     */
+    public static List<GameTrace> readAll(String fileName) {
+        List<GameTrace> retValue = new ArrayList<>();
+        try (GameTraceReader reader = new GameTraceReader(fileName)) {
+            reader.forEachRemaining(retValue::add);
+        }
+        return retValue;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public GameTrace next() {
+        if (next == null)
+            throw new NoSuchElementException();
+        GameTrace retValue = next;
+        try {
+            next = GameTrace.read(in);
+        } catch (IOException e) {
+            throw new AssertionError("Problem reading trace file " + fileName + " : " + e.getMessage());
+        }
+        return retValue;
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new AssertionError("Problem closing trace file " + fileName + " : " + e.getMessage());
+        }
+    }
+}
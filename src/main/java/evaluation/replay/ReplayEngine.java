@@ -0,0 +1,158 @@
+package evaluation.replay;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import core.actions.AbstractAction;
+import evaluation.listeners.IGameListener;
+import evaluation.metrics.Event;
+import players.PlayerParameters;
+import utilities.Utils;
+
+import java.util.*;
+
+import static evaluation.metrics.Event.GameEvent.*;
+
+/**
+ * Re-runs games recorded by GameTraceListener, headless and without any agents, so each game takes only as long
+ * as the forward model needs to apply the recorded actions.
+ * <p>
+ * Any listeners attached receive the same ABOUT_TO_START, ACTION_CHOSEN, ACTION_TAKEN and GAME_OVER events (and any
+ * events raised by the game itself) as they would have done during the original game, so this can be used to
+ * regenerate training features or metrics from stored games. The final scores are checked against those recorded,
+ * and an AssertionError is thrown if the replay has diverged from the original game.
+ * <p>
+ * From the command line:
+ * <pre>
+ * ReplayEngine trace=traces.bin [listener=metrics/MetricsGameListener.json|...] [destDir=metrics/out]
+ * </pre>
+ */
+public class ReplayEngine {
+
+    private final List<IGameListener> listeners;
+
+    public ReplayEngine() {
+        this(new ArrayList<>());
+    }
+
+    public ReplayEngine(List<IGameListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public static void main(String[] args) {
+        String traceFile = Utils.getArg(args, "trace", "");
+        String listenerNames = Utils.getArg(args, "listener", "");
+        String destDir = Utils.getArg(args, "destDir", "metrics/out");
+        if (traceFile.isEmpty()) {
+            System.out.println("Usage: ReplayEngine trace=<file> [listener=<class or json>|...] [destDir=<dir>]");
+            return;
+        }
+        List<IGameListener> listeners = new ArrayList<>();
+        for (String name : listenerNames.split("\\|")) {
+            if (name.isEmpty()) continue;
+            IGameListener listener = IGameListener.createListener(name);
+            listener.setOutputDirectory(destDir);
+            listeners.add(listener);
+        }
+        ReplayEngine engine = new ReplayEngine(listeners);
+        long start = System.nanoTime();
+        int games = engine.replayFile(traceFile);
+        System.out.printf("Replayed %d games in %.2f seconds%n", games, (System.nanoTime() - start) / 1e9);
+        listeners.forEach(IGameListener::report);
+    }
+
+    /**
+     * Replays every trace in the file, in order
+     *
+     * @return the number of games replayed
+     */
+    public int replayFile(String fileName) {
+        int count = 0;
+        try (GameTraceReader reader = new GameTraceReader(fileName)) {
+            while (reader.hasNext()) {
+                replay(reader.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Replays a single trace.
+     *
+     * @return the Game, in its final state
+     */
+    public Game replay(GameTrace trace) {
+        Game game = trace.gameType.createGameInstance(trace.nPlayers, trace.seed, trace.createParameters());
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < trace.nPlayers; p++)
+            players.add(new TracePlayer(trace, p));
+        Set<String> playerNames = new HashSet<>(Arrays.asList(trace.playerNames));
+        for (IGameListener listener : listeners) {
+            listener.init(game, trace.nPlayers, playerNames);
+            game.addListener(listener);
+        }
+        game.reset(players, trace.seed);
+
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel forwardModel = game.getForwardModel();
+        publish(game, Event.createEvent(ABOUT_TO_START, state));
+        for (int i = 0; i < trace.actions.length; i++) {
+            if (!state.isNotTerminal())
+                throw new AssertionError(String.format("Replay of %s diverged: game over after %d of %d actions", trace, i, trace.actions.length));
+            int player = state.getCurrentPlayer();
+            // on the full state, as GameTraceListener does, so that nothing depends on a redeterminised copy
+            List<AbstractAction> available = forwardModel.computeAvailableActions(state, trace.actionSpaces[player]);
+            int index = trace.actions[i];
+            if (index >= available.size())
+                throw new AssertionError(String.format("Replay of %s diverged: action %d has index %d, but only %d actions are available",
+                        trace, i, index, available.size()));
+            AbstractAction action = available.get(index);
+            publish(game, Event.createEvent(ACTION_CHOSEN, state, action, player));
+            forwardModel.next(state, action.copy());
+            publish(game, Event.createEvent(ACTION_TAKEN, state, action.copy(), player));
+        }
+        // this calls forwardModel.endGame(), and publishes GAME_OVER
+        game.terminate();
+
+        for (int p = 0; p < trace.nPlayers; p++) {
+            if (state.getGameScore(p) != trace.finalScores[p])
+                throw new AssertionError(String.format("Replay of %s diverged: final score of player %d is %.2f",
+                        trace, p, state.getGameScore(p)));
+        }
+        return game;
+    }
+
+    private void publish(Game game, Event event) {
+        // a listener may add others (for example a GUI adds its own when it is created)
+        for (IGameListener listener : new ArrayList<>(game.getListeners()))
+            listener.onEvent(event);
+    }
+
+    /**
+     * Stands in for the original player, so that listeners see the same player names and action spaces. It is
+     * never asked for a decision by the ReplayEngine.
+     */
+    static class TracePlayer extends AbstractPlayer {
+
+        TracePlayer(GameTrace trace, int player) {
+            super(new PlayerParameters(), trace.playerNames[player]);
+            parameters.actionSpace = trace.actionSpaces[player];
+        }
+
+        private TracePlayer(PlayerParameters params, String name) {
+            super(params, name);
+        }
+
+        @Override
+        public AbstractAction _getAction(AbstractGameState gameState, List<AbstractAction> possibleActions) {
+            throw new UnsupportedOperationException("TracePlayer does not make decisions; use ReplayEngine");
+        }
+
+        @Override
+        public TracePlayer copy() {
+            return new TracePlayer((PlayerParameters) parameters.copy(), toString());
+        }
+    }
+}
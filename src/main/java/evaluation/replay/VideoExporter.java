@@ -0,0 +1,257 @@
+package evaluation.replay;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.IGameListener;
+import evaluation.metrics.Event;
+import gui.AbstractGUIManager;
+import gui.GamePanel;
+import gui.VideoRecorder;
+import players.human.ActionController;
+import utilities.Utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.List;
+
+import static evaluation.metrics.Event.GameEvent.*;
+
+/**
+ * Turns games recorded by GameTraceListener into video files. Each game is re-run by the {@link ReplayEngine}, and
+ * after every action the game's own GUI (its AbstractGUIManager) is updated and drawn into an off-screen image,
+ * which is encoded as the next frame. Nothing is shown on screen, and no time is spent waiting between frames, so
+ * this runs on machines without a display and produces videos much faster than they play.
+ * <p>
+ * From the command line:
+ * <pre>
+ * VideoExporter trace=traces.bin|traceDirectory [destDir=videos] [fps=10] [framesPerAction=1] [endFrames=20]
+ *               [format=mp4] [codec=...] [preset=veryfast]
+ * </pre>
+ * Every game in every trace file is exported, to destDir/[trace file name]_[game number].[format]. The preset is
+ * passed to the encoder; for the default H.264 codec "ultrafast" is quicker still, at the cost of larger files.
+ * Unless java.awt.headless is set explicitly, the exporter runs headless. Games whose GUI opens its own windows
+ * cannot be drawn headless, and are skipped with a message, as are games whose replay fails.
+ */
+public class VideoExporter implements IGameListener {
+
+    private final ReplayEngine engine = new ReplayEngine(Collections.singletonList(this));
+    private final int framesPerSecond, framesPerAction, endFrames;
+    private final String formatName, codecName, preset;
+
+    private Game game;
+    private String fileName;
+    private GamePanel panel;
+    private AbstractGUIManager gui;
+    private BufferedImage image;
+    private VideoRecorder recorder;
+
+    public VideoExporter(int framesPerSecond, int framesPerAction, int endFrames, String formatName, String codecName, String preset) {
+        if (framesPerAction < 1 || endFrames < 1)
+            throw new IllegalArgumentException("Each action and the end of the game need at least one frame");
+        this.framesPerSecond = framesPerSecond;
+        this.framesPerAction = framesPerAction;
+        this.endFrames = endFrames;
+        this.formatName = formatName;
+        this.codecName = codecName;
+        this.preset = preset;
+    }
+
+    public static void main(String[] args) {
+        if (System.getProperty("java.awt.headless") == null)
+            System.setProperty("java.awt.headless", "true");
+        String trace = Utils.getArg(args, "trace", "");
+        String destDir = Utils.getArg(args, "destDir", "videos");
+        int fps = Utils.getArg(args, "fps", 10);
+        int framesPerAction = Utils.getArg(args, "framesPerAction", 1);
+        int endFrames = Utils.getArg(args, "endFrames", 2 * fps);
+        String format = Utils.getArg(args, "format", "mp4");
+        String codec = Utils.getArg(args, "codec", "");
+        String preset = Utils.getArg(args, "preset", "veryfast");
+        if (trace.isEmpty()) {
+            System.out.println("Usage: VideoExporter trace=<file or directory> [destDir=<dir>] [fps=10] [framesPerAction=1] " +
+                    "[endFrames=2*fps] [format=mp4] [codec=<name>] [preset=veryfast]");
+            return;
+        }
+
+        File traceFile = new File(trace);
+        File[] traceFiles = traceFile.isDirectory() ? traceFile.listFiles(File::isFile) : new File[]{traceFile};
+        if (traceFiles == null || traceFiles.length == 0)
+            throw new IllegalArgumentException("No trace files found : " + trace);
+        Arrays.sort(traceFiles);
+        Utils.createDirectory(destDir);
+
+        VideoExporter exporter = new VideoExporter(fps, framesPerAction, endFrames, format,
+                codec.isEmpty() ? null : codec, preset.isEmpty() ? null : preset);
+        long start = System.nanoTime();
+        int videos = 0;
+        for (File file : traceFiles)
+            videos += exporter.exportFile(file.getPath(), destDir);
+        System.out.printf("Exported %d videos in %.2f seconds%n", videos, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Exports every game in a trace file, to destDir/[trace file name]_[game number].[format]
+     *
+     * @return the number of videos written
+     */
+    public int exportFile(String traceFile, String destDir) {
+        String name = new File(traceFile).getName();
+        if (name.contains("."))
+            name = name.substring(0, name.lastIndexOf('.'));
+        int count = 0, index = 0;
+        try (GameTraceReader reader = new GameTraceReader(traceFile)) {
+            while (reader.hasNext()) {
+                GameTrace trace = reader.next();
+                String videoFile = destDir + File.separator + String.format("%s_%03d.%s", name, index++, formatName);
+                try {
+                    export(trace, videoFile);
+                    count++;
+                } catch (HeadlessException e) {
+                    System.out.printf("Skipping %s game %d : its GUI cannot be drawn without a display%n", trace.gameType.name(), index - 1);
+                    new File(videoFile).delete();
+                } catch (RuntimeException | AssertionError e) {
+                    System.out.printf("Skipping %s game %d : %s%n", trace.gameType.name(), index - 1, e.getMessage());
+                    new File(videoFile).delete();
+                }
+            }
+        } catch (AssertionError e) {
+            System.out.printf("Skipping %s : %s%n", traceFile, e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Replays a single game, and writes it as a video
+     */
+    public void export(GameTrace trace, String videoFile) {
+        fileName = videoFile;
+        try {
+            engine.replay(trace);
+        } finally {
+            // closes the file if the replay failed part way through
+            closeRecorder();
+            gui = null;
+            panel = null;
+        }
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (event.type == ABOUT_TO_START) {
+            createGUI();
+            drawFrames(event.state, 1);
+        } else if (event.type == ACTION_TAKEN) {
+            drawFrames(event.state, framesPerAction);
+        } else if (event.type == GAME_OVER) {
+            drawFrames(event.state, endFrames);
+            closeRecorder();
+        }
+    }
+
+    private void createGUI() {
+        onEventThread(() -> {
+            panel = new GamePanel();
+            gui = game.getGameType().createGUIManager(panel, game, new ActionController());
+        });
+        // Any listeners the GUI adds are there to interact with a player (for example with a message at the end of
+        // each round), so they are removed
+        if (game.getListeners().size() > 1) {
+            game.clearListeners();
+            game.addListener(this);
+        }
+    }
+
+    private void drawFrames(AbstractGameState state, int frames) {
+        if (gui == null) return;
+        onEventThread(() -> draw(state));
+        recorder.addFrame(image, frames);
+    }
+
+    // Swing components are only safe to use on the event dispatch thread, even when they are never shown
+    private void onEventThread(Runnable task) {
+        try {
+            SwingUtilities.invokeAndWait(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while drawing " + fileName, e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new RuntimeException("Failed to draw " + fileName, e.getCause());
+        }
+    }
+
+    private void draw(AbstractGameState state) {
+        AbstractPlayer player = game.getPlayers().get(state.getCurrentPlayer());
+        // as in the interactive GUI, draw from a copy, so that the GUI cannot affect the replay
+        gui.update(player, state.copy(), false);
+        if (recorder == null) {
+            // the size of the video is fixed by the GUI for the initial state
+            Dimension size = panel.getPreferredSize();
+            recorder = new VideoRecorder(fileName, formatName, codecName, preset,
+                    Math.max(size.width, 1), Math.max(size.height, 1), framesPerSecond);
+            panel.setSize(recorder.getWidth(), recorder.getHeight());
+            image = new BufferedImage(recorder.getWidth(), recorder.getHeight(), BufferedImage.TYPE_INT_RGB);
+        }
+        layout(panel);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.white);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        panel.printAll(g);
+        g.dispose();
+    }
+
+    // The panel is never shown, so nothing else will lay out the components within it. The sizes cached by the
+    // last layout are cleared first, as the contents of the components may have changed.
+    private static void layout(Component component) {
+        invalidateTree(component);
+        doLayoutTree(component);
+    }
+
+    private static void invalidateTree(Component component) {
+        component.invalidate();
+        if (component instanceof Container)
+            for (Component child : ((Container) component).getComponents())
+                invalidateTree(child);
+    }
+
+    private static void doLayoutTree(Component component) {
+        if (component instanceof Container) {
+            Container container = (Container) component;
+            container.doLayout();
+            for (Component child : container.getComponents())
+                doLayoutTree(child);
+        }
+    }
+
+    private void closeRecorder() {
+        if (recorder != null) {
+            recorder.close();
+            recorder = null;
+        }
+    }
+
+    @Override
+    public void report() {
+    }
+
+    @Override
+    public void init(Game game, int nPlayersPerGame, Set<String> playerNames) {
+        this.game = game;
+    }
+
+    @Override
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    @Override
+    public Game getGame() {
+        return game;
+    }
+}
@@ -0,0 +1,283 @@
+package evaluation.tournaments;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.AbstractPlayer;
+import core.interfaces.ITunableParameters;
+import evaluation.optimisation.TunableParameters;
+import games.GameType;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import static core.CoreConstants.GameResult;
+
+/**
+ * A persistent store of game results, so that a tournament does not need to replay a game it (or an earlier
+ * tournament) has already played.
+ * <p>
+ * Each game is keyed by a hash of its canonical description: the GameType, the game parameters, the configuration
+ * of each player in seat order, and the game seed. Random seeds within the game and player parameters are
+ * excluded, as the game seed is part of the key, and the player seeds default to the time of creation (so would
+ * otherwise never match between jobs).
+ * <p>
+ * The store is an append-only text file, with one game per line. The whole file is read into an in-memory index
+ * when the store is opened, and each new result is appended (and flushed) as soon as it is recorded. A partially
+ * written last line (say from a killed job) is ignored when the file is next read.
+ */
+public class GameResultStore implements AutoCloseable {
+
+    /**
+     * The information about a finished game that a tournament needs to update its statistics, indexed by player.
+     */
+    public record StoredGame(GameResult[] results, int[] ordinals, double[] scores, int[] teams) {
+
+        public static StoredGame of(AbstractGameState state) {
+            int n = state.getNPlayers();
+            int[] ordinals = new int[n];
+            double[] scores = new double[n];
+            int[] teams = new int[n];
+            for (int p = 0; p < n; p++) {
+                ordinals[p] = state.getOrdinalPosition(p);
+                scores[p] = state.getGameScore(p);
+                teams[p] = state.getTeam(p);
+            }
+            return new StoredGame(state.getPlayerResults().clone(), ordinals, scores, teams);
+        }
+
+        public int nPlayers() {
+            return results.length;
+        }
+
+        String encode() {
+            StringBuilder sb = new StringBuilder();
+            for (int p = 0; p < results.length; p++) {
+                if (p > 0) sb.append(',');
+                sb.append(results[p].name()).append(':').append(ordinals[p]).append(':')
+                        .append(scores[p]).append(':').append(teams[p]);
+            }
+            return sb.toString();
+        }
+
+        static StoredGame decode(String data) {
+            String[] players = data.split(",");
+            StoredGame retValue = new StoredGame(new GameResult[players.length], new int[players.length],
+                    new double[players.length], new int[players.length]);
+            for (int p = 0; p < players.length; p++) {
+                String[] fields = players[p].split(":");
+                if (fields.length != 4)
+                    throw new IllegalArgumentException("Invalid stored game : " + data);
+                retValue.results[p] = GameResult.valueOf(fields[0]);
+                retValue.ordinals[p] = Integer.parseInt(fields[1]);
+                retValue.scores[p] = Double.parseDouble(fields[2]);
+                retValue.teams[p] = Integer.parseInt(fields[3]);
+            }
+            return retValue;
+        }
+    }
+
+    private final File file;
+    private final Map<String, StoredGame> index = new HashMap<>();
+    private Writer writer;
+    private int hits, misses;
+
+    /**
+     * Opens the store in the given file, which is created if it does not exist.
+     */
+    public GameResultStore(String fileName) {
+        this.file = new File(fileName);
+        if (file.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    if (tab < 0) continue;
+                    try {
+                        index.put(line.substring(0, tab), StoredGame.decode(line.substring(tab + 1)));
+                    } catch (IllegalArgumentException e) {
+                        // an incomplete record; we ignore it, and the game will be played again
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read game result store " + fileName, e);
+            }
+        }
+    }
+
+    /**
+     * @return the key for a game, a hex-encoded SHA-256 hash of its canonical description
+     */
+    public static String key(GameType gameType, AbstractParameters gameParams, List<? extends AbstractPlayer> players, long seed) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(gameType.name()).append('|');
+        appendParameters(sb, gameParams);
+        for (AbstractPlayer player : players) {
+            sb.append('|').append(player.getClass().getName()).append('(').append(player).append(')');
+            appendParameters(sb, player.getParameters());
+        }
+        sb.append('|').append(seed);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 not available", e);
+        }
+    }
+
+    private static void appendParameters(StringBuilder sb, Object params) {
+        if (params == null) {
+            sb.append("null");
+        } else if (params instanceof TunableParameters<?> tp) {
+            sb.append(tp.getClass().getName()).append('{');
+            List<String> names = new ArrayList<>(tp.getParameterNames());
+            Collections.sort(names);
+            for (String name : names) {
+                // nested parameters are covered by their parent, and seeds are excluded (see class comment)
+                if (name.contains(".") || name.equals("randomSeed")) continue;
+                sb.append(name).append('=');
+                Object value = tp.getParameterValue(name);
+                if (value instanceof ITunableParameters<?>) {
+                    appendParameters(sb, value);
+                } else if (value == null || value instanceof Number || value instanceof Boolean
+                        || value instanceof String || value instanceof Enum) {
+                    sb.append(value);
+                } else if (tp.getRawJSON() != null && tp.getRawJSON().containsKey(name)) {
+                    sb.append(tp.getRawJSON().get(name));
+                } else {
+                    // without a toString() this includes the identity hash, which can only cause a miss
+                    sb.append(value);
+                }
+                sb.append(';');
+            }
+            sb.append('}');
+        } else if (params instanceof AbstractParameters ap) {
+            // not tunable, so we use the values of all its fields (the seed excluded, as above)
+            sb.append(ap.getClass().getName()).append('{');
+            for (Class<?> c = ap.getClass(); c != Object.class; c = c.getSuperclass()) {
+                Field[] fields = c.getDeclaredFields();
+                Arrays.sort(fields, Comparator.comparing(Field::getName));
+                for (Field field : fields) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                            || field.getName().equals("randomSeed"))
+                        continue;
+                    try {
+                        field.setAccessible(true);
+                        sb.append(field.getName()).append('=');
+                        appendValue(sb, field.get(ap));
+                        sb.append(';');
+                    } catch (IllegalAccessException | RuntimeException e) {
+                        throw new IllegalArgumentException("Cannot read " + field + " for the result cache key", e);
+                    }
+                }
+            }
+            sb.append('}');
+        } else {
+            sb.append(params);
+        }
+    }
+
+    // arrays, collections and maps by their contents, with sets and maps sorted so that the order is the same in every run
+    private static void appendValue(StringBuilder sb, Object value) {
+        if (value instanceof AbstractParameters || value instanceof ITunableParameters<?>) {
+            appendParameters(sb, value);
+        } else if (value != null && value.getClass().isArray()) {
+            sb.append('[');
+            for (int i = 0; i < Array.getLength(value); i++) {
+                appendValue(sb, Array.get(value, i));
+                sb.append(',');
+            }
+            sb.append(']');
+        } else if (value instanceof Map<?, ?> map) {
+            List<String> entries = new ArrayList<>();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                StringBuilder e = new StringBuilder();
+                appendValue(e, entry.getKey());
+                e.append('=');
+                appendValue(e, entry.getValue());
+                entries.add(e.toString());
+            }
+            Collections.sort(entries);
+            sb.append(entries);
+        } else if (value instanceof Collection<?> collection) {
+            List<String> elements = new ArrayList<>();
+            for (Object element : collection) {
+                StringBuilder e = new StringBuilder();
+                appendValue(e, element);
+                elements.add(e.toString());
+            }
+            if (value instanceof Set<?>)
+                Collections.sort(elements);
+            sb.append(elements);
+        } else {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * @return the stored result for the key, or null if the game has not been played
+     */
+    public StoredGame get(String key) {
+        StoredGame retValue = index.get(key);
+        if (retValue == null)
+            misses++;
+        else
+            hits++;
+        return retValue;
+    }
+
+    /**
+     * Records the result of a game, and appends it to the file.
+     */
+    public void put(String key, StoredGame game) {
+        if (index.put(key, game) != null)
+            return; // already stored
+        try {
+            if (writer == null) {
+                if (file.getParentFile() != null)
+                    file.getParentFile().mkdirs();
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+            }
+            writer.write(key + "\t" + game.encode() + "\n");
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write to game result store " + file, e);
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return the number of calls to get() that found a stored result
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of calls to get() that did not find a stored result
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Could not close game result store " + file, e);
+            }
+            writer = null;
+        }
+    }
+}
@@ -55,6 +55,7 @@ public class RoundRobinTournament extends AbstractTournament {
     int tournamentSeeds;
     String seedFile;
     Random seedRnd;
+    protected GameResultStore resultStore;
 
     /**
      * Create a round robin tournament, which plays all agents against all others.
@@ -151,6 +152,14 @@ public class RoundRobinTournament extends AbstractTournament {
         this.randomSeed = ((Number) config.getOrDefault(RunArg.seed, System.currentTimeMillis())).longValue();
         this.seedRnd = new Random(randomSeed);
         this.randomGameParams = (boolean) config.getOrDefault(RunArg.randomGameParams, false);
+        String resultCache = (String) config.getOrDefault(RunArg.resultCache, "");
+        if (!resultCache.isEmpty()) {
+            // with random game parameters no two games are the same, so there is nothing to re-use
+            if (randomGameParams)
+                System.out.println("Ignoring resultCache, as game parameters are randomised");
+            else
+                this.resultStore = new GameResultStore(resultCache);
+        }
 
         this.name = String.format("Game: %s, Players: %d, Mode: %s, TotalGames: %d, GamesPerMatchup: %d",
                 gameToPlay.name(), playersPerGame, tournamentMode, actualGames, gamesPerMatchup);
@@ -192,6 +201,11 @@ public class RoundRobinTournament extends AbstractTournament {
             }
             createAndRunMatchUp(matchUp);
         }
+        if (resultStore != null) {
+            if (verbose)
+                System.out.printf("Result cache: %d games re-used, %d games played%n", resultStore.getHits(), resultStore.getMisses());
+            resultStore.close();
+        }
         reportResults();
 
         for (IGameListener listener : listeners)
@@ -348,20 +362,33 @@ public class RoundRobinTournament extends AbstractTournament {
             }
         }
 
+        List<AbstractPlayer> configuredPlayers = new ArrayList<>();
+        for (int agentID : agentIDsInThisGame)
+            configuredPlayers.add(this.agents.get(agentID));
+
         // Run the game N = gamesPerMatchUp times with these players
         for (int i = 0; i < nGames; i++) {
-            // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
-            // so we override the standard random seeds
-            game.reset(matchUpPlayers, seeds.get(i));
-
-            // Randomize parameters
-            if (randomGameParams) {
-                game.getGameState().getGameParameters().randomize();
-                System.out.println("Game parameters: " + game.getGameState().getGameParameters());
-            }
+            // If we have already played this game (same players, parameters and seed) then we re-use the result
+            String key = resultStore == null ? null :
+                    GameResultStore.key(game.getGameType(), game.getGameState().getGameParameters(), configuredPlayers, seeds.get(i));
+            GameResultStore.StoredGame outcome = key == null ? null : resultStore.get(key);
+            if (outcome == null) {
+                // if tournamentSeeds > 0, then we are running this many tournaments, each with a different random seed fixed for the whole tournament
+                // so we override the standard random seeds
+                game.reset(matchUpPlayers, seeds.get(i));
+
+                // Randomize parameters
+                if (randomGameParams) {
+                    game.getGameState().getGameParameters().randomize();
+                    System.out.println("Game parameters: " + game.getGameState().getGameParameters());
+                }
 
-            game.run();  // Always running tournaments without visuals
-            GameResult[] results = game.getGameState().getPlayerResults();
+                game.run();  // Always running tournaments without visuals
+                outcome = GameResultStore.StoredGame.of(game.getGameState());
+                if (key != null)
+                    resultStore.put(key, outcome);
+            }
+            GameResult[] results = outcome.results();
 
             int numDraws = 0;
             for (int j = 0; j < matchUpPlayers.size(); j++) {
@@ -374,14 +401,14 @@ public class RoundRobinTournament extends AbstractTournament {
 
                 // now we need to be careful if we have a team game, as the agents are indexed by Team, not player
                 if (byTeam) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
-                            numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
+                    for (int player = 0; player < outcome.nPlayers(); player++) {
+                        if (outcome.teams()[player] == j) {
+                            numDraws += updatePoints(outcome, agentIDsInThisGame, agentIDsInThisGame.get(j), player);
                             break; // we stop after one player on the team to avoid double counting
                         }
                     }
                 } else {
-                    numDraws += updatePoints(results, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
+                    numDraws += updatePoints(outcome, agentIDsInThisGame, agentIDsInThisGame.get(j), j);
                 }
             }
 
@@ -398,8 +425,8 @@ public class RoundRobinTournament extends AbstractTournament {
                 StringBuffer sb = new StringBuffer();
                 sb.append("[");
                 for (int j = 0; j < matchUpPlayers.size(); j++) {
-                    for (int player = 0; player < game.getGameState().getNPlayers(); player++) {
-                        if (game.getGameState().getTeam(player) == j) {
+                    for (int player = 0; player < outcome.nPlayers(); player++) {
+                        if (outcome.teams()[player] == j) {
                             sb.append(results[player]).append(",");
                             break; // we stop after one player on the team to avoid double counting
                         }
@@ -413,20 +440,21 @@ public class RoundRobinTournament extends AbstractTournament {
         totalGamesRun += nGames;
     }
 
-    private int updatePoints(GameResult[] results, List<Integer> matchUpPlayers, int j, int player) {
+    private int updatePoints(GameResultStore.StoredGame outcome, List<Integer> matchUpPlayers, int j, int player) {
         // j is the index of the agent in the matchup; player is the corresponding player number in the game
-        int ordinalPos = game.getGameState().getOrdinalPosition(player);
+        GameResult[] results = outcome.results();
+        int ordinalPos = outcome.ordinals()[player];
         rankPerPlayer[j] += ordinalPos;
         rankPerPlayerSquared[j] += ordinalPos * ordinalPos;
 
-        for (int playerPos = 0; playerPos < game.getGameState().getNPlayers(); playerPos++) {
+        for (int playerPos = 0; playerPos < outcome.nPlayers(); playerPos++) {
             if (playerPos != player) {
-                int ordinalOther = game.getGameState().getOrdinalPosition(playerPos);
+                int ordinalOther = outcome.ordinals()[playerPos];
                 ordinalDeltaPerOpponent[j][matchUpPlayers.get(playerPos)] += ordinalOther - ordinalPos;
             }
         }
 
-        scorePerPlayer[j] += game.getGameState().getGameScore(player);
+        scorePerPlayer[j] += outcome.scores()[player];
 
         if (results[player] == GameResult.WIN_GAME) {
             pointsPerPlayer[j] += 1;
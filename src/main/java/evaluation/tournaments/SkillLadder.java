@@ -164,7 +164,7 @@ public class SkillLadder {
                 } else {
                     long startTime = System.currentTimeMillis();
                     RoundRobinTournament RRT = runRoundRobinTournament(agents, 0, matchups, listenerClasses,
-                            gameType, nPlayers, params, "onevsall", outputDirectory);
+                            gameType, nPlayers, params, "onevsall", outputDirectory, config);
                     long endTime = System.currentTimeMillis();
 
                     System.out.printf("%d games in %3d minutes\tBudget %5d win rate: %.1f%% +/- %.1f%%, mean rank %.1f +/- %.1f\tvs Budget %5d win rate: %.1f%% +/- %.1f%%, mean rank %.1f +/- %.1f%n",
@@ -216,7 +216,7 @@ public class SkillLadder {
             RoundRobinTournament RRT = runRoundRobinTournament(agents, newBudget, gamesToRun,
                     listenerClasses, gameType, nPlayers, params,
                     agents.size() >= nPlayers ? "exhaustive" : "exhaustiveSP",
-                    destDir + File.separator + "Final_Budget_" + newBudget);
+                    destDir + File.separator + "Final_Budget_" + newBudget, config);
 
             // then write JSON of winner
             int winnerIndex = RRT.getWinnerIndex();
@@ -270,8 +270,14 @@ public class SkillLadder {
     private static RoundRobinTournament runRoundRobinTournament(List<AbstractPlayer> agents, int budget,
                                                                 int matchups, List<String> listenerClasses, GameType gameType,
                                                                 int nPlayers, AbstractParameters params, String mode,
-                                                                String destDir) {
+                                                                String destDir, Map<RunArg, Object> config) {
         Map<RunArg, Object> finalConfig = new HashMap<>();
+        // with a result cache, a fixed seed means that re-running the ladder with an extra rung only plays the new games
+        String resultCache = (String) config.getOrDefault(RunArg.resultCache, "");
+        if (!resultCache.isEmpty()) {
+            finalConfig.put(RunArg.seed, config.get(RunArg.seed));
+            finalConfig.put(RunArg.resultCache, resultCache);
+        }
         finalConfig.put(RunArg.matchups, matchups);
         finalConfig.put(RunArg.destDir, destDir);
         finalConfig.put(RunArg.byTeam, true);
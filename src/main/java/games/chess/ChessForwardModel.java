@@ -3,6 +3,7 @@ package games.chess;
 import core.AbstractGameState;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
+import core.actions.ActionInterner;
 import core.CoreConstants;
 import games.chess.actions.Castle;
 import games.chess.actions.EnPassant;
@@ -64,9 +65,8 @@ public class ChessForwardModel extends StandardForwardModel {
         for (ChessPiece piece : chessState.getPlayerPieces(playerId)) {
             actions.addAll(computeAvailableActionsPiece(chessState, piece));
         }
-
-
-        return actions;
+        // MovePiece actions are immutable, so share one instance of each across all states and copies
+        return ActionInterner.internAll(actions);
     }
 
 
@@ -1,13 +1,13 @@
 package games.chess.actions;
 
 import core.AbstractGameState;
-import core.actions.AbstractAction;
+import core.actions.AbstractImmutableAction;
 import games.chess.ChessGameState;
 import games.chess.components.ChessPiece;
 
 import java.util.Objects;
 
-public class MovePiece extends AbstractAction {
+public class MovePiece extends AbstractImmutableAction {
 
     private final int startX;
     private final int startY;
@@ -63,13 +63,9 @@ public class MovePiece extends AbstractAction {
         return true;
     }
 
-    @Override
-    public MovePiece copy() {
-        return this;
-    }
-
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) return true;
         if (!(obj instanceof MovePiece)) return false;
         MovePiece other = (MovePiece) obj;
         return startX == other.startX && startY == other.startY && targetX == other.targetX && targetY == other.targetY;
@@ -77,7 +73,7 @@ public class MovePiece extends AbstractAction {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(startX, startY, targetX, targetY);
     }
 
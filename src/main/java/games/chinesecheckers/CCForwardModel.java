@@ -5,12 +5,10 @@ import core.CoreConstants;
 import core.StandardForwardModel;
 import core.actions.AbstractAction;
 import games.chinesecheckers.actions.MovePeg;
-import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
 import games.chinesecheckers.components.StarBoard;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static core.CoreConstants.GameResult.*;
 
@@ -48,19 +46,6 @@ public class CCForwardModel extends StandardForwardModel {
         return loadPlayerActions(player, state);
     }
 
-    private static CCNode neighbourInDirection(CCNode node, int dir) {
-        int id = node.getNeighbourBySide(dir);
-        if (id == -1) {
-            return null; // No neighbour in this direction
-        }
-        for (CCNode neig : node.getNeighbours()) {
-            if (neig.getID() == id) {
-                return neig;
-            }
-        }
-        return null;
-    }
-
     /**
      * Returns true if the peg can be placed on the node
      * All board nodes in the main areas are neutral; the colour here refers just to the 10
@@ -78,79 +63,78 @@ public class CCForwardModel extends StandardForwardModel {
     private List<AbstractAction> loadPlayerActions(int player, CCGameState state) {
         //player index to colour
         Peg.Colour playerCol = state.getPlayerColour(player);
+        StarBoard board = state.starBoard;
         List<AbstractAction> actions = new ArrayList<>();
-        for (CCNode node : state.starBoard.getBoardNodes()) { // Check all Nodes
-            if (node.getOccupiedPeg() != null && node.getOccupiedPeg().getColour() == playerCol) {
-                actions.addAll(exploreNodeAction(node));
+        // scratch space for the search from each peg: bitsets of the nodes stepped to and visited, and a queue
+        long[] stepped = new long[(StarBoard.N_NODES + 63) / 64];
+        long[] visited = new long[stepped.length];
+        int[] queue = new int[StarBoard.N_NODES];
+        for (int node = 0; node < StarBoard.N_NODES; node++) { // Check all Nodes
+            if (board.getPegColour(node) == playerCol) {
+                exploreNodeAction(board, node, playerCol, actions, stepped, visited, queue);
             }
         }
         return actions;
     }
 
     /**
-     * In which we use a form of breadth-first search to find all the possible moves we can make
-     * starting from the given node
-     *
-     * @param node
-     * @return
+     * Adds all the possible moves of the peg on the given node: first the single steps to adjacent nodes, and
+     * then the chains of jumps
      */
-    private static List<AbstractAction> exploreNodeAction(CCNode node) {
-        Peg.Colour playerCol = node.getOccupiedPeg().getColour();
-        List<AbstractAction> actions = new ArrayList<>();
+    private static void exploreNodeAction(StarBoard board, int node, Peg.Colour playerCol, List<AbstractAction> actions,
+                                          long[] stepped, long[] visited, int[] queue) {
+        boolean inDestination = board.isInDestination(node);
+        Arrays.fill(stepped, 0L);
         // first get the single directly adjacent moves
-        for (CCNode nei_0 : node.getNeighbours()) {
-            if (!nei_0.isNodeOccupied() && isPlayerPlaceable(nei_0.getBaseColour(), playerCol)) {
-                if (node.getOccupiedPeg().getInDestination()) {
-                    if (nei_0.getBaseColour() != Peg.Colour.neutral) {
-                        MovePeg action = new MovePeg(node.getID(), nei_0.getID());
-                        if (!actions.contains(action)) {
-                            actions.add(action);
-                        }
-                    }
-                } else {
-                    MovePeg action = new MovePeg(node.getID(), nei_0.getID());
-                    if (!actions.contains(action)) {
-                        actions.add(action);
-                    }
-                }
+        for (int k = 0; k < StarBoard.neighbourCount(node); k++) {
+            int neighbour = StarBoard.neighbourAt(node, k);
+            Peg.Colour baseColour = StarBoard.getBaseColour(neighbour);
+            // once in its destination a peg may only move within the coloured areas
+            if (!board.isOccupied(neighbour) && isPlayerPlaceable(baseColour, playerCol) &&
+                    (!inDestination || baseColour != Peg.Colour.neutral)) {
+                actions.add(new MovePeg(node, neighbour));
+                stepped[neighbour >> 6] |= 1L << neighbour;
             }
         }
         // then get the jumping stuff
-        repeatAction(node, actions, playerCol);
-        return actions.stream().distinct().collect(Collectors.toList());
+        repeatAction(board, node, playerCol, actions, stepped, visited, queue);
     }
 
-    private static void repeatAction(CCNode node, List<AbstractAction> actions, Peg.Colour playerCol) {
-        List<CCNode> visited = new ArrayList<>();
-        Queue<CCNode> toVisit = new LinkedList<>();
-        toVisit.add(node);
-
-        // This should be looking for a chain of moves, without revisiting previous nodes
-        // that starts at the given node. Hence (if true), it should only be called once per peg
-        // and not once per neighbouring peg
-
-        while (!toVisit.isEmpty()) {
-            CCNode expNode = toVisit.poll();
-            visited.add(expNode);
+    /**
+     * In which we use a breadth-first search to find all the nodes reachable by a chain of jumps from the given
+     * node, without revisiting previous nodes. A node is marked as visited when it is queued, so the queue ends up
+     * holding each reachable node once, in the order in which it was found. A chain of jumps can end next to the
+     * starting node, so we skip any node already added as a single step.
+     */
+    private static void repeatAction(StarBoard board, int node, Peg.Colour playerCol, List<AbstractAction> actions,
+                                     long[] stepped, long[] visited, int[] queue) {
+        Arrays.fill(visited, 0L);
+        int head = 0, tail = 0;
+        queue[tail++] = node;
+        visited[node >> 6] |= 1L << node;
+
+        while (head < tail) {
+            int expNode = queue[head++];
             // once in target zone, a peg may not leave it
-            boolean canLeaveZone = expNode.getBaseColour() != playerCol;
-            for (CCNode neighbour : expNode.getNeighbours()) {
-                int side = expNode.getSideOfNeighbour(neighbour.getID());
-                if (neighbour.isNodeOccupied()) {
-                    CCNode stride = neighbourInDirection(neighbour, side);
-                    if (stride != null && !stride.isNodeOccupied() &&
-                            (canLeaveZone || stride.getBaseColour() == playerCol) &&
-                            !visited.contains(stride)) {
-                        toVisit.add(stride);
+            boolean canLeaveZone = StarBoard.getBaseColour(expNode) != playerCol;
+            for (int k = 0; k < StarBoard.neighbourCount(expNode); k++) {
+                if (board.isOccupied(StarBoard.neighbourAt(expNode, k))) {
+                    int stride = StarBoard.jumpLanding(expNode, StarBoard.sideAt(expNode, k));
+                    if (stride != -1 && !board.isOccupied(stride) &&
+                            (canLeaveZone || StarBoard.getBaseColour(stride) == playerCol) &&
+                            (visited[stride >> 6] & (1L << stride)) == 0) {
+                        visited[stride >> 6] |= 1L << stride;
+                        queue[tail++] = stride;
                     }
                 }
             }
         }
-        visited.remove(node);
-        visited.removeIf(n -> (!isPlayerPlaceable(n.getBaseColour(), playerCol)));
-        for (CCNode v : visited) {
-            MovePeg action = new MovePeg(node.getID(), v.getID());
-            actions.add(action);
+        // the chain can pass through nodes on which the peg may not stop
+        for (int i = 1; i < tail; i++) {
+            int target = queue[i];
+            if ((stepped[target >> 6] & (1L << target)) == 0 && isPlayerPlaceable(StarBoard.getBaseColour(target), playerCol)) {
+                actions.add(new MovePeg(node, target));
+            }
         }
     }
 
@@ -194,12 +178,12 @@ public class CCForwardModel extends StandardForwardModel {
         int counter = 0;
         boolean PegIn = false;
         // we win if all target nodes are occupied, and at least one of them is ours (anti-spoiling rule)
-        List<CCNode> nodes = state.getStarBoard().getBoardNodes();
+        StarBoard board = state.getStarBoard();
         for (int i : colourIndices) {
-            if (nodes.get(i).isNodeOccupied() && nodes.get(i).getOccupiedPeg().getColour() == colour) {
+            if (board.getPegColour(i) == colour) {
                 PegIn = true;
             }
-            if (nodes.get(i).isNodeOccupied()) {
+            if (board.isOccupied(i)) {
                 counter++;
             }
         }
@@ -210,7 +194,7 @@ public class CCForwardModel extends StandardForwardModel {
         CCParameters params = (CCParameters) state.getGameParameters();
         int[] indices = params.colourIndices.get(params.boardOpposites.get(colour));
         for (int i : indices) {
-            state.starBoard.getBoardNodes().get(i).setOccupiedPeg(new Peg(colour, state.starBoard.getBoardNodes().get(i)));
+            state.starBoard.setPeg(i, colour, false);
         }
     }
 }
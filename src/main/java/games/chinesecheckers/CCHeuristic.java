@@ -5,10 +5,8 @@ import core.AbstractParameters;
 import core.CoreConstants;
 import core.interfaces.IStateHeuristic;
 import evaluation.optimisation.TunableParameters;
-import games.chinesecheckers.components.CCNode;
 import games.chinesecheckers.components.Peg;
-
-import java.util.List;
+import games.chinesecheckers.components.StarBoard;
 
 public class CCHeuristic extends TunableParameters implements IStateHeuristic {
 
@@ -39,15 +37,15 @@ public class CCHeuristic extends TunableParameters implements IStateHeuristic {
 
 
         double score = 0;
-        List<CCNode> nodes = state.getStarBoard().getBoardNodes();
-        for (CCNode node : nodes) {
-            if (node.isNodeOccupied() && node.getOccupiedPeg().getColour() == playercolour) {
-                if (node.getBaseColour() == playercolour)
+        StarBoard board = state.getStarBoard();
+        for (int node = 0; node < StarBoard.N_NODES; node++) {
+            if (board.getPegColour(node) == playercolour) {
+                if (StarBoard.getBaseColour(node) == playercolour)
                     score += 1.0;
-                else if (node.getBaseColour() == oppositeColour)
+                else if (StarBoard.getBaseColour(node) == oppositeColour)
                     score -= 1.0;
                 else {
-                    int distanceToTarget = state.starBoard.distanceBetween(node.getID(), referenceNode);
+                    int distanceToTarget = board.distanceBetween(node, referenceNode);
                     score += (Math.max(0, 10 - distanceToTarget)) / 10.0; // closer to target node gives more points
                 }
             }
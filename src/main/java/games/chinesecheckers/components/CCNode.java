@@ -9,51 +9,35 @@ import org.json.simple.JSONObject;
 
 import java.util.*;
 
+/**
+ * A view of one node of a StarBoard. The topology comes from the tables shared by all boards, and the peg from
+ * the state of the board this view belongs to, so setting the peg here changes the board.
+ */
 public class CCNode extends Component {
 
-    private Peg.Colour colour;
+    private final StarBoard board;
+    private final int maxNeighbours = StarBoard.N_SIDES;  // Maximum number of neighbours for this board node
 
-    private Peg occupiedPeg;
-
-    private int x;
-    private int y;
-
-    private List<CCNode> neighbours;  // Neighbours of this board node
-    private int maxNeighbours = 6;  // Maximum number of neighbours for this board node
-    private int[] neighboursBySide;// Neighbours by side
-
-
-    public CCNode() {
-        super(CoreConstants.ComponentType.BOARD_NODE, "CC", 0);
-        this.neighbours = new ArrayList<>();
-        this.neighboursBySide = new int[maxNeighbours];
-        Arrays.fill(neighboursBySide, -1);
-    }
-
-    public CCNode(int id) {
+    CCNode(StarBoard board, int id) {
         super(CoreConstants.ComponentType.BOARD_NODE, "CC", id);
-        colour = Peg.Colour.neutral;
-        this.neighbours = new ArrayList<>();
-        this.neighboursBySide = new int[maxNeighbours];
-        Arrays.fill(neighboursBySide, -1);
+        this.board = board;
     }
 
     public void setOccupiedPeg(Peg peg) {
-        occupiedPeg = peg;
-    }
-
-    public void setColourNode(Peg.Colour colour) {
-        this.colour = colour;
-    }
-
-    public void setCoordinates(int x, int y) {
-        this.x = x;
-        this.y = y;
+        if (peg == null)
+            board.setPeg(componentID, null, false);
+        else
+            board.setPeg(componentID, peg.getColour(), peg.getInDestination());
     }
 
+    /**
+     * @return the peg on this node, or null if it is empty. This is a new Peg each time, so use
+     * setOccupiedPeg() (or the StarBoard methods) to change it.
+     */
     public Peg getOccupiedPeg() {
-        if (occupiedPeg == null) return null;
-        return occupiedPeg;
+        Peg.Colour colour = board.getPegColour(componentID);
+        if (colour == null) return null;
+        return new Peg(colour, componentID, board.isInDestination(componentID));
     }
 
     public int getID() {
@@ -61,77 +45,48 @@ public class CCNode extends Component {
     }
 
     public int getX() {
-        return x;
+        return StarBoard.getX(componentID);
     }
 
     public int getY() {
-        return y;
+        return StarBoard.getY(componentID);
     }
 
     public Peg.Colour getBaseColour() {
-        return colour;
+        return StarBoard.getBaseColour(componentID);
     }
 
     public boolean isNodeOccupied() {
-        return occupiedPeg != null;
+        return board.isOccupied(componentID);
     }
 
-
-    /**
-     * Adds a neighbour for this node.
-     *
-     * @param neighbour - new neighbour of this node.
-     */
-    public void addNeighbour(CCNode neighbour) {
-        if (neighbours.size() <= maxNeighbours || maxNeighbours == -1) {
-            neighbours.add(neighbour);
-        }
-    }
-
-    /**
-     * Adds neighbour to specific side of this node.
-     *
-     * @param neighbour - new neighbour to be added.
-     * @param side      - side of this node to be added in.
-     * @return - true if added successfully, false otherwise. may fail if too many neighbours added already.
-     */
-    public void addNeighbour(CCNode neighbour, int side) {
-        if (neighbours.size() <= maxNeighbours && side <= maxNeighbours || maxNeighbours == -1) {
-            if (neighbours.contains(neighbour)) {
-                throw new IllegalArgumentException("Neighbour already exists in this node's neighbours.");
-            }
-            if (neighboursBySide[side] != -1) {
-                throw new IllegalArgumentException("Neighbour already exists in this node's neighbours by side mapping.");
-            }
-            neighbours.add(neighbour);
-            neighboursBySide[side] = neighbour.getID();
-        }
-    }
-
-
     @Override
     public BoardNode copy() {
-        throw new UnsupportedOperationException("Use copy() without parameters instead.");
+        throw new UnsupportedOperationException("Copy the StarBoard instead.");
     }
 
     /**
      * @return the neighbours of this node.
      */
     public List<CCNode> getNeighbours() {
-        return neighbours;
+        List<CCNode> retValue = new ArrayList<>(StarBoard.neighbourCount(componentID));
+        for (int k = 0; k < StarBoard.neighbourCount(componentID); k++) {
+            retValue.add(board.getNodeById(StarBoard.neighbourAt(componentID, k)));
+        }
+        return retValue;
     }
 
     /**
      * @return the neighbours mapping to sides of this node.
      */
     public int getNeighbourBySide(int side) {
-        return neighboursBySide[side];
+        return StarBoard.neighbour(componentID, side);
     }
 
     public int getSideOfNeighbour(int neighbourID) {
-        for (int i = 0; i < neighboursBySide.length; i++) {
-            if (neighboursBySide[i] == neighbourID) {
-                return i;
+        for (int side = 0; side < maxNeighbours; side++) {
+            if (StarBoard.neighbour(componentID, side) == neighbourID) {
+                return side;
             }
         }
         return -1; // Not found
@@ -161,13 +116,8 @@ public class CCNode extends Component {
     @Override
     public boolean equals(Object o) {
         if (o instanceof CCNode other) {
-            return componentID == other.componentID && occupiedPeg == other.occupiedPeg &&
-                    x == other.x && y == other.y && Objects.equals(neighbours, other.neighbours) &&
-                    Arrays.equals(neighboursBySide, other.neighboursBySide) &&
-                    maxNeighbours == other.maxNeighbours;
+            return componentID == other.componentID && Objects.equals(getOccupiedPeg(), other.getOccupiedPeg());
         }
         return false;
     }
-
-
 }
@@ -56,6 +56,14 @@ public class Peg extends Component {
         super(CoreConstants.ComponentType.TOKEN, "PEG", componentID);
     }
 
+    // The pegs on a StarBoard are held as the colour of each node, so a Peg read from one is identified by its node
+    Peg(Colour team, int occupiedNode, boolean inDestination) {
+        super(CoreConstants.ComponentType.TOKEN, "PEG", occupiedNode);
+        this.team = team;
+        this.occupiedNode = occupiedNode;
+        this.inDestination = inDestination;
+    }
+
     public void setInDestination(boolean value) {
         inDestination = value;
     }
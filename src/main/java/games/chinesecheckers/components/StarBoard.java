@@ -7,20 +7,62 @@ import games.chinesecheckers.CCParameters;
 
 import java.util.*;
 
+/**
+ * The Chinese Checkers board.
+ * <p>
+ * The topology of the board never changes, so it is held once in static int tables that all boards share: the
+ * neighbour on each side of a node, the node landed on by jumping over that neighbour, the base colour of each node,
+ * and all pair distances. The state of a board is then just one byte per node, which records the colour of the peg on
+ * it (if any), and whether that peg has reached its destination. Copying a board is a single array clone.
+ * <p>
+ * getBoardNodes() provides CCNode views onto a board, for the GUI and for tests; the forward model works directly
+ * on the tables.
+ */
 public class StarBoard extends Component implements IComponentContainer<CCNode> {
 
-    // List of nodes in the board graph
-    protected List<CCNode> boardNodes;
-    protected Map<Integer, Map<Integer, Integer>> allPairDistances;
-    protected Map<Integer, CCNode> nodesByID;
+    public static final int N_NODES = 121;
+    public static final int N_SIDES = 6;
+
+    // Topology, indexed by node * N_SIDES + side (or + k for the k-th neighbour); -1 if there is no node
+    private static final int[] neighbourBySide = new int[N_NODES * N_SIDES];
+    private static final int[] jumpLanding = new int[N_NODES * N_SIDES];
+    // neighbours in the order in which they were linked, which fixes the order of the generated actions
+    private static final int[] neighbourOrder = new int[N_NODES * N_SIDES];
+    private static final int[] sideOrder = new int[N_NODES * N_SIDES];
+    private static final int[] nNeighbours = new int[N_NODES];
+    private static final int[] xs = new int[N_NODES];
+    private static final int[] ys = new int[N_NODES];
+    private static final Peg.Colour[] baseColours = new Peg.Colour[N_NODES];
+    // indexed by from * N_NODES + to
+    private static final int[] allPairDistances = new int[N_NODES * N_NODES];
+
+    static {
+        Arrays.fill(neighbourBySide, -1);
+        Arrays.fill(neighbourOrder, -1);
+        buildBoard();
+        for (int node = 0; node < N_NODES; node++) {
+            for (int side = 0; side < N_SIDES; side++) {
+                int neighbour = neighbourBySide[node * N_SIDES + side];
+                jumpLanding[node * N_SIDES + side] = neighbour == -1 ? -1 : neighbourBySide[neighbour * N_SIDES + side];
+            }
+        }
+        loadNodeBaseColours();
+        calculateAllPairDistances();
+    }
+
+    private static final byte EMPTY = 0;
+    // the low bits hold the Peg.Colour ordinal + 1
+    private static final byte COLOUR_MASK = 0x0F;
+    private static final byte IN_DESTINATION = 0x10;
+
+    // The state: one byte per node
+    private byte[] pegs;
+    // Views onto this board, created on first use
+    private List<CCNode> nodeViews;
 
     public StarBoard() {
         super(CoreConstants.ComponentType.BOARD);
-        boardNodes = new ArrayList<>();
-        buildBoard();
-        buildNodeIndex();
-        calculateAllPairDistances();
-        loadNodeBaseColours();
+        pegs = new byte[N_NODES];
     }
 
     private StarBoard(String name, int ID) {
@@ -35,72 +77,131 @@ public class StarBoard extends Component implements IComponentContainer<CCNode>
     @Override
     public StarBoard copy() {
         StarBoard retValue = new StarBoard(componentName, componentID);
-        // Now we copy the board nodes (and pegs)
-
-        retValue.boardNodes = new ArrayList<>();
-        for (int i = 0; i < this.boardNodes.size(); i++) {
-            CCNode currentNode = this.getBoardNodes().get(i);
-            CCNode copiedNode = new CCNode(currentNode.getComponentID());
-            copiedNode.copyComponentTo(currentNode);
-            copiedNode.setColourNode(currentNode.getBaseColour());
-            if (currentNode.isNodeOccupied()) {
-                Peg pegCopy = (Peg) currentNode.getOccupiedPeg().copy();
-                copiedNode.setOccupiedPeg(pegCopy);
-            }
-            copiedNode.setCoordinates(currentNode.getX(), currentNode.getY());
-            retValue.boardNodes.add(copiedNode);
-        }
-        retValue.buildNodeIndex();
-
-        // Assign neighbours
-        for (int i = 0; i < this.boardNodes.size(); i++) {
-            CCNode originalNode = this.boardNodes.get(i);
-            CCNode copiedNode = retValue.boardNodes.get(i);
-            for (CCNode originalNeighbour : originalNode.getNeighbours()) {
-                CCNode copiedNeighbour = retValue.nodesByID.get(originalNeighbour.getID());
-                int side = originalNode.getSideOfNeighbour(originalNeighbour.getID());
-                copiedNode.addNeighbour(copiedNeighbour, side);
-            }
-
-        }
-        retValue.allPairDistances = allPairDistances; // this is immutable, so we can just copy the reference
+        retValue.pegs = pegs.clone();
         // Copy properties
         copyComponentTo(retValue);
-
         return retValue;
     }
 
     /**
-     * @return the list of board nodes
+     * @return the list of board nodes (views onto this board, so changes to them change the board)
      */
     public List<CCNode> getBoardNodes() {
-        return boardNodes;
+        if (nodeViews == null) {
+            List<CCNode> views = new ArrayList<>(N_NODES);
+            for (int i = 0; i < N_NODES; i++)
+                views.add(new CCNode(this, i));
+            nodeViews = Collections.unmodifiableList(views);
+        }
+        return nodeViews;
     }
 
-
     public CCNode getNodeById(int id) {
-        return nodesByID.get(id);
+        if (id < 0 || id >= N_NODES) return null;
+        return getBoardNodes().get(id);
     }
+
+    public boolean isOccupied(int node) {
+        return pegs[node] != EMPTY;
+    }
+
     /**
-     * Sets the list of board nodes to the given list.
-     *
-     * @param boardNodes - new list of board nodes.
+     * @return the colour of the peg on the node, or null if it is empty
+     */
+    public Peg.Colour getPegColour(int node) {
+        int c = pegs[node] & COLOUR_MASK;
+        return c == EMPTY ? null : Peg.Colour.values()[c - 1];
+    }
+
+    /**
+     * @return true if there is a peg on the node that has reached its destination area
+     */
+    public boolean isInDestination(int node) {
+        return (pegs[node] & IN_DESTINATION) != 0;
+    }
+
+    /**
+     * Places a peg on the node, or clears it if colour is null
+     */
+    public void setPeg(int node, Peg.Colour colour, boolean inDestination) {
+        if (colour == null)
+            pegs[node] = EMPTY;
+        else
+            pegs[node] = (byte) ((colour.ordinal() + 1) | (inDestination ? IN_DESTINATION : 0));
+    }
+
+    public void setInDestination(int node, boolean inDestination) {
+        if (pegs[node] == EMPTY)
+            throw new IllegalArgumentException("No peg on node " + node);
+        pegs[node] = (byte) (inDestination ? pegs[node] | IN_DESTINATION : pegs[node] & ~IN_DESTINATION);
+    }
+
+    /**
+     * Moves the peg on one node (with its destination flag) to another
+     */
+    public void movePeg(int from, int to) {
+        pegs[to] = pegs[from];
+        pegs[from] = EMPTY;
+    }
+
+    public static Peg.Colour getBaseColour(int node) {
+        return baseColours[node];
+    }
+
+    public static int getX(int node) {
+        return xs[node];
+    }
+
+    public static int getY(int node) {
+        return ys[node];
+    }
+
+    /**
+     * @return the neighbour on the given side of the node, or -1 if there is none
+     */
+    public static int neighbour(int node, int side) {
+        return neighbourBySide[node * N_SIDES + side];
+    }
+
+    /**
+     * @return the node landed on by jumping over the neighbour on the given side, or -1 if there is none
      */
-    public void setBoardNodes(List<CCNode> boardNodes) {
-        this.boardNodes = boardNodes;
+    public static int jumpLanding(int node, int side) {
+        return jumpLanding[node * N_SIDES + side];
+    }
+
+    /**
+     * @return the number of neighbours of the node
+     */
+    public static int neighbourCount(int node) {
+        return nNeighbours[node];
+    }
+
+    /**
+     * @return the k-th neighbour of the node, in the order they were linked when the board was built
+     */
+    public static int neighbourAt(int node, int k) {
+        return neighbourOrder[node * N_SIDES + k];
+    }
+
+    /**
+     * @return the side of the node on which its k-th neighbour lies
+     */
+    public static int sideAt(int node, int k) {
+        return sideOrder[node * N_SIDES + k];
     }
 
     @Override
     public boolean equals(Object o) {
         if (o instanceof StarBoard other) {
-            return componentID == other.componentID && other.boardNodes.equals(boardNodes);
+            return componentID == other.componentID && Arrays.equals(pegs, other.pegs);
         }
         return false;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(componentID, boardNodes);
+        return 31 * componentID + Arrays.hashCode(pegs);
     }
 
     @Override
@@ -113,939 +214,928 @@ public class StarBoard extends Component implements IComponentContainer<CCNode>
         return CoreConstants.VisibilityMode.VISIBLE_TO_ALL;
     }
 
-    private void loadNodeBaseColours() {
+    private static void loadNodeBaseColours() {
         // technically we would not have access to CCParameters here...but it prettifies the code
         // enough to be warranted
+        Arrays.fill(baseColours, Peg.Colour.neutral);
         CCParameters params = new CCParameters();
-        // Load Purple Nodes
         for (Peg.Colour colour : params.colourIndices.keySet()) {
             for (int i : params.colourIndices.get(colour)) {
-                this.getBoardNodes().get(i).setColourNode(colour);
+                baseColours[i] = colour;
             }
         }
     }
 
-    public void buildNodeIndex() {
-        nodesByID = new HashMap<>();
-        for (CCNode node : boardNodes) {
-            nodesByID.put(node.getComponentID(), node);
-        }
+    private static void coordinates(int node, int x, int y) {
+        xs[node] = x;
+        ys[node] = y;
     }
 
-    public void buildBoard() {
-        for (int i = 0; i < 121; i++) {
-            this.getBoardNodes().add(new CCNode(i));
+    private static void link(int node, int neighbour, int side) {
+        if (neighbourBySide[node * N_SIDES + side] != -1) {
+            throw new IllegalArgumentException("Neighbour already exists in this node's neighbours by side mapping.");
         }
-        (this.getBoardNodes().get(0)).setCoordinates(6, 0);
-        this.getBoardNodes().get(0).addNeighbour(this.getBoardNodes().get(1), 3);
-        this.getBoardNodes().get(0).addNeighbour(this.getBoardNodes().get(2), 2);
-
-        this.getBoardNodes().get(1).setCoordinates(5, 1);
-        this.getBoardNodes().get(1).addNeighbour(this.getBoardNodes().get(3), 3);
-        this.getBoardNodes().get(1).addNeighbour(this.getBoardNodes().get(4), 2);
-        this.getBoardNodes().get(1).addNeighbour(this.getBoardNodes().get(2), 1);
-        this.getBoardNodes().get(1).addNeighbour(this.getBoardNodes().get(0), 0);
-
-        this.getBoardNodes().get(2).setCoordinates(6, 1);
-        this.getBoardNodes().get(2).addNeighbour(this.getBoardNodes().get(4), 3);
-        this.getBoardNodes().get(2).addNeighbour(this.getBoardNodes().get(5), 2);
-        this.getBoardNodes().get(2).addNeighbour(this.getBoardNodes().get(0), 5);
-        this.getBoardNodes().get(2).addNeighbour(this.getBoardNodes().get(1), 4);
-
-        this.getBoardNodes().get(3).setCoordinates(5, 2);
-        this.getBoardNodes().get(3).addNeighbour(this.getBoardNodes().get(6), 3);
-        this.getBoardNodes().get(3).addNeighbour(this.getBoardNodes().get(7), 2);
-        this.getBoardNodes().get(3).addNeighbour(this.getBoardNodes().get(4), 1);
-        this.getBoardNodes().get(3).addNeighbour(this.getBoardNodes().get(1), 0);
-
-        this.getBoardNodes().get(4).setCoordinates(6, 2);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(7), 3);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(8), 2);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(5), 1);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(2), 0);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(1), 5);
-        this.getBoardNodes().get(4).addNeighbour(this.getBoardNodes().get(3), 4);
-
-        this.getBoardNodes().get(5).setCoordinates(7, 2);
-        this.getBoardNodes().get(5).addNeighbour(this.getBoardNodes().get(8), 3);
-        this.getBoardNodes().get(5).addNeighbour(this.getBoardNodes().get(9), 2);
-        this.getBoardNodes().get(5).addNeighbour(this.getBoardNodes().get(2), 5);
-        this.getBoardNodes().get(5).addNeighbour(this.getBoardNodes().get(4), 4);
-
-        this.getBoardNodes().get(6).setCoordinates(4, 3);
-        this.getBoardNodes().get(6).addNeighbour(this.getBoardNodes().get(14), 3);
-        this.getBoardNodes().get(6).addNeighbour(this.getBoardNodes().get(15), 2);
-        this.getBoardNodes().get(6).addNeighbour(this.getBoardNodes().get(7), 1);
-        this.getBoardNodes().get(6).addNeighbour(this.getBoardNodes().get(3), 0);
-
-        this.getBoardNodes().get(7).setCoordinates(5, 3);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(15), 3);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(16), 2);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(8), 1);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(4), 0);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(3), 5);
-        this.getBoardNodes().get(7).addNeighbour(this.getBoardNodes().get(6), 4);
-
-        this.getBoardNodes().get(8).setCoordinates(6, 3);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(16), 3);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(17), 2);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(9), 1);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(5), 0);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(4), 5);
-        this.getBoardNodes().get(8).addNeighbour(this.getBoardNodes().get(7), 4);
-
-        this.getBoardNodes().get(9).setCoordinates(7, 3);
-        this.getBoardNodes().get(9).addNeighbour(this.getBoardNodes().get(17), 3);
-        this.getBoardNodes().get(9).addNeighbour(this.getBoardNodes().get(18), 2);
-        this.getBoardNodes().get(9).addNeighbour(this.getBoardNodes().get(5), 5);
-        this.getBoardNodes().get(9).addNeighbour(this.getBoardNodes().get(8), 4);
-
-        this.getBoardNodes().get(10).setCoordinates(0, 4);
-        this.getBoardNodes().get(10).addNeighbour(this.getBoardNodes().get(11), 1);
-        this.getBoardNodes().get(10).addNeighbour(this.getBoardNodes().get(23), 2);
-
-        this.getBoardNodes().get(11).setCoordinates(1, 4);
-        this.getBoardNodes().get(11).addNeighbour(this.getBoardNodes().get(12), 1);
-        this.getBoardNodes().get(11).addNeighbour(this.getBoardNodes().get(24), 2);
-        this.getBoardNodes().get(11).addNeighbour(this.getBoardNodes().get(23), 3);
-        this.getBoardNodes().get(11).addNeighbour(this.getBoardNodes().get(10), 4);
-
-        this.getBoardNodes().get(12).setCoordinates(2, 4);
-        this.getBoardNodes().get(12).addNeighbour(this.getBoardNodes().get(13), 1);
-        this.getBoardNodes().get(12).addNeighbour(this.getBoardNodes().get(25), 2);
-        this.getBoardNodes().get(12).addNeighbour(this.getBoardNodes().get(24), 3);
-        this.getBoardNodes().get(12).addNeighbour(this.getBoardNodes().get(11), 4);
-
-        this.getBoardNodes().get(13).setCoordinates(3, 4);
-        this.getBoardNodes().get(13).addNeighbour(this.getBoardNodes().get(14), 1);
-        this.getBoardNodes().get(13).addNeighbour(this.getBoardNodes().get(26), 2);
-        this.getBoardNodes().get(13).addNeighbour(this.getBoardNodes().get(25), 3);
-        this.getBoardNodes().get(13).addNeighbour(this.getBoardNodes().get(12), 4);
-
-        this.getBoardNodes().get(14).setCoordinates(4, 4);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(6), 0);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(15), 1);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(27), 2);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(26), 3);
-        this.getBoardNodes().get(14).addNeighbour(this.getBoardNodes().get(13), 4);
-
-        this.getBoardNodes().get(15).setCoordinates(5, 4);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(7), 0);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(16), 1);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(28), 2);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(27), 3);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(14), 4);
-        this.getBoardNodes().get(15).addNeighbour(this.getBoardNodes().get(6), 5);
-
-        this.getBoardNodes().get(16).setCoordinates(6, 4);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(8), 0);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(17), 1);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(29), 2);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(28), 3);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(15), 4);
-        this.getBoardNodes().get(16).addNeighbour(this.getBoardNodes().get(7), 5);
-
-        this.getBoardNodes().get(17).setCoordinates(7, 4);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(9), 0);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(18), 1);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(30), 2);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(29), 3);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(16), 4);
-        this.getBoardNodes().get(17).addNeighbour(this.getBoardNodes().get(8), 5);
-
-        this.getBoardNodes().get(18).setCoordinates(8, 4);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(19), 1);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(31), 2);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(30), 3);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(17), 4);
-        this.getBoardNodes().get(18).addNeighbour(this.getBoardNodes().get(9), 5);
-
-        this.getBoardNodes().get(19).setCoordinates(9, 4);
-        this.getBoardNodes().get(19).addNeighbour(this.getBoardNodes().get(20), 1);
-        this.getBoardNodes().get(19).addNeighbour(this.getBoardNodes().get(32), 2);
-        this.getBoardNodes().get(19).addNeighbour(this.getBoardNodes().get(31), 3);
-        this.getBoardNodes().get(19).addNeighbour(this.getBoardNodes().get(18), 4);
-
-        this.getBoardNodes().get(20).setCoordinates(10, 4);
-        this.getBoardNodes().get(20).addNeighbour(this.getBoardNodes().get(21), 1);
-        this.getBoardNodes().get(20).addNeighbour(this.getBoardNodes().get(33), 2);
-        this.getBoardNodes().get(20).addNeighbour(this.getBoardNodes().get(32), 3);
-        this.getBoardNodes().get(20).addNeighbour(this.getBoardNodes().get(19), 4);
-
-        this.getBoardNodes().get(21).setCoordinates(11, 4);
-        this.getBoardNodes().get(21).addNeighbour(this.getBoardNodes().get(22), 1);
-        this.getBoardNodes().get(21).addNeighbour(this.getBoardNodes().get(34), 2);
-        this.getBoardNodes().get(21).addNeighbour(this.getBoardNodes().get(33), 3);
-        this.getBoardNodes().get(21).addNeighbour(this.getBoardNodes().get(20), 4);
-
-        this.getBoardNodes().get(22).setCoordinates(12, 4);
-        this.getBoardNodes().get(22).addNeighbour(this.getBoardNodes().get(34), 3);
-        this.getBoardNodes().get(22).addNeighbour(this.getBoardNodes().get(21), 4);
-
-        this.getBoardNodes().get(23).setCoordinates(0, 5);
-        this.getBoardNodes().get(23).addNeighbour(this.getBoardNodes().get(11), 0);
-        this.getBoardNodes().get(23).addNeighbour(this.getBoardNodes().get(24), 1);
-        this.getBoardNodes().get(23).addNeighbour(this.getBoardNodes().get(35), 2);
-        this.getBoardNodes().get(23).addNeighbour(this.getBoardNodes().get(10), 5);
-
-        this.getBoardNodes().get(24).setCoordinates(1, 5);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(12), 0);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(25), 1);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(36), 2);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(35), 3);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(23), 4);
-        this.getBoardNodes().get(24).addNeighbour(this.getBoardNodes().get(11), 5);
-
-        this.getBoardNodes().get(25).setCoordinates(2, 5);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(13), 0);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(26), 1);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(37), 2);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(36), 3);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(24), 4);
-        this.getBoardNodes().get(25).addNeighbour(this.getBoardNodes().get(12), 5);
-
-        this.getBoardNodes().get(26).setCoordinates(3, 5);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(14), 0);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(27), 1);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(38), 2);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(37), 3);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(25), 4);
-        this.getBoardNodes().get(26).addNeighbour(this.getBoardNodes().get(13), 5);
-
-        this.getBoardNodes().get(27).setCoordinates(4, 5);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(15), 0);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(28), 1);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(39), 2);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(38), 3);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(26), 4);
-        this.getBoardNodes().get(27).addNeighbour(this.getBoardNodes().get(14), 5);
-
-        this.getBoardNodes().get(28).setCoordinates(5, 5);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(16), 0);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(29), 1);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(40), 2);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(39), 3);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(27), 4);
-        this.getBoardNodes().get(28).addNeighbour(this.getBoardNodes().get(15), 5);
-
-        this.getBoardNodes().get(29).setCoordinates(6, 5);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(17), 0);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(30), 1);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(41), 2);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(40), 3);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(28), 4);
-        this.getBoardNodes().get(29).addNeighbour(this.getBoardNodes().get(16), 5);
-
-        this.getBoardNodes().get(30).setCoordinates(7, 5);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(18), 0);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(31), 1);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(42), 2);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(41), 3);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(29), 4);
-        this.getBoardNodes().get(30).addNeighbour(this.getBoardNodes().get(17), 5);
-
-        this.getBoardNodes().get(31).setCoordinates(8, 5);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(19), 0);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(32), 1);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(43), 2);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(42), 3);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(30), 4);
-        this.getBoardNodes().get(31).addNeighbour(this.getBoardNodes().get(18), 5);
-
-        this.getBoardNodes().get(32).setCoordinates(9, 5);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(20), 0);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(33), 1);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(44), 2);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(43), 3);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(31), 4);
-        this.getBoardNodes().get(32).addNeighbour(this.getBoardNodes().get(19), 5);
-
-        this.getBoardNodes().get(33).setCoordinates(10, 5);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(21), 0);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(34), 1);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(45), 2);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(44), 3);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(32), 4);
-        this.getBoardNodes().get(33).addNeighbour(this.getBoardNodes().get(20), 5);
-
-        this.getBoardNodes().get(34).setCoordinates(11, 5);
-        this.getBoardNodes().get(34).addNeighbour(this.getBoardNodes().get(22), 0);
-        this.getBoardNodes().get(34).addNeighbour(this.getBoardNodes().get(45), 3);
-        this.getBoardNodes().get(34).addNeighbour(this.getBoardNodes().get(33), 4);
-        this.getBoardNodes().get(34).addNeighbour(this.getBoardNodes().get(21), 5);
-
-        this.getBoardNodes().get(35).setCoordinates(1, 6);
-        this.getBoardNodes().get(35).addNeighbour(this.getBoardNodes().get(24), 0);
-        this.getBoardNodes().get(35).addNeighbour(this.getBoardNodes().get(36), 1);
-        this.getBoardNodes().get(35).addNeighbour(this.getBoardNodes().get(46), 2);
-        this.getBoardNodes().get(35).addNeighbour(this.getBoardNodes().get(23), 5);
-
-        this.getBoardNodes().get(36).setCoordinates(2, 6);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(25), 0);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(37), 1);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(47), 2);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(46), 3);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(35), 4);
-        this.getBoardNodes().get(36).addNeighbour(this.getBoardNodes().get(24), 5);
-
-        this.getBoardNodes().get(37).setCoordinates(3, 6);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(26), 0);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(38), 1);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(48), 2);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(47), 3);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(36), 4);
-        this.getBoardNodes().get(37).addNeighbour(this.getBoardNodes().get(25), 5);
-
-        this.getBoardNodes().get(38).setCoordinates(4, 6);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(27), 0);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(39), 1);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(49), 2);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(48), 3);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(37), 4);
-        this.getBoardNodes().get(38).addNeighbour(this.getBoardNodes().get(26), 5);
-
-        this.getBoardNodes().get(39).setCoordinates(5, 6);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(28), 0);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(40), 1);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(50), 2);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(49), 3);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(38), 4);
-        this.getBoardNodes().get(39).addNeighbour(this.getBoardNodes().get(27), 5);
-
-        this.getBoardNodes().get(40).setCoordinates(6, 6);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(29), 0);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(41), 1);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(51), 2);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(50), 3);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(39), 4);
-        this.getBoardNodes().get(40).addNeighbour(this.getBoardNodes().get(28), 5);
-
-        this.getBoardNodes().get(41).setCoordinates(7, 6);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(30), 0);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(42), 1);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(52), 2);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(51), 3);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(40), 4);
-        this.getBoardNodes().get(41).addNeighbour(this.getBoardNodes().get(29), 5);
-
-        this.getBoardNodes().get(42).setCoordinates(8, 6);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(31), 0);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(43), 1);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(53), 2);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(52), 3);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(41), 4);
-        this.getBoardNodes().get(42).addNeighbour(this.getBoardNodes().get(30), 5);
-
-        this.getBoardNodes().get(43).setCoordinates(9, 6);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(32), 0);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(44), 1);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(54), 2);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(53), 3);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(42), 4);
-        this.getBoardNodes().get(43).addNeighbour(this.getBoardNodes().get(31), 5);
-
-        this.getBoardNodes().get(44).setCoordinates(10, 6);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(33), 0);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(45), 1);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(55), 2);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(54), 3);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(43), 4);
-        this.getBoardNodes().get(44).addNeighbour(this.getBoardNodes().get(32), 5);
-
-        this.getBoardNodes().get(45).setCoordinates(11, 6);
-        this.getBoardNodes().get(45).addNeighbour(this.getBoardNodes().get(34), 0);
-        this.getBoardNodes().get(45).addNeighbour(this.getBoardNodes().get(55), 3);
-        this.getBoardNodes().get(45).addNeighbour(this.getBoardNodes().get(44), 4);
-        this.getBoardNodes().get(45).addNeighbour(this.getBoardNodes().get(33), 5);
-
-        this.getBoardNodes().get(46).setCoordinates(1, 7);
-        this.getBoardNodes().get(46).addNeighbour(this.getBoardNodes().get(36), 0);
-        this.getBoardNodes().get(46).addNeighbour(this.getBoardNodes().get(47), 1);
-        this.getBoardNodes().get(46).addNeighbour(this.getBoardNodes().get(56), 2);
-        this.getBoardNodes().get(46).addNeighbour(this.getBoardNodes().get(35), 5);
-
-        this.getBoardNodes().get(47).setCoordinates(2, 7);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(37), 0);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(48), 1);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(57), 2);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(56), 3);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(46), 4);
-        this.getBoardNodes().get(47).addNeighbour(this.getBoardNodes().get(36), 5);
-
-        this.getBoardNodes().get(48).setCoordinates(3, 7);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(38), 0);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(49), 1);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(58), 2);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(57), 3);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(47), 4);
-        this.getBoardNodes().get(48).addNeighbour(this.getBoardNodes().get(37), 5);
-
-        this.getBoardNodes().get(49).setCoordinates(4, 7);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(39), 0);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(50), 1);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(59), 2);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(58), 3);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(48), 4);
-        this.getBoardNodes().get(49).addNeighbour(this.getBoardNodes().get(38), 5);
-
-        this.getBoardNodes().get(50).setCoordinates(5, 7);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(40), 0);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(51), 1);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(60), 2);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(59), 3);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(49), 4);
-        this.getBoardNodes().get(50).addNeighbour(this.getBoardNodes().get(39), 5);
-
-        this.getBoardNodes().get(51).setCoordinates(6, 7);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(41), 0);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(52), 1);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(61), 2);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(60), 3);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(50), 4);
-        this.getBoardNodes().get(51).addNeighbour(this.getBoardNodes().get(40), 5);
-
-        this.getBoardNodes().get(52).setCoordinates(7, 7);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(42), 0);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(53), 1);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(62), 2);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(61), 3);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(51), 4);
-        this.getBoardNodes().get(52).addNeighbour(this.getBoardNodes().get(41), 5);
-
-        this.getBoardNodes().get(53).setCoordinates(8, 7);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(43), 0);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(54), 1);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(63), 2);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(62), 3);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(52), 4);
-        this.getBoardNodes().get(53).addNeighbour(this.getBoardNodes().get(42), 5);
-
-        this.getBoardNodes().get(54).setCoordinates(9, 7);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(44), 0);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(55), 1);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(64), 2);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(63), 3);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(53), 4);
-        this.getBoardNodes().get(54).addNeighbour(this.getBoardNodes().get(43), 5);
-
-        this.getBoardNodes().get(55).setCoordinates(10, 7);
-        this.getBoardNodes().get(55).addNeighbour(this.getBoardNodes().get(45), 0);
-        this.getBoardNodes().get(55).addNeighbour(this.getBoardNodes().get(64), 3);
-        this.getBoardNodes().get(55).addNeighbour(this.getBoardNodes().get(54), 4);
-        this.getBoardNodes().get(55).addNeighbour(this.getBoardNodes().get(44), 5);
-
-        this.getBoardNodes().get(56).setCoordinates(2, 8);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(47), 0);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(57), 1);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(66), 2);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(65), 3);
-        this.getBoardNodes().get(56).addNeighbour(this.getBoardNodes().get(46), 5);
-
-        this.getBoardNodes().get(57).setCoordinates(3, 8);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(48), 0);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(58), 1);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(67), 2);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(66), 3);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(56), 4);
-        this.getBoardNodes().get(57).addNeighbour(this.getBoardNodes().get(47), 5);
-
-        this.getBoardNodes().get(58).setCoordinates(4, 8);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(49), 0);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(59), 1);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(68), 2);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(67), 3);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(57), 4);
-        this.getBoardNodes().get(58).addNeighbour(this.getBoardNodes().get(48), 5);
-
-        this.getBoardNodes().get(59).setCoordinates(5, 8);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(50), 0);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(60), 1);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(69), 2);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(68), 3);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(58), 4);
-        this.getBoardNodes().get(59).addNeighbour(this.getBoardNodes().get(49), 5);
-
-        this.getBoardNodes().get(60).setCoordinates(6, 8);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(51), 0);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(61), 1);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(70), 2);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(69), 3);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(59), 4);
-        this.getBoardNodes().get(60).addNeighbour(this.getBoardNodes().get(50), 5);
-
-        this.getBoardNodes().get(61).setCoordinates(7, 8);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(52), 0);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(62), 1);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(71), 2);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(70), 3);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(60), 4);
-        this.getBoardNodes().get(61).addNeighbour(this.getBoardNodes().get(51), 5);
-
-        this.getBoardNodes().get(62).setCoordinates(8, 8);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(53), 0);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(63), 1);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(72), 2);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(71), 3);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(61), 4);
-        this.getBoardNodes().get(62).addNeighbour(this.getBoardNodes().get(52), 5);
-
-        this.getBoardNodes().get(63).setCoordinates(9, 8);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(54), 0);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(64), 1);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(73), 2);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(72), 3);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(62), 4);
-        this.getBoardNodes().get(63).addNeighbour(this.getBoardNodes().get(53), 5);
-
-        this.getBoardNodes().get(64).setCoordinates(10, 8);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(55), 0);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(74), 2);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(73), 3);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(63), 4);
-        this.getBoardNodes().get(64).addNeighbour(this.getBoardNodes().get(54), 5);
-
-        this.getBoardNodes().get(65).setCoordinates(1, 9);
-        this.getBoardNodes().get(65).addNeighbour(this.getBoardNodes().get(56), 0);
-        this.getBoardNodes().get(65).addNeighbour(this.getBoardNodes().get(66), 1);
-        this.getBoardNodes().get(65).addNeighbour(this.getBoardNodes().get(76), 2);
-        this.getBoardNodes().get(65).addNeighbour(this.getBoardNodes().get(75), 3);
-
-        this.getBoardNodes().get(66).setCoordinates(2, 9);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(57), 0);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(67), 1);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(77), 2);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(76), 3);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(65), 4);
-        this.getBoardNodes().get(66).addNeighbour(this.getBoardNodes().get(56), 5);
-
-        this.getBoardNodes().get(67).setCoordinates(3, 9);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(58), 0);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(68), 1);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(78), 2);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(77), 3);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(66), 4);
-        this.getBoardNodes().get(67).addNeighbour(this.getBoardNodes().get(57), 5);
-
-        this.getBoardNodes().get(68).setCoordinates(4, 9);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(59), 0);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(69), 1);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(79), 2);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(78), 3);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(67), 4);
-        this.getBoardNodes().get(68).addNeighbour(this.getBoardNodes().get(58), 5);
-
-        this.getBoardNodes().get(69).setCoordinates(5, 9);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(60), 0);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(70), 1);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(80), 2);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(79), 3);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(68), 4);
-        this.getBoardNodes().get(69).addNeighbour(this.getBoardNodes().get(59), 5);
-
-        this.getBoardNodes().get(70).setCoordinates(6, 9);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(61), 0);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(71), 1);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(81), 2);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(80), 3);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(69), 4);
-        this.getBoardNodes().get(70).addNeighbour(this.getBoardNodes().get(60), 5);
-
-        this.getBoardNodes().get(71).setCoordinates(7, 9);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(62), 0);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(72), 1);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(82), 2);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(81), 3);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(70), 4);
-        this.getBoardNodes().get(71).addNeighbour(this.getBoardNodes().get(61), 5);
-
-        this.getBoardNodes().get(72).setCoordinates(8, 9);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(63), 0);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(73), 1);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(83), 2);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(82), 3);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(71), 4);
-        this.getBoardNodes().get(72).addNeighbour(this.getBoardNodes().get(62), 5);
-
-        this.getBoardNodes().get(73).setCoordinates(9, 9);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(64), 0);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(74), 1);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(84), 2);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(83), 3);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(72), 4);
-        this.getBoardNodes().get(73).addNeighbour(this.getBoardNodes().get(63), 5);
-
-        this.getBoardNodes().get(74).setCoordinates(10, 9);
-        this.getBoardNodes().get(74).addNeighbour(this.getBoardNodes().get(85), 2);
-        this.getBoardNodes().get(74).addNeighbour(this.getBoardNodes().get(84), 3);
-        this.getBoardNodes().get(74).addNeighbour(this.getBoardNodes().get(73), 4);
-        this.getBoardNodes().get(74).addNeighbour(this.getBoardNodes().get(64), 5);
-
-        this.getBoardNodes().get(75).setCoordinates(1, 10);
-        this.getBoardNodes().get(75).addNeighbour(this.getBoardNodes().get(65), 0);
-        this.getBoardNodes().get(75).addNeighbour(this.getBoardNodes().get(76), 1);
-        this.getBoardNodes().get(75).addNeighbour(this.getBoardNodes().get(87), 2);
-        this.getBoardNodes().get(75).addNeighbour(this.getBoardNodes().get(86), 3);
-
-        this.getBoardNodes().get(76).setCoordinates(2, 10);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(66), 0);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(77), 1);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(88), 2);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(87), 3);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(75), 4);
-        this.getBoardNodes().get(76).addNeighbour(this.getBoardNodes().get(65), 5);
-
-        this.getBoardNodes().get(77).setCoordinates(3, 10);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(67), 0);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(78), 1);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(89), 2);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(88), 3);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(76), 4);
-        this.getBoardNodes().get(77).addNeighbour(this.getBoardNodes().get(66), 5);
-
-        this.getBoardNodes().get(78).setCoordinates(4, 10);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(68), 0);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(79), 1);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(90), 2);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(89), 3);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(77), 4);
-        this.getBoardNodes().get(78).addNeighbour(this.getBoardNodes().get(67), 5);
-
-        this.getBoardNodes().get(79).setCoordinates(5, 10);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(69), 0);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(80), 1);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(91), 2);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(90), 3);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(78), 4);
-        this.getBoardNodes().get(79).addNeighbour(this.getBoardNodes().get(68), 5);
-
-        this.getBoardNodes().get(80).setCoordinates(6, 10);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(70), 0);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(81), 1);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(92), 2);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(91), 3);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(79), 4);
-        this.getBoardNodes().get(80).addNeighbour(this.getBoardNodes().get(69), 5);
-
-        this.getBoardNodes().get(81).setCoordinates(7, 10);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(71), 0);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(82), 1);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(93), 2);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(92), 3);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(80), 4);
-        this.getBoardNodes().get(81).addNeighbour(this.getBoardNodes().get(70), 5);
-
-        this.getBoardNodes().get(82).setCoordinates(8, 10);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(72), 0);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(83), 1);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(94), 2);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(93), 3);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(81), 4);
-        this.getBoardNodes().get(82).addNeighbour(this.getBoardNodes().get(71), 5);
-
-        this.getBoardNodes().get(83).setCoordinates(9, 10);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(73), 0);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(84), 1);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(95), 2);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(94), 3);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(82), 4);
-        this.getBoardNodes().get(83).addNeighbour(this.getBoardNodes().get(72), 5);
-
-        this.getBoardNodes().get(84).setCoordinates(10, 10);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(85), 1);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(96), 2);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(95), 3);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(83), 4);
-        this.getBoardNodes().get(84).addNeighbour(this.getBoardNodes().get(74), 5);
-
-        this.getBoardNodes().get(85).setCoordinates(11, 10);
-        this.getBoardNodes().get(85).addNeighbour(this.getBoardNodes().get(97), 2);
-        this.getBoardNodes().get(85).addNeighbour(this.getBoardNodes().get(96), 3);
-        this.getBoardNodes().get(85).addNeighbour(this.getBoardNodes().get(84), 4);
-        this.getBoardNodes().get(85).addNeighbour(this.getBoardNodes().get(74), 5);
-
-        this.getBoardNodes().get(86).setCoordinates(0, 11);
-        this.getBoardNodes().get(86).addNeighbour(this.getBoardNodes().get(75), 0);
-        this.getBoardNodes().get(86).addNeighbour(this.getBoardNodes().get(87), 1);
-        this.getBoardNodes().get(86).addNeighbour(this.getBoardNodes().get(99), 2);
-        this.getBoardNodes().get(86).addNeighbour(this.getBoardNodes().get(98), 3);
-
-        this.getBoardNodes().get(87).setCoordinates(1, 11);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(76), 0);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(88), 1);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(100), 2);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(99), 3);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(86), 4);
-        this.getBoardNodes().get(87).addNeighbour(this.getBoardNodes().get(75), 5);
-
-        this.getBoardNodes().get(88).setCoordinates(2, 11);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(77), 0);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(89), 1);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(101), 2);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(100), 3);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(87), 4);
-        this.getBoardNodes().get(88).addNeighbour(this.getBoardNodes().get(76), 5);
-
-        this.getBoardNodes().get(89).setCoordinates(3, 11);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(78), 0);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(90), 1);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(102), 2);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(101), 3);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(88), 4);
-        this.getBoardNodes().get(89).addNeighbour(this.getBoardNodes().get(77), 5);
-
-        this.getBoardNodes().get(90).setCoordinates(4, 11);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(79), 0);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(91), 1);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(103), 2);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(102), 3);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(89), 4);
-        this.getBoardNodes().get(90).addNeighbour(this.getBoardNodes().get(78), 5);
-
-        this.getBoardNodes().get(91).setCoordinates(5, 11);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(80), 0);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(92), 1);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(104), 2);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(103), 3);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(90), 4);
-        this.getBoardNodes().get(91).addNeighbour(this.getBoardNodes().get(79), 5);
-
-        this.getBoardNodes().get(92).setCoordinates(6, 11);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(81), 0);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(93), 1);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(105), 2);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(104), 3);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(91), 4);
-        this.getBoardNodes().get(92).addNeighbour(this.getBoardNodes().get(80), 5);
-
-        this.getBoardNodes().get(93).setCoordinates(7, 11);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(82), 0);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(94), 1);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(106), 2);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(105), 3);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(92), 4);
-        this.getBoardNodes().get(93).addNeighbour(this.getBoardNodes().get(81), 5);
-
-        this.getBoardNodes().get(94).setCoordinates(8, 11);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(83), 0);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(95), 1);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(107), 2);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(106), 3);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(93), 4);
-        this.getBoardNodes().get(94).addNeighbour(this.getBoardNodes().get(82), 5);
-
-        this.getBoardNodes().get(95).setCoordinates(9, 11);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(84), 0);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(96), 1);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(108), 2);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(107), 3);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(94), 4);
-        this.getBoardNodes().get(95).addNeighbour(this.getBoardNodes().get(83), 5);
-
-        this.getBoardNodes().get(96).setCoordinates(10, 11);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(85), 0);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(97), 1);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(109), 2);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(108), 3);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(95), 4);
-        this.getBoardNodes().get(96).addNeighbour(this.getBoardNodes().get(84), 5);
-
-        this.getBoardNodes().get(97).setCoordinates(11, 11);
-        this.getBoardNodes().get(97).addNeighbour(this.getBoardNodes().get(110), 2);
-        this.getBoardNodes().get(97).addNeighbour(this.getBoardNodes().get(109), 3);
-        this.getBoardNodes().get(97).addNeighbour(this.getBoardNodes().get(96), 4);
-        this.getBoardNodes().get(97).addNeighbour(this.getBoardNodes().get(85), 5);
-
-        this.getBoardNodes().get(98).setCoordinates(0, 12);
-        this.getBoardNodes().get(98).addNeighbour(this.getBoardNodes().get(86), 0);
-        this.getBoardNodes().get(98).addNeighbour(this.getBoardNodes().get(99), 1);
-
-        this.getBoardNodes().get(99).setCoordinates(1, 12);
-        this.getBoardNodes().get(99).addNeighbour(this.getBoardNodes().get(87), 0);
-        this.getBoardNodes().get(99).addNeighbour(this.getBoardNodes().get(100), 1);
-        this.getBoardNodes().get(99).addNeighbour(this.getBoardNodes().get(98), 4);
-        this.getBoardNodes().get(99).addNeighbour(this.getBoardNodes().get(86), 5);
-
-        this.getBoardNodes().get(100).setCoordinates(2, 12);
-        this.getBoardNodes().get(100).addNeighbour(this.getBoardNodes().get(88), 0);
-        this.getBoardNodes().get(100).addNeighbour(this.getBoardNodes().get(101), 1);
-        this.getBoardNodes().get(100).addNeighbour(this.getBoardNodes().get(99), 4);
-        this.getBoardNodes().get(100).addNeighbour(this.getBoardNodes().get(87), 5);
-
-        this.getBoardNodes().get(101).setCoordinates(3, 12);
-        this.getBoardNodes().get(101).addNeighbour(this.getBoardNodes().get(89), 0);
-        this.getBoardNodes().get(101).addNeighbour(this.getBoardNodes().get(102), 1);
-        this.getBoardNodes().get(101).addNeighbour(this.getBoardNodes().get(100), 4);
-        this.getBoardNodes().get(101).addNeighbour(this.getBoardNodes().get(88), 5);
-
-        this.getBoardNodes().get(102).setCoordinates(4, 12);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(90), 0);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(103), 1);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(111), 2);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(101), 4);
-        this.getBoardNodes().get(102).addNeighbour(this.getBoardNodes().get(89), 5);
-
-        this.getBoardNodes().get(103).setCoordinates(5, 12);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(91), 0);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(104), 1);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(112), 2);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(111), 3);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(102), 4);
-        this.getBoardNodes().get(103).addNeighbour(this.getBoardNodes().get(90), 5);
-
-        this.getBoardNodes().get(104).setCoordinates(6, 12);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(92), 0);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(105), 1);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(113), 2);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(112), 3);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(103), 4);
-        this.getBoardNodes().get(104).addNeighbour(this.getBoardNodes().get(91), 5);
-
-        this.getBoardNodes().get(105).setCoordinates(7, 12);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(93), 0);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(106), 1);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(114), 2);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(113), 3);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(104), 4);
-        this.getBoardNodes().get(105).addNeighbour(this.getBoardNodes().get(92), 5);
-
-        this.getBoardNodes().get(106).setCoordinates(8, 12);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(94), 0);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(107), 1);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(114), 3);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(105), 4);
-        this.getBoardNodes().get(106).addNeighbour(this.getBoardNodes().get(93), 5);
-
-        this.getBoardNodes().get(107).setCoordinates(9, 12);
-        this.getBoardNodes().get(107).addNeighbour(this.getBoardNodes().get(95), 0);
-        this.getBoardNodes().get(107).addNeighbour(this.getBoardNodes().get(108), 1);
-        this.getBoardNodes().get(107).addNeighbour(this.getBoardNodes().get(106), 4);
-        this.getBoardNodes().get(107).addNeighbour(this.getBoardNodes().get(94), 5);
-
-        this.getBoardNodes().get(108).setCoordinates(10, 12);
-        this.getBoardNodes().get(108).addNeighbour(this.getBoardNodes().get(96), 0);
-        this.getBoardNodes().get(108).addNeighbour(this.getBoardNodes().get(109), 1);
-        this.getBoardNodes().get(108).addNeighbour(this.getBoardNodes().get(107), 4);
-        this.getBoardNodes().get(108).addNeighbour(this.getBoardNodes().get(95), 5);
-
-        this.getBoardNodes().get(109).setCoordinates(11, 12);
-        this.getBoardNodes().get(109).addNeighbour(this.getBoardNodes().get(97), 0);
-        this.getBoardNodes().get(109).addNeighbour(this.getBoardNodes().get(110), 1);
-        this.getBoardNodes().get(109).addNeighbour(this.getBoardNodes().get(108), 4);
-        this.getBoardNodes().get(109).addNeighbour(this.getBoardNodes().get(96), 5);
-
-        this.getBoardNodes().get(110).setCoordinates(12, 12);
-        this.getBoardNodes().get(110).addNeighbour(this.getBoardNodes().get(109), 4);
-        this.getBoardNodes().get(110).addNeighbour(this.getBoardNodes().get(97), 5);
-
-        this.getBoardNodes().get(111).setCoordinates(4, 13);
-        this.getBoardNodes().get(111).addNeighbour(this.getBoardNodes().get(103), 0);
-        this.getBoardNodes().get(111).addNeighbour(this.getBoardNodes().get(112), 1);
-        this.getBoardNodes().get(111).addNeighbour(this.getBoardNodes().get(115), 2);
-        this.getBoardNodes().get(111).addNeighbour(this.getBoardNodes().get(102), 5);
-
-        this.getBoardNodes().get(112).setCoordinates(5, 13);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(104), 0);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(113), 1);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(116), 2);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(115), 3);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(111), 4);
-        this.getBoardNodes().get(112).addNeighbour(this.getBoardNodes().get(103), 5);
-
-        this.getBoardNodes().get(113).setCoordinates(6, 13);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(105), 0);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(114), 1);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(117), 2);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(116), 3);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(112), 4);
-        this.getBoardNodes().get(113).addNeighbour(this.getBoardNodes().get(104), 5);
-
-        this.getBoardNodes().get(114).setCoordinates(7, 13);
-        this.getBoardNodes().get(114).addNeighbour(this.getBoardNodes().get(106), 0);
-        this.getBoardNodes().get(114).addNeighbour(this.getBoardNodes().get(117), 3);
-        this.getBoardNodes().get(114).addNeighbour(this.getBoardNodes().get(113), 4);
-        this.getBoardNodes().get(114).addNeighbour(this.getBoardNodes().get(105), 5);
-
-        this.getBoardNodes().get(115).setCoordinates(5, 14);
-        this.getBoardNodes().get(115).addNeighbour(this.getBoardNodes().get(112), 0);
-        this.getBoardNodes().get(115).addNeighbour(this.getBoardNodes().get(116), 1);
-        this.getBoardNodes().get(115).addNeighbour(this.getBoardNodes().get(118), 2);
-        this.getBoardNodes().get(115).addNeighbour(this.getBoardNodes().get(111), 5);
-
-        this.getBoardNodes().get(116).setCoordinates(6, 14);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(113), 0);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(117), 1);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(119), 2);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(118), 3);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(115), 4);
-        this.getBoardNodes().get(116).addNeighbour(this.getBoardNodes().get(112), 5);
-
-        this.getBoardNodes().get(117).setCoordinates(7, 14);
-        this.getBoardNodes().get(117).addNeighbour(this.getBoardNodes().get(114), 0);
-        this.getBoardNodes().get(117).addNeighbour(this.getBoardNodes().get(119), 3);
-        this.getBoardNodes().get(117).addNeighbour(this.getBoardNodes().get(116), 4);
-        this.getBoardNodes().get(117).addNeighbour(this.getBoardNodes().get(113), 5);
-
-        this.getBoardNodes().get(118).setCoordinates(5, 15);
-        this.getBoardNodes().get(118).addNeighbour(this.getBoardNodes().get(116), 0);
-        this.getBoardNodes().get(118).addNeighbour(this.getBoardNodes().get(119), 1);
-        this.getBoardNodes().get(118).addNeighbour(this.getBoardNodes().get(120), 2);
-        this.getBoardNodes().get(118).addNeighbour(this.getBoardNodes().get(115), 5);
-
-        this.getBoardNodes().get(119).setCoordinates(6, 15);
-        this.getBoardNodes().get(119).addNeighbour(this.getBoardNodes().get(117), 0);
-        this.getBoardNodes().get(119).addNeighbour(this.getBoardNodes().get(120), 3);
-        this.getBoardNodes().get(119).addNeighbour(this.getBoardNodes().get(118), 4);
-        this.getBoardNodes().get(119).addNeighbour(this.getBoardNodes().get(116), 5);
-
-        this.getBoardNodes().get(120).setCoordinates(6, 16);
-        this.getBoardNodes().get(120).addNeighbour(this.getBoardNodes().get(119), 0);
-        this.getBoardNodes().get(120).addNeighbour(this.getBoardNodes().get(118), 5);
+        neighbourBySide[node * N_SIDES + side] = neighbour;
+        sideOrder[node * N_SIDES + nNeighbours[node]] = side;
+        neighbourOrder[node * N_SIDES + nNeighbours[node]++] = neighbour;
+    }
+
+    private static void buildBoard() {
+        coordinates(0, 6, 0);
+        link(0, 1, 3);
+        link(0, 2, 2);
+
+        coordinates(1, 5, 1);
+        link(1, 3, 3);
+        link(1, 4, 2);
+        link(1, 2, 1);
+        link(1, 0, 0);
+
+        coordinates(2, 6, 1);
+        link(2, 4, 3);
+        link(2, 5, 2);
+        link(2, 0, 5);
+        link(2, 1, 4);
+
+        coordinates(3, 5, 2);
+        link(3, 6, 3);
+        link(3, 7, 2);
+        link(3, 4, 1);
+        link(3, 1, 0);
+
+        coordinates(4, 6, 2);
+        link(4, 7, 3);
+        link(4, 8, 2);
+        link(4, 5, 1);
+        link(4, 2, 0);
+        link(4, 1, 5);
+        link(4, 3, 4);
+
+        coordinates(5, 7, 2);
+        link(5, 8, 3);
+        link(5, 9, 2);
+        link(5, 2, 5);
+        link(5, 4, 4);
+
+        coordinates(6, 4, 3);
+        link(6, 14, 3);
+        link(6, 15, 2);
+        link(6, 7, 1);
+        link(6, 3, 0);
+
+        coordinates(7, 5, 3);
+        link(7, 15, 3);
+        link(7, 16, 2);
+        link(7, 8, 1);
+        link(7, 4, 0);
+        link(7, 3, 5);
+        link(7, 6, 4);
+
+        coordinates(8, 6, 3);
+        link(8, 16, 3);
+        link(8, 17, 2);
+        link(8, 9, 1);
+        link(8, 5, 0);
+        link(8, 4, 5);
+        link(8, 7, 4);
+
+        coordinates(9, 7, 3);
+        link(9, 17, 3);
+        link(9, 18, 2);
+        link(9, 5, 5);
+        link(9, 8, 4);
+
+        coordinates(10, 0, 4);
+        link(10, 11, 1);
+        link(10, 23, 2);
+
+        coordinates(11, 1, 4);
+        link(11, 12, 1);
+        link(11, 24, 2);
+        link(11, 23, 3);
+        link(11, 10, 4);
+
+        coordinates(12, 2, 4);
+        link(12, 13, 1);
+        link(12, 25, 2);
+        link(12, 24, 3);
+        link(12, 11, 4);
+
+        coordinates(13, 3, 4);
+        link(13, 14, 1);
+        link(13, 26, 2);
+        link(13, 25, 3);
+        link(13, 12, 4);
+
+        coordinates(14, 4, 4);
+        link(14, 6, 0);
+        link(14, 15, 1);
+        link(14, 27, 2);
+        link(14, 26, 3);
+        link(14, 13, 4);
+
+        coordinates(15, 5, 4);
+        link(15, 7, 0);
+        link(15, 16, 1);
+        link(15, 28, 2);
+        link(15, 27, 3);
+        link(15, 14, 4);
+        link(15, 6, 5);
+
+        coordinates(16, 6, 4);
+        link(16, 8, 0);
+        link(16, 17, 1);
+        link(16, 29, 2);
+        link(16, 28, 3);
+        link(16, 15, 4);
+        link(16, 7, 5);
+
+        coordinates(17, 7, 4);
+        link(17, 9, 0);
+        link(17, 18, 1);
+        link(17, 30, 2);
+        link(17, 29, 3);
+        link(17, 16, 4);
+        link(17, 8, 5);
+
+        coordinates(18, 8, 4);
+        link(18, 19, 1);
+        link(18, 31, 2);
+        link(18, 30, 3);
+        link(18, 17, 4);
+        link(18, 9, 5);
+
+        coordinates(19, 9, 4);
+        link(19, 20, 1);
+        link(19, 32, 2);
+        link(19, 31, 3);
+        link(19, 18, 4);
+
+        coordinates(20, 10, 4);
+        link(20, 21, 1);
+        link(20, 33, 2);
+        link(20, 32, 3);
+        link(20, 19, 4);
+
+        coordinates(21, 11, 4);
+        link(21, 22, 1);
+        link(21, 34, 2);
+        link(21, 33, 3);
+        link(21, 20, 4);
+
+        coordinates(22, 12, 4);
+        link(22, 34, 3);
+        link(22, 21, 4);
+
+        coordinates(23, 0, 5);
+        link(23, 11, 0);
+        link(23, 24, 1);
+        link(23, 35, 2);
+        link(23, 10, 5);
+
+        coordinates(24, 1, 5);
+        link(24, 12, 0);
+        link(24, 25, 1);
+        link(24, 36, 2);
+        link(24, 35, 3);
+        link(24, 23, 4);
+        link(24, 11, 5);
+
+        coordinates(25, 2, 5);
+        link(25, 13, 0);
+        link(25, 26, 1);
+        link(25, 37, 2);
+        link(25, 36, 3);
+        link(25, 24, 4);
+        link(25, 12, 5);
+
+        coordinates(26, 3, 5);
+        link(26, 14, 0);
+        link(26, 27, 1);
+        link(26, 38, 2);
+        link(26, 37, 3);
+        link(26, 25, 4);
+        link(26, 13, 5);
+
+        coordinates(27, 4, 5);
+        link(27, 15, 0);
+        link(27, 28, 1);
+        link(27, 39, 2);
+        link(27, 38, 3);
+        link(27, 26, 4);
+        link(27, 14, 5);
+
+        coordinates(28, 5, 5);
+        link(28, 16, 0);
+        link(28, 29, 1);
+        link(28, 40, 2);
+        link(28, 39, 3);
+        link(28, 27, 4);
+        link(28, 15, 5);
+
+        coordinates(29, 6, 5);
+        link(29, 17, 0);
+        link(29, 30, 1);
+        link(29, 41, 2);
+        link(29, 40, 3);
+        link(29, 28, 4);
+        link(29, 16, 5);
+
+        coordinates(30, 7, 5);
+        link(30, 18, 0);
+        link(30, 31, 1);
+        link(30, 42, 2);
+        link(30, 41, 3);
+        link(30, 29, 4);
+        link(30, 17, 5);
+
+        coordinates(31, 8, 5);
+        link(31, 19, 0);
+        link(31, 32, 1);
+        link(31, 43, 2);
+        link(31, 42, 3);
+        link(31, 30, 4);
+        link(31, 18, 5);
+
+        coordinates(32, 9, 5);
+        link(32, 20, 0);
+        link(32, 33, 1);
+        link(32, 44, 2);
+        link(32, 43, 3);
+        link(32, 31, 4);
+        link(32, 19, 5);
+
+        coordinates(33, 10, 5);
+        link(33, 21, 0);
+        link(33, 34, 1);
+        link(33, 45, 2);
+        link(33, 44, 3);
+        link(33, 32, 4);
+        link(33, 20, 5);
+
+        coordinates(34, 11, 5);
+        link(34, 22, 0);
+        link(34, 45, 3);
+        link(34, 33, 4);
+        link(34, 21, 5);
+
+        coordinates(35, 1, 6);
+        link(35, 24, 0);
+        link(35, 36, 1);
+        link(35, 46, 2);
+        link(35, 23, 5);
+
+        coordinates(36, 2, 6);
+        link(36, 25, 0);
+        link(36, 37, 1);
+        link(36, 47, 2);
+        link(36, 46, 3);
+        link(36, 35, 4);
+        link(36, 24, 5);
+
+        coordinates(37, 3, 6);
+        link(37, 26, 0);
+        link(37, 38, 1);
+        link(37, 48, 2);
+        link(37, 47, 3);
+        link(37, 36, 4);
+        link(37, 25, 5);
+
+        coordinates(38, 4, 6);
+        link(38, 27, 0);
+        link(38, 39, 1);
+        link(38, 49, 2);
+        link(38, 48, 3);
+        link(38, 37, 4);
+        link(38, 26, 5);
+
+        coordinates(39, 5, 6);
+        link(39, 28, 0);
+        link(39, 40, 1);
+        link(39, 50, 2);
+        link(39, 49, 3);
+        link(39, 38, 4);
+        link(39, 27, 5);
+
+        coordinates(40, 6, 6);
+        link(40, 29, 0);
+        link(40, 41, 1);
+        link(40, 51, 2);
+        link(40, 50, 3);
+        link(40, 39, 4);
+        link(40, 28, 5);
+
+        coordinates(41, 7, 6);
+        link(41, 30, 0);
+        link(41, 42, 1);
+        link(41, 52, 2);
+        link(41, 51, 3);
+        link(41, 40, 4);
+        link(41, 29, 5);
+
+        coordinates(42, 8, 6);
+        link(42, 31, 0);
+        link(42, 43, 1);
+        link(42, 53, 2);
+        link(42, 52, 3);
+        link(42, 41, 4);
+        link(42, 30, 5);
+
+        coordinates(43, 9, 6);
+        link(43, 32, 0);
+        link(43, 44, 1);
+        link(43, 54, 2);
+        link(43, 53, 3);
+        link(43, 42, 4);
+        link(43, 31, 5);
+
+        coordinates(44, 10, 6);
+        link(44, 33, 0);
+        link(44, 45, 1);
+        link(44, 55, 2);
+        link(44, 54, 3);
+        link(44, 43, 4);
+        link(44, 32, 5);
+
+        coordinates(45, 11, 6);
+        link(45, 34, 0);
+        link(45, 55, 3);
+        link(45, 44, 4);
+        link(45, 33, 5);
+
+        coordinates(46, 1, 7);
+        link(46, 36, 0);
+        link(46, 47, 1);
+        link(46, 56, 2);
+        link(46, 35, 5);
+
+        coordinates(47, 2, 7);
+        link(47, 37, 0);
+        link(47, 48, 1);
+        link(47, 57, 2);
+        link(47, 56, 3);
+        link(47, 46, 4);
+        link(47, 36, 5);
+
+        coordinates(48, 3, 7);
+        link(48, 38, 0);
+        link(48, 49, 1);
+        link(48, 58, 2);
+        link(48, 57, 3);
+        link(48, 47, 4);
+        link(48, 37, 5);
+
+        coordinates(49, 4, 7);
+        link(49, 39, 0);
+        link(49, 50, 1);
+        link(49, 59, 2);
+        link(49, 58, 3);
+        link(49, 48, 4);
+        link(49, 38, 5);
+
+        coordinates(50, 5, 7);
+        link(50, 40, 0);
+        link(50, 51, 1);
+        link(50, 60, 2);
+        link(50, 59, 3);
+        link(50, 49, 4);
+        link(50, 39, 5);
+
+        coordinates(51, 6, 7);
+        link(51, 41, 0);
+        link(51, 52, 1);
+        link(51, 61, 2);
+        link(51, 60, 3);
+        link(51, 50, 4);
+        link(51, 40, 5);
+
+        coordinates(52, 7, 7);
+        link(52, 42, 0);
+        link(52, 53, 1);
+        link(52, 62, 2);
+        link(52, 61, 3);
+        link(52, 51, 4);
+        link(52, 41, 5);
+
+        coordinates(53, 8, 7);
+        link(53, 43, 0);
+        link(53, 54, 1);
+        link(53, 63, 2);
+        link(53, 62, 3);
+        link(53, 52, 4);
+        link(53, 42, 5);
+
+        coordinates(54, 9, 7);
+        link(54, 44, 0);
+        link(54, 55, 1);
+        link(54, 64, 2);
+        link(54, 63, 3);
+        link(54, 53, 4);
+        link(54, 43, 5);
+
+        coordinates(55, 10, 7);
+        link(55, 45, 0);
+        link(55, 64, 3);
+        link(55, 54, 4);
+        link(55, 44, 5);
+
+        coordinates(56, 2, 8);
+        link(56, 47, 0);
+        link(56, 57, 1);
+        link(56, 66, 2);
+        link(56, 65, 3);
+        link(56, 46, 5);
+
+        coordinates(57, 3, 8);
+        link(57, 48, 0);
+        link(57, 58, 1);
+        link(57, 67, 2);
+        link(57, 66, 3);
+        link(57, 56, 4);
+        link(57, 47, 5);
+
+        coordinates(58, 4, 8);
+        link(58, 49, 0);
+        link(58, 59, 1);
+        link(58, 68, 2);
+        link(58, 67, 3);
+        link(58, 57, 4);
+        link(58, 48, 5);
+
+        coordinates(59, 5, 8);
+        link(59, 50, 0);
+        link(59, 60, 1);
+        link(59, 69, 2);
+        link(59, 68, 3);
+        link(59, 58, 4);
+        link(59, 49, 5);
+
+        coordinates(60, 6, 8);
+        link(60, 51, 0);
+        link(60, 61, 1);
+        link(60, 70, 2);
+        link(60, 69, 3);
+        link(60, 59, 4);
+        link(60, 50, 5);
+
+        coordinates(61, 7, 8);
+        link(61, 52, 0);
+        link(61, 62, 1);
+        link(61, 71, 2);
+        link(61, 70, 3);
+        link(61, 60, 4);
+        link(61, 51, 5);
+
+        coordinates(62, 8, 8);
+        link(62, 53, 0);
+        link(62, 63, 1);
+        link(62, 72, 2);
+        link(62, 71, 3);
+        link(62, 61, 4);
+        link(62, 52, 5);
+
+        coordinates(63, 9, 8);
+        link(63, 54, 0);
+        link(63, 64, 1);
+        link(63, 73, 2);
+        link(63, 72, 3);
+        link(63, 62, 4);
+        link(63, 53, 5);
+
+        coordinates(64, 10, 8);
+        link(64, 55, 0);
+        link(64, 74, 2);
+        link(64, 73, 3);
+        link(64, 63, 4);
+        link(64, 54, 5);
+
+        coordinates(65, 1, 9);
+        link(65, 56, 0);
+        link(65, 66, 1);
+        link(65, 76, 2);
+        link(65, 75, 3);
+
+        coordinates(66, 2, 9);
+        link(66, 57, 0);
+        link(66, 67, 1);
+        link(66, 77, 2);
+        link(66, 76, 3);
+        link(66, 65, 4);
+        link(66, 56, 5);
+
+        coordinates(67, 3, 9);
+        link(67, 58, 0);
+        link(67, 68, 1);
+        link(67, 78, 2);
+        link(67, 77, 3);
+        link(67, 66, 4);
+        link(67, 57, 5);
+
+        coordinates(68, 4, 9);
+        link(68, 59, 0);
+        link(68, 69, 1);
+        link(68, 79, 2);
+        link(68, 78, 3);
+        link(68, 67, 4);
+        link(68, 58, 5);
+
+        coordinates(69, 5, 9);
+        link(69, 60, 0);
+        link(69, 70, 1);
+        link(69, 80, 2);
+        link(69, 79, 3);
+        link(69, 68, 4);
+        link(69, 59, 5);
+
+        coordinates(70, 6, 9);
+        link(70, 61, 0);
+        link(70, 71, 1);
+        link(70, 81, 2);
+        link(70, 80, 3);
+        link(70, 69, 4);
+        link(70, 60, 5);
+
+        coordinates(71, 7, 9);
+        link(71, 62, 0);
+        link(71, 72, 1);
+        link(71, 82, 2);
+        link(71, 81, 3);
+        link(71, 70, 4);
+        link(71, 61, 5);
+
+        coordinates(72, 8, 9);
+        link(72, 63, 0);
+        link(72, 73, 1);
+        link(72, 83, 2);
+        link(72, 82, 3);
+        link(72, 71, 4);
+        link(72, 62, 5);
+
+        coordinates(73, 9, 9);
+        link(73, 64, 0);
+        link(73, 74, 1);
+        link(73, 84, 2);
+        link(73, 83, 3);
+        link(73, 72, 4);
+        link(73, 63, 5);
+
+        coordinates(74, 10, 9);
+        link(74, 85, 2);
+        link(74, 84, 3);
+        link(74, 73, 4);
+        link(74, 64, 5);
+
+        coordinates(75, 1, 10);
+        link(75, 65, 0);
+        link(75, 76, 1);
+        link(75, 87, 2);
+        link(75, 86, 3);
+
+        coordinates(76, 2, 10);
+        link(76, 66, 0);
+        link(76, 77, 1);
+        link(76, 88, 2);
+        link(76, 87, 3);
+        link(76, 75, 4);
+        link(76, 65, 5);
+
+        coordinates(77, 3, 10);
+        link(77, 67, 0);
+        link(77, 78, 1);
+        link(77, 89, 2);
+        link(77, 88, 3);
+        link(77, 76, 4);
+        link(77, 66, 5);
+
+        coordinates(78, 4, 10);
+        link(78, 68, 0);
+        link(78, 79, 1);
+        link(78, 90, 2);
+        link(78, 89, 3);
+        link(78, 77, 4);
+        link(78, 67, 5);
+
+        coordinates(79, 5, 10);
+        link(79, 69, 0);
+        link(79, 80, 1);
+        link(79, 91, 2);
+        link(79, 90, 3);
+        link(79, 78, 4);
+        link(79, 68, 5);
+
+        coordinates(80, 6, 10);
+        link(80, 70, 0);
+        link(80, 81, 1);
+        link(80, 92, 2);
+        link(80, 91, 3);
+        link(80, 79, 4);
+        link(80, 69, 5);
+
+        coordinates(81, 7, 10);
+        link(81, 71, 0);
+        link(81, 82, 1);
+        link(81, 93, 2);
+        link(81, 92, 3);
+        link(81, 80, 4);
+        link(81, 70, 5);
+
+        coordinates(82, 8, 10);
+        link(82, 72, 0);
+        link(82, 83, 1);
+        link(82, 94, 2);
+        link(82, 93, 3);
+        link(82, 81, 4);
+        link(82, 71, 5);
+
+        coordinates(83, 9, 10);
+        link(83, 73, 0);
+        link(83, 84, 1);
+        link(83, 95, 2);
+        link(83, 94, 3);
+        link(83, 82, 4);
+        link(83, 72, 5);
+
+        coordinates(84, 10, 10);
+        link(84, 85, 1);
+        link(84, 96, 2);
+        link(84, 95, 3);
+        link(84, 83, 4);
+        link(84, 74, 5);
+
+        coordinates(85, 11, 10);
+        link(85, 97, 2);
+        link(85, 96, 3);
+        link(85, 84, 4);
+        link(85, 74, 5);
+
+        coordinates(86, 0, 11);
+        link(86, 75, 0);
+        link(86, 87, 1);
+        link(86, 99, 2);
+        link(86, 98, 3);
+
+        coordinates(87, 1, 11);
+        link(87, 76, 0);
+        link(87, 88, 1);
+        link(87, 100, 2);
+        link(87, 99, 3);
+        link(87, 86, 4);
+        link(87, 75, 5);
+
+        coordinates(88, 2, 11);
+        link(88, 77, 0);
+        link(88, 89, 1);
+        link(88, 101, 2);
+        link(88, 100, 3);
+        link(88, 87, 4);
+        link(88, 76, 5);
+
+        coordinates(89, 3, 11);
+        link(89, 78, 0);
+        link(89, 90, 1);
+        link(89, 102, 2);
+        link(89, 101, 3);
+        link(89, 88, 4);
+        link(89, 77, 5);
+
+        coordinates(90, 4, 11);
+        link(90, 79, 0);
+        link(90, 91, 1);
+        link(90, 103, 2);
+        link(90, 102, 3);
+        link(90, 89, 4);
+        link(90, 78, 5);
+
+        coordinates(91, 5, 11);
+        link(91, 80, 0);
+        link(91, 92, 1);
+        link(91, 104, 2);
+        link(91, 103, 3);
+        link(91, 90, 4);
+        link(91, 79, 5);
+
+        coordinates(92, 6, 11);
+        link(92, 81, 0);
+        link(92, 93, 1);
+        link(92, 105, 2);
+        link(92, 104, 3);
+        link(92, 91, 4);
+        link(92, 80, 5);
+
+        coordinates(93, 7, 11);
+        link(93, 82, 0);
+        link(93, 94, 1);
+        link(93, 106, 2);
+        link(93, 105, 3);
+        link(93, 92, 4);
+        link(93, 81, 5);
+
+        coordinates(94, 8, 11);
+        link(94, 83, 0);
+        link(94, 95, 1);
+        link(94, 107, 2);
+        link(94, 106, 3);
+        link(94, 93, 4);
+        link(94, 82, 5);
+
+        coordinates(95, 9, 11);
+        link(95, 84, 0);
+        link(95, 96, 1);
+        link(95, 108, 2);
+        link(95, 107, 3);
+        link(95, 94, 4);
+        link(95, 83, 5);
+
+        coordinates(96, 10, 11);
+        link(96, 85, 0);
+        link(96, 97, 1);
+        link(96, 109, 2);
+        link(96, 108, 3);
+        link(96, 95, 4);
+        link(96, 84, 5);
+
+        coordinates(97, 11, 11);
+        link(97, 110, 2);
+        link(97, 109, 3);
+        link(97, 96, 4);
+        link(97, 85, 5);
+
+        coordinates(98, 0, 12);
+        link(98, 86, 0);
+        link(98, 99, 1);
+
+        coordinates(99, 1, 12);
+        link(99, 87, 0);
+        link(99, 100, 1);
+        link(99, 98, 4);
+        link(99, 86, 5);
+
+        coordinates(100, 2, 12);
+        link(100, 88, 0);
+        link(100, 101, 1);
+        link(100, 99, 4);
+        link(100, 87, 5);
+
+        coordinates(101, 3, 12);
+        link(101, 89, 0);
+        link(101, 102, 1);
+        link(101, 100, 4);
+        link(101, 88, 5);
+
+        coordinates(102, 4, 12);
+        link(102, 90, 0);
+        link(102, 103, 1);
+        link(102, 111, 2);
+        link(102, 101, 4);
+        link(102, 89, 5);
+
+        coordinates(103, 5, 12);
+        link(103, 91, 0);
+        link(103, 104, 1);
+        link(103, 112, 2);
+        link(103, 111, 3);
+        link(103, 102, 4);
+        link(103, 90, 5);
+
+        coordinates(104, 6, 12);
+        link(104, 92, 0);
+        link(104, 105, 1);
+        link(104, 113, 2);
+        link(104, 112, 3);
+        link(104, 103, 4);
+        link(104, 91, 5);
+
+        coordinates(105, 7, 12);
+        link(105, 93, 0);
+        link(105, 106, 1);
+        link(105, 114, 2);
+        link(105, 113, 3);
+        link(105, 104, 4);
+        link(105, 92, 5);
+
+        coordinates(106, 8, 12);
+        link(106, 94, 0);
+        link(106, 107, 1);
+        link(106, 114, 3);
+        link(106, 105, 4);
+        link(106, 93, 5);
+
+        coordinates(107, 9, 12);
+        link(107, 95, 0);
+        link(107, 108, 1);
+        link(107, 106, 4);
+        link(107, 94, 5);
+
+        coordinates(108, 10, 12);
+        link(108, 96, 0);
+        link(108, 109, 1);
+        link(108, 107, 4);
+        link(108, 95, 5);
+
+        coordinates(109, 11, 12);
+        link(109, 97, 0);
+        link(109, 110, 1);
+        link(109, 108, 4);
+        link(109, 96, 5);
+
+        coordinates(110, 12, 12);
+        link(110, 109, 4);
+        link(110, 97, 5);
+
+        coordinates(111, 4, 13);
+        link(111, 103, 0);
+        link(111, 112, 1);
+        link(111, 115, 2);
+        link(111, 102, 5);
+
+        coordinates(112, 5, 13);
+        link(112, 104, 0);
+        link(112, 113, 1);
+        link(112, 116, 2);
+        link(112, 115, 3);
+        link(112, 111, 4);
+        link(112, 103, 5);
+
+        coordinates(113, 6, 13);
+        link(113, 105, 0);
+        link(113, 114, 1);
+        link(113, 117, 2);
+        link(113, 116, 3);
+        link(113, 112, 4);
+        link(113, 104, 5);
+
+        coordinates(114, 7, 13);
+        link(114, 106, 0);
+        link(114, 117, 3);
+        link(114, 113, 4);
+        link(114, 105, 5);
+
+        coordinates(115, 5, 14);
+        link(115, 112, 0);
+        link(115, 116, 1);
+        link(115, 118, 2);
+        link(115, 111, 5);
+
+        coordinates(116, 6, 14);
+        link(116, 113, 0);
+        link(116, 117, 1);
+        link(116, 119, 2);
+        link(116, 118, 3);
+        link(116, 115, 4);
+        link(116, 112, 5);
+
+        coordinates(117, 7, 14);
+        link(117, 114, 0);
+        link(117, 119, 3);
+        link(117, 116, 4);
+        link(117, 113, 5);
+
+        coordinates(118, 5, 15);
+        link(118, 116, 0);
+        link(118, 119, 1);
+        link(118, 120, 2);
+        link(118, 115, 5);
+
+        coordinates(119, 6, 15);
+        link(119, 117, 0);
+        link(119, 120, 3);
+        link(119, 118, 4);
+        link(119, 116, 5);
+
+        coordinates(120, 6, 16);
+        link(120, 119, 0);
+        link(120, 118, 5);
     }
 
     /**
-     * Calculates the shortest path distances between all pairs of nodes using Dijkstra's algorithm.
-     * Stores the result in allPairDistances.
+     * Calculates the shortest path distances between all pairs of nodes (by breadth-first search, as all
+     * edges have the same length). Stores the result in allPairDistances.
      */
-    public void calculateAllPairDistances() {
-        allPairDistances = new HashMap<>();
-        for (CCNode startNode : boardNodes) {
-            Map<Integer, Integer> distances = new HashMap<>();
-            Set<Integer> visited = new HashSet<>();
-            // Initialize distances
-            for (CCNode node : boardNodes) {
-                distances.put(node.getComponentID(), node == startNode ? 0 : Integer.MAX_VALUE);
-            }
-            // Priority queue for Dijkstra
-            PriorityQueue<CCNode> queue = new PriorityQueue<>(Comparator.comparingInt(n -> distances.get(n.getComponentID())));
-            queue.add(startNode);
-
-            while (!queue.isEmpty()) {
-                CCNode current = queue.poll();
-                int currentId = current.getComponentID();
-                if (!visited.add(currentId)) continue;
-                int currentDist = distances.get(currentId);
-
-                for (CCNode neighbor : current.getNeighbours()) {
-                    int neighborId = neighbor.getComponentID();
-                    int newDist = currentDist + 1;
-                    if (newDist < distances.get(neighborId)) {
-                        distances.put(neighborId, newDist);
-                        queue.add(neighbor);
+    private static void calculateAllPairDistances() {
+        Arrays.fill(allPairDistances, Integer.MAX_VALUE);
+        int[] queue = new int[N_NODES];
+        for (int start = 0; start < N_NODES; start++) {
+            int base = start * N_NODES;
+            allPairDistances[base + start] = 0;
+            int head = 0, tail = 0;
+            queue[tail++] = start;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int k = 0; k < nNeighbours[current]; k++) {
+                    int neighbour = neighbourOrder[current * N_SIDES + k];
+                    if (allPairDistances[base + neighbour] == Integer.MAX_VALUE) {
+                        allPairDistances[base + neighbour] = allPairDistances[base + current] + 1;
+                        queue[tail++] = neighbour;
                     }
                 }
             }
-            allPairDistances.put(startNode.getComponentID(), distances);
         }
     }
 
     public int distanceBetween(int from, int to) {
-        if (allPairDistances == null) {
-            throw new UnsupportedOperationException("Distance table has not been calculated yet.");
-        }
-        Map<Integer, Integer> distances = allPairDistances.get(from);
-        if (distances == null || !distances.containsKey(to)) {
+        if (from < 0 || from >= N_NODES || to < 0 || to >= N_NODES) {
             throw new IllegalArgumentException("Invalid node IDs: " + from + " or " + to);
         }
-        return distances.getOrDefault(to, Integer.MAX_VALUE);
+        return allPairDistances[from * N_NODES + to];
     }
 }
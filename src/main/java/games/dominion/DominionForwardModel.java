@@ -87,12 +87,10 @@ public class DominionForwardModel extends StandardForwardModel {
 
         // Fix for an edge case where players have trashed all their cards with Chapel
         // And the game goes into an infinite loop of players not being able to do anything
-        for (PartialObservableDeck<DominionCard> deck : state.playerHands) {
-            long noChapels = deck.stream().filter(d -> d.cardType() == CardType.CHAPEL).count();
-
-            if (noChapels == deck.getSize()) {
+        for (int p = 0; p < state.getNPlayers(); p++) {
+            if (state.handIsAll(p, CardType.CHAPEL)) {
                 endGame(state);
-            };
+            }
         }
 
         int playerID = state.getCurrentPlayer();
@@ -117,7 +115,7 @@ public class DominionForwardModel extends StandardForwardModel {
                         // 1) put hand and cards played into discard
                         // 2) draw 5 new cards
                         // 3) shuffle and move discard if we run out
-                        Deck<DominionCard> hand = state.playerHands[playerID];
+                        Deck<DominionCard> hand = state.getDeck(DeckType.HAND, playerID);
                         Deck<DominionCard> discard = state.playerDiscards[playerID];
                         Deck<DominionCard> table = state.playerTableaux[playerID];
 
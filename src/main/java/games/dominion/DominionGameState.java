@@ -12,6 +12,7 @@ import core.interfaces.IPrintable;
 import games.GameType;
 import games.dominion.DominionConstants.DeckType;
 import games.dominion.actions.IDelayedAction;
+import games.dominion.cards.CardMultiset;
 import games.dominion.cards.CardType;
 import games.dominion.cards.DominionCard;
 
@@ -39,6 +40,12 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     int spentSoFar = 0;
     int additionalSpendAvailable = 0;
     List<IDelayedAction> delayedActions = new ArrayList<>();
+    // In a copy for a player, the cards in a draw pile (and in another player's hand) that they cannot see are only
+    // dealt when the deck is first used. Until then hiddenPiles[p] holds them, and playerDrawPiles[p] (and
+    // playerHands[p] if the hand is also pending) is null. Always null for the real game.
+    HiddenPiles[] hiddenPiles;
+    // true from _copy() until copy() has registered the components of the new state
+    boolean newCopy;
 
 
     /**
@@ -158,7 +165,7 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         if (playerID != turnOwner) {
             return 0;
         }
-        int totalTreasureInHand = playerHands[playerID].sumInt(DominionCard::treasureValue);
+        int totalTreasureInHand = hand(playerID).sumInt(DominionCard::treasureValue);
         return totalTreasureInHand - spentSoFar + additionalSpendAvailable;
     }
 
@@ -174,11 +181,19 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
      */
     @Override
     protected List<Component> _getAllComponents() {
+        // When copy() registers the components of a new copy, decks not yet dealt are left out. They are dealt if
+        // looked for later, as getComponentById() calls this again when it does not find an ID.
+        if (newCopy)
+            newCopy = false;
+        else
+            dealHiddenCards();
         List<Component> components = new ArrayList<>();
-        components.addAll(Arrays.asList(playerHands));
+        for (Deck<DominionCard> deck : playerHands)
+            if (deck != null) components.add(deck);
         components.addAll(Arrays.asList(playerDiscards));
         components.addAll(Arrays.asList(playerTableaux));
-        components.addAll(Arrays.asList(playerDrawPiles));
+        for (Deck<DominionCard> deck : playerDrawPiles)
+            if (deck != null) components.add(deck);
         components.add(trashPile);
         return components;
     }
@@ -190,9 +205,9 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     public Deck<DominionCard> getDeck(DeckType deck, int playerId) {
         switch (deck) {
             case HAND:
-                return playerHands[playerId];
+                return hand(playerId);
             case DRAW:
-                return playerDrawPiles[playerId];
+                return drawPile(playerId);
             case DISCARD:
                 return playerDiscards[playerId];
             case TABLE:
@@ -210,6 +225,8 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     public int cardsOfType(CardType type, int playerId, DeckType deck) {
         Deck<DominionCard> allCards;
         switch (deck) {
+            case ALL:
+                return getTotal(playerId, c -> c.cardType() == type ? 1 : 0);
             case SUPPLY:
                 return cardsIncludedInGame.getOrDefault(type, 0);
             case HAND:
@@ -219,13 +236,6 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
             case TRASH:
                 allCards = getDeck(deck, playerId);
                 break;
-            case ALL:
-                allCards = new Deck<>("temp", VISIBLE_TO_ALL);
-                allCards.add(playerHands[playerId]);
-                allCards.add(playerDiscards[playerId]);
-                allCards.add(playerDrawPiles[playerId]);
-                allCards.add(playerTableaux[playerId]);
-                break;
             default:
                 throw new IllegalStateException("Unexpected value: " + deck);
         }
@@ -267,45 +277,39 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
      */
     @Override
     protected AbstractGameState _copy(int playerId) {
+        // a copy for a player is made from the cards actually in each deck
+        if (playerId != -1)
+            dealHiddenCards();
         DominionGameState retValue = new DominionGameState(((DominionParameters) gameParameters).shallowCopy(), nPlayers);
         for (CardType ct : cardsIncludedInGame.keySet()) {
             retValue.cardsIncludedInGame.put(ct, cardsIncludedInGame.get(ct));
         }
+        if (playerId != -1 || hiddenPiles != null) {
+            retValue.hiddenPiles = new HiddenPiles[nPlayers];
+            retValue.newCopy = true;
+        }
         for (int p = 0; p < nPlayers; p++) {
-            if (playerId == -1) {
+            if (hiddenPiles != null && hiddenPiles[p] != null) {
+                // not yet dealt, so the copy only needs its own counts of the hidden cards
+                retValue.hiddenPiles[p] = hiddenPiles[p].copy();
+                retValue.playerHands[p] = hiddenPiles[p].hand == null ? playerHands[p].copy() : null;
+                retValue.playerDrawPiles[p] = null;
+            } else if (playerId == -1) {
                 retValue.playerHands[p] = playerHands[p].copy();
                 retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
             } else if (playerId == p) {
-                // need to shuffle drawpile separately
+                // our own draw pile is dealt in a new order when first used
                 retValue.playerHands[p] = playerHands[p].copy();
-                retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-                retValue.playerDrawPiles[p].redeterminiseUnknown(redeterminisationRnd, p);
+                retValue.playerDrawPiles[p] = null;
+                retValue.hiddenPiles[p] = new HiddenPiles(null, playerDrawPiles[p].copy(),
+                        getUnknownCards(p, playerId, false), playerId);
             } else {
-                // need to combine and shuffle hands and drawpiles
-                retValue.playerDrawPiles[p] = playerDrawPiles[p].copy();
-                retValue.playerHands[p] = playerHands[p].copy();
-                for (int i = 0; i < retValue.playerHands[p].getSize(); i++) {
-                    // if we (the perspective player) can see the card, then we need to keep it in place
-                    // if not then we move it to the *bottom* of the drawpile (this is the end of an ArrayList...so more efficient?)
-                    if (!retValue.playerHands[p].getVisibilityForPlayer(i, playerId)) {
-                        retValue.playerDrawPiles[p].add(retValue.playerHands[p].get(i), retValue.playerDrawPiles[p].getSize());
-                    }
-                }
-                // we have now moved all the non-visible Hand cards into the Draw pile to reshuffle
-                retValue.playerHands[p].clear(); // we will need to reconstruct this, including visibility status in a sec
-                // we then reshuffle all the non-visible cards
-                retValue.playerDrawPiles[p].redeterminiseUnknown(redeterminisationRnd, playerId);
-                // we then remove cards from the top of the shuffled draw pile (in the region we know is not visible)
-                for (int i = 0; i < playerHands[p].getSize(); i++) {
-                    if (!playerHands[p].getVisibilityForPlayer(i, playerId)) {
-                        // we then pick cards from the end of the drawpile List and add them to the Hand
-                        // possibly more efficient picking from the end of an ArrayList?
-                        retValue.playerHands[p].add(retValue.playerDrawPiles[p].pick(retValue.playerDrawPiles[p].getSize() - 1), i);
-                    } else {
-                        // we know what this card is, so copy over visibility status
-                        retValue.playerHands[p].add(playerHands[p].get(i).copy(), playerHands[p].getVisibilityOfComponent(i).clone());
-                    }
-                }
+                // As cards of the same type are interchangeable, we just count the cards we cannot see in the hand
+                // and draw pile together, and draw from those counts when the decks are first used
+                retValue.playerHands[p] = null;
+                retValue.playerDrawPiles[p] = null;
+                retValue.hiddenPiles[p] = new HiddenPiles(playerHands[p].copy(), playerDrawPiles[p].copy(),
+                        getUnknownCards(p, playerId, true), playerId);
             }
             retValue.playerDiscards[p] = playerDiscards[p].copy();
             retValue.playerTableaux[p] = playerTableaux[p].copy();
@@ -322,6 +326,143 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         return retValue;
     }
 
+    /**
+     * The cards in a player's draw pile (and optionally their hand) that the perspective player cannot see.
+     *
+     * @param playerId    - the player whose cards to count
+     * @param perspective - the player who cannot see the cards
+     * @param includeHand - if true then hidden cards in the hand are included
+     * @return the multiset of hidden cards
+     */
+    public CardMultiset getUnknownCards(int playerId, int perspective, boolean includeHand) {
+        CardMultiset retValue = new CardMultiset();
+        addUnknownCards(retValue, drawPile(playerId), perspective);
+        if (includeHand)
+            addUnknownCards(retValue, hand(playerId), perspective);
+        return retValue;
+    }
+
+    private static void addUnknownCards(CardMultiset cards, PartialObservableDeck<DominionCard> deck, int perspective) {
+        for (int i = 0; i < deck.getSize(); i++) {
+            if (!deck.getVisibilityForPlayer(i, perspective))
+                cards.add(deck.get(i));
+        }
+    }
+
+    /**
+     * Replaces each card in the deck that the perspective player cannot see with one drawn from the unknown cards
+     */
+    private void redeterminise(PartialObservableDeck<DominionCard> deck, CardMultiset unknown, int perspective) {
+        for (int i = 0; i < deck.getSize(); i++) {
+            if (!deck.getVisibilityForPlayer(i, perspective))
+                deck.setComponent(i, unknown.draw(redeterminisationRnd));
+        }
+    }
+
+    private PartialObservableDeck<DominionCard> hand(int playerId) {
+        if (hiddenPiles != null && hiddenPiles[playerId] != null && hiddenPiles[playerId].hand != null)
+            deal(playerId);
+        return playerHands[playerId];
+    }
+
+    private PartialObservableDeck<DominionCard> drawPile(int playerId) {
+        if (hiddenPiles != null && hiddenPiles[playerId] != null)
+            deal(playerId);
+        return playerDrawPiles[playerId];
+    }
+
+    /**
+     * Fills the hidden positions in the player's draw pile (and hand, if that is pending too) from the hidden cards
+     */
+    private void deal(int playerId) {
+        HiddenPiles hidden = hiddenPiles[playerId];
+        hiddenPiles[playerId] = null;
+        playerDrawPiles[playerId] = hidden.drawPile.copy();
+        redeterminise(playerDrawPiles[playerId], hidden.cards, hidden.perspective);
+        if (hidden.hand != null) {
+            PartialObservableDeck<DominionCard> hand = hidden.hand.copy();
+            for (int i = 0; i < hand.getSize(); i++) {
+                if (!hand.getVisibilityForPlayer(i, hidden.perspective)) {
+                    hand.setComponent(i, hidden.cards.draw(redeterminisationRnd));
+                    hand.setVisibilityOfComponent(i, hand.getDeckVisibility());
+                }
+            }
+            playerHands[playerId] = hand;
+        }
+    }
+
+    private void dealHiddenCards() {
+        if (hiddenPiles == null) return;
+        for (int p = 0; p < nPlayers; p++)
+            if (hiddenPiles[p] != null)
+                deal(p);
+        hiddenPiles = null;
+    }
+
+    /**
+     * @return true if every card in the player's hand is of the given type (so also if the hand is empty)
+     */
+    public boolean handIsAll(int playerId, CardType type) {
+        HiddenPiles hidden = hiddenPiles == null ? null : hiddenPiles[playerId];
+        if (hidden != null && hidden.hand != null) {
+            // we need not deal the hand if there are too few cards of the type to fill its hidden positions
+            int hiddenPositions = 0;
+            for (int i = 0; i < hidden.hand.getSize(); i++) {
+                if (!hidden.hand.getVisibilityForPlayer(i, hidden.perspective))
+                    hiddenPositions++;
+                else if (hidden.hand.get(i).cardType() != type)
+                    return false;
+            }
+            if (hidden.cards.count(type) < hiddenPositions)
+                return false;
+        }
+        return hand(playerId).stream().allMatch(c -> c.cardType() == type);
+    }
+
+    /**
+     * The draw pile (and hand) of a player in a copy for another player, before the cards hidden from that player are
+     * dealt. The decks are never changed (each deal is into copies of them), so they are shared between copies of
+     * the state, and copying this only copies the card counts.
+     */
+    static final class HiddenPiles {
+        // hand is null if it is not pending (it is the perspective player's own hand)
+        final PartialObservableDeck<DominionCard> hand, drawPile;
+        final CardMultiset cards;
+        final int perspective;
+
+        HiddenPiles(PartialObservableDeck<DominionCard> hand, PartialObservableDeck<DominionCard> drawPile,
+                    CardMultiset cards, int perspective) {
+            this.hand = hand;
+            this.drawPile = drawPile;
+            this.cards = cards;
+            this.perspective = perspective;
+        }
+
+        HiddenPiles copy() {
+            return new HiddenPiles(hand, drawPile, cards.copy(), perspective);
+        }
+
+        int size() {
+            return drawPile.getSize() + (hand == null ? 0 : hand.getSize());
+        }
+
+        /**
+         * @return the total value of all the cards, which does not depend on how the hidden cards are dealt
+         */
+        int sumInt(Function<DominionCard, Integer> cardValuer) {
+            int retValue = cards.sumInt(cardValuer) + visibleSum(drawPile, cardValuer);
+            return hand == null ? retValue : retValue + visibleSum(hand, cardValuer);
+        }
+
+        private int visibleSum(PartialObservableDeck<DominionCard> deck, Function<DominionCard, Integer> cardValuer) {
+            int retValue = 0;
+            for (int i = 0; i < deck.getSize(); i++)
+                if (deck.getVisibilityForPlayer(i, perspective))
+                    retValue += cardValuer.apply(deck.get(i));
+            return retValue;
+        }
+    }
+
     /**
      * Provide a simple numerical assessment of the current game state, the bigger the better.
      * Subjective heuristic function definition.
@@ -359,17 +500,23 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
      * This provides the total value across all decks for the player using the provided cardValuer function
      */
     public int getTotal(int playerId, Function<DominionCard, Integer> cardValuer) {
-        int score = playerHands[playerId].sumInt(cardValuer);
-        score += playerDiscards[playerId].sumInt(cardValuer);
+        int score = playerDiscards[playerId].sumInt(cardValuer);
         score += playerTableaux[playerId].sumInt(cardValuer);
-        score += playerDrawPiles[playerId].sumInt(cardValuer);
-        return score;
+        HiddenPiles hidden = hiddenPiles == null ? null : hiddenPiles[playerId];
+        if (hidden == null)
+            return score + playerHands[playerId].sumInt(cardValuer) + playerDrawPiles[playerId].sumInt(cardValuer);
+        score += hidden.sumInt(cardValuer);
+        return hidden.hand == null ? score + playerHands[playerId].sumInt(cardValuer) : score;
     }
 
     // How many cards does the player have in total?
     public int getTotalCards(int playerId) {
-        return playerDrawPiles[playerId].getSize() + playerDiscards[playerId].getSize()
-                + playerHands[playerId].getSize() + playerTableaux[playerId].getSize();
+        int retValue = playerDiscards[playerId].getSize() + playerTableaux[playerId].getSize();
+        HiddenPiles hidden = hiddenPiles == null ? null : hiddenPiles[playerId];
+        if (hidden == null)
+            return retValue + playerDrawPiles[playerId].getSize() + playerHands[playerId].getSize();
+        retValue += hidden.size();
+        return hidden.hand == null ? retValue + playerHands[playerId].getSize() : retValue;
     }
 
     /**
@@ -393,6 +540,7 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         playerDrawPiles = new PartialObservableDeck[nPlayers];
         playerDiscards = new Deck[nPlayers];
         playerTableaux = new Deck[nPlayers];
+        hiddenPiles = null;
 
         trashPile = new Deck<>("Trash", VISIBLE_TO_ALL);
         for (int i = 0; i < nPlayers; i++) {
@@ -416,6 +564,8 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
     protected boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DominionGameState other)) return false;
+        dealHiddenCards();
+        other.dealHiddenCards();
         return cardsIncludedInGame.equals(other.cardsIncludedInGame) &&
                 Arrays.equals(playerHands, other.playerHands) &&
                 Arrays.equals(playerResults, other.playerResults) &&
@@ -432,6 +582,7 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
 
     @Override
     public int hashCode() {
+        dealHiddenCards();
         int result = Objects.hash(cardsIncludedInGame, trashPile, buysLeftForCurrentPlayer,
                 actionsLeftForCurrentPlayer, spentSoFar, additionalSpendAvailable, delayedActions, super.hashCode());
         result = result + 743 * Arrays.hashCode(playerHands) + 353 * Arrays.hashCode(playerDiscards) +
@@ -448,7 +599,7 @@ public class DominionGameState extends AbstractGameState implements IPrintable {
         }
         for (int p = 0; p < getNPlayers(); p++) {
             retValue.append(String.format("Player: %d, Score: %2.0f, Hand: %d, Deck: %d, Discard: %d, Actions: %d, Buys: %d%n",
-                    p, getGameScore(p), playerHands[p].getSize(), playerDrawPiles[p].getSize(), playerDiscards[p].getSize(),
+                    p, getGameScore(p), hand(p).getSize(), drawPile(p).getSize(), playerDiscards[p].getSize(),
                     p == getCurrentPlayer() ? actionsLeftForCurrentPlayer : 0,
                     p == getCurrentPlayer() ? buysLeftForCurrentPlayer : 0));
             retValue.append("Tableau:\n\t");
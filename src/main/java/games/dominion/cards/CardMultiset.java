@@ -0,0 +1,137 @@
+package games.dominion.cards;
+
+import core.components.Deck;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * A multiset of Dominion cards: the number of cards of each CardType, with no ordering.
+ * <p>
+ * All DominionCards are immutable, and two cards of the same type are equal, so for a hidden pile (such as an
+ * opponent's hand and draw pile from our perspective) only the counts matter. Drawing a random card is a
+ * weighted choice over the counts, and copying the multiset clones the array of counts (and of one card per type).
+ * DominionGameState holds the hidden cards of an information set copy like this until they are first used, and
+ * then deals them into the hidden positions of the ordered decks, which are still used for the actual game.
+ */
+public class CardMultiset {
+
+    private static final CardType[] TYPES = CardType.values();
+
+    private final int[] counts;
+    // One card of each type, to return from draw()
+    private final DominionCard[] cards;
+    private int size;
+
+    public CardMultiset() {
+        counts = new int[TYPES.length];
+        cards = new DominionCard[TYPES.length];
+    }
+
+    private CardMultiset(CardMultiset other) {
+        counts = other.counts.clone();
+        cards = other.cards.clone();
+        size = other.size;
+    }
+
+    /**
+     * @return a multiset of all the cards in the deck
+     */
+    public static CardMultiset of(Deck<DominionCard> deck) {
+        CardMultiset retValue = new CardMultiset();
+        for (DominionCard card : deck.getComponents())
+            retValue.add(card);
+        return retValue;
+    }
+
+    public void add(DominionCard card) {
+        int t = card.cardType().ordinal();
+        if (cards[t] == null) cards[t] = card;
+        counts[t]++;
+        size++;
+    }
+
+    /**
+     * Removes one card of the given type, if there is one
+     *
+     * @return true if a card was removed
+     */
+    public boolean remove(CardType type) {
+        int t = type.ordinal();
+        if (counts[t] == 0) return false;
+        counts[t]--;
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes a card chosen uniformly at random from the multiset (so each type is chosen in proportion to its count).
+     *
+     * @return the card removed, or null if the multiset is empty
+     */
+    public DominionCard draw(Random rnd) {
+        if (size == 0) return null;
+        int r = rnd.nextInt(size);
+        for (int t = 0; t < counts.length; t++) {
+            r -= counts[t];
+            if (r < 0) {
+                counts[t]--;
+                size--;
+                return cards[t];
+            }
+        }
+        throw new AssertionError("Card counts do not sum to size " + size);
+    }
+
+    /**
+     * @return the total value of all the cards, as Deck.sumInt() would give for a deck of the same cards
+     */
+    public int sumInt(Function<DominionCard, Integer> cardValuer) {
+        int retValue = 0;
+        for (int t = 0; t < counts.length; t++)
+            if (counts[t] > 0)
+                retValue += counts[t] * cardValuer.apply(cards[t]);
+        return retValue;
+    }
+
+    public int count(CardType type) {
+        return counts[type.ordinal()];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CardMultiset copy() {
+        return new CardMultiset(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CardMultiset other)) return false;
+        return Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int t = 0; t < counts.length; t++) {
+            if (counts[t] > 0) {
+                if (sb.length() > 1) sb.append(", ");
+                sb.append(TYPES[t]).append("=").append(counts[t]);
+            }
+        }
+        return sb.append("}").toString();
+    }
+}
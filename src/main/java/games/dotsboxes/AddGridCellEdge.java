@@ -1,13 +1,12 @@
 package games.dotsboxes;
 
 import core.AbstractGameState;
-import core.actions.AbstractAction;
+import core.actions.AbstractImmutableAction;
 
-import java.util.HashSet;
 import java.util.Objects;
 
-public class AddGridCellEdge extends AbstractAction {
-    DBEdge edge;  // Normally not good practice to keep references, as they wouldn't match the copies. But our equals should match.
+public class AddGridCellEdge extends AbstractImmutableAction {
+    final DBEdge edge;  // Normally not good practice to keep references, as they wouldn't match the copies. But our equals should match.
 
     public AddGridCellEdge(DBEdge edge) {
         this.edge = edge;
@@ -18,29 +17,12 @@ public class AddGridCellEdge extends AbstractAction {
         // Find neighbouring cells
         DBGameState dbgs = (DBGameState) gs;
 
-        int nCellsCompleteBefore = dbgs.cellToOwnerMap.size();
         // Mark this edge as complete by current player and check if connected cells are complete too
-        dbgs.edgeToOwnerMap.put(edge, gs.getCurrentPlayer());
-
-        HashSet<DBCell> cells = dbgs.edgeToCellMap.get(edge);
-        for (DBCell c : cells) {
-            int nEdgesComplete = dbgs.countCompleteEdges(c);
-            if (nEdgesComplete == 4) {  // A cell has 4 sides
-                // All edges complete, this box complete
-                dbgs.cellToOwnerMap.put(c, gs.getCurrentPlayer());
-                dbgs.nCellsPerPlayer[gs.getCurrentPlayer()]++;
-            }
-        }
-        int nCellsCompleteAfter = dbgs.cellToOwnerMap.size();
-        dbgs.setLastActionDidNotScore(nCellsCompleteAfter == nCellsCompleteBefore);
+        int nCellsCompleted = dbgs.placeEdge(dbgs.grid.edgeIndex(edge), gs.getCurrentPlayer());
+        dbgs.setLastActionDidNotScore(nCellsCompleted == 0);
         return true;  // Always able to execute
     }
 
-    @Override
-    public AbstractAction copy() {
-        return new AddGridCellEdge(edge.copy());
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -50,7 +32,7 @@ public class AddGridCellEdge extends AbstractAction {
     }
 
     @Override
-    public int hashCode() {
+    protected int computeHashCode() {
         return Objects.hash(edge);
     }
 
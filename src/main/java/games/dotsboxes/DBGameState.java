@@ -12,19 +12,17 @@ public class DBGameState extends AbstractGameState {
 
     IStateHeuristic heuristic;
 
-    // List of all edges possible
-    HashSet<DBEdge> edges;
-    // List of all cells possible
-    HashSet<DBCell> cells;
-    // Mapping from each edge to the cells it neighbours
-    HashMap<DBEdge, HashSet<DBCell>> edgeToCellMap;
-    // Mapping from each cell to its edges
-    HashMap<DBCell, HashSet<DBEdge>> cellToEdgesMap;
+    // The edges, cells and the mappings between them; this never changes, so is shared by all copies
+    DBGrid grid;
 
     // Mutable state:
     int[] nCellsPerPlayer;
-    HashMap<DBCell, Integer> cellToOwnerMap;  // Mapping from each cell to its owner, if complete
-    HashMap<DBEdge, Integer> edgeToOwnerMap;  // Mapping from each edge to its owner, if placed
+    long[] freeEdges;  // Bitset of the edges not yet placed
+    long[] safeEdges;  // Bitset of the free edges that do not create a three-box without also completing one
+    byte[] edgeOwner;  // Owner of each edge, or -1 if not placed
+    byte[] cellSides;  // Number of placed edges around each cell
+    byte[] cellOwner;  // Owner of each cell if complete, or -1
+    int nCellsComplete;
     boolean lastActionDidNotScore;
 
     /**
@@ -44,21 +42,25 @@ public class DBGameState extends AbstractGameState {
 
     @Override
     protected List<Component> _getAllComponents() {
-        return new ArrayList<Component>() {{ addAll(edges); addAll(cells); }};
+        List<Component> retValue = new ArrayList<>(grid.nEdges + grid.nCells);
+        retValue.addAll(Arrays.asList(grid.edges));
+        retValue.addAll(Arrays.asList(grid.cells));
+        return retValue;
     }
 
     @Override
     protected AbstractGameState _copy(int playerId) {
         DBGameState dbgs = new DBGameState(gameParameters, getNPlayers());
-        dbgs.edges = edges;
-        dbgs.cells = cells;
-        dbgs.edgeToCellMap = edgeToCellMap;
-        dbgs.cellToEdgesMap = cellToEdgesMap;
+        dbgs.grid = grid;
         dbgs.lastActionDidNotScore = lastActionDidNotScore;
 
         dbgs.nCellsPerPlayer = nCellsPerPlayer.clone();
-        dbgs.cellToOwnerMap = (HashMap<DBCell, Integer>) cellToOwnerMap.clone();
-        dbgs.edgeToOwnerMap = (HashMap<DBEdge, Integer>) edgeToOwnerMap.clone();
+        dbgs.freeEdges = freeEdges.clone();
+        dbgs.safeEdges = safeEdges.clone();
+        dbgs.edgeOwner = edgeOwner.clone();
+        dbgs.cellSides = cellSides.clone();
+        dbgs.cellOwner = cellOwner.clone();
+        dbgs.nCellsComplete = nCellsComplete;
         dbgs.heuristic = heuristic;
         return dbgs;
     }
@@ -88,22 +90,20 @@ public class DBGameState extends AbstractGameState {
     public boolean _equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DBGameState)) return false;
-        if (!super.equals(o)) return false;
         DBGameState that = (DBGameState) o;
         return lastActionDidNotScore == that.lastActionDidNotScore && Objects.equals(heuristic, that.heuristic)
-                && Objects.equals(edges, that.edges) && Objects.equals(cells, that.cells) &&
-                Objects.equals(edgeToCellMap, that.edgeToCellMap) &&
-                Objects.equals(cellToEdgesMap, that.cellToEdgesMap) &&
+                && grid.width == that.grid.width && grid.height == that.grid.height &&
                 Arrays.equals(nCellsPerPlayer, that.nCellsPerPlayer) &&
-                Objects.equals(cellToOwnerMap, that.cellToOwnerMap) &&
-                Objects.equals(edgeToOwnerMap, that.edgeToOwnerMap);
+                Arrays.equals(edgeOwner, that.edgeOwner) &&
+                Arrays.equals(cellOwner, that.cellOwner);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), edges, cells, edgeToCellMap, cellToEdgesMap,
-                cellToOwnerMap, edgeToOwnerMap, lastActionDidNotScore);
+        int result = Objects.hash(super.hashCode(), grid.width, grid.height, lastActionDidNotScore);
         result = 31 * result + Arrays.hashCode(nCellsPerPlayer);
+        result = 31 * result + Arrays.hashCode(edgeOwner);
+        result = 31 * result + Arrays.hashCode(cellOwner);
         return result;
     }
 
@@ -112,37 +112,21 @@ public class DBGameState extends AbstractGameState {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
 
-        int i = 0;
-
-        for (DBEdge e: edges) {
-            if (i++ != 0) {
+        for (int e = 0; e < grid.nEdges; e++) {
+            if (e != 0) {
                 sb.append(",");
             }
-            int owner = -1;
-            if (edgeToOwnerMap.get(e) != null) {
-                owner = edgeToOwnerMap.get(e);
-            }
-            sb.append("\"").append("Edge_Owner_").append(e.from.getX()).append("_").append(e.from.getY()).
-                    append(e.to.getX()).append(e.to.getY()).append("\":").append(owner);
+            DBEdge edge = grid.edges[e];
+            sb.append("\"").append("Edge_Owner_").append(edge.from.getX()).append("_").append(edge.from.getY()).
+                    append(edge.to.getX()).append(edge.to.getY()).append("\":").append(edgeOwner[e]);
         }
 
-        for (DBCell c: cells) {
+        for (int c = 0; c < grid.nCells; c++) {
+            DBCell cell = grid.cells[c];
             sb.append(",");
-            int owner = -1;
-            if (cellToOwnerMap.get(c) != null) {
-                owner = cellToOwnerMap.get(c);
-            }
-            sb.append("\"").append("Cell_Owner_").append(c.position.getX()).append("_").append(c.position.getY()).append("\":").append(owner);
+            sb.append("\"").append("Cell_Owner_").append(cell.position.getX()).append("_").append(cell.position.getY()).append("\":").append(cellOwner[c]);
             sb.append(",");
-
-            int edgeCount = 0;
-
-            for (DBEdge e : cellToEdgesMap.get(c)) {
-                if (edgeToOwnerMap.get(e) != null) {
-                    edgeCount++;
-                }
-            }
-            sb.append("\"").append("Cell_Edge_Count_").append(c.position.getX()).append("_").append(c.position.getY()).append("\":").append(edgeCount);
+            sb.append("\"").append("Cell_Edge_Count_").append(cell.position.getX()).append("_").append(cell.position.getY()).append("\":").append(cellSides[c]);
         }
 
         sb.append("}");
@@ -150,15 +134,95 @@ public class DBGameState extends AbstractGameState {
     }
 
 
-    public int countCompleteEdges(DBCell c) {
-        int retValue = 0;
-        for (DBEdge e: cellToEdgesMap.get(c)) {
-            if (edgeToOwnerMap.containsKey(e)) {
-                retValue++;
+    /**
+     * Initialises the mutable state for an empty grid.
+     */
+    void reset(DBGrid grid) {
+        this.grid = grid;
+        int words = (grid.nEdges + 63) >>> 6;
+        freeEdges = new long[words];
+        for (int e = 0; e < grid.nEdges; e++)
+            freeEdges[e >>> 6] |= 1L << e;
+        safeEdges = freeEdges.clone();
+        edgeOwner = new byte[grid.nEdges];
+        Arrays.fill(edgeOwner, (byte) -1);
+        cellSides = new byte[grid.nCells];
+        cellOwner = new byte[grid.nCells];
+        Arrays.fill(cellOwner, (byte) -1);
+        nCellsComplete = 0;
+        nCellsPerPlayer = new int[getNPlayers()];
+    }
+
+    /**
+     * Places an edge for the player, completing any cells it closes, and updates the free and safe edge sets for
+     * the edges of the (at most two) cells next to it.
+     *
+     * @return the number of cells completed
+     */
+    int placeEdge(int edge, int player) {
+        edgeOwner[edge] = (byte) player;
+        freeEdges[edge >>> 6] &= ~(1L << edge);
+        safeEdges[edge >>> 6] &= ~(1L << edge);
+        int completed = 0;
+        for (int k = 0; k < 2; k++) {
+            int c = grid.edgeCells[edge * 2 + k];
+            if (c < 0) continue;
+            if (++cellSides[c] == 4) {
+                cellOwner[c] = (byte) player;
+                nCellsPerPlayer[player]++;
+                completed++;
             }
         }
-        return retValue;
+        nCellsComplete += completed;
+        for (int k = 0; k < 2; k++) {
+            int c = grid.edgeCells[edge * 2 + k];
+            if (c < 0) continue;
+            for (int j = 0; j < 4; j++) {
+                int e = grid.cellEdges[c * 4 + j];
+                if (!isFree(e)) continue;
+                if (isSafe(e))
+                    safeEdges[e >>> 6] |= 1L << e;
+                else
+                    safeEdges[e >>> 6] &= ~(1L << e);
+            }
+        }
+        return completed;
     }
+
+    // A free edge is safe if it completes a cell, or if it does not give any cell a third side
+    private boolean isSafe(int edge) {
+        boolean threeBox = false;
+        for (int k = 0; k < 2; k++) {
+            int c = grid.edgeCells[edge * 2 + k];
+            if (c < 0) continue;
+            if (cellSides[c] == 3) return true;
+            if (cellSides[c] == 2) threeBox = true;
+        }
+        return !threeBox;
+    }
+
+    public boolean isFree(int edge) {
+        return (freeEdges[edge >>> 6] & (1L << edge)) != 0;
+    }
+
+    public int countCompleteEdges(DBCell c) {
+        return cellSides[grid.cellIndex(c)];
+    }
+
+    /**
+     * @return the owner of the edge, or -1 if it has not been placed
+     */
+    public int getEdgeOwner(DBEdge edge) {
+        return edgeOwner[grid.edgeIndex(edge)];
+    }
+
+    /**
+     * @return the owner of the cell, or -1 if it is not complete
+     */
+    public int getCellOwner(DBCell cell) {
+        return cellOwner[grid.cellIndex(cell)];
+    }
+
     public boolean getLastActionDidNotScore(){return lastActionDidNotScore;}
     public void setLastActionDidNotScore(boolean value){
         lastActionDidNotScore = value;}
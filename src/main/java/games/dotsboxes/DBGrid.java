@@ -0,0 +1,102 @@
+package games.dotsboxes;
+
+import core.actions.ActionInterner;
+import utilities.Vector2D;
+
+import java.util.Arrays;
+
+/**
+ * The fixed topology of a Dots and Boxes grid, built once in setup and shared by all copies of the game state.
+ * <p>
+ * Edges and cells are identified by an int index. The horizontal edges come first, indexed by y * width + x for the
+ * edge from (x, y) to (x + 1, y); followed by the vertical edges, indexed by (width + 1) * y + x (offset by the
+ * number of horizontal edges) for the edge from (x, y) to (x, y + 1). The cell with top-left corner (x, y) has
+ * index y * width + x.
+ */
+final class DBGrid {
+
+    final int width, height;
+    final int nEdges, nCells;
+    private final int nHorizontal;
+
+    final DBEdge[] edges;
+    final DBCell[] cells;
+    // The (one or two) cells on each side of an edge, at [edge * 2 + k]; -1 if there is no cell on that side
+    final int[] edgeCells;
+    // The four edges of each cell, at [cell * 4 + k]
+    final int[] cellEdges;
+    // The action to place each edge
+    final AddGridCellEdge[] actions;
+
+    DBGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        nHorizontal = (height + 1) * width;
+        nEdges = nHorizontal + height * (width + 1);
+        nCells = width * height;
+
+        edges = new DBEdge[nEdges];
+        actions = new AddGridCellEdge[nEdges];
+        edgeCells = new int[nEdges * 2];
+        Arrays.fill(edgeCells, -1);
+        for (int y = 0; y <= height; y++) {
+            for (int x = 0; x < width; x++) {
+                int e = y * width + x;
+                edges[e] = new DBEdge(new Vector2D(x, y), new Vector2D(x + 1, y));
+                if (y > 0) edgeCells[e * 2] = cellIndex(x, y - 1);
+                if (y < height) edgeCells[e * 2 + 1] = cellIndex(x, y);
+            }
+        }
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x <= width; x++) {
+                int e = nHorizontal + y * (width + 1) + x;
+                edges[e] = new DBEdge(new Vector2D(x, y), new Vector2D(x, y + 1));
+                if (x > 0) edgeCells[e * 2] = cellIndex(x - 1, y);
+                if (x < width) edgeCells[e * 2 + 1] = cellIndex(x, y);
+            }
+        }
+        for (int e = 0; e < nEdges; e++)
+            actions[e] = ActionInterner.intern(new AddGridCellEdge(edges[e]));
+
+        cells = new DBCell[nCells];
+        cellEdges = new int[nCells * 4];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int c = cellIndex(x, y);
+                cells[c] = new DBCell(x, y);
+                cellEdges[c * 4] = y * width + x;  // top
+                cellEdges[c * 4 + 1] = (y + 1) * width + x;  // bottom
+                cellEdges[c * 4 + 2] = nHorizontal + y * (width + 1) + x;  // left
+                cellEdges[c * 4 + 3] = nHorizontal + y * (width + 1) + x + 1;  // right
+            }
+        }
+    }
+
+    int cellIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    int cellIndex(DBCell cell) {
+        int x = cell.position.getX(), y = cell.position.getY();
+        if (x < 0 || x >= width || y < 0 || y >= height)
+            throw new IllegalArgumentException("Cell is not on the grid : " + cell);
+        return cellIndex(x, y);
+    }
+
+    /**
+     * @return the index of the edge, which may be given in either direction
+     */
+    int edgeIndex(DBEdge edge) {
+        Vector2D a = edge.from, b = edge.to;
+        if (a.getY() == b.getY() && Math.abs(a.getX() - b.getX()) == 1) {
+            int x = Math.min(a.getX(), b.getX()), y = a.getY();
+            if (x >= 0 && x < width && y >= 0 && y <= height)
+                return y * width + x;
+        } else if (a.getX() == b.getX() && Math.abs(a.getY() - b.getY()) == 1) {
+            int x = a.getX(), y = Math.min(a.getY(), b.getY());
+            if (x >= 0 && x <= width && y >= 0 && y < height)
+                return nHorizontal + y * (width + 1) + x;
+        }
+        throw new IllegalArgumentException("Edge is not on the grid : " + edge);
+    }
+}
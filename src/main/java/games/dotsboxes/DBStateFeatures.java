@@ -14,8 +14,7 @@ public class DBStateFeatures implements IStateFeatureVector {
 
         // CELLS
         int[] cellCountByEdges = new int[5];
-        for (DBCell cell : state.cells) {
-            int edges = state.countCompleteEdges(cell);
+        for (byte edges : state.cellSides) {
             cellCountByEdges[edges]++;
         }
 
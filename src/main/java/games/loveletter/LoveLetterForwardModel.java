@@ -56,11 +56,14 @@ public class LoveLetterForwardModel extends StandardForwardModel implements ITre
         // Reset player status
         Arrays.fill(llgs.currentlyActive, true);
 
-        // Add all cards to the draw pile
+        // Add all cards to the draw pile, in a fixed order (not that of the HashMap, which can change between runs)
+        // so that the same seed always deals the same cards
         llgs.drawPile.clear();
-        for (HashMap.Entry<CardType, Integer> entry : llp.cardCounts.entrySet()) {
-            for (int i = 0; i < entry.getValue(); i++) {
-                LoveLetterCard card = new LoveLetterCard(entry.getKey());
+        for (CardType type : CardType.values()) {
+            Integer count = llp.cardCounts.get(type);
+            if (count == null) continue;
+            for (int i = 0; i < count; i++) {
+                LoveLetterCard card = new LoveLetterCard(type);
                 llgs.drawPile.add(card);
             }
         }
@@ -12,7 +12,7 @@ import core.properties.PropertyLong;
 import core.properties.PropertyString;
 import core.rules.AbstractRuleBasedForwardModel;
 import core.rules.GameOverCondition;
-import core.rules.Node;
+import core.rules.RuleProgram;
 import core.rules.nodetypes.ConditionNode;
 import core.rules.nodetypes.RuleNode;
 import games.pandemic.actions.AddResearchStation;
@@ -119,19 +119,16 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
 
         nextPlayerRule.setNext(root);
 
-        // Next rule to execute is root
-        nextRule = root;
-
         // Draw game tree from root
 //        new GameFlowDiagram(root);
     }
 
     /**
-     * Copy constructor from root node.
-     * @param root - root rule node.
+     * Copy constructor from the compiled rule graph, which is shared with the original.
+     * @param program - compiled rule graph.
      */
-    public PandemicForwardModel(Node root) {
-        super(root);
+    public PandemicForwardModel(RuleProgram program) {
+        super(program);
     }
 
     /**
@@ -361,7 +358,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
     }
 
     public PandemicForwardModel copy() {
-        PandemicForwardModel retValue = new PandemicForwardModel(copyRoot());
+        PandemicForwardModel retValue = new PandemicForwardModel(getProgram());
         retValue.decisionPlayerID = decisionPlayerID;
         retValue.decorators = new ArrayList<>(decorators);
         return retValue;
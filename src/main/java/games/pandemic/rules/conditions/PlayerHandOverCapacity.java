@@ -12,10 +12,9 @@ import static core.CoreConstants.playerHandHash;
 
 @SuppressWarnings("unchecked")
 public class PlayerHandOverCapacity extends ConditionNode {
-    private int playerId;
 
     public PlayerHandOverCapacity() {
-        this.playerId = -2;  // Current player by default
+        super();
     }
 
     /**
@@ -24,7 +23,6 @@ public class PlayerHandOverCapacity extends ConditionNode {
      */
     public PlayerHandOverCapacity(PlayerHandOverCapacity playerHandOverCapacity) {
         super(playerHandOverCapacity);
-        this.playerId = playerHandOverCapacity.playerId;
     }
 
     @Override
@@ -32,8 +30,10 @@ public class PlayerHandOverCapacity extends ConditionNode {
         Deck<Card> playerDeck;
         PandemicGameState pgs = (PandemicGameState)gs;
 
+        int playerId = -2;  // Current player by default
         if (parent instanceof PlayerAction) {
-            playerId = ((PlayerAction) parent).getPlayerHandOverCapacity();
+            // Set by the parent rule in the game state
+            playerId = pgs.getPlayerHandOverCapacity();
         }
 
         if (playerId == -2) {
@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.actions.DrawCard;
 import core.components.Card;
 import core.components.Deck;
@@ -28,7 +29,7 @@ public class DrawCards extends RuleNode {
     }
 
     @Override
-    public boolean run(AbstractGameStateWithTurnOrder gs) {
+    public boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         PandemicGameState pgs = (PandemicGameState)gs;
 
         boolean epidemic = false;
@@ -36,8 +37,8 @@ public class DrawCards extends RuleNode {
         Deck<Card> tempDeck = pgs.getTempDeck();
 
         Deck<Card> playerDeck = (Deck<Card>) pgs.getComponent(playerDeckHash);
-        DrawCard action = new DrawCard(playerDeck.getComponentID(), tempDeck.getComponentID(), 0);
-        boolean drawn = action.execute(gs);
+        DrawCard draw = new DrawCard(playerDeck.getComponentID(), tempDeck.getComponentID(), 0);
+        boolean drawn = draw.execute(gs);
 
         if (drawn) {
             Deck<Card> playerHand = (Deck<Card>) pgs.getComponentActingPlayer(playerHandHash);
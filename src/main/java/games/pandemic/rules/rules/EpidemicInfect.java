@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.components.Card;
 import core.components.Counter;
 import core.components.Deck;
@@ -32,7 +33,7 @@ public class EpidemicInfect extends RuleNode {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         // 1. infection counter idx ++
         PandemicGameState pgs = (PandemicGameState)gs;
         ((Counter)pgs.getComponent(infectionRateHash)).increment(1);
@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.components.Card;
 import core.components.Deck;
 import core.rules.Node;
@@ -28,7 +29,7 @@ public class EpidemicIntensify extends RuleNode {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         PandemicGameState pgs = (PandemicGameState)gs;
         Deck<Card> infectionDiscard = (Deck<Card>) pgs.getComponent(infectionDiscardHash);
         Deck<Card> infectionDeck = (Deck<Card>) pgs.getComponent(infectionHash);
@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.components.Card;
 import core.components.Deck;
 import core.rules.Node;
@@ -27,7 +28,7 @@ public class ForceDiscardReaction extends RuleNode {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         PandemicGameState pgs = (PandemicGameState)gs;
         // player needs to discard cards (doing 1 at a time)
         for (int i = 0; i < pgs.getNPlayers(); i++) {
@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.rules.Node;
 import core.rules.nodetypes.RuleNode;
 import games.pandemic.PandemicTurnOrder;
@@ -30,7 +31,7 @@ public class ForceRPReaction extends RuleNode {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         PandemicGameState pgs = (PandemicGameState)gs;
         int nPlayers = gs.getNPlayers();
 
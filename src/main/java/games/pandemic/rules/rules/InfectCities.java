@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.components.Card;
 import core.components.Counter;
 import core.components.Deck;
@@ -35,7 +36,7 @@ public class InfectCities extends RuleNode {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         PandemicGameState pgs = (PandemicGameState)gs;
         if (!pgs.isQuietNight()) {
             // Infecting with top cards of infection deck if it's not a quiet night
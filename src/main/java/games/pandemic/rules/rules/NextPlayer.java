@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.rules.Node;
 import core.rules.rulenodes.EndPlayerTurn;
 import games.pandemic.PandemicGameState;
@@ -19,9 +20,9 @@ public class NextPlayer extends EndPlayerTurn {
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
         ((PandemicGameState)gs).setNCardsDrawn(0);
-        return super.run(gs);
+        return super.run(gs, action);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package games.pandemic.rules.rules;
 
 import core.AbstractGameStateWithTurnOrder;
+import core.actions.AbstractAction;
 import core.actions.DrawCard;
 import core.components.Card;
 import core.components.Counter;
@@ -21,13 +22,11 @@ import static core.CoreConstants.nameHash;
 
 public class PlayerAction extends core.rules.rulenodes.PlayerAction {
 
-    private int playerHandOverCapacity;
     private int n_initial_disease_cubes;
 
     public PlayerAction(int n_initial_disease_cubes) {
         super();
         this.n_initial_disease_cubes = n_initial_disease_cubes;
-        this.playerHandOverCapacity = -1;
     }
 
     /**
@@ -37,12 +36,11 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
     public PlayerAction(PlayerAction playerAction) {
         super(playerAction);
         this.n_initial_disease_cubes = playerAction.n_initial_disease_cubes;
-        this.playerHandOverCapacity = playerAction.playerHandOverCapacity;
     }
 
     @Override
-    protected boolean run(AbstractGameStateWithTurnOrder gs) {
-        if(super.run(gs)) {
+    protected boolean run(AbstractGameStateWithTurnOrder gs, AbstractAction action) {
+        if(super.run(gs, action)) {
             PandemicGameState pgs = (PandemicGameState) gs;
             PandemicTurnOrder pto = (PandemicTurnOrder) pgs.getTurnOrder();
             int playerIdx = pto.getCurrentPlayer(gs);
@@ -66,13 +64,13 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
                         }
                     }
                 }
-            } else if (action instanceof DrawCard) {
-                // Player hand may be over capacity, set parameter to inform next decision
+            } else if (action instanceof DrawCard && getNext() != null && getNext().getParent() == this) {
+                // Player hand may be over capacity, set parameter in game state to inform next decision
                 Deck<Card> deckTo = (Deck<Card>) gs.getComponentById(((DrawCard) action).getDeckTo());
                 Deck<Card> playerHand = (Deck<Card>) pgs.getComponentActingPlayer(playerHandHash);
-                if (deckTo != null && deckTo.isOverCapacity()) playerHandOverCapacity = deckTo.getOwnerId();
-                else if (playerHand != null && playerHand.isOverCapacity()) playerHandOverCapacity = playerIdx;
-                else playerHandOverCapacity = -1;
+                if (deckTo != null && deckTo.isOverCapacity()) pgs.setPlayerHandOverCapacity(deckTo.getOwnerId());
+                else if (playerHand != null && playerHand.isOverCapacity()) pgs.setPlayerHandOverCapacity(playerIdx);
+                else pgs.setPlayerHandOverCapacity(-1);
             }
 
             // Check if this was an event action or a reaction. These actions are always played with the event card.
@@ -89,14 +87,6 @@ public class PlayerAction extends core.rules.rulenodes.PlayerAction {
         return false;
     }
 
-    public int getPlayerHandOverCapacity() {
-        return playerHandOverCapacity;
-    }
-
-    public void setPlayerHandOverCapacity(int playerHandOverCapacity) {
-        this.playerHandOverCapacity = playerHandOverCapacity;
-    }
-
     @Override
     protected Node _copy() {
         return new PlayerAction(this);
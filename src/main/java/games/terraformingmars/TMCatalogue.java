@@ -0,0 +1,202 @@
+package games.terraformingmars;
+
+import core.components.Deck;
+import core.components.GridBoard;
+import games.terraformingmars.actions.TMAction;
+import games.terraformingmars.components.*;
+import games.terraformingmars.rules.effects.Bonus;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static games.terraformingmars.components.TMMapTile.parseMapTile;
+
+/**
+ * Process-wide catalogue of the cards and board for each expansion. The JSON data for an expansion is parsed the
+ * first time it is needed, and the parsed components are then kept as prototypes which are never modified.
+ *
+ * Each game receives copies of the prototypes, which keep the prototype component IDs, so a card or tile has the
+ * same ID in every game in the process. Only the copies carry per-game state (resources on cards, tiles placed,
+ * milestones claimed etc.).
+ */
+public final class TMCatalogue {
+
+    private static final Map<TMTypes.Expansion, TMCatalogue> catalogues = new ConcurrentHashMap<>();
+
+    public final TMTypes.Expansion expansion;
+    private final List<TMCard> projectCards;
+    private final List<TMCard> corpCards;
+    // Board tiles by row (y), then column (x); null if this expansion does not define a board
+    private final TMMapTile[][] board;
+    private final List<TMMapTile> extraTiles = new ArrayList<>();
+    private final List<Bonus> bonuses = new ArrayList<>();
+    private final List<Milestone> milestones = new ArrayList<>();
+    private final List<Award> awards = new ArrayList<>();
+    private final Map<TMTypes.GlobalParameter, GlobalParameter> globalParameters = new LinkedHashMap<>();
+
+    private TMCatalogue(TMTypes.Expansion expansion) {
+        this.expansion = expansion;
+        this.projectCards = parseCards(expansion.getProjectCardsPath(), false);
+        this.corpCards = parseCards(expansion.getCorpCardsPath(), true);
+        this.board = parseBoard(expansion.getBoardPath());
+    }
+
+    /**
+     * @param expansion - expansion (or base game) to retrieve.
+     * @return the catalogue for the expansion, parsing its data files if this is the first request for it.
+     */
+    public static TMCatalogue get(TMTypes.Expansion expansion) {
+        return catalogues.computeIfAbsent(expansion, TMCatalogue::new);
+    }
+
+    /**
+     * Adds copies of all project cards in this expansion to the given deck.
+     */
+    public void copyProjectCards(Deck<TMCard> deck) {
+        for (TMCard c : projectCards) deck.add(c.copy());
+    }
+
+    /**
+     * Adds copies of all corporation cards in this expansion to the given deck.
+     */
+    public void copyCorpCards(Deck<TMCard> deck) {
+        for (TMCard c : corpCards) deck.add(c.copy());
+    }
+
+    /**
+     * Adds copies of the board tiles, extra tiles, milestones, awards, global parameters and their bonuses defined by
+     * this expansion to the given game components.
+     */
+    public void copyBoard(GridBoard board, HashSet<TMMapTile> extraTiles, HashSet<Bonus> bonuses,
+                          HashSet<Milestone> milestones, HashSet<Award> awards,
+                          HashMap<TMTypes.GlobalParameter, GlobalParameter> globalParameters) {
+        if (this.board != null) {
+            for (int y = 0; y < this.board.length; y++) {
+                for (int x = 0; x < this.board[y].length; x++) {
+                    TMMapTile tile = this.board[y][x];
+                    board.setElement(x, y, tile == null ? null : tile.copy());
+                }
+            }
+        }
+        for (TMMapTile t : this.extraTiles) extraTiles.add(t.copy());
+        for (Milestone m : this.milestones) milestones.add(m.copy());
+        for (Award a : this.awards) awards.add(a.copy());
+        for (Map.Entry<TMTypes.GlobalParameter, GlobalParameter> e : this.globalParameters.entrySet())
+            globalParameters.put(e.getKey(), e.getValue().copy());
+        for (Bonus b : this.bonuses) bonuses.add(b.copy());
+    }
+
+    public int getNProjectCards() {
+        return projectCards.size();
+    }
+
+    public int getNCorpCards() {
+        return corpCards.size();
+    }
+
+    /* custom loading info from json */
+
+    private static List<TMCard> parseCards(String path, boolean corporations) {
+        List<TMCard> cards = new ArrayList<>();
+        JSONParser jsonParser = new JSONParser();
+        try (FileReader reader = new FileReader(path)) {
+            JSONArray data = (JSONArray) jsonParser.parse(reader);
+            for (Object o : data) {
+                if (corporations) {
+                    cards.add(TMCard.loadCorporation((JSONObject) o));
+                } else {
+                    cards.add(TMCard.loadCardJSON((JSONObject) o));
+                }
+            }
+        } catch (IOException ignored) {
+        } catch (ParseException e) {
+            e.printStackTrace();
+        }
+        return Collections.unmodifiableList(cards);
+    }
+
+    private TMMapTile[][] parseBoard(String path) {
+        TMMapTile[][] tiles = null;
+        JSONParser jsonParser = new JSONParser();
+        try (FileReader reader = new FileReader(path)) {
+            JSONObject data = (JSONObject) jsonParser.parse(reader);
+
+            // Process main map
+            if (data.get("board") != null) {
+                JSONArray b = (JSONArray) data.get("board");
+                tiles = new TMMapTile[b.size()][];
+                int y = 0;
+                for (Object g : b) {
+                    JSONArray row = (JSONArray) g;
+                    tiles[y] = new TMMapTile[row.size()];
+                    int x = 0;
+                    for (Object o1 : row) {
+                        tiles[y][x] = parseMapTile((String) o1, x, y);
+                        x++;
+                    }
+                    y++;
+                }
+            }
+
+            // Process extra tiles not on regular board
+            if (data.get("extra") != null) {
+                JSONArray extra = (JSONArray) data.get("extra");
+                for (Object o : extra) {
+                    extraTiles.add(parseMapTile((String) o));
+                }
+            }
+
+            // Process milestones and awards
+            if (data.get("milestones") != null) {
+                JSONArray milestonesStr = (JSONArray) data.get("milestones");
+                for (Object o : milestonesStr) {
+                    String[] split = ((String) o).split(":");
+                    milestones.add(new Milestone(split[0], Integer.parseInt(split[2]), split[1]));
+                }
+            }
+            if (data.get("awards") != null) {
+                JSONArray awardsStr = (JSONArray) data.get("awards");
+                for (Object o : awardsStr) {
+                    String[] split = ((String) o).split(":");
+                    awards.add(new Award(split[0], split[1]));
+                }
+            }
+
+            // Process global parameters enabled
+            if (data.get("globalParameters") != null) {
+                JSONArray gps = (JSONArray) data.get("globalParameters");
+                for (Object o : gps) {
+                    JSONObject gp = (JSONObject) o;
+                    TMTypes.GlobalParameter p = TMTypes.GlobalParameter.valueOf((String) gp.get("name"));
+                    JSONArray valuesJSON = (JSONArray) gp.get("range");
+                    int[] values = new int[valuesJSON.size()];
+                    for (int i = 0; i < valuesJSON.size(); i++) {
+                        values[i] = (int) (long) valuesJSON.get(i);
+                    }
+                    globalParameters.put(p, new GlobalParameter(values, p.name()));
+
+                    // Process bonuses for this game when counters reach specific points
+                    if (gp.get("bonus") != null) {
+                        JSONArray bonus = (JSONArray) gp.get("bonus");
+                        for (Object o2 : bonus) {
+                            JSONObject b = (JSONObject) o2;
+                            String effectString = (String) b.get("effect");
+                            int threshold = (int) (long) b.get("threshold");
+                            bonuses.add(new Bonus(p, threshold, TMAction.parseActionOnCard(effectString, null, true)));
+                        }
+                    }
+                }
+            }
+        } catch (IOException ignored) {
+        } catch (ParseException e) {
+            e.printStackTrace();
+        }
+        return tiles;
+    }
+}
@@ -4,25 +4,16 @@ import core.components.BoardNode;
 import core.components.Counter;
 import core.components.Deck;
 import core.components.GridBoard;
-import games.terraformingmars.actions.TMAction;
 import games.terraformingmars.components.*;
 import games.terraformingmars.rules.effects.Bonus;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 import utilities.Utils;
 import utilities.Vector2D;
 
 import java.awt.*;
-import java.io.FileReader;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 
-import static games.terraformingmars.components.TMMapTile.parseMapTile;
-
 public class TMTypes {
 
     // Odd r: (odd rows offset to the right)
@@ -300,110 +291,19 @@ public class TMTypes {
             return "data/terraformingmars/otherCards/" + this.name().toLowerCase() + ".json";
         }
 
-        /* custom loading info from json */
+        /* copies of the parsed info from json, see TMCatalogue */
 
         public void loadBoard(GridBoard board, HashSet<TMMapTile> extraTiles, HashSet<Bonus> bonuses,
                               HashSet<Milestone> milestones, HashSet<Award> awards, HashMap<GlobalParameter, games.terraformingmars.components.GlobalParameter> globalParameters) {
-            JSONParser jsonParser = new JSONParser();
-            try (FileReader reader = new FileReader(getBoardPath())) {
-                JSONObject data = (JSONObject) jsonParser.parse(reader);
-
-                // Process main map
-                if (data.get("board") != null) {
-                    JSONArray b = (JSONArray) data.get("board");
-                    int y = 0;
-                    for (Object g : b) {
-                        JSONArray row = (JSONArray) g;
-                        int x = 0;
-                        for (Object o1 : row) {
-                            board.setElement(x, y, parseMapTile((String) o1, x, y));
-                            x++;
-                        }
-                        y++;
-                    }
-                }
-
-                // Process extra tiles not on regular board
-                if (data.get("extra") != null) {
-                    JSONArray extra = (JSONArray) data.get("extra");
-                    for (Object o : extra) {
-                        extraTiles.add(parseMapTile((String) o));
-                    }
-                }
-
-                // Process milestones and awards
-                if (data.get("milestones") != null) {
-                    JSONArray milestonesStr = (JSONArray) data.get("milestones");
-                    for (Object o : milestonesStr) {
-                        String[] split = ((String) o).split(":");
-                        milestones.add(new Milestone(split[0], Integer.parseInt(split[2]), split[1]));
-                    }
-                }
-                if (data.get("awards") != null) {
-                    JSONArray awardsStr = (JSONArray) data.get("awards");
-                    for (Object o : awardsStr) {
-                        String[] split = ((String) o).split(":");
-                        awards.add(new Award(split[0], split[1]));
-                    }
-                }
-
-                // Process global parameters enabled
-                if (data.get("globalParameters") != null) {
-                    JSONArray gps = (JSONArray) data.get("globalParameters");
-                    for (Object o : gps) {
-                        JSONObject gp = (JSONObject) o;
-                        GlobalParameter p = GlobalParameter.valueOf((String) gp.get("name"));
-                        JSONArray valuesJSON = (JSONArray) gp.get("range");
-                        int[] values = new int[valuesJSON.size()];
-                        for (int i = 0; i < valuesJSON.size(); i++) {
-                            values[i] = (int)(long)valuesJSON.get(i);
-                        }
-                        globalParameters.put(p, new games.terraformingmars.components.GlobalParameter(values, p.name()));
-
-                        // Process bonuses for this game when counters reach specific points
-                        if (gp.get("bonus") != null) {
-                            JSONArray bonus = (JSONArray) gp.get("bonus");
-                            for (Object o2 : bonus) {
-                                JSONObject b = (JSONObject) o2;
-                                String effectString = (String) b.get("effect");
-                                int threshold = (int)(long) b.get("threshold");
-                                bonuses.add(new Bonus(p, threshold, TMAction.parseActionOnCard(effectString, null, true)));
-                            }
-                        }
-                    }
-                }
-            } catch (IOException ignored) {
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
+            TMCatalogue.get(this).copyBoard(board, extraTiles, bonuses, milestones, awards, globalParameters);
         }
 
         public void loadProjectCards(Deck<TMCard> deck) {
-            loadCards(deck, getProjectCardsPath());
+            TMCatalogue.get(this).copyProjectCards(deck);
         }
 
         public void loadCorpCards(Deck<TMCard> deck) {
-            loadCards(deck, getCorpCardsPath());
-        }
-
-        private void loadCards(Deck<TMCard> deck, String path) {
-            JSONParser jsonParser = new JSONParser();
-            try (FileReader reader = new FileReader(path)) {
-                JSONArray data = (JSONArray) jsonParser.parse(reader);
-                for (Object o: data) {
-                    TMCard card;
-                    if (deck.getComponentName().equalsIgnoreCase("corporations")) {
-                        card = TMCard.loadCorporation((JSONObject)o);
-                    } else {
-//                        card = TMCard.loadCardHTML((JSONObject) o);
-                        card = TMCard.loadCardJSON((JSONObject) o);
-                    }
-                    deck.add(card);
-                }
-            } catch (IOException ignored) {
-            } catch (ParseException e) {
-                e.printStackTrace();
-            }
+            TMCatalogue.get(this).copyCorpCards(deck);
         }
     }
 
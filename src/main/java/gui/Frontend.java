@@ -10,6 +10,7 @@ import gui.models.AITableModel;
 import players.PlayerParameters;
 import players.PlayerType;
 import players.human.ActionController;
+import players.human.HumanGUIPlayer;
 
 import javax.swing.Timer;
 import javax.swing.*;
@@ -27,6 +28,9 @@ public class Frontend extends GUI {
     private Thread gameThread;
     private Game gameRunning;
     private boolean showAll, paused, started, showAIWindow;
+    // The game state snapshot last drawn, and whether its actions were shown
+    private AbstractGameState lastRendered;
+    private boolean lastShowActions;
     private ActionController humanInputQueue;
 
     public Frontend() {
@@ -317,6 +321,8 @@ public class Frontend extends GUI {
                     AbstractGUIManager gui = (humanInputQueue != null) ? gameType.createGUIManager(gamePanel, gameRunning, humanInputQueue) : null;
                     setFrameProperties();
 
+                    gameRunning.setRenderSnapshots(true);
+                    lastRendered = null;
                     guiUpdater = new Timer((int) coreParameters.frameSleepMS, event -> updateGUI(gui, frame));
                     guiUpdater.start();
                     // if Pause button has been pressed, then pause at the start so we can track all actions
@@ -539,16 +545,23 @@ public class Frontend extends GUI {
      * @param gui - gui to update.
      */
     private void updateGUI(AbstractGUIManager gui, JFrame frame) {
-        AbstractGameState gameState = gameRunning.getGameState().copy();
-        int currentPlayer = gameState.getCurrentPlayer();
-        AbstractPlayer player = gameRunning.getPlayers().get(currentPlayer);
+        AbstractGameState gameState = gameRunning.getRenderSnapshot();
+        AbstractPlayer player = gameRunning.getPlayers().get(gameState.getCurrentPlayer());
         if (gui != null) {
-            gui.update(player, gameState, gameRunning.isHumanToMove() || showAll);
+            boolean showActions = player instanceof HumanGUIPlayer || showAll;
+            // only redraw when the game has published a new snapshot, or the actions to show have changed
+            boolean redraw = gameState != lastRendered || showActions != lastShowActions;
+            if (redraw) {
+                gui.update(player, gameState, showActions);
+                lastRendered = gameState;
+                lastShowActions = showActions;
+            }
             if (!gameRunning.isHumanToMove() && paused && showAll) {
                 // in this case we allow a human to override an AI decision
                 try {
                     if (humanInputQueue.hasAction()) {
-                        gameRunning.getForwardModel().next(gameState, humanInputQueue.getAction());
+                        // the snapshot is shared with the GUI, so must not be modified
+                        gameRunning.getForwardModel().next(gameState.copy(), humanInputQueue.getAction());
                     }
                 } catch (InterruptedException e) {
                     // Really shouldn't happen as we checked first
@@ -557,8 +570,10 @@ public class Frontend extends GUI {
             }
             if (!gameRunning.isHumanToMove())
                 humanInputQueue.reset(); // clear out any actions clicked before their turn
-            frame.revalidate();
-            frame.repaint();
+            if (redraw) {
+                frame.revalidate();
+                frame.repaint();
+            }
         }
     }
 
@@ -2,15 +2,23 @@ package gui;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 public class GamePanel extends JComponent {
     Image background;
     Color bgColor;
     boolean keepBackgroundRatio = true;
     float alpha = 0.3f;
+    // The background, scaled and faded to fit the panel; redrawn only when the panel is resized or the background changes
+    private BufferedImage backgroundBuffer;
+
+    public GamePanel() {
+        setDoubleBuffered(true);
+    }
 
     public void setBackground(Image background) {
         this.background = background;
+        backgroundBuffer = null;
     }
     public void setBgColor(Color bgColor) {
         this.bgColor = bgColor;
@@ -18,36 +26,46 @@ public class GamePanel extends JComponent {
 
     public void setKeepBackgroundRatio(boolean keepBackgroundRatio) {
         this.keepBackgroundRatio = keepBackgroundRatio;
+        backgroundBuffer = null;
     }
 
     public void setAlpha(float alpha) {
         this.alpha = alpha;
+        backgroundBuffer = null;
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         if (background != null) {
-            Graphics2D g2d = (Graphics2D) g.create();
-            g2d.setComposite(AlphaComposite.SrcOver.derive(alpha));
-
-            Rectangle r = this.getBounds();
-            int h = r.height;
-            int w = r.width;
-
-            int picW = background.getWidth(null);
-            int picH = background.getHeight(null);
-            double scale = w*1.0/picW;
-            double s2 = h*1.0/picH;
-            if (keepBackgroundRatio) {
-                if (s2 > scale) scale = s2;
-                else s2 = scale;
+            int w = getWidth();
+            int h = getHeight();
+            if (w > 0 && h > 0) {
+                if (backgroundBuffer == null || backgroundBuffer.getWidth() != w || backgroundBuffer.getHeight() != h)
+                    backgroundBuffer = drawBackground(w, h);
+                g.drawImage(backgroundBuffer, 0, 0, null);
             }
-            g2d.drawImage(background, 0, 0, (int)(picW * scale), (int)(picH * s2), null);
-            g2d.dispose();
         } else if (bgColor != null) {
             g.setColor(bgColor);
             g.fillRect(0, 0, getWidth(), getHeight());
         }
         super.paintComponent(g);
     }
+
+    private BufferedImage drawBackground(int w, int h) {
+        BufferedImage buffer = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = buffer.createGraphics();
+        g2d.setComposite(AlphaComposite.SrcOver.derive(alpha));
+
+        int picW = background.getWidth(null);
+        int picH = background.getHeight(null);
+        double scale = w*1.0/picW;
+        double s2 = h*1.0/picH;
+        if (keepBackgroundRatio) {
+            if (s2 > scale) scale = s2;
+            else s2 = scale;
+        }
+        g2d.drawImage(background, 0, 0, (int)(picW * scale), (int)(picH * s2), null);
+        g2d.dispose();
+        return buffer;
+    }
 }
@@ -0,0 +1,150 @@
+package gui;
+
+import io.humble.video.*;
+import io.humble.video.awt.MediaPictureConverter;
+import io.humble.video.awt.MediaPictureConverterFactory;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Encodes a sequence of images as a video file (using humble-video), one frame per image.
+ * <p>
+ * Frames are encoded as fast as they are supplied, so the video can be produced much faster than it plays, and an
+ * image shown for several frames (or repeated in consecutive frames) is only encoded once.
+ * The frame size is fixed when the recorder is created; it is rounded up to even numbers as required by the encoder,
+ * and images of another size are drawn into the top-left corner of a frame.
+ */
+public class VideoRecorder implements AutoCloseable {
+
+    private final Muxer muxer;
+    private final Encoder encoder;
+    private final MediaPicture picture;
+    private final MediaPacket packet = MediaPacket.make();
+    private final BufferedImage frame;
+    private final byte[] pixels, previousPixels;
+    private MediaPictureConverter converter;
+    private long frameCount;
+    // whether the last image encoded is held for more than one frame
+    private boolean held;
+
+    /**
+     * @param fileName        - the file to write to
+     * @param formatName      - the container format, such as "mp4"; if null this is worked out from the file name
+     * @param codecName       - the video codec; if null the default for the format is used
+     * @param preset          - the encoder's trade-off between speed and file size, such as "ultrafast" or "medium"
+     *                        for H.264; if null the encoder's default is used
+     * @param width           - width of the frames
+     * @param height          - height of the frames
+     * @param framesPerSecond - frame rate of the video
+     */
+    public VideoRecorder(String fileName, String formatName, String codecName, String preset, int width, int height, int framesPerSecond) {
+        if (width < 1 || height < 1 || framesPerSecond < 1)
+            throw new IllegalArgumentException(String.format("Invalid video settings : %d x %d at %d fps", width, height, framesPerSecond));
+        width += width % 2;
+        height += height % 2;
+        Rational frameRate = Rational.make(1, framesPerSecond);
+        muxer = Muxer.make(fileName, null, formatName);
+        MuxerFormat format = muxer.getFormat();
+        Codec codec = codecName == null ? Codec.findEncodingCodec(format.getDefaultVideoCodecId())
+                : Codec.findEncodingCodecByName(codecName);
+        if (codec == null)
+            throw new IllegalArgumentException("No video codec found for " + (codecName == null ? format.getName() : codecName));
+
+        encoder = Encoder.make(codec);
+        encoder.setWidth(width);
+        encoder.setHeight(height);
+        PixelFormat.Type pixelFormat = PixelFormat.Type.PIX_FMT_YUV420P;
+        encoder.setPixelFormat(pixelFormat);
+        encoder.setTimeBase(frameRate);
+        if (format.getFlag(MuxerFormat.Flag.GLOBAL_HEADER))
+            encoder.setFlag(Encoder.Flag.FLAG_GLOBAL_HEADER, true);
+        KeyValueBag options = KeyValueBag.make();
+        if (preset != null)
+            options.setValue("preset", preset);
+        encoder.open(options, null);
+        muxer.addNewStream(encoder);
+        try {
+            muxer.open(null, null);
+        } catch (InterruptedException | IOException e) {
+            throw new RuntimeException("Could not open video file " + fileName, e);
+        }
+
+        picture = MediaPicture.make(width, height, pixelFormat);
+        picture.setTimeBase(frameRate);
+        frame = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        pixels = ((DataBufferByte) frame.getRaster().getDataBuffer()).getData();
+        previousPixels = new byte[pixels.length];
+    }
+
+    public int getWidth() {
+        return frame.getWidth();
+    }
+
+    public int getHeight() {
+        return frame.getHeight();
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Adds the image as the next frame of the video
+     */
+    public void addFrame(BufferedImage image) {
+        addFrame(image, 1);
+    }
+
+    /**
+     * Adds the image as the next few frames of the video. The image is only encoded once, and then held on screen
+     * for the given number of frames.
+     */
+    public void addFrame(BufferedImage image, int frames) {
+        if (frames < 1)
+            throw new IllegalArgumentException("Must add at least one frame : " + frames);
+        Graphics2D g = frame.createGraphics();
+        g.setColor(Color.white);
+        g.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        if (frameCount > 0 && Arrays.equals(pixels, previousPixels)) {
+            // nothing has changed, so the last frame encoded is held for longer
+            frameCount += frames;
+            held = true;
+            return;
+        }
+        System.arraycopy(pixels, 0, previousPixels, 0, pixels.length);
+        if (converter == null)
+            converter = MediaPictureConverterFactory.createConverter(frame, picture);
+        converter.toPicture(picture, frame, frameCount);
+        encode(picture);
+        frameCount += frames;
+        held = frames > 1;
+    }
+
+    private void encode(MediaPicture picture) {
+        do {
+            encoder.encode(packet, picture);
+            if (packet.isComplete())
+                muxer.write(packet, false);
+        } while (packet.isComplete());
+    }
+
+    /**
+     * Flushes any frames still held by the encoder, and closes the file
+     */
+    @Override
+    public void close() {
+        if (held) {
+            // the video ends with the last frame encoded, so the held image is repeated to fill its time
+            converter.toPicture(picture, frame, frameCount - 1);
+            encode(picture);
+        }
+        encode(null);
+        muxer.close();
+    }
+}
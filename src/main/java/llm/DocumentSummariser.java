@@ -6,12 +6,16 @@ import org.apache.pdfbox.text.PDFTextStripper;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 import java.util.regex.Pattern;
 
 public class DocumentSummariser {
 
     private String documentProcessedText;
+    private LLMAccess llm;
+    private int maxInFlight = 4;
 
     public DocumentSummariser(String filePath) {
 
@@ -67,6 +71,15 @@ public class DocumentSummariser {
         }
     }
 
+    /**
+     * @param llm         - the LLM to send the document to (for example with a cache set); by default Mistral (small)
+     * @param maxInFlight - the number of sections of the document to send at once
+     */
+    public void setLLM(LLMAccess llm, int maxInFlight) {
+        this.llm = llm;
+        this.maxInFlight = maxInFlight;
+    }
+
     public String processText() {
         return processText("Game Rules", 500);
     }
@@ -93,31 +106,42 @@ public class DocumentSummariser {
                 Be concise and clear.
                 """, areaOfInterest, wordLimit);
 
-        LLMAccess llm = new LLMAccess(LLMAccess.LLM_MODEL.MISTRAL, LLMAccess.LLM_SIZE.SMALL, "RulesSummary_LLM_Log.txt");
+        if (llm == null)
+            llm = new LLMAccess(LLMAccess.LLM_MODEL.MISTRAL, LLMAccess.LLM_SIZE.SMALL, "RulesSummary_LLM_Log.txt");
 
         int charactersPerRequest = 2500;
         int characterOverlap = 500;
         int totalLength = documentProcessedText.length();
         int start = 0;
-        StringBuilder summary = new StringBuilder();
+        List<String> sections = new ArrayList<>();
         while (start < totalLength) {
             int end = start + charactersPerRequest;
-            String text = documentProcessedText.substring(start, Math.min(end, totalLength));
-            String prompt = queryPrompt + "\n" + text;
-            String response = llm.getResponse(prompt);
+            sections.add(documentProcessedText.substring(start, Math.min(end, totalLength)));
+            start = end - characterOverlap;
+        }
+
+        // Each section is rated (and then summarised) independently, so these are sent together
+        List<String> ratingPrompts = new ArrayList<>();
+        for (String text : sections)
+            ratingPrompts.add(queryPrompt + "\n" + text);
+        List<String> ratings = llm.getResponses(ratingPrompts, maxInFlight);
+        List<String> summaryPrompts = new ArrayList<>();
+        for (int i = 0; i < sections.size(); i++) {
+            String response = ratings.get(i);
             int responseInt = 0;
             try {
                 responseInt = Integer.parseInt(response.trim().substring(0, 1));
-            } catch (NumberFormatException e) {
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
                 System.out.println("Invalid response: " + response);
                 responseInt = 1;
             }
             if (responseInt >= 3) {
-                response = llm.getResponse(summaryPrompt + "\n" + text);
-                summary.append(response);
+                summaryPrompts.add(summaryPrompt + "\n" + sections.get(i));
             }
-            start = end - characterOverlap;
         }
+        StringBuilder summary = new StringBuilder();
+        for (String response : llm.getResponses(summaryPrompts, maxInFlight))
+            summary.append(response);
 
         // Now ask for the final summary
         return llm.getResponse(finalSummary + "\n" + summary);
@@ -47,6 +47,9 @@ public class JavaCoder {
         int matchups = Utils.getArg(args, "matchups", 1000);
         String resultsFile = Utils.getArg(args, "results", workingDir + "/HeuristicSearch_Results.txt");
         String evaluatorName = Utils.getArg(args, "evaluator", gameName + "Evaluator");
+        // responses are kept here, and prompts already sent are answered from here (offline=true for only from here)
+        String cacheDir = Utils.getArg(args, "cache", "");
+        boolean offline = Utils.getArg(args, "offline", false);
         workingDir = workingDir + "/" + modelType + "_" + modelSize + "/" + gameName;
         String llmLogFile = workingDir + "/LLM.log";
         String fileStem = workingDir + "/" + evaluatorName;
@@ -65,6 +68,10 @@ public class JavaCoder {
         LLM_MODEL llmModel = LLM_MODEL.valueOf(modelType);
 
         LLMAccess llm = new LLMAccess(llmModel, llmSize, llmLogFile);
+        if (!cacheDir.isEmpty())
+            llm.setCache(cacheDir);
+        if (offline)
+            llm.setOffline(true);
 
         String generatedCode = "";
         String error = "";
@@ -24,7 +24,8 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
+import java.util.*;
+import java.util.concurrent.*;
 
 public class LLMAccess {
 
@@ -39,6 +40,8 @@ public class LLMAccess {
     String geminiProject = System.getenv("GEMINI_PROJECT");
     String openaiToken = System.getenv("OPENAI_TOKEN");
     String anthropicToken = System.getenv("ANTHROPIC_TOKEN");
+    String cacheDirectory = System.getenv("LLM_CACHE_DIR");
+    String offlineMode = System.getenv("LLM_OFFLINE");
 
     File logFile;
     FileWriter logWriter;
@@ -54,6 +57,10 @@ public class LLMAccess {
     long inputTokens = 0;
     long outputTokens = 0;
 
+    ResponseCache cache;
+    boolean offline;
+    Responder responder;
+
     public enum LLM_MODEL {
         GEMINI,
         MISTRAL,
@@ -68,6 +75,14 @@ public class LLMAccess {
         REASONING
     }
 
+    /**
+     * Answers a prompt in place of the hosted models; for example a local stand-in server, or a fake in tests.
+     */
+    @FunctionalInterface
+    public interface Responder {
+        String respond(String query, LLM_MODEL modelType, LLM_SIZE modelSize);
+    }
+
 
     /**
      * Constructor for LLMAccess
@@ -87,6 +102,9 @@ public class LLMAccess {
         }
         this.modelType = modelType;
         this.modelSize = modelSize;
+        if (cacheDirectory != null && !cacheDirectory.isEmpty())
+            cache = new ResponseCache(cacheDirectory);
+        offline = Boolean.parseBoolean(offlineMode);
         if (geminiProject != null && !geminiProject.isEmpty()) {
             try {
                 geminiModel[1] = VertexAiGeminiChatModel.builder()
@@ -156,6 +174,32 @@ public class LLMAccess {
 
     }
 
+    /**
+     * Keeps every response in the directory, and answers any prompt already sent to the same model and size from
+     * there instead of calling the model again.
+     *
+     * @param directory - the directory to hold the responses; or null to stop caching. This is also set from the
+     *                  LLM_CACHE_DIR environment variable.
+     */
+    public void setCache(String directory) {
+        cache = directory == null || directory.isEmpty() ? null : new ResponseCache(directory);
+    }
+
+    /**
+     * When offline, prompts are only answered from the cache, and no model is ever called (a prompt that is not
+     * in the cache gets "No reply available"). This is also set from the LLM_OFFLINE environment variable.
+     */
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    /**
+     * @param responder - used to answer prompts instead of the hosted models; or null to use the models
+     */
+    public void setResponder(Responder responder) {
+        this.responder = responder;
+    }
+
     /**
      * Gets some text from the specified model
      *
@@ -164,10 +208,24 @@ public class LLMAccess {
      * @return The full text returned by the model; or an empty string if no valid model
      */
     public String getResponse(String query, LLM_MODEL modelType, LLM_SIZE modelSize) {
+        if (cache != null) {
+            String cached = cache.get(modelType, modelSize, query);
+            if (cached != null) {
+                log(modelType, query, cached);
+                return cached;
+            }
+        }
+        if (offline) {
+            System.out.println("No cached response available offline for " + modelType + " " + modelSize);
+            return "No reply available";
+        }
+
         String response = "";
-        inputTokens += tokenizer.estimateTokenCountInText(query);
+        addTokens(tokenizer.estimateTokenCountInText(query), 0);
 
-        if (modelType == LLM_MODEL.LLAMA) {
+        if (responder != null) {
+            response = responder.respond(query, modelType, modelSize);
+        } else if (modelType == LLM_MODEL.LLAMA) {
             // do this the hardcore way
             response = getResponseWithLowLevelHttp(query, modelSize);
         } else {
@@ -197,18 +255,76 @@ public class LLMAccess {
                 return "No reply available";
             }
         }
+        log(modelType, query, response);
+        addTokens(0, tokenizer.estimateTokenCountInText(response));
+        // a failed request is not cached, so that it is tried again next time
+        if (cache != null && response != null && !response.isEmpty())
+            cache.put(modelType, modelSize, query, response);
+        return response;
+    }
+
+    /**
+     * Sends several prompts to the specified model at once, with no more than maxInFlight waiting for a reply at
+     * any time. Identical prompts are only sent once, and any in the cache are answered from there.
+     *
+     * @param queries     the prompts sent to the model
+     * @param maxInFlight the maximum number of requests to have outstanding at once
+     * @return the response to each prompt, in the same order as the prompts
+     */
+    public List<String> getResponses(List<String> queries, LLM_MODEL modelType, LLM_SIZE modelSize, int maxInFlight) {
+        if (maxInFlight < 1)
+            throw new IllegalArgumentException("Must allow at least one request in flight : " + maxInFlight);
+        Set<String> distinct = new LinkedHashSet<>(queries);
+        if (distinct.isEmpty())
+            return new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(maxInFlight, distinct.size()), r -> {
+            Thread thread = new Thread(r, "LLMAccess");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, Future<String>> futures = new HashMap<>();
+            for (String query : distinct)
+                futures.put(query, pool.submit(() -> getResponse(query, modelType, modelSize)));
+            List<String> responses = new ArrayList<>(queries.size());
+            for (String query : queries)
+                responses.add(futures.get(query).get());
+            return responses;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for LLM responses", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to get LLM response", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * This will use the default LLM model specified in the constructor
+     */
+    public List<String> getResponses(List<String> queries, int maxInFlight) {
+        return getResponses(queries, this.modelType, this.modelSize, maxInFlight);
+    }
+
+    private synchronized void addTokens(long input, long output) {
+        inputTokens += input;
+        outputTokens += output;
+    }
+
+    private void log(LLM_MODEL modelType, String query, String response) {
         // Write to file (if log file is specified)
         if (logWriter != null) {
             String output = String.format("\nModel: %s\nQuery: %s\nResponse: %s\n", modelType, query, response);
-            try {
-                logWriter.write(output);
-                logWriter.flush();
-            } catch (Exception e) {
-                System.out.println("Error writing to log file: " + e.getMessage());
+            synchronized (logWriter) {
+                try {
+                    logWriter.write(output);
+                    logWriter.flush();
+                } catch (Exception e) {
+                    System.out.println("Error writing to log file: " + e.getMessage());
+                }
             }
         }
-        outputTokens += tokenizer.estimateTokenCountInText(response);
-        return response;
     }
 
     /**
@@ -236,8 +352,7 @@ public class LLMAccess {
         try {
             jsonContent = objectMapper.writeValueAsString(query); // Escapes special characters automatically
         } catch (IOException e) {
-            System.out.println("Error converting query to JSON: " + e.getMessage());
-            return "Error converting query to JSON";
+            throw new RuntimeException("Error converting query to JSON", e);
         }
         String requestBody = String.format("{\"model\":\"%s\", \"stream\":false, \"messages\":[{\"role\": \"user\", \"content\": %s}]}",
                 MODEL_NAME, jsonContent);
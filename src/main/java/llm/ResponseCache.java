@@ -0,0 +1,81 @@
+package llm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * An on-disk store of LLM responses, addressed by the content of the request.
+ * <p>
+ * Each response is held in its own file, named by the SHA-256 hash of the model, size and prompt (in a
+ * sub-directory named by the first two characters of the hash, to keep directories small). So the same prompt
+ * sent to the same model in a later run is answered from disk, and a directory of responses can be copied
+ * between machines (or checked in alongside an experiment) to repeat it offline.
+ * <p>
+ * Files are written to a temporary name and then moved into place, so that several threads (or processes)
+ * sharing a directory never see a partly written response.
+ */
+public class ResponseCache {
+
+    private final File directory;
+
+    public ResponseCache(String directory) {
+        this.directory = new File(directory);
+        if (!this.directory.exists() && !this.directory.mkdirs())
+            throw new IllegalArgumentException("Could not create cache directory " + directory);
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return the cached response, or null if there is none
+     */
+    public String get(LLMAccess.LLM_MODEL model, LLMAccess.LLM_SIZE size, String prompt) {
+        Path path = pathFor(key(model, size, prompt));
+        if (!Files.exists(path))
+            return null;
+        try {
+            return Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("Error reading cached response " + path + " : " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(LLMAccess.LLM_MODEL model, LLMAccess.LLM_SIZE size, String prompt, String response) {
+        Path path = pathFor(key(model, size, prompt));
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            Files.writeString(temp, response, StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Error writing cached response " + path + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * The hex SHA-256 hash of the model, size and prompt, which names the file the response is stored in
+     */
+    public static String key(LLMAccess.LLM_MODEL model, LLMAccess.LLM_SIZE size, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((model + "|" + size + "|" + prompt).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (byte b : hash)
+                sb.append(String.format("%02x", b));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 should always be available", e);
+        }
+    }
+
+    private Path pathFor(String key) {
+        return directory.toPath().resolve(key.substring(0, 2)).resolve(key + ".txt");
+    }
+}
@@ -8,6 +8,7 @@ import games.GameType;
 import players.PlayerFactory;
 import players.heuristics.StringHeuristic;
 import players.search.MaxNSearchPlayer;
+import utilities.Pair;
 import utilities.Utils;
 
 import java.io.*;
@@ -36,8 +37,10 @@ public class StringHeuristicTournament {
         // i) the name of the agent
         // ii) the path to the .java file
         File file = new File(agentConfigFile);
+        int compileThreads = Utils.getArg(args, "compileThreads", Runtime.getRuntime().availableProcessors());
         List<String> javaFiles = new ArrayList<>();
-        Map<String, StringHeuristic> heuristics = new HashMap<>();
+        // the .java file and class name for each agent; these are all compiled together once read
+        Map<String, Pair<String, String>> agentFiles = new LinkedHashMap<>();
 
         if (file.isDirectory()) {
             File[] files = file.listFiles((dir, name) -> name.endsWith(".java"));
@@ -52,8 +55,7 @@ public class StringHeuristicTournament {
                 // Use the file name (without .java) as the agent name
                 agentName = new File(javaFile).getName().replaceFirst("\\.java$", "");
                 String className = agentName + "_" + gameType.name();
-                StringHeuristic heuristic = new StringHeuristic(javaFile, className);
-                heuristics.put(agentName, heuristic);
+                agentFiles.put(agentName, Pair.of(javaFile, className));
             }
 
         } else if (file.exists()) {
@@ -70,8 +72,7 @@ public class StringHeuristicTournament {
                     String className = agentName + "_" + gameType.name();
                     String fileName = parts[1].trim();
                     //       String className = fileName.replaceAll(".*(/|\\\\)(.*?)\\.java", "$2");
-                    StringHeuristic heuristic = new StringHeuristic(fileName, className);
-                    heuristics.put(agentName, heuristic);
+                    agentFiles.put(agentName, Pair.of(fileName, className));
                 }
 
             } catch (IOException e) {
@@ -83,6 +84,8 @@ public class StringHeuristicTournament {
             return;
         }
 
+        Map<String, StringHeuristic> heuristics = StringHeuristic.loadAll(agentFiles, compileThreads);
+
         for (String agentName : heuristics.keySet()) {
             StringHeuristic heuristic = heuristics.get(agentName);
             AbstractPlayer player = PlayerFactory.createPlayer(agentConfig);
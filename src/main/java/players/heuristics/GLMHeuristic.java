@@ -28,6 +28,8 @@ public abstract class GLMHeuristic implements ICoefficients, IHasName {
 
     // This is not actually used, but is available immediately after training
     protected GeneralizedLinearRegressionModel underlyingModel;
+    // The AIC of the fit, when this was trained without a Spark model
+    protected double aic = Double.NaN;
 
     @Override
     public double[] coefficients() {
@@ -79,6 +81,25 @@ public abstract class GLMHeuristic implements ICoefficients, IHasName {
         return underlyingModel;
     }
 
+    /**
+     * @return the Akaike Information Criterion of the model fitted in training (NaN if not trained)
+     */
+    public double getAIC() {
+        if (underlyingModel != null)
+            return underlyingModel.summary().aic();
+        return aic;
+    }
+
+    /**
+     * Sets the coefficients (with the intercept first) and AIC of a model fitted without Spark.
+     */
+    public GLMHeuristic setFit(double[] coefficients, double aic) {
+        this.underlyingModel = null;
+        this.coefficients = coefficients;
+        this.aic = aic;
+        return this;
+    }
+
     public GLMHeuristic setModel(GeneralizedLinearRegressionModel model) {
         this.underlyingModel = model;
         double[] coeffs = model.coefficients().toArray();
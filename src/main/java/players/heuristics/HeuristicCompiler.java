@@ -0,0 +1,193 @@
+package players.heuristics;
+
+import core.AbstractGameState;
+import core.interfaces.IStateHeuristic;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compiles the source of a heuristic class held in memory, and binds its evaluateState(AbstractGameState, int)
+ * method to an IStateHeuristic.
+ * <p>
+ * Nothing is written to disk. The class files are kept in memory and loaded by a class loader for that compilation
+ * alone, so two candidates can use the same class name, and a candidate that is no longer used can be garbage
+ * collected along with its classes. The method is bound to a MethodHandle once, so each call to the heuristic is an
+ * invokeExact() on that handle, rather than a reflective Method.invoke().
+ */
+class HeuristicCompiler {
+
+    private static final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+    /**
+     * Compiles the source, which must contain a public class called className (in any package), with a public
+     * evaluateState(AbstractGameState, int) method that returns a double. An instance is created with the no-argument
+     * constructor.
+     *
+     * @throws RuntimeException if the source does not compile, or the class does not have the method required
+     */
+    static IStateHeuristic compile(String className, String sourceCode) {
+        if (compiler == null)
+            throw new AssertionError("No Java compiler available : a JDK is needed to compile heuristics");
+        Map<String, byte[]> classFiles = compileToBytes(Map.of(className, sourceCode));
+        String fullName = classFiles.keySet().stream()
+                .filter(name -> name.equals(className) || name.endsWith("." + className))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Compiled source does not contain class " + className));
+        try {
+            ClassLoader loader = new MemoryClassLoader(classFiles);
+            Class<?> heuristicClass = loader.loadClass(fullName);
+            // the heuristic is in the unnamed module of its own class loader, which is open to every module
+            return bind(MethodHandles.privateLookupIn(heuristicClass, MethodHandles.lookup()), heuristicClass);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Could not load " + className, e);
+        }
+    }
+
+    /**
+     * Compiles several sources on a pool of threads. Each source is compiled separately (with its own class loader),
+     * so one failing to compile does not affect the others.
+     *
+     * @param sources - class name and source code for each heuristic
+     * @param threads - the number of compilations to run at once
+     * @return for each source in turn, the completed compilation; get() returns the heuristic, or throws an
+     * ExecutionException with the reason it could not be compiled
+     */
+    static List<Future<IStateHeuristic>> compileAll(List<Map.Entry<String, String>> sources, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, sources.size())));
+        try {
+            List<Callable<IStateHeuristic>> tasks = new ArrayList<>();
+            for (Map.Entry<String, String> source : sources)
+                tasks.add(() -> compile(source.getKey(), source.getValue()));
+            return pool.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while compiling heuristics", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Map<String, byte[]> compileToBytes(Map<String, String> sourceCode) {
+        List<JavaFileObject> sources = new ArrayList<>();
+        sourceCode.forEach((className, code) -> sources.add(new SimpleJavaFileObject(
+                URI.create("string:///" + className + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        }));
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, ByteArrayOutputStream> output = new HashMap<>();
+        // the standard file manager finds the classes referred to (on the class path); only the output is redirected
+        try (JavaFileManager fileManager = new ForwardingJavaFileManager<>(compiler.getStandardFileManager(diagnostics, null, null)) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String name, JavaFileObject.Kind kind, FileObject sibling) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                output.put(name, bytes);
+                return new SimpleJavaFileObject(URI.create("bytes:///" + name.replace('.', '/') + kind.extension), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {
+                        return bytes;
+                    }
+                };
+            }
+        }) {
+            boolean success = compiler.getTask(null, fileManager, diagnostics, null, null, sources).call();
+            if (!success) {
+                StringBuilder sb = new StringBuilder();
+                for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                    if (diagnostic.getKind() != Diagnostic.Kind.NOTE) {
+                        // read error details from the diagnostic object
+                        sb.append(diagnostic.getMessage(null)).append("\n");
+                    }
+                }
+                throw new RuntimeException(String.format("Compilation error: %s", sb));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        Map<String, byte[]> retValue = new HashMap<>();
+        output.forEach((name, bytes) -> retValue.put(name, bytes.toByteArray()));
+        return retValue;
+    }
+
+    /**
+     * Wraps an instance of the class (or the class itself, if the method is static) as an IStateHeuristic, which
+     * calls evaluateState through a MethodHandle.
+     *
+     * @param lookup - a Lookup with access to the class
+     */
+    static IStateHeuristic bind(MethodHandles.Lookup lookup, Class<?> heuristicClass) {
+        try {
+            Method method = heuristicClass.getMethod("evaluateState", AbstractGameState.class, int.class);
+            if (method.getReturnType() != double.class && method.getReturnType() != Double.class)
+                throw new RuntimeException("evaluateState in " + heuristicClass.getName() + " must return a double");
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+            Object instance = isStatic ? null : heuristicClass.getDeclaredConstructor().newInstance();
+            if (instance instanceof IStateHeuristic)
+                return (IStateHeuristic) instance;
+
+            MethodHandle handle = lookup.unreflect(method);
+            if (!isStatic)
+                handle = handle.bindTo(instance);
+            return new BoundHeuristic(handle.asType(MethodType.methodType(double.class, AbstractGameState.class, int.class)));
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(heuristicClass.getName() + " needs a public evaluateState(AbstractGameState, int) method, and a public no-argument constructor", e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException("Could not bind evaluateState in " + heuristicClass.getName(), e);
+        }
+    }
+
+    private static class BoundHeuristic implements IStateHeuristic {
+        private final MethodHandle evaluateState;  // (AbstractGameState, int) -> double
+
+        BoundHeuristic(MethodHandle evaluateState) {
+            this.evaluateState = evaluateState;
+        }
+
+        @Override
+        public double evaluateState(AbstractGameState gs, int playerId) {
+            try {
+                return (double) evaluateState.invokeExact(gs, playerId);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Error in heuristic", e);
+            }
+        }
+    }
+
+    /**
+     * Loads the classes from one compilation, delegating everything else (such as the game classes) to the class
+     * loader of the framework.
+     */
+    private static class MemoryClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classFiles;
+
+        MemoryClassLoader(Map<String, byte[]> classFiles) {
+            super(HeuristicCompiler.class.getClassLoader());
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classFiles.get(name);
+            if (bytes == null)
+                throw new ClassNotFoundException(name);
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
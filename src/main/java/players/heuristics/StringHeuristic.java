@@ -1,24 +1,16 @@
 package players.heuristics;
 
-import com.fasterxml.jackson.databind.annotation.NoClass;
 import core.AbstractGameState;
 import core.CoreConstants;
 import core.interfaces.IStateHeuristic;
-import games.loveletter.LoveLetterGameState;
-import games.tictactoe.TicTacToeGameState;
+import utilities.Pair;
 
-import javax.tools.*;
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public class StringHeuristic implements IStateHeuristic {
 
@@ -27,8 +19,8 @@ public class StringHeuristic implements IStateHeuristic {
 
     private String str;
 
-    Object heuristicClass;
-    Method heuristicFunction;
+    // the compiled code, bound directly to its evaluateState method
+    IStateHeuristic heuristic;
 
 
     public String getFileName() {
@@ -47,12 +39,19 @@ public class StringHeuristic implements IStateHeuristic {
     public StringHeuristic(String fileName, String className) {
         this.fileName = fileName;
         this.className = className;
-        loadFile();
+        str = readFile(fileName);
         compile();
     }
 
-    private void loadFile() {
-        // Read 'str' as whole text in fileName file:
+    private StringHeuristic(String fileName, String className, String str, IStateHeuristic heuristic) {
+        this.fileName = fileName;
+        this.className = className;
+        this.str = str;
+        this.heuristic = heuristic;
+    }
+
+    private static String readFile(String fileName) {
+        // Read the whole text in fileName file:
         try {
             BufferedReader reader = new BufferedReader(new FileReader(fileName));
             StringBuilder stringBuilder = new StringBuilder();
@@ -60,8 +59,8 @@ public class StringHeuristic implements IStateHeuristic {
             while ((line = reader.readLine()) != null) {
                 stringBuilder.append(line).append("\n");
             }
-            str = stringBuilder.toString();
             reader.close();
+            return stringBuilder.toString();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -70,62 +69,56 @@ public class StringHeuristic implements IStateHeuristic {
     private void compile() {
         // Method string
         //String className = fileName.replaceAll(".*/(.*?)\\.java", "$1");
-        // Replace class name in the source code
-        String sourceCode = str.replaceAll("public class .*? \\{", "public class " + className + " {");
-
-        // Compile source code
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
-
-        // Create a file object for the source code
-        JavaFileObject javaFileObject = new SimpleJavaFileObject(
-                URI.create("string:///" + className + ".java"), JavaFileObject.Kind.SOURCE) {
-            @Override
-            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
-                return sourceCode;
-            }
-        };
-
-        // Compile the source code
-        DiagnosticCollector<JavaFileObject> diagnosticsCollector = new DiagnosticCollector<JavaFileObject>();
-
-        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager,
-                diagnosticsCollector, null, null,
-                List.of(javaFileObject));
-
-        boolean success = task.call();
-        if (!success) {
-            StringBuilder sb = new StringBuilder();
-            List<Diagnostic<? extends JavaFileObject>> diagnostics = diagnosticsCollector.getDiagnostics();
-            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
-                if (diagnostic.getKind() != Diagnostic.Kind.NOTE) {
-                    // read error details from the diagnostic object
-                    sb.append(diagnostic.getMessage(null)).append("\n");
-                }
-            }
-            String error = String.format("Compilation error: %s", sb);
-            throw new RuntimeException(error);
-        } else {
-            System.out.println("Heuristic loaded: " + fileName);
-        }
-
-        // Load the compiled class
-        try {
-            URLClassLoader classLoader = URLClassLoader.newInstance(new URL[]{new File("").toURI().toURL()});
-
-            Class<?> dynamicClass = classLoader.loadClass(className);
-
-            // Create an instance of the compiled class
-            heuristicClass = dynamicClass.getDeclaredConstructor().newInstance();
+        heuristic = HeuristicCompiler.compile(className, sourceCode(str, className));
+        System.out.println("Heuristic loaded: " + fileName);
+    }
 
-            // Find and invoke the method using reflection
-            heuristicFunction = dynamicClass.getMethod("evaluateState", AbstractGameState.class, int.class);
+    // Replace class name in the source code
+    private static String sourceCode(String str, String className) {
+        return str.replaceAll("public class .*? \\{", "public class " + className + " {");
+    }
 
-            classLoader.close();
-        } catch (ClassNotFoundException | InvocationTargetException | InstantiationException | IllegalAccessException |
-                 NoSuchMethodException | IOException | NoClassDefFoundError e) {
-            throw new RuntimeException(e);
+    /**
+     * Loads several heuristics, compiling them in parallel. A file that cannot be read or compiled is reported,
+     * and left out of the result.
+     *
+     * @param files   - the file name and class name of each heuristic, keyed by a name for it (such as the name of
+     *                the agent that uses it). Several names may use the same file.
+     * @param threads - the number of files to compile at once
+     * @return the heuristics that were compiled, keyed by the same names
+     */
+    public static Map<String, StringHeuristic> loadAll(Map<String, Pair<String, String>> files, int threads) {
+        List<String> names = new ArrayList<>();
+        List<String> code = new ArrayList<>();
+        List<Map.Entry<String, String>> sources = new ArrayList<>();
+        for (Map.Entry<String, Pair<String, String>> entry : files.entrySet()) {
+            String fileName = entry.getValue().a;
+            String className = entry.getValue().b;
+            try {
+                String str = readFile(fileName);
+                names.add(entry.getKey());
+                code.add(str);
+                sources.add(Map.entry(className, sourceCode(str, className)));
+            } catch (RuntimeException e) {
+                System.out.println("Could not read heuristic " + fileName + " : " + e.getMessage());
+            }
         }
+        List<Future<IStateHeuristic>> compiled = HeuristicCompiler.compileAll(sources, threads);
+        Map<String, StringHeuristic> retValue = new LinkedHashMap<>();
+        for (int i = 0; i < compiled.size(); i++) {
+            String name = names.get(i);
+            String fileName = files.get(name).a;
+            try {
+                retValue.put(name, new StringHeuristic(fileName, files.get(name).b, code.get(i), compiled.get(i).get()));
+                System.out.println("Heuristic loaded: " + fileName);
+            } catch (ExecutionException e) {
+                System.out.println("Could not compile heuristic " + fileName + " : " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while loading heuristics", e);
+            }
+        }
+        return retValue;
     }
 
     @Override
@@ -138,11 +131,7 @@ public class StringHeuristic implements IStateHeuristic {
         if (playerResult == CoreConstants.GameResult.WIN_GAME)
             return 1;
 
-        try {
-            return (double) heuristicFunction.invoke(heuristicClass, gs, playerId);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException("Error invoking heuristic function as it returns a null value : ", e);
-        }
+        return heuristic.evaluateState(gs, playerId);
     }
 
     @Override
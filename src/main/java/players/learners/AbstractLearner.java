@@ -3,8 +3,9 @@ package players.learners;
 import core.interfaces.IActionFeatureVector;
 import core.interfaces.ILearner;
 import core.interfaces.IStateFeatureVector;
-import utilities.Pair;
-import utilities.Utils;
+import evaluation.features.AutomatedFeatures;
+import evaluation.loggers.ColumnarDataReader;
+import evaluation.loggers.DataChunkReader;
 
 import java.util.*;
 
@@ -21,6 +22,12 @@ public abstract class AbstractLearner implements ILearner {
     Target targetType;
     IStateFeatureVector stateFeatureVector;
     IActionFeatureVector actionFeatureVector;
+    long rowCount;
+
+    static final String[] specialColumns = {"GameID", "Player", "Turn", "Round", "Tick", "CurrentScore", "Win", "Ordinal",
+            "FinalScore", "FinalScoreAdv", "TotalRounds", "PlayerCount", "TotalTurns", "TotalTicks",
+            "ActualWin", "ActualOrdinal", "ActualScore", "ActualScoreAdv",
+            "CHOSEN", "ACTION_VISITS", "ADVANTAGE", "ACTION_VALUE", "VISIT_PROPORTION"};
 
     public enum Target {
         WIN("Win", false),  // 0 or 1 for loss/win
@@ -101,15 +108,39 @@ public abstract class AbstractLearner implements ILearner {
         return stateCount + actionCount;
     }
 
+    @Override
+    public Object learnFrom(String... files) {
+        loadData(files);
+        return learnFromLoadedData();
+    }
+
+    /**
+     * Learns from the data in dataArray and target (from loadData(), or bufferStream())
+     */
+    protected abstract Object learnFromLoadedData();
+
+    /**
+     * Provides access to the loaded data as doubles, by row and by column index in the header
+     */
+    private interface NumericData {
+        int rows();
+
+        double get(int row, int column);
+
+        default void close() {
+        }
+    }
+
     protected void loadData(String... files) {
 
-        Pair<List<String>, List<List<String>>> rawData = Utils.loadDataWithHeader("\t", files);
-        header = rawData.a.toArray(new String[0]);
+        NumericData rawData;
+        if (files.length > 0 && Arrays.stream(files).allMatch(ColumnarDataReader::isColumnarFile)) {
+            // binary data from ColumnarStatsLogger can be read directly as doubles, with no parsing
+            rawData = loadColumnarData(files);
+        } else {
+            rawData = loadChunkedData(files);
+        }
 
-        String[] specialColumns = {"GameID", "Player", "Turn", "Round", "Tick", "CurrentScore", "Win", "Ordinal",
-                "FinalScore", "FinalScoreAdv", "TotalRounds", "PlayerCount", "TotalTurns", "TotalTicks",
-                "ActualWin", "ActualOrdinal", "ActualScore", "ActualScoreAdv",
-                "CHOSEN", "ACTION_VISITS", "ADVANTAGE", "ACTION_VALUE", "VISIT_PROPORTION"};
         Map<String, Integer> indexForSpecialColumns = new HashMap<>();
 
         // then set descriptions to the rest of the data
@@ -139,38 +170,21 @@ public abstract class AbstractLearner implements ILearner {
         // TODO: discounting should really use TICKS as more reliably generic across games, even if it
         // does not map in the same way all the time
 
-        dataArray = new double[rawData.b.size()][];
-        target = new double[rawData.b.size()][1];
-        currentScore = new double[rawData.b.size()][1];
+        dataArray = new double[rawData.rows()][];
+        target = new double[rawData.rows()][1];
+        currentScore = new double[rawData.rows()][1];
         for (int i = 0; i < dataArray.length; i++) {
-            List<String> allData = rawData.b.get(i);
             // calculate the number of turns from this point until the end of the game
-            double turns = Double.parseDouble(allData.get(indexForSpecialColumns.get("TotalTurns"))) -
-                    Double.parseDouble(allData.get(indexForSpecialColumns.get("Turn")));
-            double playerCount = Double.parseDouble(allData.get(indexForSpecialColumns.get("PlayerCount")));
+            double turns = rawData.get(i, indexForSpecialColumns.get("TotalTurns")) -
+                    rawData.get(i, indexForSpecialColumns.get("Turn"));
+            double playerCount = rawData.get(i, indexForSpecialColumns.get("PlayerCount"));
             int targetIndex = indexForSpecialColumns.getOrDefault(targetType.header, -1);
             if (targetIndex == -1) {
                 throw new IllegalArgumentException("Target " + targetType.header + " not found in data");
             }
-            // discount target (towards expected result where relevant)
-            double expectedAverage = 0.0;
-            if (targetType == Target.WIN_MEAN)
-                expectedAverage = 1.0 / playerCount;
-            if (targetType == Target.ORD_MEAN || targetType == Target.ORD_MEAN_SCALE)
-                expectedAverage = (1.0 + playerCount) / 2.0;
-
-            if (targetType == Target.SCORE_DELTA)
-                target[i][0] = Double.parseDouble(allData.get(targetIndex)) * Math.pow(gamma, turns);
-            else {
-                target[i][0] = (Double.parseDouble(allData.get(targetIndex)) - expectedAverage) * Math.pow(gamma, turns) + expectedAverage;
-            }
+            target[i][0] = target(rawData.get(i, targetIndex), turns, playerCount);
 
-            if (targetType == Target.ORDINAL || targetType == Target.ORD_MEAN)
-                target[i][0] = -target[i][0];  // if we are targeting the Ordinal position, then high is bad!
-            if (targetType == Target.ORD_MEAN_SCALE || targetType == Target.ORD_SCALE)
-                target[i][0] = (playerCount - target[i][0]) / (playerCount - 1.0);  // scale to [0, 1]
-
-            currentScore[i][0] = Double.parseDouble(allData.get(indexForSpecialColumns.get("CurrentScore")));
+            currentScore[i][0] = rawData.get(i, indexForSpecialColumns.get("CurrentScore"));
             double[] regressionData = new double[descriptions.length + 1];
             regressionData[0] = 1.0; // the bias term
             // then copy the rest of the data into the regression data
@@ -178,12 +192,239 @@ public abstract class AbstractLearner implements ILearner {
             int j = 1;
             for (String h : descriptions) {
                 if (indexForDescriptions.get(h) != null) {
-                    regressionData[j] = Double.parseDouble(allData.get(indexForDescriptions.get(h)));
+                    regressionData[j] = rawData.get(i, indexForDescriptions.get(h));
                     j++;
                 }
             }
             dataArray[i] = regressionData;
         }
+        rowCount = dataArray.length;
+        rawData.close();
+    }
+
+    /**
+     * @return the target for a row of data, given the raw value in the target column
+     */
+    protected double target(double rawValue, double turns, double playerCount) {
+        // discount target (towards expected result where relevant)
+        double expectedAverage = 0.0;
+        if (targetType == Target.WIN_MEAN)
+            expectedAverage = 1.0 / playerCount;
+        if (targetType == Target.ORD_MEAN || targetType == Target.ORD_MEAN_SCALE)
+            expectedAverage = (1.0 + playerCount) / 2.0;
+
+        double retValue;
+        if (targetType == Target.SCORE_DELTA)
+            retValue = rawValue * Math.pow(gamma, turns);
+        else {
+            retValue = (rawValue - expectedAverage) * Math.pow(gamma, turns) + expectedAverage;
+        }
+
+        if (targetType == Target.ORDINAL || targetType == Target.ORD_MEAN)
+            retValue = -retValue;  // if we are targeting the Ordinal position, then high is bad!
+        if (targetType == Target.ORD_MEAN_SCALE || targetType == Target.ORD_SCALE)
+            retValue = (playerCount - retValue) / (playerCount - 1.0);  // scale to [0, 1]
+        return retValue;
+    }
+
+    /**
+     * Learns from data that is read a chunk at a time, rather than loaded into memory, so that the size of the
+     * data is limited only by disk space. The files may be already processed (with a column for every feature),
+     * or, if the feature vector is an AutomatedFeatures, the raw data it was derived from; in which case each row
+     * is expanded to the full set of features as it is read.
+     * <p>
+     * By default the expanded rows are then held in memory, and we learn from them as learnFrom() does. Learners
+     * that can be fitted from sufficient statistics (see StreamingGLM) override this so that memory does not
+     * grow with the number of rows.
+     */
+    public Object learnFromStream(String... files) {
+        bufferStream(files);
+        return learnFromLoadedData();
+    }
+
+    /**
+     * Reads the files as learnFromStream() does, into dataArray and target
+     */
+    protected void bufferStream(String... files) {
+        List<double[]> rows = new ArrayList<>();
+        List<Double> targets = new ArrayList<>();
+        long[] skipped = new long[1];
+        streamRows(skipped, files).forEachRow((x, y) -> {
+            rows.add(x.clone());
+            targets.add(y);
+        });
+        if (skipped[0] > 0)
+            System.out.printf("Skipped %d rows with missing or non-numeric values%n", skipped[0]);
+        dataArray = rows.toArray(new double[0][]);
+        target = new double[dataArray.length][1];
+        for (int i = 0; i < dataArray.length; i++)
+            target[i][0] = targets.get(i);
+        rowCount = dataArray.length;
+    }
+
+    /**
+     * Fits a GLM to the target, streaming the data from the files (once for OLS, and once per iteration for
+     * logistic regression).
+     */
+    protected StreamingGLM.Fit fitFromStream(StreamingGLM glm, String... files) {
+        long[] skipped = new long[1];
+        StreamingGLM.DataPass data = streamRows(skipped, files);
+        StreamingGLM.Fit retValue = glm.fit(descriptions.length + 1, data);
+        if (skipped[0] > 0)
+            System.out.printf("Skipped %d rows with missing or non-numeric values%n", skipped[0]);
+        rowCount = retValue.rows();
+        return retValue;
+    }
+
+    /**
+     * @param skipped - set to the number of rows skipped (as not all numeric) in the latest pass
+     * @return a pass over the rows in the files, as the features (with a leading bias term) and the target
+     */
+    private StreamingGLM.DataPass streamRows(long[] skipped, String... files) {
+        descriptions = stateFeatureVector == null ?
+                actionFeatureVector.names() : stateFeatureVector.names();
+        Object features = stateFeatureVector == null ? actionFeatureVector : stateFeatureVector;
+        return consumer -> {
+            skipped[0] = 0;
+            try (DataChunkReader reader = new DataChunkReader(files)) {
+                String[] fileHeader = reader.getHeader();
+                List<String> headerList = Arrays.asList(fileHeader);
+                int turnIndex = headerList.indexOf("Turn");
+                int totalTurnsIndex = headerList.indexOf("TotalTurns");
+                int playerCountIndex = headerList.indexOf("PlayerCount");
+                int targetIndex = headerList.indexOf(targetType.header);
+                if (targetIndex == -1)
+                    throw new IllegalArgumentException("Target " + targetType.header + " not found in data");
+                if (turnIndex == -1 || totalTurnsIndex == -1 || playerCountIndex == -1)
+                    throw new IllegalArgumentException("Data must include Turn, TotalTurns and PlayerCount columns");
+
+                // if the data has already been processed then we read the features directly, otherwise we expand
+                // the raw data as we go
+                int[] featureColumns = Arrays.stream(descriptions).mapToInt(headerList::indexOf).toArray();
+                AutomatedFeatures asf = null;
+                int[] underlyingColumns = null;
+                if (Arrays.stream(featureColumns).anyMatch(c -> c == -1) && features instanceof AutomatedFeatures automated) {
+                    asf = automated;
+                    underlyingColumns = asf.underlyingColumns(fileHeader);
+                }
+                double[] x = new double[descriptions.length + 1];
+                DataChunkReader.Chunk chunk;
+                while ((chunk = reader.nextColumnChunk()) != null) {
+                    for (int row = 0; row < chunk.rows(); row++) {
+                        x[0] = 1.0; // the bias term
+                        if (asf != null) {
+                            asf.expandRow(chunk, row, underlyingColumns, x, 1);
+                        } else {
+                            for (int j = 0; j < featureColumns.length; j++)
+                                x[j + 1] = featureColumns[j] == -1 ? 0.0 : chunk.getDouble(row, featureColumns[j]);
+                        }
+                        double turns = chunk.getDouble(row, totalTurnsIndex) - chunk.getDouble(row, turnIndex);
+                        double y = target(chunk.getDouble(row, targetIndex), turns, chunk.getDouble(row, playerCountIndex));
+                        if (Double.isFinite(y) && Arrays.stream(x).allMatch(Double::isFinite))
+                            consumer.accept(x, y);
+                        else
+                            skipped[0]++;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Fits a GLM to the data already in memory from loadData(). This is the same model as fitFromStream() gives,
+     * but without reading the files for every pass.
+     */
+    protected StreamingGLM.Fit fitLoadedData(StreamingGLM glm) {
+        if (dataArray.length == 0)
+            throw new IllegalArgumentException("No data to fit");
+        StreamingGLM.DataPass data = consumer -> {
+            for (int i = 0; i < dataArray.length; i++)
+                consumer.accept(dataArray[i], target[i][0]);
+        };
+        return glm.fit(dataArray[0].length, data);
+    }
+
+    /**
+     * @return the number of rows of data used in the most recent fit
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+
+    /**
+     * Reads text data files (or a mix of text and binary ones), a chunk at a time. Binary columns of numbers are used
+     * as they are, and each column of text is only parsed (once) when first needed.
+     */
+    private NumericData loadChunkedData(String... files) {
+        List<DataChunkReader.Chunk> chunks = new ArrayList<>();
+        try (DataChunkReader reader = new DataChunkReader(files)) {
+            header = reader.getHeader();
+            DataChunkReader.Chunk chunk;
+            while ((chunk = reader.nextColumnChunk()) != null)
+                chunks.add(chunk);
+        }
+        int totalRows = chunks.stream().mapToInt(DataChunkReader.Chunk::rows).sum();
+        double[][] columns = new double[header.length][];
+        return new NumericData() {
+            public int rows() {
+                return totalRows;
+            }
+
+            public double get(int row, int column) {
+                if (columns[column] == null) {
+                    double[] allValues = new double[totalRows];
+                    int start = 0;
+                    for (DataChunkReader.Chunk chunk : chunks) {
+                        for (int r = 0; r < chunk.rows(); r++)
+                            allValues[start + r] = chunk.getDouble(r, column);
+                        start += chunk.rows();
+                    }
+                    columns[column] = allValues;
+                }
+                return columns[column][row];
+            }
+        };
+    }
+
+    /**
+     * Reads binary data files from ColumnarStatsLogger. Columns are only read (as doubles) when first needed.
+     * All files must have the same header.
+     */
+    private NumericData loadColumnarData(String... files) {
+        List<ColumnarDataReader> readers = Arrays.stream(files).map(ColumnarDataReader::new).toList();
+        header = readers.get(0).getHeader();
+        for (ColumnarDataReader reader : readers) {
+            if (!Arrays.equals(header, reader.getHeader())) {
+                readers.forEach(ColumnarDataReader::close);
+                throw new IllegalArgumentException("All data files must have the same columns : " + Arrays.toString(files));
+            }
+        }
+        int totalRows = readers.stream().mapToInt(ColumnarDataReader::size).sum();
+        double[][] columns = new double[header.length][];
+        return new NumericData() {
+            public int rows() {
+                return totalRows;
+            }
+
+            public double get(int row, int column) {
+                if (columns[column] == null) {
+                    double[] allValues = new double[totalRows];
+                    int start = 0;
+                    for (ColumnarDataReader reader : readers) {
+                        double[] fileValues = reader.getDoubleColumn(column);
+                        System.arraycopy(fileValues, 0, allValues, start, fileValues.length);
+                        start += fileValues.length;
+                    }
+                    columns[column] = allValues;
+                }
+                return columns[column][row];
+            }
+
+            public void close() {
+                readers.forEach(ColumnarDataReader::close);
+            }
+        };
     }
 
 }
@@ -45,8 +45,7 @@ public abstract class ApacheLearner extends AbstractLearner {
 
 
     @Override
-    public Object learnFrom(String... files) {
-        loadData(files);
+    protected Object learnFromLoadedData() {
         // first add the target to the data array so that we can convert to an apache dataset (we just add on the target)
         double[][] apacheDataArray = new double[dataArray.length][dataArray[0].length];
         for (int i = 0; i < dataArray.length; i++) {
@@ -0,0 +1,36 @@
+package players.learners;
+
+import players.heuristics.*;
+
+/**
+ * The heuristics for the linear and logistic models fitted by a learner, whether with Spark (OLSLearner and
+ * LogisticLearner) or without (NativeOLSLearner and NativeLogisticLearner). The coefficients are set on the
+ * heuristic once the model is fitted.
+ */
+class GLMHeuristics {
+
+    private GLMHeuristics() {
+    }
+
+    static GLMHeuristic linear(AbstractLearner learner) {
+        if (learner.actionFeatureVector == null) {
+            return new LinearStateHeuristic(learner.stateFeatureVector, (double[]) null,
+                    switch (learner.targetType) {
+                        case ORDINAL, ORD_MEAN, ORD_SCALE, ORD_MEAN_SCALE -> new OrdinalPosition();
+                        case SCORE -> new PureScoreHeuristic();
+                        case SCORE_DELTA -> new LeaderHeuristic();
+                        default -> new WinOnlyHeuristic();
+                    });
+        } else {
+            return new LinearActionHeuristic(learner.actionFeatureVector, learner.stateFeatureVector, (double[]) null);
+        }
+    }
+
+    static GLMHeuristic logistic(AbstractLearner learner) {
+        if (learner.actionFeatureVector == null) {
+            return new LogisticStateHeuristic(learner.stateFeatureVector, (double[]) null, new WinOnlyHeuristic());
+        } else {
+            return new LogisticActionHeuristic(learner.actionFeatureVector, learner.stateFeatureVector, (double[]) null);
+        }
+    }
+}
@@ -31,6 +31,10 @@ public class LearnFromData {
     String data;
     boolean debug = false;
     int maxRecords = 10000;
+    // if true, the model is fitted to all the data, streamed from disk, and only the construction of the features
+    // (the buckets for numeric features, and the values of string features) uses the first maxRecords rows
+    boolean streaming = false;
+    String[] streamedFiles;
 
 
     public static void main(String[] args) {
@@ -69,6 +73,8 @@ public class LearnFromData {
 
         LearnFromData learnFromData = new LearnFromData(data, stateFeatures, actionFeatures,
                 outputFileName, learner, 3, 30);
+        learnFromData.setMaxRecords(Utils.getArg(args, "maxRecords", 10000));
+        learnFromData.setStreaming(Utils.getArg(args, "streaming", false));
         learnFromData.learn();
     }
 
@@ -92,12 +98,20 @@ public class LearnFromData {
         String[] dataFiles = new String[]{data};
         if (dataFile.isDirectory()) {
             convertedDataFile = data + File.separator + "ASF.txt";
-            dataFiles = dataFile.list();
+            String converted = convertedDataFile;
+            // the directory may hold shards of data written in parallel (some possibly empty), as well as the
+            // intermediate files from a previous run of improveModel()
+            dataFiles = Arrays.stream(Objects.requireNonNull(dataFile.listFiles()))
+                    .filter(f -> f.isFile() && f.length() > 0 && !f.getName().startsWith("ImproveModel_"))
+                    .map(File::getPath)
+                    .filter(f -> !f.equals(converted))
+                    .sorted()
+                    .toArray(String[]::new);
         }
 
         AutomatedFeatures asf = new AutomatedFeatures(stateFeatures, actionFeatures);
         // construct the output file by adding _ASF before the suffix (which can be anything)
-        List<List<Object>> convertedData = asf.processData(true, convertedDataFile, maxRecords, dataFiles);
+        asf.processData(true, convertedDataFile, maxRecords, dataFiles);
 
         // this will have created the raw data from which we now learn
         // whichever of state/action features is not null will prompt the type of Heuristic learned
@@ -107,10 +121,18 @@ public class LearnFromData {
             learner.setStateFeatureVector(asf);
         // this creates the extended AutomatedFeatures, and fits to this; before considering any interactions, bucketing or pruning
         int startingFeatureCount = learner.featureCount();
-        Object learnedThing = learner.learnFrom(convertedDataFile);
+        Object learnedThing;
+        if (streaming) {
+            // we fit to all the raw data, expanding each row as it is read
+            streamedFiles = dataFiles;
+            learnedThing = learner.learnFromStream(streamedFiles);
+        } else {
+            learnedThing = learner.learnFrom(convertedDataFile);
+        }
+        long rows = learner.getRowCount();
 
         // we are now in a position to modify the features in a loop
-        learnedThing = improveModel(learnedThing, learner, convertedData.size(), convertedDataFile);
+        learnedThing = improveModel(learnedThing, learner, rows, convertedDataFile);
 
         if (learnedThing instanceof IToJSON toJSON) {
             JSONObject json = toJSON.toJSON();
@@ -134,20 +156,20 @@ public class LearnFromData {
         }
         long endTime = System.currentTimeMillis();
         System.out.printf("Learned heuristic in %d minutes with %d -> %d features and %d rows%n",
-                (endTime - startTime) / 60000, startingFeatureCount, learner.featureCount(), convertedData.size());
+                (endTime - startTime) / 60000, startingFeatureCount, learner.featureCount(), rows);
         return learnedThing;
     }
 
     private Object improveModel(Object startingHeuristic,
                                 AbstractLearner learner,
-                                int n,
+                                long n,
                                 String... dataFiles) {
 
         long startTime = System.currentTimeMillis();
         if (startingHeuristic instanceof GLMHeuristic glm) {
             AutomatedFeatures asf = (AutomatedFeatures) (learner.getActionFeatureVector() != null ? learner.getActionFeatureVector() : learner.getStateFeatureVector());
             String bestFeatureDescription = "";
-            double baseBIC = bicFromAic(glm.getModel().summary().aic(), asf.names().length, n);
+            double baseBIC = bicFromAic(glm.getAIC(), asf.names().length, n);
             double bestBIC = baseBIC;
             System.out.println("Starting modified BIC: " + baseBIC);
             List<String> excludedFeatures = new ArrayList<>();
@@ -324,7 +346,7 @@ public class LearnFromData {
                     startTime = System.currentTimeMillis();
                     bicMultiplier = bicMultiplier + baseBicMultiplier;
                     // then adjust current bestBIC to reflect the new multiplier
-                    bestBIC = bicFromAic(glm.getModel().summary().aic(), asf.names().length, n);
+                    bestBIC = bicFromAic(glm.getAIC(), asf.names().length, n);
                 }
             } while (bestFeatures != null);
 
@@ -361,6 +383,15 @@ public class LearnFromData {
         maxRecords = i;
     }
 
+    /**
+     * If streaming, the model is fitted to all the data, read a chunk at a time (and once per candidate model
+     * when improving it). Only the first maxRecords rows are held in memory, to define the features. The learner
+     * must support learnFromStream().
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     private record FeatureAnalysisResult(
             AutomatedFeatures adjustedASF,
             GLMHeuristic newHeuristic,
@@ -371,7 +402,7 @@ public class LearnFromData {
                                             String outputFile,
                                             String[] rawData,
                                             AbstractLearner learner,
-                                            int n) {
+                                            long n) {
 
         AutomatedFeatures localASF = asf.copy();
         if (rawData != null && rawData.length > 0)
@@ -382,12 +413,13 @@ public class LearnFromData {
         else
             learner.setStateFeatureVector(localASF);
 
-        GLMHeuristic newHeuristic = (GLMHeuristic) learner.learnFrom(outputFile);
-        double newBIC = bicFromAic(newHeuristic.getModel().summary().aic(), localASF.names().length, n);
+        // when streaming, the processed file is just a sample used to define the features, and we fit to all the data
+        GLMHeuristic newHeuristic = (GLMHeuristic) (streaming ? learner.learnFromStream(streamedFiles) : learner.learnFrom(outputFile));
+        double newBIC = bicFromAic(newHeuristic.getAIC(), localASF.names().length, n);
         return new FeatureAnalysisResult(localASF, newHeuristic, newBIC);
     }
 
-    private double bicFromAic(double aic, int k, int n) {
+    private double bicFromAic(double aic, int k, long n) {
         double nll = aic / 2.0 - k;
         return 2 * nll + bicMultiplier * k * Math.log(n);
     }
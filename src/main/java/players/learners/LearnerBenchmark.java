@@ -0,0 +1,82 @@
+package players.learners;
+
+import core.interfaces.IActionFeatureVector;
+import core.interfaces.IStateFeatureVector;
+import players.heuristics.GLMHeuristic;
+import utilities.JSONUtils;
+import utilities.Utils;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+/**
+ * Compares the time to learn a model with the native (NativeOLSLearner / NativeLogisticLearner) and Spark
+ * (OLSLearner / LogisticLearner) implementations, and checks they give the same coefficients.
+ * <p>
+ * The first fit with each includes all the startup costs (for Spark, creating the SparkSession), as happens for
+ * each run of LearnFromData, and is reported separately from the average of the subsequent fits. The native
+ * learners are always run first, so that nothing they do is paid for by Spark.
+ * <p>
+ * Arguments (as name=value):
+ * <ul>
+ *     <li>data - the data file (with a column for each feature of the feature vector)</li>
+ *     <li>state / action - the class of the IStateFeatureVector or IActionFeatureVector</li>
+ *     <li>learner - OLS or Logistic (default OLS)</li>
+ *     <li>target - the AbstractLearner.Target (default WIN)</li>
+ *     <li>gamma, regParam - as for the learners (defaults 1.0 and 0.1)</li>
+ *     <li>repeats - the number of fits after the first (default 5)</li>
+ * </ul>
+ * Spark needs the --add-opens JVM options it requires on recent versions of Java.
+ */
+public class LearnerBenchmark {
+
+    public static void main(String[] args) {
+        String data = Utils.getArg(args, "data", "");
+        if (data.isEmpty() || !new File(data).exists()) {
+            System.out.println("Need to specify an existing data file");
+            System.exit(0);
+        }
+        String stateClassString = Utils.getArg(args, "state", "");
+        IStateFeatureVector stateFeatures = stateClassString.isEmpty() ? null : JSONUtils.loadClass(stateClassString);
+        String actionClassString = Utils.getArg(args, "action", "");
+        IActionFeatureVector actionFeatures = actionClassString.isEmpty() ? null : JSONUtils.loadClass(actionClassString);
+        if (stateFeatures == null && actionFeatures == null) {
+            System.out.println("Need to specify a state or action feature vector");
+            System.exit(0);
+        }
+        boolean logistic = Utils.getArg(args, "learner", "OLS").equalsIgnoreCase("Logistic");
+        AbstractLearner.Target target = Utils.getArg(args, "target", AbstractLearner.Target.WIN);
+        double gamma = Utils.getArg(args, "gamma", 1.0);
+        double regParam = Utils.getArg(args, "regParam", 0.1);
+        int repeats = Utils.getArg(args, "repeats", 5);
+
+        Supplier<AbstractLearner> nativeLearner = () -> logistic ?
+                new NativeLogisticLearner(gamma, regParam, target, stateFeatures, actionFeatures) :
+                new NativeOLSLearner(gamma, regParam, target, stateFeatures, actionFeatures);
+        Supplier<AbstractLearner> sparkLearner = () -> logistic ?
+                new LogisticLearner(gamma, regParam, target, stateFeatures, actionFeatures) :
+                new OLSLearner(gamma, regParam, target, stateFeatures, actionFeatures);
+
+        System.out.printf("%-10s %12s %12s %12s%n", "Learner", "First (ms)", "Mean (ms)", "AIC");
+        GLMHeuristic nativeModel = run("Native", nativeLearner, data, repeats);
+        GLMHeuristic sparkModel = run("Spark", sparkLearner, data, repeats);
+
+        double[] a = nativeModel.coefficients(), b = sparkModel.coefficients();
+        double maxDifference = 0.0;
+        for (int i = 0; i < a.length; i++)
+            maxDifference = Math.max(maxDifference, Math.abs(a[i] - b[i]));
+        System.out.printf("%d coefficients, with a maximum difference of %.3g%n", a.length, maxDifference);
+    }
+
+    private static GLMHeuristic run(String name, Supplier<AbstractLearner> factory, String data, int repeats) {
+        long start = System.nanoTime();
+        GLMHeuristic retValue = (GLMHeuristic) factory.get().learnFrom(data);
+        long first = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < repeats; i++)
+            retValue = (GLMHeuristic) factory.get().learnFrom(data);
+        double mean = repeats == 0 ? Double.NaN : (System.nanoTime() - start) / 1e6 / repeats;
+        System.out.printf("%-10s %12d %12.1f %12.2f%n", name, first / 1_000_000, mean, retValue.getAIC());
+        return retValue;
+    }
+}
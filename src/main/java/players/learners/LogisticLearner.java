@@ -8,10 +8,7 @@ import org.apache.spark.ml.regression.GeneralizedLinearRegressionModel;
 import org.apache.spark.sql.AnalysisException;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
-import players.heuristics.LogisticActionHeuristic;
-import players.heuristics.LogisticStateHeuristic;
-import players.heuristics.OrdinalPosition;
-import players.heuristics.WinOnlyHeuristic;
+import players.heuristics.GLMHeuristic;
 
 import java.io.FileWriter;
 import java.util.Arrays;
@@ -20,7 +17,6 @@ import static java.util.stream.Collectors.joining;
 
 public class LogisticLearner extends ApacheLearner {
 
-    double[] coefficients;
     double regParam = 0.1;
 
     public LogisticLearner() {
@@ -76,15 +72,22 @@ public class LogisticLearner extends ApacheLearner {
         if (debug)
             System.out.println(lrModel.coefficients());
 
-        if (this.actionFeatureVector == null) {
-            LogisticStateHeuristic retValue = new LogisticStateHeuristic(stateFeatureVector, coefficients, new WinOnlyHeuristic());
-            retValue.setModel(lrModel);
-            return retValue;
-        } else {
-            LogisticActionHeuristic retValue = new LogisticActionHeuristic(actionFeatureVector, stateFeatureVector, coefficients);
-            retValue.setModel(lrModel);
-            return retValue;
-        }
+        return createHeuristic().setModel(lrModel);
+    }
+
+    /**
+     * Fits the same (regularised) model as the Spark path by IRLS, but streams the data from the files (once per
+     * iteration) rather than loading it into memory.
+     */
+    @Override
+    public Object learnFromStream(String... files) {
+        StreamingGLM glm = new StreamingGLM(StreamingGLM.Family.BINOMIAL, regParam).setMaxIterations(10);
+        StreamingGLM.Fit fit = fitFromStream(glm, files);
+        return createHeuristic().setFit(fit.coefficients(), fit.aic());
+    }
+
+    private GLMHeuristic createHeuristic() {
+        return GLMHeuristics.logistic(this);
     }
 
     @Override
@@ -0,0 +1,61 @@
+package players.learners;
+
+import core.interfaces.IActionFeatureVector;
+import core.interfaces.IStateFeatureVector;
+
+/**
+ * Fits the same regularised logistic model as LogisticLearner (by IRLS, with at most 10 iterations), and returns
+ * the same heuristic, but without Spark.
+ */
+public class NativeLogisticLearner extends AbstractLearner {
+
+    double regParam = 0.1;
+    int maxIterations = 10;
+
+    public NativeLogisticLearner() {
+        super();
+    }
+
+    public NativeLogisticLearner(double gamma, double regularisation, Target target) {
+        this(gamma, regularisation, target, null, null);
+    }
+
+    public NativeLogisticLearner(Target target, IStateFeatureVector stateFeatureVector) {
+        super(1.0, target, stateFeatureVector);
+    }
+
+    public NativeLogisticLearner(Target target, IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(1.0, target, stateFeatureVector, actionFeatureVector);
+    }
+
+    public NativeLogisticLearner(double gamma, double regParam, Target target, IStateFeatureVector stateFeatureVector) {
+        super(gamma, target, stateFeatureVector);
+        this.regParam = regParam;
+    }
+
+    public NativeLogisticLearner(double gamma, double regParam, Target target, IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(gamma, target, stateFeatureVector, actionFeatureVector);
+        this.regParam = regParam;
+    }
+
+    @Override
+    protected Object learnFromLoadedData() {
+        StreamingGLM.Fit fit = fitLoadedData(createGLM());
+        return GLMHeuristics.logistic(this).setFit(fit.coefficients(), fit.aic());
+    }
+
+    @Override
+    public Object learnFromStream(String... files) {
+        StreamingGLM.Fit fit = fitFromStream(createGLM(), files);
+        return GLMHeuristics.logistic(this).setFit(fit.coefficients(), fit.aic());
+    }
+
+    private StreamingGLM createGLM() {
+        return new StreamingGLM(StreamingGLM.Family.BINOMIAL, regParam).setMaxIterations(maxIterations);
+    }
+
+    @Override
+    public String name() {
+        return "Logistic";
+    }
+}
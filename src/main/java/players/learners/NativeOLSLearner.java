@@ -0,0 +1,59 @@
+package players.learners;
+
+import core.interfaces.IActionFeatureVector;
+import core.interfaces.IStateFeatureVector;
+
+/**
+ * Fits the same regularised linear model as OLSLearner, and returns the same heuristic, but without Spark.
+ * This avoids the startup cost of a SparkSession (which is the bulk of the time to fit a model to small or
+ * medium data sets), and can be used in its place in any learner config.
+ */
+public class NativeOLSLearner extends AbstractLearner {
+
+    double regParam = 0.1;
+
+    public NativeOLSLearner() {
+        super();
+    }
+
+    public NativeOLSLearner(double gamma, double regParam, Target target) {
+        this(gamma, regParam, target, null, null);
+    }
+
+    public NativeOLSLearner(Target target, IStateFeatureVector stateFeatureVector) {
+        super(1.0, target, stateFeatureVector);
+    }
+
+    public NativeOLSLearner(Target target, IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(1.0, target, stateFeatureVector, actionFeatureVector);
+    }
+
+    public NativeOLSLearner(double gamma, double regParam, Target target,
+                            IStateFeatureVector stateFeatureVector) {
+        super(gamma, target, stateFeatureVector);
+        this.regParam = regParam;
+    }
+
+    public NativeOLSLearner(double gamma, double regParam, Target target,
+                            IStateFeatureVector stateFeatureVector, IActionFeatureVector actionFeatureVector) {
+        super(gamma, target, stateFeatureVector, actionFeatureVector);
+        this.regParam = regParam;
+    }
+
+    @Override
+    protected Object learnFromLoadedData() {
+        StreamingGLM.Fit fit = fitLoadedData(new StreamingGLM(StreamingGLM.Family.GAUSSIAN, regParam));
+        return GLMHeuristics.linear(this).setFit(fit.coefficients(), fit.aic());
+    }
+
+    @Override
+    public Object learnFromStream(String... files) {
+        StreamingGLM.Fit fit = fitFromStream(new StreamingGLM(StreamingGLM.Family.GAUSSIAN, regParam), files);
+        return GLMHeuristics.linear(this).setFit(fit.coefficients(), fit.aic());
+    }
+
+    @Override
+    public String name() {
+        return "OLS";
+    }
+}
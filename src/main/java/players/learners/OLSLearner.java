@@ -8,11 +8,10 @@ import org.apache.spark.ml.regression.GeneralizedLinearRegression;
 import org.apache.spark.ml.regression.GeneralizedLinearRegressionModel;
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
-import players.heuristics.*;
+import players.heuristics.GLMHeuristic;
 
 public class OLSLearner extends ApacheLearner {
 
-    double[] coefficients;
     double regParam = 0.1;
 
     public OLSLearner() {
@@ -78,23 +77,21 @@ public class OLSLearner extends ApacheLearner {
         if (debug)
             System.out.println(lrModel.coefficients());
 
-        if (this.actionFeatureVector == null) {
-            // return the learned OLS heuristic
-            LinearStateHeuristic retValue = new LinearStateHeuristic(stateFeatureVector, coefficients,
-                    switch (targetType) {
-                        case ORDINAL, ORD_MEAN, ORD_SCALE, ORD_MEAN_SCALE -> new OrdinalPosition();
-                        case SCORE -> new PureScoreHeuristic();
-                        case SCORE_DELTA -> new LeaderHeuristic();
-                        default -> new WinOnlyHeuristic();
-                    });
-            retValue.setModel(lrModel);
-            return retValue;
-        } else {
-            // return the learned OLS heuristic
-            LinearActionHeuristic retValue = new LinearActionHeuristic(actionFeatureVector, stateFeatureVector, coefficients);
-            retValue.setModel(lrModel);
-            return retValue;
-        }
+        return createHeuristic().setModel(lrModel);
+    }
+
+    /**
+     * Fits the same (regularised) model as the Spark path, but streams the data from the files rather than
+     * loading it into memory.
+     */
+    @Override
+    public Object learnFromStream(String... files) {
+        StreamingGLM.Fit fit = fitFromStream(new StreamingGLM(StreamingGLM.Family.GAUSSIAN, regParam), files);
+        return createHeuristic().setFit(fit.coefficients(), fit.aic());
+    }
+
+    private GLMHeuristic createHeuristic() {
+        return GLMHeuristics.linear(this);
     }
 
     @Override
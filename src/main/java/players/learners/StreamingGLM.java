@@ -0,0 +1,291 @@
+package players.learners;
+
+import java.util.Arrays;
+
+/**
+ * Fits a Generalised Linear Model from sufficient statistics accumulated over one or more passes through the data,
+ * so that the data never needs to be held in memory.
+ * <p>
+ * A GAUSSIAN model (OLS) needs a single pass to accumulate X'X and X'y. A BINOMIAL model (logistic regression) is
+ * fitted by Iteratively Reweighted Least Squares, with one pass per iteration to accumulate X'WX and X'Wz. Either
+ * way the memory used is O(p^2) in the number of coefficients, and independent of the number of rows.
+ * <p>
+ * The L2 penalty takes the same form as in Spark's GeneralizedLinearRegression, so that the coefficients match
+ * those the Spark-based learners produce. The objective minimised (at each step of IRLS) is
+ * <pre>
+ *     1/(2 sum w) sum w (z - x.beta)^2 + regParam / 2 sum_j (s_j beta_j)^2
+ * </pre>
+ * with the intercept excluded from the penalty. For the GAUSSIAN family the features and target are standardised,
+ * which makes s_j = sd(x_j) / sd(y), while for BINOMIAL s_j = 1. Constant columns get a coefficient of zero
+ * (their effect is in the intercept). The AIC is calculated as Spark does, with the binomial log-likelihood
+ * using y log(mu) + (1 - y) log(1 - mu) so that targets between 0 and 1 can be used.
+ */
+public class StreamingGLM {
+
+    public enum Family {
+        GAUSSIAN, BINOMIAL
+    }
+
+    /**
+     * Receives one row of data: x has the bias term (1.0) in the first entry, followed by the feature values.
+     * The array may be reused for the next row.
+     */
+    public interface RowConsumer {
+        void accept(double[] x, double y);
+    }
+
+    /**
+     * Makes one complete pass through the data, in the same order each time.
+     */
+    public interface DataPass {
+        void forEachRow(RowConsumer consumer);
+    }
+
+    public record Fit(double[] coefficients, double deviance, double aic, long rows, int iterations) {
+    }
+
+    private final Family family;
+    private final double regParam;
+    private int maxIterations = 25;
+    private double tolerance = 1e-6;
+
+    public StreamingGLM(Family family, double regParam) {
+        if (regParam < 0.0)
+            throw new IllegalArgumentException("Regularisation must not be negative : " + regParam);
+        this.family = family;
+        this.regParam = regParam;
+    }
+
+    public StreamingGLM setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+        return this;
+    }
+
+    public StreamingGLM setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * @param nCoefficients - the length of the x arrays provided by the data (including the bias term)
+     */
+    public Fit fit(int nCoefficients, DataPass data) {
+        return family == Family.GAUSSIAN ? fitGaussian(nCoefficients, data) : fitBinomial(nCoefficients, data);
+    }
+
+    private Fit fitGaussian(int p, DataPass data) {
+        Statistics stats = new Statistics(p);
+        data.forEachRow((x, y) -> stats.add(x, y, 1.0));
+        if (stats.rows == 0)
+            throw new IllegalArgumentException("No data to fit");
+        double[] beta = stats.solve(regParam, true);
+        // RSS = y'y - 2 b'X'y + b'X'Xb
+        double rss = stats.zz - 2 * dot(beta, stats.xz) + quadratic(beta, stats.xx);
+        rss = Math.max(rss, 0.0);
+        long n = stats.rows;
+        double aic = n * (Math.log(2.0 * Math.PI * rss / n) + 1.0) + 2.0 + 2.0 * p;
+        return new Fit(beta, rss, aic, n, 1);
+    }
+
+    private Fit fitBinomial(int p, DataPass data) {
+        double[] beta = null;
+        Statistics stats = new Statistics(p);
+        int iteration = 0;
+        boolean converged = false;
+        while (!converged && iteration < maxIterations) {
+            stats.clear();
+            double[] current = beta;
+            data.forEachRow((x, y) -> {
+                double mu, eta;
+                if (current == null) {
+                    // the same starting point as Spark (and R); the mean shrunk slightly towards 0.5
+                    mu = (y + 0.5) / 2.0;
+                    eta = Math.log(mu / (1.0 - mu));
+                } else {
+                    eta = dot(current, x);
+                    mu = clampProbability(1.0 / (1.0 + Math.exp(-eta)));
+                }
+                double w = mu * (1.0 - mu);
+                double z = eta + (y - mu) / w;
+                stats.add(x, z, w);
+            });
+            if (stats.rows == 0)
+                throw new IllegalArgumentException("No data to fit");
+            double[] newBeta = stats.solve(regParam, false);
+            if (beta != null) {
+                double maxChange = 0.0;
+                for (int i = 0; i < p; i++)
+                    maxChange = Math.max(maxChange, Math.abs(newBeta[i] - beta[i]));
+                converged = maxChange < tolerance;
+            }
+            beta = newBeta;
+            iteration++;
+        }
+
+        // and a final pass for the log-likelihood
+        double[] finalBeta = beta;
+        double[] logLikelihood = new double[2];
+        data.forEachRow((x, y) -> {
+            double mu = clampProbability(1.0 / (1.0 + Math.exp(-dot(finalBeta, x))));
+            double ll = (y > 0.0 ? y * Math.log(mu) : 0.0) + (y < 1.0 ? (1.0 - y) * Math.log(1.0 - mu) : 0.0);
+            double saturated = (y > 0.0 ? y * Math.log(y) : 0.0) + (y < 1.0 ? (1.0 - y) * Math.log(1.0 - y) : 0.0);
+            logLikelihood[0] += ll;
+            logLikelihood[1] += saturated;
+        });
+        double deviance = 2.0 * (logLikelihood[1] - logLikelihood[0]);
+        double aic = -2.0 * logLikelihood[0] + 2.0 * p;
+        return new Fit(beta, deviance, aic, stats.rows, iteration);
+    }
+
+    private static double clampProbability(double mu) {
+        return Math.min(Math.max(mu, 1e-15), 1.0 - 1e-15);
+    }
+
+    static double dot(double[] a, double[] b) {
+        double retValue = 0.0;
+        for (int i = 0; i < a.length; i++)
+            retValue += a[i] * b[i];
+        return retValue;
+    }
+
+    // v'Mv, where only the upper triangle of the symmetric M is populated
+    private static double quadratic(double[] v, double[][] m) {
+        double retValue = 0.0;
+        for (int i = 0; i < v.length; i++) {
+            retValue += v[i] * v[i] * m[i][i];
+            for (int j = i + 1; j < v.length; j++)
+                retValue += 2.0 * v[i] * v[j] * m[i][j];
+        }
+        return retValue;
+    }
+
+    /**
+     * The weighted sums X'WX, X'Wz and z'Wz. Only the upper triangle of X'WX is accumulated.
+     * The first column of X is the bias, so xx[0][j] is the weighted sum of column j.
+     */
+    static final class Statistics {
+        final int p;
+        final double[][] xx;
+        final double[] xz;
+        double zz;
+        long rows;
+
+        Statistics(int p) {
+            this.p = p;
+            xx = new double[p][p];
+            xz = new double[p];
+        }
+
+        void clear() {
+            for (double[] row : xx)
+                Arrays.fill(row, 0.0);
+            Arrays.fill(xz, 0.0);
+            zz = 0.0;
+            rows = 0;
+        }
+
+        void add(double[] x, double z, double w) {
+            for (int i = 0; i < p; i++) {
+                double wx = w * x[i];
+                if (wx == 0.0) continue;  // many features are sparse indicators
+                double[] row = xx[i];
+                for (int j = i; j < p; j++)
+                    row[j] += wx * x[j];
+                xz[i] += wx * z;
+            }
+            zz += w * z * z;
+            rows++;
+        }
+
+        private double variance(int j) {
+            double mean = xx[0][j] / xx[0][0];
+            return Math.max(xx[j][j] / xx[0][0] - mean * mean, 0.0);
+        }
+
+        boolean isConstant(int j) {
+            return variance(j) <= 1e-12 * Math.max(1.0, xx[j][j] / xx[0][0]);
+        }
+
+        /**
+         * Solves the penalised normal equations (see class comment) by Cholesky decomposition.
+         */
+        double[] solve(double regParam, boolean standardise) {
+            double sumW = xx[0][0];
+            double lambda = regParam;
+            if (standardise) {
+                double meanZ = xz[0] / sumW;
+                double sdZ = Math.sqrt(Math.max(zz / sumW - meanZ * meanZ, 0.0));
+                lambda = sdZ > 0.0 ? regParam / sdZ : 0.0;
+            }
+
+            double[][] a = new double[p][p];
+            double[] b = new double[p];
+            for (int i = 0; i < p; i++) {
+                b[i] = xz[i] / sumW;
+                for (int j = i; j < p; j++) {
+                    a[i][j] = xx[i][j] / sumW;
+                    a[j][i] = a[i][j];
+                }
+            }
+            boolean[] constant = new boolean[p];
+            for (int j = 1; j < p; j++) {
+                if (isConstant(j)) {
+                    // this has no effect beyond the intercept, so we fix it at zero
+                    constant[j] = true;
+                    for (int k = 0; k < p; k++) {
+                        a[j][k] = 0.0;
+                        a[k][j] = 0.0;
+                    }
+                    a[j][j] = 1.0;
+                    b[j] = 0.0;
+                } else {
+                    a[j][j] += lambda * (standardise ? variance(j) : 1.0);
+                }
+            }
+            double[] retValue = cholesky(a, b);
+            if (retValue == null) {
+                // singular (say from collinear columns without regularisation); a tiny ridge picks one solution
+                for (int j = 1; j < p; j++)
+                    if (!constant[j]) a[j][j] += 1e-9 * Math.max(1.0, a[j][j]);
+                retValue = cholesky(a, b);
+                if (retValue == null)
+                    throw new AssertionError("Unable to solve normal equations");
+            }
+            return retValue;
+        }
+
+        // solves a.x = b for symmetric positive definite a, returning null if it is not
+        private static double[] cholesky(double[][] a, double[] b) {
+            int n = b.length;
+            double[][] l = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    double sum = a[i][j];
+                    for (int k = 0; k < j; k++)
+                        sum -= l[i][k] * l[j][k];
+                    if (i == j) {
+                        if (sum <= 1e-14 * Math.max(1.0, a[i][i])) return null;
+                        l[i][i] = Math.sqrt(sum);
+                    } else {
+                        l[i][j] = sum / l[j][j];
+                    }
+                }
+            }
+            double[] y = new double[n];
+            for (int i = 0; i < n; i++) {
+                double sum = b[i];
+                for (int k = 0; k < i; k++)
+                    sum -= l[i][k] * y[k];
+                y[i] = sum / l[i][i];
+            }
+            double[] x = new double[n];
+            for (int i = n - 1; i >= 0; i--) {
+                double sum = y[i];
+                for (int k = i + 1; k < n; k++)
+                    sum -= l[k][i] * x[k];
+                x[i] = sum / l[i][i];
+            }
+            return x;
+        }
+    }
+}
@@ -9,13 +9,12 @@ import core.interfaces.IActionKey;
 import core.interfaces.ITunableParameters;
 import evaluation.optimisation.TunableParameters;
 import players.simple.BoltzmannActionPlayer;
-import utilities.Pair;
 
 import java.util.*;
 
 public class MASTActionHeuristic extends TunableParameters<MASTActionHeuristic> implements IActionHeuristic, IMASTUser {
 
-    List<Map<Object, Pair<Integer, Double>>> MASTStatistics = new ArrayList<>();
+    List<MASTTable> MASTStatistics = new ArrayList<>();
     IActionKey actionKey; // null is fine; this indicates to use the Action as the Key
     double defaultValue;
 
@@ -36,20 +35,13 @@ public class MASTActionHeuristic extends TunableParameters<MASTActionHeuristic>
         defaultValue = (double) getParameterValue("defaultValue");
     }
     
-    public void setMASTStats(List<Map<Object, Pair<Integer, Double>>> MASTStatistics) {
+    public void setMASTStats(List<MASTTable> MASTStatistics) {
         this.MASTStatistics = MASTStatistics;
     }
 
     @Override
     public double evaluateAction(AbstractAction action, AbstractGameState state, List<AbstractAction> contextActions) {
-        Object key = actionKey == null ? action : actionKey.key(action);
-        Map<Object, Pair<Integer, Double>> MAST = MASTStatistics.get(state.getCurrentPlayer());
-        if (MAST.containsKey(key)) {
-            Pair<Integer, Double> stats = MAST.get(key);
-            if (stats.a > 0)
-                return stats.b / stats.a;
-        }
-        return defaultValue;
+        return MASTStatistics.get(state.getCurrentPlayer()).mean(actionKey, action, defaultValue);
     }
 
     @Override
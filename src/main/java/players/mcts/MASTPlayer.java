@@ -3,10 +3,8 @@ package players.mcts;
 import core.interfaces.IActionHeuristic;
 import core.interfaces.IActionKey;
 import players.simple.BoltzmannActionPlayer;
-import utilities.Pair;
 
 import java.util.List;
-import java.util.Map;
 
 public class MASTPlayer extends BoltzmannActionPlayer implements IMASTUser {
 
@@ -21,7 +19,7 @@ public class MASTPlayer extends BoltzmannActionPlayer implements IMASTUser {
     }
 
     @Override
-    public void setMASTStats(List<Map<Object, Pair<Integer, Double>>> MASTStats) {
+    public void setMASTStats(List<MASTTable> MASTStats) {
         ((IMASTUser) this.actionHeuristic).setMASTStats(MASTStats);
     }
 }
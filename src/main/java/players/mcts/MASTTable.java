@@ -0,0 +1,245 @@
+package players.mcts;
+
+import core.actions.AbstractAction;
+import core.interfaces.IActionKey;
+import evaluation.features.ActionHashKey;
+
+import java.util.Arrays;
+
+/**
+ * MAST statistics for one player: the number of visits and the total value for each action key.
+ * <p>
+ * This is an open-addressing (linear probing) map from long keys to an int and a double, held in parallel arrays.
+ * An update is done in place, so backing up a rollout allocates nothing once the table has grown to hold all
+ * the action keys seen. The keys come from IActionKey.longKey(); if no IActionKey is specified then
+ * ActionHashKey is used, which keys on the action itself. In that case a copy of the action is kept with its
+ * statistics, so that two unequal actions with the same key are held separately.
+ */
+public class MASTTable {
+
+    private static final long EMPTY = 0L;
+    // The key to which EMPTY is mapped, as we use 0 to mark an empty slot
+    private static final long ZERO_KEY = 0x9e3779b97f4a7c15L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] owners;  // the action for each key, if keyed on the action itself; else null
+    private int[] visits;
+    private double[] totals;
+    private int size;
+    private int mask;
+
+    public MASTTable() {
+        this(MIN_CAPACITY);
+    }
+
+    private MASTTable(int capacity) {
+        keys = new long[capacity];
+        owners = new Object[capacity];
+        visits = new int[capacity];
+        totals = new double[capacity];
+        mask = capacity - 1;
+    }
+
+    private MASTTable(MASTTable other) {
+        keys = other.keys.clone();
+        owners = other.owners.clone();
+        visits = other.visits.clone();
+        totals = other.totals.clone();
+        size = other.size;
+        mask = other.mask;
+    }
+
+    /**
+     * @param actionKey - the IActionKey to use; null to use the action itself (via ActionHashKey)
+     * @return the key under which the statistics for this action are held
+     */
+    public static long keyOf(IActionKey actionKey, AbstractAction action) {
+        return actionKey == null ? ActionHashKey.INSTANCE.longKey(action) : actionKey.longKey(action);
+    }
+
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private int slot(long key) {
+        return slot(key, null);
+    }
+
+    // with an owner, a slot with the same key but an unequal owner is passed over as a collision
+    private int slot(long key, Object owner) {
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY && (keys[i] != key || (owner != null && owners[i] != null && !owners[i].equals(owner))))
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    /**
+     * Adds one visit with the given value to the statistics for the key
+     */
+    public void update(long key, double value) {
+        update(key, null, value);
+    }
+
+    /**
+     * Adds one visit with the given value to the statistics for the action
+     *
+     * @param actionKey - the IActionKey to use; null to use the action itself
+     */
+    public void update(IActionKey actionKey, AbstractAction action, double value) {
+        update(keyOf(actionKey, action), actionKey == null ? action : null, value);
+    }
+
+    private void update(long key, AbstractAction owner, double value) {
+        if (key == EMPTY) key = ZERO_KEY;
+        int i = slot(key, owner);
+        if (keys[i] == EMPTY) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+                i = slot(key, owner);
+            }
+            keys[i] = key;
+            owners[i] = owner == null ? null : owner.copy();
+            size++;
+        }
+        visits[i]++;
+        totals[i] += value;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldOwners = owners;
+        int[] oldVisits = visits;
+        double[] oldTotals = totals;
+        keys = new long[capacity];
+        owners = new Object[capacity];
+        visits = new int[capacity];
+        totals = new double[capacity];
+        mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = slot(oldKeys[j], oldOwners[j]);
+                keys[i] = oldKeys[j];
+                owners[i] = oldOwners[j];
+                visits[i] = oldVisits[j];
+                totals[i] = oldTotals[j];
+            }
+        }
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) key = ZERO_KEY;
+        return keys[slot(key)] != EMPTY;
+    }
+
+    /**
+     * @return the number of visits recorded for the key (zero if it has none)
+     */
+    public int visits(long key) {
+        if (key == EMPTY) key = ZERO_KEY;
+        return visits[slot(key)];
+    }
+
+    /**
+     * @return the total value recorded for the key (zero if it has none)
+     */
+    public double total(long key) {
+        if (key == EMPTY) key = ZERO_KEY;
+        return totals[slot(key)];
+    }
+
+    /**
+     * @return the mean value for the key, or defaultValue if it has no visits
+     */
+    public double mean(long key, double defaultValue) {
+        return mean(key, null, defaultValue);
+    }
+
+    /**
+     * @param actionKey - the IActionKey to use; null to use the action itself
+     * @return the mean value for the action, or defaultValue if it has no visits
+     */
+    public double mean(IActionKey actionKey, AbstractAction action, double defaultValue) {
+        return mean(keyOf(actionKey, action), actionKey == null ? action : null, defaultValue);
+    }
+
+    private double mean(long key, AbstractAction owner, double defaultValue) {
+        if (key == EMPTY) key = ZERO_KEY;
+        int i = slot(key, owner);
+        return visits[i] > 0 ? totals[i] / visits[i] : defaultValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(owners, null);
+        Arrays.fill(visits, 0);
+        Arrays.fill(totals, 0.0);
+        size = 0;
+    }
+
+    public MASTTable copy() {
+        return new MASTTable(this);
+    }
+
+    /**
+     * This decays the statistics by gamma, as for Utils.decay() on a single pair of (visits, total).
+     * Keys that decay to zero visits are dropped.
+     *
+     * @return a new table with the decayed statistics
+     */
+    public MASTTable decay(double gamma) {
+        if (gamma >= 1.0 || gamma < 0.0)
+            return copy();
+        MASTTable retValue = new MASTTable(keys.length);
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[j] != EMPTY && visits[j] > 0) {
+                int newCount = (int) (visits[j] * gamma);
+                if (newCount == 0) continue;
+                int i = retValue.slot(keys[j], owners[j]);
+                retValue.keys[i] = keys[j];
+                retValue.owners[i] = owners[j];
+                retValue.visits[i] = newCount;
+                retValue.totals[i] = totals[j] * newCount / visits[j];
+                retValue.size++;
+            }
+        }
+        return retValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MASTTable other)) return false;
+        if (size != other.size) return false;
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[j] != EMPTY) {
+                int i = other.slot(keys[j], owners[j]);
+                if (other.keys[i] == EMPTY || other.visits[i] != visits[j] || other.totals[i] != totals[j])
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int retValue = size;
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[j] != EMPTY)
+                retValue += Long.hashCode(keys[j]) ^ (31 * visits[j]) ^ Double.hashCode(totals[j]);
+        }
+        return retValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MASTTable with %d keys", size);
+    }
+}
@@ -18,6 +18,8 @@ public class MCGSNode extends SingleTreeNode {
     @Override
     protected void instantiate(SingleTreeNode parent, AbstractAction actionToReach, AbstractGameState state) {
         super.instantiate(parent, actionToReach, state);
+        if (parent == null && params.MCGSTableSize > 0 && !(transpositionMap instanceof MCGSTranspositionTable))
+            transpositionMap = new MCGSTranspositionTable(params.MCGSTableSize, params.MCGSReplacement);
         // the only additional instantiation we need to do is to add the state to the transposition table
         addToTranspositionTable(this, state);
     }
@@ -101,14 +103,19 @@ public class MCGSNode extends SingleTreeNode {
 
     @Override
     protected void resetDepth(SingleTreeNode unusedArgument) {
+        if (transpositionMap instanceof MCGSTranspositionTable table) {
+            table.nextGeneration();
+            table.resetStats();
+        }
         int depthDelta = depth;
         root = this;
         keysTorRemove = new ArrayList<>();
-        for (Object key : transpositionMap.keySet()) {
-            MCGSNode node = transpositionMap.get(key);
+        // walk the entries directly; a get() would mark every node as used in the new generation
+        for (Map.Entry<Object, MCGSNode> entry : transpositionMap.entrySet()) {
+            MCGSNode node = entry.getValue();
             node.depth -= depthDelta;
             if (node.depth < 0) {
-                keysTorRemove.add(key);
+                keysTorRemove.add(entry.getKey());
             }
             node.root = this;
         }
@@ -135,11 +142,15 @@ public class MCGSNode extends SingleTreeNode {
             MCGSNode node = nRoot.transpositionMap.get(key);
             AbstractAction action = nRoot.actionsInTree.get(i).b;
             if (node == null) {
+                if (nRoot.transpositionMap instanceof MCGSTranspositionTable)
+                    continue;  // a new node that the bounded table had no room for
                 throw new AssertionError("Node should not be null");
             }
             result = node.backUpSingleNode(action, result);
         }
         nRoot.trajectory.clear();
+        if (nRoot.transpositionMap instanceof MCGSTranspositionTable table)
+            table.nextIteration();
     }
 
     public Map<Object, MCGSNode> getTranspositionMap() {
@@ -0,0 +1,261 @@
+package players.mcts;
+
+import java.util.*;
+
+/**
+ * A fixed-capacity transposition table for MCGS, used in place of an unbounded HashMap when
+ * MCTSParams.MCGSTableSize is greater than zero.
+ * <p>
+ * Keys from the IStateKey are reduced to a 64-bit hash. This picks a bucket of WAYS slots in flat arrays, with
+ * no per-entry objects. The keys themselves are also kept, so a 64-bit collision is detected (and counted) rather
+ * than silently merging two states. When a new node maps to a full bucket, an existing node is replaced according
+ * to the MCTSEnums.TranspositionReplacement policy. Nodes from an earlier generation (i.e. from a previous decision,
+ * when the graph is reused) are replaced first.
+ * <p>
+ * The root, and any node used in the current iteration, are never replaced, so the backup always finds the nodes
+ * on the trajectory. If a bucket contains only such nodes the new node is not stored at all, and is treated as
+ * a leaf of the graph.
+ * <p>
+ * This implements Map so that it can be used directly as the MCGSNode transposition map.
+ */
+public class MCGSTranspositionTable extends AbstractMap<Object, MCGSNode> {
+
+    public static final int WAYS = 4;
+
+    private final long[] hashes;
+    private final Object[] keys;
+    private final MCGSNode[] nodes;
+    private final int[] generations;  // generation in which the slot was last used
+    private final int[] iterations;  // iteration in which the slot was last used
+    private final int bucketMask;
+    private final MCTSEnums.TranspositionReplacement policy;
+    private int size;
+    private int generation;
+    private int iteration;
+
+    // Statistics, since the last call to resetStats()
+    private int lookups, hits, evictions, collisions, failedInserts;
+
+    /**
+     * @param capacity - the maximum number of nodes held, rounded up to a power of two (and at least WAYS)
+     * @param policy   - which node to replace when a bucket is full
+     */
+    public MCGSTranspositionTable(int capacity, MCTSEnums.TranspositionReplacement policy) {
+        int nBuckets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS));
+        if (nBuckets * WAYS < capacity) nBuckets <<= 1;
+        int slots = nBuckets * WAYS;
+        hashes = new long[slots];
+        keys = new Object[slots];
+        nodes = new MCGSNode[slots];
+        generations = new int[slots];
+        iterations = new int[slots];
+        bucketMask = nBuckets - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * A 64-bit hash of the key. Numeric keys are used directly, and Strings (the most common keys) are hashed over all
+     * their characters rather than relying on the 32-bit String.hashCode(). Both are then mixed so that all bits
+     * contribute to the choice of bucket.
+     */
+    static long hash64(Object key) {
+        long h;
+        if (key instanceof Number n) {
+            h = n.longValue();
+        } else if (key instanceof String s) {
+            h = 0xcbf29ce484222325L;  // FNV-1a
+            for (int i = 0; i < s.length(); i++) {
+                h ^= s.charAt(i);
+                h *= 0x100000001b3L;
+            }
+        } else {
+            h = key.hashCode();
+        }
+        // SplitMix64 finaliser
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+
+    private int bucketStart(long hash) {
+        return (int) (hash & bucketMask) * WAYS;
+    }
+
+    private int find(Object key, long hash) {
+        int start = bucketStart(hash);
+        for (int i = start; i < start + WAYS; i++) {
+            if (nodes[i] != null && hashes[i] == hash) {
+                if (keys[i].equals(key))
+                    return i;
+                collisions++;
+            }
+        }
+        return -1;
+    }
+
+    private void touch(int slot) {
+        generations[slot] = generation;
+        iterations[slot] = iteration;
+    }
+
+    @Override
+    public MCGSNode get(Object key) {
+        lookups++;
+        int slot = find(key, hash64(key));
+        if (slot < 0) return null;
+        hits++;
+        touch(slot);
+        return nodes[slot];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key, hash64(key)) >= 0;
+    }
+
+    @Override
+    public MCGSNode put(Object key, MCGSNode node) {
+        long hash = hash64(key);
+        int slot = find(key, hash);
+        if (slot >= 0) {
+            MCGSNode old = nodes[slot];
+            nodes[slot] = node;
+            touch(slot);
+            return old;
+        }
+        slot = victim(bucketStart(hash));
+        if (slot < 0) {
+            failedInserts++;
+            return null;
+        }
+        if (nodes[slot] == null) {
+            size++;
+        } else {
+            evictions++;
+        }
+        hashes[slot] = hash;
+        keys[slot] = key;
+        nodes[slot] = node;
+        touch(slot);
+        return null;
+    }
+
+    /**
+     * @return the slot in the bucket to use for a new entry, or -1 if there is none that can be replaced
+     */
+    private int victim(int start) {
+        int best = -1;
+        boolean bestStale = false;
+        for (int i = start; i < start + WAYS; i++) {
+            MCGSNode node = nodes[i];
+            if (node == null) return i;
+            if (node.root == node || iterations[i] == iteration)
+                continue;  // in use
+            boolean stale = generations[i] != generation;
+            if (best == -1 || (stale && !bestStale) || (stale == bestStale && better(i, best))) {
+                best = i;
+                bestStale = stale;
+            }
+        }
+        return best;
+    }
+
+    private boolean better(int candidate, int current) {
+        return switch (policy) {
+            case DEPTH -> nodes[candidate].depth > nodes[current].depth;
+            case VISITS -> nodes[candidate].nVisits < nodes[current].nVisits;
+            case ALWAYS -> false;
+        };
+    }
+
+    @Override
+    public MCGSNode remove(Object key) {
+        int slot = find(key, hash64(key));
+        if (slot < 0) return null;
+        MCGSNode old = nodes[slot];
+        nodes[slot] = null;
+        keys[slot] = null;
+        size--;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(nodes, null);
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return nodes.length;
+    }
+
+    /**
+     * To be called at the end of each MCTS iteration; nodes used in an iteration are protected from replacement
+     * until the next one.
+     */
+    public void nextIteration() {
+        iteration++;
+    }
+
+    /**
+     * To be called when the graph is reused for a new decision. Nodes not used since then are replaced in preference
+     * to any others.
+     */
+    public void nextGeneration() {
+        generation++;
+    }
+
+    public void resetStats() {
+        lookups = 0;
+        hits = 0;
+        evictions = 0;
+        collisions = 0;
+        failedInserts = 0;
+    }
+
+    public int getLookups() {
+        return lookups;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of nodes replaced by a new node since the statistics were reset
+     */
+    public int getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the number of times two different keys had the same 64-bit hash
+     */
+    public int getCollisions() {
+        return collisions;
+    }
+
+    /**
+     * @return the number of new nodes that could not be stored, as all nodes in the bucket were in use
+     */
+    public int getFailedInserts() {
+        return failedInserts;
+    }
+
+    @Override
+    public Set<Entry<Object, MCGSNode>> entrySet() {
+        // a snapshot, so that callers can remove entries while iterating
+        Set<Entry<Object, MCGSNode>> retValue = new LinkedHashSet<>();
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] != null)
+                retValue.add(new SimpleImmutableEntry<>(keys[i], nodes[i]));
+        }
+        return retValue;
+    }
+}
@@ -49,6 +49,14 @@ public class MCTSEnums {
         // END_TURN|ROUND is triggered when the game round/turn changes
     }
 
+    public enum TranspositionReplacement {
+        DEPTH, VISITS, ALWAYS
+        // Used by MCGS with a bounded transposition table, when a new node maps to a full bucket.
+        // Nodes left over from earlier decisions (older generations) are always replaced first. Otherwise
+        // DEPTH replaces the deepest node (keeping those nearer the root), VISITS the node with fewest visits,
+        // and ALWAYS simply replaces the first node in the bucket.
+    }
+
     public enum OpponentTreePolicy {
         SelfOnly(true), OneTree(false),
         MultiTree(true),
@@ -9,6 +9,7 @@ import core.interfaces.IStateFeatureVector;
 import core.interfaces.IStatisticLogger;
 import evaluation.listeners.ActionFeatureListener;
 import evaluation.listeners.StateFeatureListener;
+import evaluation.loggers.ColumnarStatsLogger;
 import evaluation.loggers.FileStatsLogger;
 import evaluation.metrics.Event;
 
@@ -59,9 +60,15 @@ public class MCTSExpertIterationListener extends ActionFeatureListener {
     public void setLogger(IStatisticLogger logger) {
         super.setLogger(logger);
         // we also need to set the logger for the state recorder
-        FileStatsLogger fileLogger = (FileStatsLogger) logger;
-        String loggerName = fileLogger.getFileName().replace("Action", "State");
-        FileStatsLogger stateLogger = new FileStatsLogger(loggerName, fileLogger.getDelimiter(), fileLogger.isAppend());
+        IStatisticLogger stateLogger;
+        if (logger instanceof ColumnarStatsLogger columnarLogger) {
+            String loggerName = columnarLogger.getFileName().replace("Action", "State");
+            stateLogger = new ColumnarStatsLogger(loggerName, columnarLogger.isAppend(), columnarLogger.isCompressed(), columnarLogger.getChunkSize());
+        } else {
+            FileStatsLogger fileLogger = (FileStatsLogger) logger;
+            String loggerName = fileLogger.getFileName().replace("Action", "State");
+            stateLogger = new FileStatsLogger(loggerName, fileLogger.getDelimiter(), fileLogger.isAppend());
+        }
         if (stateRecorder != null)
             stateRecorder.setLogger(stateLogger);
     }
@@ -82,6 +89,14 @@ public class MCTSExpertIterationListener extends ActionFeatureListener {
         return true;
     }
 
+    /**
+     * Sets a different output directory for the state data (after setOutputDirectory(), which puts it with the action data)
+     */
+    public void setStateOutputDirectory(String... nestedDirectories) {
+        if (stateRecorder != null)
+            stateRecorder.setOutputDirectory(nestedDirectories);
+    }
+
     @Override
     public void writeDataWithStandardHeaders(AbstractGameState state) {
         // we also need to trigger this for the state recorder, so that it can write the state features
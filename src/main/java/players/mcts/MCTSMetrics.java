@@ -51,6 +51,19 @@ public class MCTSMetrics implements IMetricsCollection {
                 records.put("copyCalls", mctsPlayer.root.copyCount / visits);
                 records.put("time", mctsPlayer.root.timeTaken);
                 records.put("initTime", mctsPlayer.root.initialisationTimeTaken);
+                if (root instanceof MCGSNode graphRoot && graphRoot.getTranspositionMap() instanceof MCGSTranspositionTable table) {
+                    records.put("TTLookups", table.getLookups());
+                    records.put("TTHits", table.getHits());
+                    records.put("TTEvictions", table.getEvictions());
+                    records.put("TTCollisions", table.getCollisions());
+                    records.put("TTFailedInserts", table.getFailedInserts());
+                } else {
+                    records.put("TTLookups", 0);
+                    records.put("TTHits", 0);
+                    records.put("TTEvictions", 0);
+                    records.put("TTCollisions", 0);
+                    records.put("TTFailedInserts", 0);
+                }
                 return true;
             }
             return false;
@@ -85,6 +98,11 @@ public class MCTSMetrics implements IMetricsCollection {
             cols.put("copyCalls", Integer.class);
             cols.put("time", Double.class);
             cols.put("initTime", Double.class);
+            cols.put("TTLookups", Integer.class);
+            cols.put("TTHits", Integer.class);
+            cols.put("TTEvictions", Integer.class);
+            cols.put("TTCollisions", Integer.class);
+            cols.put("TTFailedInserts", Integer.class);
             return cols;
         }
     }
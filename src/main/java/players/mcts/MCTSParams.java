@@ -59,6 +59,8 @@ public class MCTSParams extends PlayerParameters {
     public IActionKey MASTActionKey;
     public IStateKey MCGSStateKey;
     public boolean MCGSExpandAfterClash = true;
+    public int MCGSTableSize = 0;  // 0 for an unbounded transposition table
+    public MCTSEnums.TranspositionReplacement MCGSReplacement = MCTSEnums.TranspositionReplacement.DEPTH;
     public double firstPlayUrgency = 1e6;
     @NotNull public IActionHeuristic actionHeuristic = IActionHeuristic.nullReturn;
     public int actionHeuristicRecalculationThreshold = 20;
@@ -111,6 +113,8 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("MASTDefaultValue", 0.0);
         addTunableParameter("MCGSStateKey", IStateKey.class);
         addTunableParameter("MCGSExpandAfterClash", true);
+        addTunableParameter("MCGSTableSize", 0);
+        addTunableParameter("MCGSReplacement", MCTSEnums.TranspositionReplacement.DEPTH, Arrays.asList(MCTSEnums.TranspositionReplacement.values()));
         addTunableParameter("FPU", 1e6);
         addTunableParameter("actionHeuristic", IActionHeuristic.class,  IActionHeuristic.nullReturn);
         addTunableParameter("progressiveBias", 0.0);
@@ -168,6 +172,8 @@ public class MCTSParams extends PlayerParameters {
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         MCGSStateKey = (IStateKey) getParameterValue("MCGSStateKey");
         MCGSExpandAfterClash = (boolean) getParameterValue("MCGSExpandAfterClash");
+        MCGSTableSize = (int) getParameterValue("MCGSTableSize");
+        MCGSReplacement = (MCTSEnums.TranspositionReplacement) getParameterValue("MCGSReplacement");
         rolloutPolicyParams = (TunableParameters) getParameterValue("rolloutPolicyParams");
         opponentModelParams = (TunableParameters) getParameterValue("opponentModelParams");
         // we then null those elements of params which are constructed (lazily) from the above
@@ -11,7 +11,6 @@ import evaluation.metrics.Event;
 import llm.IHasStateHeuristic;
 import players.IAnyTimePlayer;
 import utilities.Pair;
-import utilities.Utils;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -28,7 +27,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
     protected boolean debug = false;
     protected SingleTreeNode root;
     protected Pair<Integer, AbstractAction> lastAction;
-    List<Map<Object, Pair<Integer, Double>>> MASTStats;
+    List<MASTTable> MASTStats;
     protected Map<Object, Integer> oldGraphKeys = new HashMap<>();
     protected List<Object> recentlyRemovedKeys = new ArrayList<>();
 
@@ -254,7 +253,7 @@ public class MCTSPlayer extends AbstractPlayer implements IAnyTimePlayer, IHasSt
         }
         if (MASTStats != null && getParameters().MASTGamma > 0.0)
             root.MASTStatistics = MASTStats.stream()
-                    .map(m -> Utils.decay(m, getParameters().MASTGamma))
+                    .map(m -> m.decay(getParameters().MASTGamma))
                     .collect(Collectors.toList());
 
         if (getParameters().getRolloutStrategy() instanceof IMASTUser) {
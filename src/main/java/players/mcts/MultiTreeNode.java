@@ -41,7 +41,7 @@ public class MultiTreeNode extends SingleTreeNode {
         // only root node maintains MAST statistics
         MASTStatistics = new ArrayList<>();
         for (int i = 0; i < state.getNPlayers(); i++)
-            MASTStatistics.add(new HashMap<>());
+            MASTStatistics.add(new MASTTable());
         if (params.useMASTAsActionHeuristic) {
             params.actionHeuristic = new MASTActionHeuristic(params.MASTActionKey, params.MASTDefaultValue);
             ((MASTActionHeuristic) params.actionHeuristic).setMASTStats(MASTStatistics);
@@ -69,7 +69,7 @@ public class SingleTreeNode {
     // only ever have one position in the array populated: and similarly if we are using a SelfOnly tree).
     Map<AbstractAction, SingleTreeNode[]> children = new LinkedHashMap<>();
     Map<AbstractAction, ActionStats> actionValues = new HashMap<>();
-    List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
+    List<MASTTable> MASTStatistics; // a list of one table per player. Action key -> (visits, totValue)
     // ToDoubleBiFunction<AbstractAction, AbstractGameState> MASTFunction;
     // The total value of all trajectories through this node (one element per player)
     private Supplier<? extends SingleTreeNode> factory;
@@ -92,7 +92,7 @@ public class SingleTreeNode {
         // only root node maintains MAST statistics
         retValue.MASTStatistics = new ArrayList<>();
         for (int i = 0; i < state.getNPlayers(); i++)
-            retValue.MASTStatistics.add(new HashMap<>());
+            retValue.MASTStatistics.add(new MASTTable());
         if (retValue.params.useMASTAsActionHeuristic) {
             retValue.params.actionHeuristic = new MASTActionHeuristic(retValue.params.MASTActionKey, retValue.params.MASTDefaultValue);
             ((MASTActionHeuristic) retValue.params.actionHeuristic).setMASTStats(retValue.MASTStatistics);
@@ -159,7 +159,7 @@ public class SingleTreeNode {
         inheritedVisits = nVisits;
         MASTStatistics = new ArrayList<>();
         for (int i = 0; i < template.MASTStatistics.size(); i++)
-            MASTStatistics.add(new HashMap<>());
+            MASTStatistics.add(new MASTTable());
     }
 
     protected void resetDepth(SingleTreeNode newRoot) {
@@ -1132,11 +1132,7 @@ public class SingleTreeNode {
         for (Pair<Integer, AbstractAction> pair : rolloutActions) {
             AbstractAction action = pair.b;
             int player = pair.a;
-            Object actionKey = params.MASTActionKey == null ? action.copy() : params.MASTActionKey.key(action);
-            Pair<Integer, Double> stats = MASTStatistics.get(player).getOrDefault(actionKey, new Pair<>(0, 0.0));
-            stats.a++;  // visits
-            stats.b += delta[player];   // value
-            MASTStatistics.get(player).put(actionKey, stats);
+            MASTStatistics.get(player).update(params.MASTActionKey, action, delta[player]);
         }
     }
 
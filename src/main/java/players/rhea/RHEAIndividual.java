@@ -16,21 +16,28 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
     protected int nonRepairCount;
     AbstractAction[] actions;         // Actions in individual. Intended max length of individual = actions.length
     AbstractGameState[] gameStates;   // Game states in individual.
+    double[] deltas;                  // Discounted value of the individual up to each game state
+    double[] scores;                  // Heuristic score of each game state (0.0 for the first)
+    int validPrefix;                  // Number of actions for which gameStates (and deltas and scores) are up to date
+    boolean prefixCache;              // If true, rollouts resume from the first out of date game state
     double value;                     // Fitness of individual, to be maximised.
     int length;                       // Actual length of individual, <= actions.length
     double discountFactor;            // Discount factor for calculating rewards
     IStateHeuristic heuristic;
     AbstractPlayer rolloutPolicy;
-    private Random gen;               // Random generator
+    Random gen;                       // Random generator
 
     RHEAIndividual(int L, double discountFactor, AbstractForwardModel fm, AbstractGameState gs,
                    int playerID, Random gen, IStateHeuristic heuristic,
-                   AbstractPlayer rolloutPolicy) {
+                   AbstractPlayer rolloutPolicy, boolean prefixCache) {
         // Initialize
         this.gen = gen;
         this.discountFactor = discountFactor;
+        this.prefixCache = prefixCache;
         actions = new AbstractAction[L];
         gameStates = new AbstractGameState[L + 1];
+        deltas = new double[L + 1];
+        scores = new double[L + 1];
         this.heuristic = heuristic;
         this.rolloutPolicy = rolloutPolicy;
 
@@ -43,6 +50,10 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
     RHEAIndividual(RHEAIndividual I) {
         actions = new AbstractAction[I.actions.length];
         gameStates = new AbstractGameState[I.gameStates.length];
+        deltas = I.deltas.clone();
+        scores = I.scores.clone();
+        validPrefix = I.validPrefix;
+        prefixCache = I.prefixCache;
         length = I.length;
         discountFactor = I.discountFactor;
         heuristic = I.heuristic;
@@ -52,6 +63,7 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
             actions[i] = I.actions[i]; //.copy();
             gameStates[i] = I.gameStates[i]; //.copy(); // Should not need to copy game states, as we always copy before we use!
         }
+        gameStates[length] = I.gameStates[length];
 
         value = I.value;
         gen = I.gen;
@@ -72,14 +84,45 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         int startIndex = actions.length;
         for (int mutation = 0; mutation < mutationCount; mutation++) {
             int position = gen.nextInt(length); // we only consider actions up to the end of the game (which will therefore increase mutation rate towards game end)
-            if (gameStates[position] != null) {
-                List<AbstractAction> available = fm.computeAvailableActions(gameStates[position]);
-                actions[position] = available.get(gen.nextInt(available.size()));
-                if (position < startIndex)
-                    startIndex = position;  // start the rollout from the first mutation
-            }
+            startIndex = Math.min(startIndex, mutateAt(fm, position));
         }
+        return rolloutFrom(fm, startIndex, playerID);
+    }
+
+    /**
+     * As mutate(fm, playerID, mutationCount), but at positions already chosen by choosePositions()
+     */
+    Pair<Integer, Integer> mutate(AbstractForwardModel fm, int playerID, int[] positions) {
+        int startIndex = actions.length;
+        for (int position : positions)
+            startIndex = Math.min(startIndex, mutateAt(fm, position));
+        return rolloutFrom(fm, startIndex, playerID);
+    }
+
+    /**
+     * @return positions at which to mutate, as mutate(fm, playerID, mutationCount) would pick them
+     */
+    int[] choosePositions(int mutationCount) {
+        int[] positions = new int[mutationCount];
+        for (int mutation = 0; mutation < mutationCount; mutation++)
+            positions[mutation] = gen.nextInt(length);
+        return positions;
+    }
+
+    /**
+     * Changes the action at the position to a random one
+     *
+     * @return the position, or actions.length if there is no game state there to mutate from
+     */
+    private int mutateAt(AbstractForwardModel fm, int position) {
+        if (gameStates[position] == null)
+            return actions.length;
+        List<AbstractAction> available = fm.computeAvailableActions(gameStates[position]);
+        actions[position] = available.get(gen.nextInt(available.size()));
+        return position;  // start the rollout from the first mutation
+    }
 
+    private Pair<Integer, Integer> rolloutFrom(AbstractForwardModel fm, int startIndex, int playerID) {
         // Perform rollout and return number of FM calls taken.
         if (gameStates[startIndex] == null) {
             return new Pair<>(0, 0);
@@ -88,10 +131,50 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         }
     }
 
+    /**
+     * Replaces the game states that mutating at the given positions will use (which may be shared with other
+     * individuals) with copies of them, so that this individual can be mutated at the same time as others. These
+     * are the states at the positions, and the one the rollout starts from; the states after that are replaced by
+     * the rollout, and the values of those before it are cached.
+     *
+     * @return the number of game states copied
+     */
+    int copyGameStates(int[] positions) {
+        boolean[] used = new boolean[gameStates.length];
+        int startIndex = actions.length;
+        for (int position : positions) {
+            if (gameStates[position] != null) {
+                used[position] = true;
+                startIndex = Math.min(startIndex, position);
+            }
+        }
+        if (gameStates[startIndex] != null)
+            used[prefixCache ? Math.min(startIndex, Math.min(validPrefix, length)) : startIndex] = true;
+        int copies = 0;
+        for (int i = 0; i < gameStates.length; i++) {
+            if (used[i] && gameStates[i] != null) {
+                gameStates[i] = gameStates[i].copy();
+                copies++;
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Marks the game states from index onwards as out of date, for example because the action at index has been
+     * changed by crossover.
+     */
+    void invalidateFrom(int index) {
+        if (index < validPrefix)
+            validPrefix = index;
+    }
+
     /**
      * Performs a rollout with random actions from startIndex to endIndex in the individual, from root game state gs.
      * Starts by repairing the full individual, then mutates it, and finally evaluates it.
      * Evaluates the final state reached and returns the number of calls to the FM.next() function.
+     * If prefixCache is set, then the rollout starts from the first game state that is out of date if this
+     * is before startIndex, and the value up to startIndex is taken from the cache rather than re-evaluated.
      *
      * @param fm         - forward model
      * @param startIndex - index in individual from which to start rollout
@@ -99,11 +182,17 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
      * @return - number of calls to the FM.next() function
      */
     public Pair<Integer, Integer> rollout(AbstractForwardModel fm, int startIndex, int playerID, boolean repair) {
-        length = 0;
         double delta = 0;
         double previousScore = 0;
         int fmCalls = 0, copyCalls = 0;
-        AbstractGameState gs = gameStates[startIndex].copy();
+        if (prefixCache) {
+            startIndex = Math.min(startIndex, Math.min(validPrefix, length));
+            delta = deltas[startIndex];
+            previousScore = scores[startIndex];
+        }
+        // gs is only read, as we copy it before applying each action
+        AbstractGameState gs = gameStates[startIndex];
+        length = startIndex;
 
         // This lot are a local record for use in debugging; Very useful, with no compute overhead for keeping a local copy
         AbstractGameState[] oldGameStates = new AbstractGameState[gameStates.length];
@@ -111,11 +200,9 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         AbstractAction[] oldActions = new AbstractAction[actions.length];
         boolean[] illegalActions = new boolean[actions.length];
 
-        for (int i = 0; i < startIndex; i++) {
-            double score;
-            score = heuristic.evaluateState(gameStates[i + 1], playerID);
-            if (Double.isNaN(score))
-                throw new AssertionError("Illegal heuristic value - should be a number");
+        for (int i = 0; i < startIndex && !prefixCache; i++) {
+            // the score of each game state is kept along with it (also by crossover), so need not be re-evaluated
+            double score = scores[i + 1];
             delta += Math.pow(discountFactor, i) * (score - previousScore);
             previousScore = score;
         }
@@ -171,6 +258,8 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
                     throw new AssertionError("Illegal heuristic value - should be a number");
                 delta += Math.pow(discountFactor, i) * (score - previousScore);
                 previousScore = score;
+                deltas[i + 1] = delta;
+                scores[i + 1] = score;
 
                 gs = gsCopy;
 
@@ -180,6 +269,7 @@ public class RHEAIndividual implements Comparable<RHEAIndividual> {
         }
 //        this.value = gs.getScore(playerID);
         this.value = delta;
+        validPrefix = length;
         return new Pair<>(fmCalls, copyCalls);
     }
 
@@ -23,6 +23,8 @@ public class RHEAParams extends PlayerParameters
     public boolean shiftLeft;
     public IStateHeuristic heuristic = AbstractGameState::getGameScore;
     public boolean useMAST;
+    public boolean prefixCache;  // resume rollouts from the first changed action, using the cached game states
+    public int evaluationThreads = 1;  // number of threads used to evaluate the population; 1 to evaluate in sequence
 
 
     public RHEAParams() {
@@ -38,6 +40,8 @@ public class RHEAParams extends PlayerParameters
         addTunableParameter("mutationCount", 1, Arrays.asList(1, 3, 10));
         addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getGameScore);
         addTunableParameter("useMAST", false, Arrays.asList(false, true));
+        addTunableParameter("prefixCache", false, Arrays.asList(false, true));
+        addTunableParameter("evaluationThreads", 1);
     }
 
     @Override
@@ -54,6 +58,8 @@ public class RHEAParams extends PlayerParameters
         shiftLeft = (boolean) getParameterValue("shiftLeft");
         mutationCount = (int) getParameterValue("mutationCount");
         useMAST = (boolean) getParameterValue("useMAST");
+        prefixCache = (boolean) getParameterValue("prefixCache");
+        evaluationThreads = (int) getParameterValue("evaluationThreads");
         heuristic = (IStateHeuristic) getParameterValue("heuristic");
         if (heuristic instanceof TunableParameters<?> tunableHeuristic) {
             for (String name : tunableHeuristic.getParameterNames()) {
@@ -6,17 +6,18 @@ import core.actions.AbstractAction;
 import players.IAnyTimePlayer;
 import players.PlayerConstants;
 import players.mcts.MASTPlayer;
+import players.mcts.MASTTable;
 import players.simple.RandomPlayer;
 import utilities.ElapsedCpuTimer;
 import utilities.Pair;
-import utilities.Utils;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     private static final AbstractPlayer randomPlayer = new RandomPlayer();
-    List<Map<Object, Pair<Integer, Double>>> MASTStatistics; // a list of one Map per player. Action -> (visits, totValue)
+    List<MASTTable> MASTStatistics; // a list of one table per player. Action key -> (visits, totValue)
     protected List<RHEAIndividual> population = new ArrayList<>();
     // Budgets
     protected double timePerIteration = 0, timeTaken = 0, initTime = 0;
@@ -25,13 +26,18 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     protected int copyCalls = 0;
     protected int repairCount, nonRepairCount;
     private MASTPlayer mastPlayer;
+    // for params.evaluationThreads > 1; created when first needed, and shut down at the end of each game
+    private ForkJoinPool pool;
 
     public RHEAPlayer(RHEAParams params) {
-        super(params, "RHEAPlayer");
+        this(params, "RHEAPlayer");
     }
 
     public RHEAPlayer(RHEAParams params, String name) {
         super(params, name);
+        // parallel evaluation is seeded so that it does not depend on the number or timing of threads
+        if (params.evaluationThreads > 1)
+            rnd = new Random(parameters.getRandomSeed());
     }
 
     @Override
@@ -42,10 +48,18 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     public void initializePlayer(AbstractGameState state) {
         MASTStatistics = new ArrayList<>();
         for (int i = 0; i < state.getNPlayers(); i++)
-            MASTStatistics.add(new HashMap<>());
+            MASTStatistics.add(new MASTTable());
         population = new ArrayList<>();
     }
 
+    @Override
+    public void finalizePlayer(AbstractGameState state) {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
     @Override
     public AbstractAction _getAction(AbstractGameState stateObs, List<AbstractAction> possibleActions) {
         ElapsedCpuTimer timer = new ElapsedCpuTimer();  // New timer for this game tick
@@ -61,10 +75,10 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             if (MASTStatistics == null) {
                 MASTStatistics = new ArrayList<>();
                 for (int i = 0; i < stateObs.getNPlayers(); i++)
-                    MASTStatistics.add(new HashMap<>());
+                    MASTStatistics.add(new MASTTable());
             } else {
                 MASTStatistics = MASTStatistics.stream()
-                        .map(m -> Utils.decay(m, params.discountFactor))
+                        .map(m -> m.decay(params.discountFactor))
                         .collect(Collectors.toList());
             }
             mastPlayer = new MASTPlayer(null, 1.0, 0.0, System.currentTimeMillis(), 0.0);
@@ -87,7 +101,8 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             for (int i = 0; i < params.populationSize; ++i) {
                 if (!budgetLeft(timer)) break;
                 population.add(new RHEAIndividual(params.horizon, params.discountFactor, getForwardModel(), stateObs,
-                        getPlayerID(), rnd, params.heuristic, params.useMAST ? mastPlayer : randomPlayer));
+                        getPlayerID(), rnd, params.heuristic, params.evaluationThreads > 1 ? rolloutPolicy(rnd.nextLong())
+                        : params.useMAST ? mastPlayer : randomPlayer, params.prefixCache));
                 fmCalls += population.get(i).length;
                 copyCalls += population.get(i).length;
             }
@@ -157,8 +172,7 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         int min = Math.min(p1.length, p2.length);
         for (int i = 0; i < min; ++i) {
             if (rnd.nextFloat() >= 0.5f) {
-                child.actions[i] = p2.actions[i];
-                child.gameStates[i] = p2.gameStates[i]; //.copy();
+                takeGene(child, i, p2, i);
             }
         }
         return child;
@@ -170,8 +184,7 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         int tailLength = Math.min(p1.length, p2.length) / 2;
 
         for (int i = 0; i < tailLength; ++i) {
-            child.actions[child.length - 1 - i] = p2.actions[p2.length - 1 - i];
-            child.gameStates[child.length - 1 - i] = p2.gameStates[p2.length - 1 - i]; //.copy();
+            takeGene(child, child.length - 1 - i, p2, p2.length - 1 - i);
         }
         return child;
     }
@@ -181,14 +194,28 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
         copyCalls += child.length;
         int tailLength = Math.min(p1.length, p2.length) / 3;
         for (int i = 0; i < tailLength; ++i) {
-            child.actions[i] = p2.actions[i];
-            child.gameStates[i] = p2.gameStates[i]; //.copy();
-            child.actions[child.length - 1 - i] = p2.actions[p2.length - 1 - i];
-            child.gameStates[child.length - 1 - i] = p2.gameStates[p2.length - 1 - i]; //.copy();
+            takeGene(child, i, p2, i);
+            takeGene(child, child.length - 1 - i, p2, p2.length - 1 - i);
         }
         return child;
     }
 
+    /**
+     * Sets the action at index i in the child to that at index j in the second parent.
+     * With the prefix cache the game states up to the first changed action are kept, as they are still those that
+     * the child reaches; otherwise the game state (and its score) is taken from the parent along with the action.
+     */
+    private void takeGene(RHEAIndividual child, int i, RHEAIndividual p2, int j) {
+        if (!p2.actions[j].equals(child.actions[i])) {
+            child.actions[i] = p2.actions[j];
+            child.invalidateFrom(i);
+        }
+        if (!child.prefixCache || i > child.validPrefix) {
+            child.gameStates[i] = p2.gameStates[j]; //.copy();
+            child.scores[i] = p2.scores[j];
+        }
+    }
+
     RHEAIndividual[] selectParents() {
         RHEAIndividual[] parents = new RHEAIndividual[2];
 
@@ -252,14 +279,13 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
             population.add(child);
         }
 
-        for (RHEAIndividual individual : population) {
-            Pair<Integer, Integer> calls = individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount);
-            fmCalls += calls.a;
-            copyCalls += calls.b;
-            repairCount += individual.repairCount;
-            nonRepairCount += individual.nonRepairCount;
-            if (params.useMAST)
-                MASTBackup(individual.actions, individual.value, getPlayerID());
+        if (params.evaluationThreads > 1) {
+            List<Pair<Integer, Integer>> allCalls = mutateInParallel();
+            for (int i = 0; i < population.size(); i++)
+                recordMutation(population.get(i), allCalls.get(i));
+        } else {
+            for (RHEAIndividual individual : population)
+                recordMutation(individual, individual.mutate(getForwardModel(), getPlayerID(), params.mutationCount));
         }
 
         //sort
@@ -278,15 +304,71 @@ public class RHEAPlayer extends AbstractPlayer implements IAnyTimePlayer {
     }
 
 
+    private void recordMutation(RHEAIndividual individual, Pair<Integer, Integer> calls) {
+        fmCalls += calls.a;
+        copyCalls += calls.b;
+        repairCount += individual.repairCount;
+        nonRepairCount += individual.nonRepairCount;
+        if (getParameters().useMAST)
+            MASTBackup(individual.actions, individual.value, getPlayerID());
+    }
+
+    /**
+     * Mutates (and so evaluates) all the individuals in the population, split across params.evaluationThreads.
+     * Each individual has its own Random and rollout policy, seeded in population order, picks the positions to
+     * mutate before any are evaluated, and MAST is only updated once all are mutated, so that the result does not
+     * depend on the number of threads. Individuals share game states with their parents, so each is first given its
+     * own copies of the states it will use (from the first mutated action on). This requires the forward model and
+     * heuristic to be safe to use from several threads.
+     *
+     * @return the (FM calls, copy calls) for each individual, in population order
+     */
+    private List<Pair<Integer, Integer>> mutateInParallel() {
+        RHEAParams params = getParameters();
+        if (pool == null) {
+            pool = new ForkJoinPool(params.evaluationThreads, p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        List<Callable<Pair<Integer, Integer>>> tasks = new ArrayList<>();
+        for (RHEAIndividual individual : population) {
+            individual.gen = new Random(rnd.nextLong());
+            individual.rolloutPolicy = rolloutPolicy(rnd.nextLong());
+            int[] positions = individual.choosePositions(params.mutationCount);
+            copyCalls += individual.copyGameStates(positions);
+            tasks.add(() -> individual.mutate(getForwardModel(), getPlayerID(), positions));
+        }
+        List<Pair<Integer, Integer>> retValue = new ArrayList<>();
+        for (Future<Pair<Integer, Integer>> result : pool.invokeAll(tasks)) {
+            try {
+                retValue.add(result.get());
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Failed to evaluate individual", e);
+            }
+        }
+        return retValue;
+    }
+
+    /**
+     * A new rollout policy (MAST or random, as set in the parameters) for one individual evaluated in parallel
+     */
+    private AbstractPlayer rolloutPolicy(long seed) {
+        if (getParameters().useMAST) {
+            MASTPlayer mastPlayer = new MASTPlayer(null, 1.0, 0.0, seed, 0.0);
+            mastPlayer.setMASTStats(MASTStatistics);
+            return mastPlayer;
+        }
+        return new RandomPlayer(new Random(seed));
+    }
+
     protected void MASTBackup(AbstractAction[] rolloutActions, double delta, int player) {
         for (int i = 0; i < rolloutActions.length; i++) {
             AbstractAction action = rolloutActions[i];
             if (action == null)
                 break;
-            Pair<Integer, Double> stats = MASTStatistics.get(player).getOrDefault(action, new Pair<>(0, 0.0));
-            stats.a++;  // visits
-            stats.b += delta;   // value
-            MASTStatistics.get(player).put(action.copy(), stats);
+            MASTStatistics.get(player).update(null, action, delta);
         }
     }
 
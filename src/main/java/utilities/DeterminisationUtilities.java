@@ -1,105 +1,157 @@
 package utilities;
 
-import core.CoreConstants;
 import core.components.Component;
 import core.components.Deck;
 import core.components.PartialObservableDeck;
 
-import java.util.List;
-import java.util.Random;
+import java.util.*;
 import java.util.function.Predicate;
 
 public class DeterminisationUtilities {
 
+    /**
+     * Scratch buffers for the shuffles, kept per thread so that redeterminising a state does not allocate once
+     * they have grown to the size of the largest set of cards shuffled.
+     */
+    private static final class Scratch {
+        Object[] items = new Object[64];
+        final BitSet hidden = new BitSet();
+
+        Object[] items(int size) {
+            if (items.length < size) items = new Object[Math.max(size, items.length * 2)];
+            return items;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
     /**
      *  Reshuffles all cards across the list of decks that meet the lambda predicate, and are not visible to player.
      *
      *  This is done in situ - it takes account of hidden information in PartialObservableDecks, and the visibility
-     *  mode of Decks
+     *  mode of Decks. The positions of the hidden cards across all the decks are marked in a bitset, and the cards
+     *  at those positions are shuffled in a reusable buffer (in the same order as Collections.shuffle(), so the
+     *  result for a given Random is unchanged) and then written back.
      *
      * @param player
      * @param decks
      * @param lambda
      * @param <C>
      */
+    @SuppressWarnings("unchecked")
     public static <C extends Component> void reshuffle(int player, List<Deck<C>> decks, Predicate<C> lambda, Random rnd) {
         // Gather up all unknown cards for reshuffling
         if (player < 0) return;
 
-        Deck<C> allCards = new Deck<>("temp", -1, CoreConstants.VisibilityMode.HIDDEN_TO_ALL);
+        Scratch s = scratch.get();
+        BitSet hidden = s.hidden;
+        hidden.clear();
+        int total = 0;
+        for (Deck<C> d : decks)
+            total += d.getSize();
+        Object[] cards = s.items(total);
 
-        // The fully observable decks care now filtered to remove any that are visible to us
+        // The fully observable decks are now filtered to remove any that are visible to us
+        int nCards = 0;
+        int offset = 0;
         for (Deck<C> d : decks) {
             int length = d.getSize();
-            if (d instanceof PartialObservableDeck<C> pod) {
-                for (int i = 0; i < length; i++) {
-                    if (!pod.getVisibilityForPlayer(i, player) && lambda.test(pod.get(i)))
-                        allCards.add(pod.get(i));
-                }
-            } else {
-                switch (d.getVisibilityMode()) {
-                    case VISIBLE_TO_ALL:
-                        // don't shuffle
-                        break;
-                    case VISIBLE_TO_OWNER:
-                        if (d.getOwnerId() == player)
-                            break;
-                    case HIDDEN_TO_ALL:
-                        for (int i = 0; i < length; i++)
-                            if (lambda.test(d.get(i)))
-                                allCards.add(d.get(i));
-                        break;
-                    case TOP_VISIBLE_TO_ALL:
-                        for (int i = 1; i < length; i++)
-                            if (lambda.test(d.get(i)))
-                                allCards.add(d.get(i));
-                        break;
-                    case BOTTOM_VISIBLE_TO_ALL:
-                        for (int i = 0; i < length - 1;  i++)
-                            if (lambda.test(d.get(i)))
-                                allCards.add(d.get(i));
-                        break;
-                    case MIXED_VISIBILITY:
-                        throw new AssertionError("Not supported : MIXED_VISIBILITTY");
+            int i = 0;
+            for (C c : d.getComponents()) {
+                if (isHidden(d, i, length, player) && lambda.test(c)) {
+                    hidden.set(offset + i);
+                    cards[nCards++] = c;
                 }
+                i++;
             }
+            offset += length;
+        }
+
+        // the cards used to be gathered by adding each to the top of a temporary Deck, so we reverse them
+        // before the shuffle to keep the same result for a given Random
+        for (int i = 0, j = nCards - 1; i < j; i++, j--) {
+            Object tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
         }
-        allCards.shuffle(rnd);
+        shuffle(cards, null, nCards, rnd);
 
         // and put the shuffled cards in place
+        int next = 0;
+        offset = 0;
         for (Deck<C> d : decks) {
             int length = d.getSize();
-            if (d instanceof PartialObservableDeck<C> pod) {
+            int first = hidden.nextSetBit(offset);
+            if (first >= 0 && first < offset + length) {
+                ListIterator<C> it = d.getComponents().listIterator();
                 for (int i = 0; i < length; i++) {
-                    if (!pod.getVisibilityForPlayer(i, player) && lambda.test(pod.get(i)))
-                        pod.setComponent(i, allCards.draw());
-                }
-            } else {
-                switch (d.getVisibilityMode()) {
-                    case VISIBLE_TO_ALL:
-                        break;
-                    case VISIBLE_TO_OWNER:
-                        if (d.getOwnerId() == player)
-                            break;
-                    case HIDDEN_TO_ALL:
-                        for (int i = 0; i < length; i++)
-                            if (lambda.test(d.get(i)))
-                                d.setComponent(i, allCards.draw());
-                        break;
-                    case TOP_VISIBLE_TO_ALL:
-                        for (int i = 1; i < length; i++)
-                            if (lambda.test(d.get(i)))
-                                d.setComponent(i, allCards.draw());
-                        break;
-                    case BOTTOM_VISIBLE_TO_ALL:
-                        for (int i = 0; i < length - 1;  i++)
-                            if (lambda.test(d.get(i)))
-                                d.setComponent(i, allCards.draw());
-                        break;
-                    case MIXED_VISIBILITY:
-                        throw new AssertionError("Not supported : MIXED_VISIBILITTY");
+                    it.next();
+                    if (hidden.get(offset + i)) {
+                        C card = (C) cards[next++];
+                        card.setOwnerId(d.getOwnerId());
+                        it.set(card);
+                    }
                 }
             }
+            offset += length;
+        }
+        Arrays.fill(cards, 0, nCards, null);
+    }
+
+    private static boolean isHidden(Deck<?> d, int index, int length, int player) {
+        if (d instanceof PartialObservableDeck<?> pod)
+            return !pod.getVisibilityForPlayer(index, player);
+        return switch (d.getVisibilityMode()) {
+            case VISIBLE_TO_ALL -> false;
+            case VISIBLE_TO_OWNER -> d.getOwnerId() != player;
+            case HIDDEN_TO_ALL -> true;
+            case TOP_VISIBLE_TO_ALL -> index > 0;
+            case BOTTOM_VISIBLE_TO_ALL -> index < length - 1;
+            case MIXED_VISIBILITY -> throw new AssertionError("Not supported : MIXED_VISIBILITTY");
+        };
+    }
+
+    /**
+     * Shuffles a list in place, applying the same permutation to the first list.size() entries of an array (for
+     * example the visibility of each component in a PartialObservableDeck). This uses the same sequence of random
+     * numbers as Collections.shuffle(), but works through a reusable buffer and a list iterator, so is linear in the
+     * size of the list (even for a LinkedList) and does not allocate.
+     *
+     * @param list     - list to shuffle
+     * @param partners - array to permute along with it; may be null
+     * @param rnd      - random number generator to be used in shuffling.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void shuffleTogether(List<T> list, long[] partners, Random rnd) {
+        int size = list.size();
+        if (partners != null && partners.length < size)
+            throw new IllegalArgumentException("Array to shuffle together with a list must be at least as long as it");
+        Object[] items = scratch.get().items(size);
+        int i = 0;
+        for (T t : list) items[i++] = t;
+
+        shuffle(items, partners, size, rnd);
+
+        ListIterator<T> it = list.listIterator();
+        for (i = 0; i < size; i++) {
+            it.next();
+            it.set((T) items[i]);
+        }
+        Arrays.fill(items, 0, size, null);
+    }
+
+    // Fisher-Yates over the first n items, in the same order as Collections.shuffle()
+    private static void shuffle(Object[] items, long[] partners, int n, Random rnd) {
+        for (int i = n; i > 1; i--) {
+            int j = rnd.nextInt(i);
+            Object tmp = items[i - 1];
+            items[i - 1] = items[j];
+            items[j] = tmp;
+            if (partners != null) {
+                long p = partners[i - 1];
+                partners[i - 1] = partners[j];
+                partners[j] = p;
+            }
         }
     }
 }
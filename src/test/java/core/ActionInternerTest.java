@@ -0,0 +1,54 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.actions.ActionInterner;
+import core.actions.SetGridValueAction;
+import games.chess.actions.MovePiece;
+import games.chess.ChessForwardModel;
+import games.chess.ChessGameState;
+import games.chess.ChessParameters;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ActionInternerTest {
+
+    @Test
+    public void immutableActionsCopyToThemselves() {
+        SetGridValueAction action = new SetGridValueAction(1, 2, 3, 4);
+        assertSame(action, action.copy());
+        MovePiece move = new MovePiece(0, 1, 0, 3);
+        assertSame(move, move.copy());
+    }
+
+    @Test
+    public void equalActionsShareOneInstance() {
+        MovePiece first = ActionInterner.intern(new MovePiece(4, 1, 4, 3));
+        MovePiece second = ActionInterner.intern(new MovePiece(4, 1, 4, 3));
+        assertSame(first, second);
+        assertEquals(new MovePiece(4, 1, 4, 3).hashCode(), second.hashCode());
+        assertNotSame(first, ActionInterner.intern(new MovePiece(4, 1, 4, 2)));
+    }
+
+    @Test
+    public void internedActionsAreReusedAcrossStates() {
+        ChessForwardModel fm = new ChessForwardModel();
+        ChessGameState state = new ChessGameState(new ChessParameters(), 2);
+        fm.setup(state);
+        List<AbstractAction> actions = fm.computeAvailableActions(state);
+        List<AbstractAction> copyActions = fm.computeAvailableActions(state.copy());
+        assertEquals(actions.size(), copyActions.size());
+        for (int i = 0; i < actions.size(); i++) {
+            assertSame(actions.get(i), copyActions.get(i));
+        }
+
+        // a new game produces the same actions, so does not grow the cache
+        int size = ActionInterner.size();
+        ChessGameState newGame = new ChessGameState(new ChessParameters(), 2);
+        fm.setup(newGame);
+        fm.computeAvailableActions(newGame);
+        assertEquals(size, ActionInterner.size());
+    }
+}
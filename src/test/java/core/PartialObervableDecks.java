@@ -406,4 +406,50 @@ public class PartialObervableDecks {
         assertEquals(3, nonShuffledCount[0], 3); // 2 cards, so expect 20/6 = 3
         assertEquals(7, nonShuffledCount[1], 3); // 4 cards, so expect 40/6 = 7
     }
+
+    @Test
+    public void shuffleAndKeepVisibilityMatchesCollectionsShuffle() {
+        PartialObservableDeck<DominionCard> deck = new PartialObservableDeck<>("Test", 1, 3, HIDDEN_TO_ALL);
+        CardType[] types = {CardType.COPPER, CardType.SILVER, CardType.GOLD, CardType.ESTATE, CardType.DUCHY,
+                CardType.PROVINCE, CardType.MILITIA, CardType.SMITHY};
+        for (CardType type : types)
+            deck.add(DominionCard.create(type));
+        deck.setVisibilityOfComponent(deck.getComponents().indexOf(DominionCard.create(CardType.GOLD)), 0, true);
+        List<DominionCard> expected = new ArrayList<>(deck.getComponents());
+        Collections.shuffle(expected, new Random(77));
+
+        deck.shuffleAndKeepVisibility(new Random(77));
+        assertEquals(expected, deck.getComponents());
+        for (int i = 0; i < deck.getSize(); i++)
+            assertEquals(deck.get(i).cardType() == CardType.GOLD, deck.isComponentVisible(i, 0));
+    }
+
+    @Test
+    public void addingADeckKeepsItsVisibilityAndCopiesAreIndependent() {
+        PartialObservableDeck<DominionCard> deck = new PartialObservableDeck<>("Test", 1, 3, HIDDEN_TO_ALL);
+        deck.add(DominionCard.create(CardType.COPPER));
+        deck.add(DominionCard.create(CardType.ESTATE));
+        PartialObservableDeck<DominionCard> other = new PartialObservableDeck<>("Other", 2, 3, HIDDEN_TO_ALL);
+        other.add(DominionCard.create(CardType.SILVER));
+        other.add(DominionCard.create(CardType.GOLD));
+        other.setVisibilityOfComponent(0, 2, true);  // the GOLD
+
+        deck.add(other, 1);
+        assertEquals(List.of(CardType.ESTATE, CardType.GOLD, CardType.SILVER, CardType.COPPER),
+                deck.getComponents().stream().map(DominionCard::cardType).toList());
+        assertArrayEquals(new boolean[]{false, false, true}, deck.getVisibilityOfComponent(1));
+        assertArrayEquals(new boolean[]{false, false, false}, deck.getVisibilityOfComponent(2));
+
+        PartialObservableDeck<DominionCard> copy = deck.copy();
+        copy.setVisibilityOfComponent(3, 0, true);
+        copy.remove(0);
+        assertTrue(copy.isComponentVisible(0, 2));
+        assertTrue(copy.isComponentVisible(2, 0));
+        assertFalse(deck.isComponentVisible(3, 0));
+        assertTrue(deck.isComponentVisible(1, 2));
+
+        // the returned array is a copy, and changing it does not change the deck
+        deck.getVisibilityOfComponent(0)[1] = true;
+        assertFalse(deck.isComponentVisible(0, 1));
+    }
 }
@@ -0,0 +1,40 @@
+package core;
+
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RenderSnapshotTest {
+
+    @Test
+    public void snapshotIsPublishedAfterEachActionAndNeverModified() {
+        Game game = GameType.TicTacToe.createGameInstance(2, 42);
+        List<AbstractPlayer> players = new ArrayList<>();
+        for (int p = 0; p < 2; p++)
+            players.add(new RandomPlayer());
+        game.reset(players);
+        assertSame(game.getGameState(), game.getRenderSnapshot());
+
+        game.setRenderSnapshots(true);
+        AbstractGameState snapshot = game.getRenderSnapshot();
+        assertNotSame(game.getGameState(), snapshot);
+        assertEquals(game.getGameState(), snapshot);
+
+        while (game.getGameState().isNotTerminal()) {
+            AbstractGameState previous = game.getRenderSnapshot();
+            AbstractGameState before = previous.copy();
+            game.oneAction();
+            assertNotSame(previous, game.getRenderSnapshot());
+            assertNotSame(game.getGameState(), game.getRenderSnapshot());
+            assertEquals(before, previous);
+            assertEquals(game.getGameState().getGameTick(), game.getRenderSnapshot().getGameTick());
+        }
+        game.terminate();
+        assertFalse(game.getRenderSnapshot().isNotTerminal());
+    }
+}
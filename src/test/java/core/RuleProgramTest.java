@@ -0,0 +1,51 @@
+package core;
+
+import core.actions.AbstractAction;
+import core.rules.AbstractRuleBasedForwardModel;
+import core.rules.RuleProgram;
+import games.GameType;
+import games.pandemic.PandemicForwardModel;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RuleProgramTest {
+
+    @Test
+    public void programIsSharedAndCursorIsCopiedWithState() {
+        Game game = GameType.Pandemic.createGameInstance(4, 42);
+        game.reset(List.of(), 42);
+        AbstractRuleBasedForwardModel fm = (AbstractRuleBasedForwardModel) game.getForwardModel();
+        RuleProgram program = fm.getProgram();
+        assertSame(program, ((PandemicForwardModel) fm).copy().getProgram());
+        assertEquals(18, program.size());
+
+        AbstractGameStateWithTurnOrder state = (AbstractGameStateWithTurnOrder) game.getGameState();
+        assertEquals(RuleProgram.ROOT, state.getNextRule());
+        Random rnd = new Random(42);
+        for (int i = 0; i < 200 && state.isNotTerminal(); i++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            AbstractAction action = actions.get(rnd.nextInt(actions.size()));
+            AbstractGameStateWithTurnOrder copy = (AbstractGameStateWithTurnOrder) state.copy();
+            assertEquals(state.getNextRule(), copy.getNextRule());
+            assertEquals(state.getLastRule(), copy.getLastRule());
+
+            // rolling the copy forward must not affect the rules applied to the original
+            AbstractGameState rollout = copy.copy();
+            for (int j = 0; j < 5 && rollout.isNotTerminal(); j++) {
+                List<AbstractAction> rolloutActions = fm.computeAvailableActions(rollout);
+                fm.next(rollout, rolloutActions.get(rnd.nextInt(rolloutActions.size())));
+            }
+
+            fm.next(state, action.copy());
+            fm.next(copy, action.copy());
+            assertEquals(state.getNextRule(), copy.getNextRule());
+            assertEquals(state.getLastRule(), copy.getLastRule());
+            assertEquals(state.getGamePhase(), copy.getGamePhase());
+            assertEquals(state.getCurrentPlayer(), copy.getCurrentPlayer());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package core.components;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PartialObservableGridBoardTest {
+
+    @Test
+    public void cellVisibilityIsPerPlayerAndCopied() {
+        PartialObservableGridBoard board = new PartialObservableGridBoard(4, 3, 3, false);
+        board.setElementVisibility(2, 1, 1, true);
+        assertTrue(board.getElementVisibility(2, 1, 1));
+        assertFalse(board.getElementVisibility(2, 1, 0));
+        assertFalse(board.getElementVisibility(2, 1, 2));
+        assertFalse(board.getElementVisibility(1, 2, 1));
+        assertEquals(List.of(false, true, false), board.getElementVisibility(2, 1));
+
+        PartialObservableGridBoard copy = board.copy();
+        assertEquals(board, copy);
+        assertEquals(board.hashCode(), copy.hashCode());
+        copy.setElementVisibility(2, 1, 1, false);
+        assertTrue(board.getElementVisibility(2, 1, 1));
+        assertNotEquals(board, copy);
+    }
+}
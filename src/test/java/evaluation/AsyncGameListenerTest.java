@@ -0,0 +1,106 @@
+package evaluation;
+
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.AsyncGameListener;
+import evaluation.listeners.IGameListener;
+import evaluation.metrics.Event;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AsyncGameListenerTest {
+
+    static class RecordingListener implements IGameListener {
+        List<String> events = new ArrayList<>();
+        Game game;
+
+        @Override
+        public void onEvent(Event event) {
+            // include the tick and game ID so that we check the state snapshot is taken at the right time
+            // and the statistics read from the Game, which must be those at the time of the event
+            events.add(event.type + ":" + (event.state == null ? -1 : event.state.getGameTick())
+                    + ":" + (event.state == null ? -1 : event.state.getGameID())
+                    + ":" + (game == null ? -1 : game.getActionSpaceSize().size() + "/" + game.getNDecisions())
+                    + ":" + event.action);
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+    }
+
+    private List<String> runGames(IGameListener listener, RecordingListener recorder) {
+        Game game = GameType.LoveLetter.createGameInstance(3, 42);
+        game.addListener(listener);
+        listener.setGame(game);
+        for (int i = 0; i < 3; i++) {
+            List<AbstractPlayer> players = new ArrayList<>();
+            for (int p = 0; p < 3; p++)
+                players.add(new RandomPlayer(new Random(p + 10L * i)));
+            game.reset(players, 100 + i);
+            game.run();
+            // GAME_OVER is a synchronisation point, so all events must have been processed
+            assertTrue(recorder.events.get(recorder.events.size() - 1).startsWith("GAME_OVER"));
+        }
+        listener.report();
+        return recorder.events;
+    }
+
+    @Test
+    public void asyncListenerSeesSameEventsInSameOrder() {
+        RecordingListener syncRecorder = new RecordingListener();
+        List<String> syncEvents = runGames(syncRecorder, syncRecorder);
+
+        RecordingListener asyncRecorder = new RecordingListener();
+        List<String> asyncEvents = runGames(new AsyncGameListener(asyncRecorder, 4), asyncRecorder);
+
+        assertFalse(syncEvents.isEmpty());
+        assertEquals(syncEvents.size(), asyncEvents.size());
+        for (int i = 0; i < syncEvents.size(); i++) {
+            // game IDs differ between the two runs, so just compare the rest
+            String[] s = syncEvents.get(i).split(":", 5);
+            String[] a = asyncEvents.get(i).split(":", 5);
+            assertEquals(s[0], a[0]);
+            assertEquals(s[1], a[1]);
+            assertEquals(s[3], a[3]);
+            assertEquals(s[4], a[4]);
+        }
+    }
+
+    private static long workerThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().startsWith("AsyncGameListener-") && t.isAlive()).count();
+    }
+
+    @Test
+    public void reportStopsTheWorkerThread() {
+        long before = workerThreads();
+        RecordingListener recorder = new RecordingListener();
+        AsyncGameListener listener = new AsyncGameListener(recorder, 4);
+        runGames(listener, recorder);  // which calls report()
+        assertEquals(before, workerThreads());
+
+        // and the listener can still be used afterwards
+        int eventCount = recorder.events.size();
+        runGames(listener, recorder);
+        assertEquals(2 * eventCount, recorder.events.size());
+        assertEquals(before, workerThreads());
+    }
+}
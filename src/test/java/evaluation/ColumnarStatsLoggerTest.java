@@ -0,0 +1,144 @@
+package evaluation;
+
+import core.CoreConstants.VisibilityMode;
+import evaluation.features.AutomatedFeatures;
+import evaluation.loggers.ColumnarDataReader;
+import evaluation.loggers.ColumnarStatsLogger;
+import evaluation.loggers.DataChunkReader;
+import org.junit.After;
+import org.junit.Test;
+import players.learners.StreamingLearningTest;
+import utilities.Pair;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ColumnarStatsLoggerTest {
+
+    String fileName = "src/test/java/evaluation/ColumnarTest.bin";
+
+    @After
+    public void teardown() {
+        new File(fileName).delete();
+    }
+
+    private void writeRows(ColumnarStatsLogger logger, int start, int rows) {
+        for (int i = start; i < start + rows; i++) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("GameID", i);
+            data.put("Score", i * 0.5);
+            // a column that switches to strings part way through
+            data.put("Mixed", i < 7 ? i : "Card" + i);
+            if (i % 3 != 1)
+                data.put("Sometimes", 1.0);
+            logger.record(data);
+        }
+    }
+
+    private void checkContents(int rows) {
+        try (ColumnarDataReader reader = new ColumnarDataReader(fileName)) {
+            assertArrayEquals(new String[]{"GameID", "Score", "Mixed", "Sometimes"}, reader.getHeader());
+            assertEquals(rows, reader.size());
+            double[] ids = reader.getDoubleColumn(0);
+            double[] scores = reader.getDoubleColumn(1);
+            String[] mixed = reader.getStringColumn(2);
+            double[] sometimes = reader.getDoubleColumn(3);
+            for (int i = 0; i < rows; i++) {
+                assertEquals(i, ids[i], 0.0);
+                assertEquals(i * 0.5, scores[i], 0.0);
+                assertEquals(i < 7 ? String.valueOf(i) : "Card" + i, mixed[i]);
+                if (i % 3 == 1)
+                    assertTrue(Double.isNaN(sometimes[i]));
+                else
+                    assertEquals(1.0, sometimes[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void roundTripAcrossChunks() {
+        ColumnarStatsLogger logger = new ColumnarStatsLogger(fileName, false, false, 4);
+        writeRows(logger, 0, 11);
+        logger.processDataAndFinish();
+        checkContents(11);
+    }
+
+    @Test
+    public void roundTripWithCompressionAndAppend() {
+        ColumnarStatsLogger logger = new ColumnarStatsLogger(fileName, false, true, 5);
+        writeRows(logger, 0, 6);
+        logger.processDataAndFinish();
+        logger = new ColumnarStatsLogger(fileName, true, false, 5);
+        writeRows(logger, 6, 9);
+        logger.processDataAndFinish();
+        checkContents(15);
+    }
+
+    @Test
+    public void loadDataWithHeaderReadsColumnarFiles() {
+        ColumnarStatsLogger logger = new ColumnarStatsLogger(fileName, false, false, 4);
+        writeRows(logger, 0, 10);
+        logger.processDataAndFinish();
+        assertTrue(ColumnarDataReader.isColumnarFile(fileName));
+        Pair<List<String>, List<List<String>>> data = ColumnarDataReader.loadDataWithHeader("\t", fileName);
+        assertEquals(List.of("GameID", "Score", "Mixed", "Sometimes"), data.a);
+        assertEquals(10, data.b.size());
+        assertEquals(List.of("4", "2.0", "4", "NA"), data.b.get(4));
+        assertEquals(List.of("9", "4.5", "Card9", "1.0"), data.b.get(9));
+    }
+
+    @Test
+    public void columnChunksMatchTheRowsAsStrings() {
+        ColumnarStatsLogger logger = new ColumnarStatsLogger(fileName, false, false, 4);
+        writeRows(logger, 0, 10);
+        logger.processDataAndFinish();
+        List<List<String>> rows = ColumnarDataReader.loadDataWithHeader("\t", fileName).b;
+        try (DataChunkReader reader = new DataChunkReader(fileName)) {
+            int row = 0;
+            DataChunkReader.Chunk chunk;
+            while ((chunk = reader.nextColumnChunk()) != null) {
+                assertTrue(chunk.rows() <= 4);
+                for (int r = 0; r < chunk.rows(); r++, row++) {
+                    for (int c = 0; c < 4; c++) {
+                        String expected = rows.get(row).get(c);
+                        assertEquals(DataChunkReader.parseNumber(expected), chunk.getDouble(r, c), 0.0);
+                        if (!expected.equals("NA"))
+                            assertEquals(DataChunkReader.parseNumber(expected), DataChunkReader.parseNumber(chunk.getString(r, c)), 0.0);
+                    }
+                }
+            }
+            assertEquals(10, row);
+        }
+    }
+
+    @Test
+    public void processedDataIsWrittenInTheFormatOfTheInput() {
+        String outputFile = "src/test/java/evaluation/ColumnarTest_ASF.bin";
+        try {
+            ColumnarStatsLogger logger = new ColumnarStatsLogger(fileName, false, false, 4);
+            for (int i = 0; i < 10; i++) {
+                Map<String, Object> data = new LinkedHashMap<>();
+                data.put("GameID", i);
+                data.put("count", i * 2);
+                data.put("mode", VisibilityMode.values()[i % VisibilityMode.values().length].name());
+                data.put("Win", i % 2);
+                logger.record(data);
+            }
+            logger.processDataAndFinish();
+
+            AutomatedFeatures asf = new AutomatedFeatures(new StreamingLearningTest.TestFeatures());
+            List<List<Object>> rows = asf.processData(true, outputFile, 0, fileName);
+            assertTrue(ColumnarDataReader.isColumnarFile(outputFile));
+            Pair<List<String>, List<List<String>>> data = ColumnarDataReader.loadDataWithHeader("\t", outputFile);
+            assertEquals(10, data.b.size());
+            assertEquals(rows.get(0).size(), data.a.size());
+            assertTrue(data.a.contains("Win"));
+        } finally {
+            new File(outputFile).delete();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package evaluation;
+
+import core.AbstractPlayer;
+import evaluation.tournamentSeeds.SeedListener;
+import evaluation.tournaments.GameResultStore;
+import evaluation.tournaments.RoundRobinTournament;
+import games.GameType;
+import games.sushigo.SGParameters;
+import games.sushigo.cards.SGCard;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+import utilities.Pair;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class GameResultStoreTest {
+
+    private RoundRobinTournament tournament(String cacheFile) {
+        List<AbstractPlayer> players = List.of(new RandomPlayer(), new RandomPlayer());
+        players.get(1).setName("Second");
+        String[] args = new String[]{
+                "mode=exhaustive", "matchups=8", "seed=9342", "listener=\"\"", "resultCache=" + cacheFile
+        };
+        Map<RunArg, Object> config = RunArg.parseConfig(args, Collections.singletonList(RunArg.Usage.RunGames));
+        return new RoundRobinTournament(players, GameType.DotsAndBoxes, 2, null, config);
+    }
+
+    @Test
+    public void secondTournamentReusesStoredResults() throws IOException {
+        File cache = File.createTempFile("results", ".txt");
+        cache.delete();
+        cache.deleteOnExit();
+
+        RoundRobinTournament first = tournament(cache.getPath());
+        SeedListener firstListener = new SeedListener();
+        first.addListener(firstListener);
+        first.run();
+        assertEquals(8, firstListener.seeds.size());
+        assertEquals(8, new GameResultStore(cache.getPath()).size());
+
+        // the same tournament again plays no games at all, and gets the same results
+        RoundRobinTournament second = tournament(cache.getPath());
+        SeedListener secondListener = new SeedListener();
+        second.addListener(secondListener);
+        second.run();
+        assertEquals(0, secondListener.seeds.size());
+        assertArrayEquals(first.getNGamesPlayed(), second.getNGamesPlayed());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(first.getWinRate(i), second.getWinRate(i), 1e-9);
+            assertEquals(first.getOrdinalRank(i), second.getOrdinalRank(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void keyDependsOnSeatOrderAndSeed() {
+        AbstractPlayer a = new RandomPlayer();
+        AbstractPlayer b = new RandomPlayer();
+        b.setName("Other");
+        String key = GameResultStore.key(GameType.DotsAndBoxes, null, List.of(a, b), 1);
+        assertEquals(key, GameResultStore.key(GameType.DotsAndBoxes, null, List.of(a.copy(), b), 1));
+        assertNotEquals(key, GameResultStore.key(GameType.DotsAndBoxes, null, List.of(b, a), 1));
+        assertNotEquals(key, GameResultStore.key(GameType.DotsAndBoxes, null, List.of(a, b), 2));
+    }
+
+    @Test
+    public void keyOfParametersThatAreNotTunableDependsOnTheirValues() {
+        List<AbstractPlayer> players = List.of(new RandomPlayer(), new RandomPlayer());
+        SGParameters params = new SGParameters();
+        SGParameters other = new SGParameters();
+        other.setRandomSeed(params.getRandomSeed() + 1);
+        String key = GameResultStore.key(GameType.SushiGo, params, players, 1);
+        assertEquals(key, GameResultStore.key(GameType.SushiGo, other, players, 1));
+
+        other.valueDumpling[4] = 16;
+        assertNotEquals(key, GameResultStore.key(GameType.SushiGo, other, players, 1));
+        other.valueDumpling[4] = 15;
+        other.nCardsPerType.put(new Pair<>(SGCard.SGCardType.Maki, 3), 11);
+        assertNotEquals(key, GameResultStore.key(GameType.SushiGo, other, players, 1));
+    }
+}
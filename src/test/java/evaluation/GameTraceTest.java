@@ -0,0 +1,126 @@
+package evaluation;
+
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.GameTraceListener;
+import evaluation.listeners.IGameListener;
+import evaluation.metrics.Event;
+import evaluation.replay.GameTrace;
+import evaluation.replay.GameTraceReader;
+import evaluation.replay.ReplayEngine;
+import games.GameType;
+import games.loveletter.LoveLetterForwardModel;
+import games.loveletter.LoveLetterGameState;
+import games.loveletter.LoveLetterParameters;
+import games.loveletter.cards.CardType;
+import org.junit.After;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GameTraceTest {
+
+    String fileName = "src/test/java/evaluation/GameTraceTest.bin";
+
+    @After
+    public void teardown() {
+        new File(fileName).delete();
+    }
+
+    static class ActionRecorder implements IGameListener {
+        List<String> actions = new ArrayList<>();
+        Game game;
+
+        @Override
+        public void onEvent(Event event) {
+            if (event.type == Event.GameEvent.ACTION_TAKEN)
+                actions.add(event.state.getGameTick() + ":" + event.action);
+        }
+
+        @Override
+        public void report() {
+        }
+
+        @Override
+        public void setGame(Game game) {
+            this.game = game;
+        }
+
+        @Override
+        public Game getGame() {
+            return game;
+        }
+    }
+
+    private List<String> recordGames(GameType gameType, int nPlayers, int nGames) {
+        ActionRecorder recorder = new ActionRecorder();
+        GameTraceListener traceListener = new GameTraceListener(fileName);
+        Game game = gameType.createGameInstance(nPlayers, 42);
+        game.addListener(traceListener);
+        game.addListener(recorder);
+        for (int i = 0; i < nGames; i++) {
+            List<AbstractPlayer> players = new ArrayList<>();
+            for (int p = 0; p < nPlayers; p++)
+                players.add(new RandomPlayer(new Random(p + 10L * i)));
+            game.reset(players, 100 + i);
+            game.run();
+        }
+        traceListener.report();
+        return recorder.actions;
+    }
+
+    @Test
+    public void replayReproducesGames() {
+        List<String> original = recordGames(GameType.LoveLetter, 3, 5);
+
+        List<GameTrace> traces = GameTraceReader.readAll(fileName);
+        assertEquals(5, traces.size());
+        assertEquals(GameType.LoveLetter, traces.get(0).gameType);
+        assertEquals(100, traces.get(0).seed);
+        assertEquals("RandomPlayer", traces.get(0).playerNames[1]);
+        // roughly one byte per decision, plus the header
+        assertTrue(new File(fileName).length() < original.size() + 5 * 200);
+
+        ActionRecorder replayed = new ActionRecorder();
+        ReplayEngine engine = new ReplayEngine(List.of(replayed));
+        // this will throw an AssertionError if final scores differ
+        assertEquals(5, engine.replayFile(fileName));
+        assertEquals(original, replayed.actions);
+    }
+
+    @Test
+    public void tracesAreAppended() {
+        recordGames(GameType.TicTacToe, 2, 2);
+        recordGames(GameType.TicTacToe, 2, 3);
+        assertEquals(5, GameTraceReader.readAll(fileName).size());
+        assertEquals(5, new ReplayEngine().replayFile(fileName));
+    }
+
+    private String dealLoveLetter(LoveLetterParameters params) {
+        params.setRandomSeed(123);
+        LoveLetterGameState state = new LoveLetterGameState(params, 3);
+        new LoveLetterForwardModel().setup(state);
+        return state.getDrawPile().getComponents().toString() + state.getPlayerHandCards().toString();
+    }
+
+    @Test
+    public void loveLetterDealDoesNotDependOnMapOrder() {
+        // replaying a trace in another JVM needs the same deal from the same seed, but the iteration order of the
+        // HashMap of card counts (keyed by enum) can differ between JVMs; here we reverse it
+        LoveLetterParameters reversed = new LoveLetterParameters();
+        LinkedHashMap<CardType, Integer> counts = new LinkedHashMap<>();
+        CardType[] types = CardType.values();
+        for (int i = types.length - 1; i >= 0; i--)
+            if (reversed.cardCounts.containsKey(types[i]))
+                counts.put(types[i], reversed.cardCounts.get(types[i]));
+        reversed.cardCounts = counts;
+        assertEquals(dealLoveLetter(new LoveLetterParameters()), dealLoveLetter(reversed));
+    }
+}
@@ -0,0 +1,73 @@
+package evaluation;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RunDaemonTest {
+
+    // sends the job, and returns every line sent back for it (the last being its status)
+    private List<JSONObject> send(BufferedReader reader, Writer writer, String job) throws IOException, ParseException {
+        writer.write(job + "\n");
+        writer.flush();
+        List<JSONObject> replies = new ArrayList<>();
+        JSONParser parser = new JSONParser();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            JSONObject reply = (JSONObject) parser.parse(line);
+            replies.add(reply);
+            if (reply.containsKey("status"))
+                break;
+        }
+        return replies;
+    }
+
+    @Test
+    public void jobsRunOnOneConnectionAndStreamTheirOutput() throws Exception {
+        File destDir = Files.createTempDirectory("daemon").toFile();
+        destDir.deleteOnExit();
+        String job = "{\"job\" : \"RunGames\", \"game\" : \"TicTacToe\", \"nPlayers\" : 2, \"playerDirectory\" : \"random\"," +
+                " \"mode\" : \"random\", \"matchups\" : 4, \"listener\" : \"\", \"destDir\" : \"" +
+                destDir.getPath().replace("\\", "\\\\") + "\"}";
+        Path socketFile = destDir.toPath().resolve("daemon.sock");
+        try (RunDaemon daemon = new RunDaemon(socketFile.toString(), 1)) {
+            daemon.start();
+            // only the owner can connect
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(socketFile)));
+            try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketFile));
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+                 Writer writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8)) {
+                for (int run = 0; run < 2; run++) {
+                    List<JSONObject> replies = send(reader, writer, job);
+                    JSONObject status = replies.get(replies.size() - 1);
+                    assertEquals(status.toJSONString(), "ok", status.get("status"));
+                    assertEquals("RunGames", status.get("job"));
+                    assertTrue(replies.stream().anyMatch(r -> String.valueOf(r.get("out")).contains("TicTacToe")));
+                }
+
+                List<JSONObject> replies = send(reader, writer, "{\"job\" : \"Unknown\"}");
+                assertEquals(1, replies.size());
+                assertEquals("failed", replies.get(0).get("status"));
+
+                replies = send(reader, writer, "{\"job\" : \"shutdown\"}");
+                assertEquals("ok", replies.get(0).get("status"));
+            }
+            daemon.awaitShutdown();
+            assertFalse(Files.exists(socketFile));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package evaluation;
+
+import evaluation.listeners.IGameListener;
+import evaluation.listeners.StateFeatureListener;
+import evaluation.loggers.FileStatsLogger;
+import evaluation.metrics.Event;
+import games.GameType;
+import games.loveletter.features.LLStateFeaturesReduced;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+import utilities.Pair;
+import utilities.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class SelfPlayGeneratorTest {
+
+    @Test
+    public void eachShardIsWrittenToItsOwnFile() throws IOException {
+        File directory = Files.createTempDirectory("selfPlay").toFile();
+        directory.deleteOnExit();
+        SelfPlayGenerator generator = new SelfPlayGenerator(GameType.LoveLetter, null, 3, 2);
+        try {
+            SelfPlayGenerator.Batch batch = generator.start(new RandomPlayer(), 7, 3, 42, shard -> {
+                StateFeatureListener listener = new StateFeatureListener(new LLStateFeaturesReduced(),
+                        Event.GameEvent.TURN_OVER, false);
+                listener.setLogger(new FileStatsLogger("State_" + shard + ".txt", "\t", false));
+                listener.setOutputDirectory(directory.getPath());
+                return List.<IGameListener>of(listener);
+            });
+            assertEquals(3, batch.shards());
+
+            List<Integer> completed = batch.awaitCompletion();
+            assertEquals(Set.of(0, 1, 2), new HashSet<>(completed));
+            int[] expectedGames = {3, 3, 1};
+            for (int shard = 0; shard < 3; shard++) {
+                File file = new File(directory, "State_" + shard + ".txt");
+                file.deleteOnExit();
+                Pair<List<String>, List<List<String>>> data = Utils.loadDataWithHeader("\t", file.getPath());
+                int gameIDColumn = data.a.indexOf("GameID");
+                long games = data.b.stream().map(row -> row.get(gameIDColumn)).distinct().count();
+                assertEquals(expectedGames[shard], games);
+            }
+        } finally {
+            generator.shutdown();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package evaluation;
+
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.MetricsGameListener;
+import evaluation.metrics.AbstractMetric;
+import evaluation.metrics.GameMetrics;
+import evaluation.metrics.IDataLogger;
+import evaluation.metrics.streaming.BoundedCounter;
+import evaluation.metrics.streaming.QuantileSketch;
+import evaluation.metrics.streaming.StreamingDataLogger;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class StreamingDataLoggerTest {
+
+    @Test
+    public void quantileSketchIsAccurateInBoundedMemory() {
+        QuantileSketch sketch = new QuantileSketch(100);
+        Random rnd = new Random(42);
+        for (int i = 0; i < 200000; i++)
+            sketch.add(rnd.nextDouble());
+        assertEquals(200000, sketch.size());
+        assertTrue(sketch.centroidCount() <= 200);
+        assertEquals(0.5, sketch.quantile(0.5), 0.01);
+        assertEquals(0.05, sketch.quantile(0.05), 0.005);
+        assertEquals(0.99, sketch.quantile(0.99), 0.002);
+    }
+
+    @Test
+    public void boundedCounterKeepsHeavyHitters() {
+        BoundedCounter counter = new BoundedCounter(10);
+        for (int i = 0; i < 1000; i++) {
+            counter.add("Common");
+            counter.add("Rare" + i);
+        }
+        assertEquals(10, counter.tracked());
+        assertEquals(2000, counter.total());
+        assertTrue(counter.isApproximate());
+        assertEquals("Common", counter.values().get(0));
+        assertTrue(counter.count("Common") >= 1000);
+        assertTrue(counter.count("Common") - counter.error("Common") <= 1000);
+    }
+
+    @Test
+    public void streamingSummaryMatchesScores() throws IOException {
+        AbstractMetric metric = new GameMetrics.FinalScore();
+        MetricsGameListener listener = new MetricsGameListener(IDataLogger.ReportDestination.ToConsole,
+                new IDataLogger.ReportType[]{IDataLogger.ReportType.Summary}, new AbstractMetric[]{metric},
+                new String[]{StreamingDataLogger.class.getName()});
+        StreamingDataLogger logger = (StreamingDataLogger) metric.getDataLogger();
+
+        Game game = GameType.LoveLetter.createGameInstance(3, 42);
+        game.addListener(listener);
+        listener.init(game, 3, Set.of("Random"));
+        double total = 0;
+        for (int i = 0; i < 10; i++) {
+            List<AbstractPlayer> players = new ArrayList<>();
+            for (int p = 0; p < 3; p++)
+                players.add(new RandomPlayer(new Random(p + 10L * i)));
+            game.reset(players, 100 + i);
+            game.run();
+            total += game.getGameState().getGameScore(0);
+        }
+        assertEquals(10, logger.getRows());
+        assertEquals(10, logger.getCount("Player-0"));
+        assertEquals(total / 10, logger.getMean("Player-0"), 1e-9);
+        assertTrue(logger.getMin("Player-0") <= logger.getQuantile("Player-0", 0.5));
+        assertTrue(logger.getQuantile("Player-0", 0.5) <= logger.getMax("Player-0"));
+        assertEquals(10, logger.getCategoryCount("PlayerName-0", game.getPlayers().get(0).toString()));
+        listener.report();
+
+        File folder = Files.createTempDirectory("streamingPlots").toFile();
+        logger.getDefaultProcessor().processPlotToFile(logger, folder.getPath());
+        File plots = new File(folder, "plots/" + metric.getName());
+        assertTrue(new File(plots, "Player-0.html").exists());
+        assertTrue(new File(plots, "PlayerName-0.html").exists());
+    }
+}
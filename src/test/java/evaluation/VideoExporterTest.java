@@ -0,0 +1,50 @@
+package evaluation;
+
+import core.AbstractPlayer;
+import core.Game;
+import evaluation.listeners.GameTraceListener;
+import evaluation.replay.VideoExporter;
+import games.GameType;
+import org.junit.Test;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VideoExporterTest {
+
+    @Test
+    public void eachRecordedGameIsExportedToItsOwnVideo() throws IOException {
+        File directory = Files.createTempDirectory("videos").toFile();
+        directory.deleteOnExit();
+        File traceFile = new File(directory, "games.bin");
+        traceFile.deleteOnExit();
+
+        GameTraceListener traceListener = new GameTraceListener(traceFile.getPath());
+        Game game = GameType.TicTacToe.createGameInstance(2, 42);
+        game.addListener(traceListener);
+        for (int i = 0; i < 2; i++) {
+            List<AbstractPlayer> players = new ArrayList<>();
+            for (int p = 0; p < 2; p++)
+                players.add(new RandomPlayer(new Random(p + 10L * i)));
+            game.reset(players, 100 + i);
+            game.run();
+        }
+        traceListener.report();
+
+        VideoExporter exporter = new VideoExporter(10, 1, 5, "mp4", null, "ultrafast");
+        assertEquals(2, exporter.exportFile(traceFile.getPath(), directory.getPath()));
+        for (int i = 0; i < 2; i++) {
+            File video = new File(directory, String.format("games_%03d.mp4", i));
+            video.deleteOnExit();
+            assertTrue(video.exists());
+            assertTrue(video.length() > 0);
+        }
+    }
+}
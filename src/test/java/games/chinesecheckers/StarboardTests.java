@@ -3,6 +3,7 @@ package games.chinesecheckers;
 import core.Game;
 import games.GameType;
 import games.chinesecheckers.components.Peg;
+import games.chinesecheckers.components.StarBoard;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -152,4 +153,18 @@ public class StarboardTests {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void copyIsEqualAndIndependent() {
+        StarBoard board = state.getStarBoard();
+        StarBoard copy = board.copy();
+        assertEquals(board, copy);
+        assertEquals(board.hashCode(), copy.hashCode());
+
+        copy.movePeg(6, 15);
+        assertNotEquals(board, copy);
+        assertTrue(board.isOccupied(6));
+        assertFalse(board.isOccupied(15));
+        assertEquals(board.getPegColour(6), copy.getBoardNodes().get(15).getOccupiedPeg().getColour());
+    }
+}
@@ -0,0 +1,87 @@
+package games.dominion;
+
+import core.AbstractPlayer;
+import core.Game;
+import games.GameType;
+import games.dominion.DominionConstants.DeckType;
+import games.dominion.cards.CardMultiset;
+import games.dominion.cards.CardType;
+import games.dominion.cards.DominionCard;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static games.dominion.cards.CardType.*;
+import static org.junit.Assert.*;
+
+public class TestCardMultiset {
+
+    List<AbstractPlayer> players = Arrays.asList(new TestPlayer(), new TestPlayer(), new TestPlayer());
+
+    Game game = new Game(GameType.Dominion, players, new DominionForwardModel(), new DominionGameState(new DominionFGParameters(), players.size()));
+    DominionGameState state = (DominionGameState) game.getGameState();
+
+    @Test
+    public void drawingEmptiesTheMultiset() {
+        CardMultiset cards = new CardMultiset();
+        for (int i = 0; i < 7; i++) cards.add(DominionCard.create(COPPER));
+        for (int i = 0; i < 3; i++) cards.add(DominionCard.create(ESTATE));
+        CardMultiset copy = cards.copy();
+        assertEquals(10, cards.size());
+
+        Random rnd = new Random(3);
+        int coppers = 0;
+        while (!cards.isEmpty()) {
+            if (cards.draw(rnd).cardType() == COPPER) coppers++;
+        }
+        assertEquals(7, coppers);
+        assertNull(cards.draw(rnd));
+
+        // the copy is unaffected
+        assertEquals(7, copy.count(COPPER));
+        assertEquals(3, copy.count(ESTATE));
+        assertTrue(copy.remove(ESTATE));
+        assertFalse(copy.remove(GOLD));
+        assertEquals(9, copy.size());
+    }
+
+    @Test
+    public void hiddenCardCountsArePreservedInCopies() {
+        state.addCard(CardType.WITCH, 1, DeckType.HAND);
+        state.addCard(CardType.GOLD, 1, DeckType.DRAW);
+        CardMultiset unknown = state.getUnknownCards(1, 0, true);
+        assertEquals(state.getDeck(DeckType.HAND, 1).getSize() + state.getDeck(DeckType.DRAW, 1).getSize(), unknown.size());
+        assertEquals(1, unknown.count(WITCH));
+
+        for (int i = 0; i < 20; i++) {
+            DominionGameState copy = (DominionGameState) state.copy(0);
+            assertEquals(unknown, copy.getUnknownCards(1, 0, true));
+            assertEquals(state.getDeck(DeckType.HAND, 1).getSize(), copy.getDeck(DeckType.HAND, 1).getSize());
+            // our own hand is fully visible to us, so is unchanged
+            assertEquals(state.getDeck(DeckType.HAND, 0), copy.getDeck(DeckType.HAND, 0));
+        }
+    }
+
+    @Test
+    public void hiddenCardsAreDealtWhenFirstUsed() {
+        state.addCard(CardType.GARDENS, 1, DeckType.DRAW);
+        DominionGameState copy = (DominionGameState) state.copy(0);
+        assertNotNull(copy.hiddenPiles[1]);
+        // totals do not depend on how the hidden cards are dealt, so do not deal them
+        assertEquals(state.getGameScore(1), copy.getGameScore(1), 0.0);
+        assertEquals(state.getTotalCards(1), copy.getTotalCards(1));
+        assertEquals(1, copy.cardsOfType(GARDENS, 1, DeckType.ALL));
+        assertNotNull(copy.hiddenPiles[1]);
+
+        // a copy of the copy shares the undealt decks
+        DominionGameState copyOfCopy = (DominionGameState) copy.copy();
+        assertSame(copy.hiddenPiles[1].drawPile, copyOfCopy.hiddenPiles[1].drawPile);
+        assertEquals(state.getDeck(DeckType.HAND, 1).getSize(), copyOfCopy.getDeck(DeckType.HAND, 1).getSize());
+        assertNull(copyOfCopy.hiddenPiles[1]);
+        assertNotNull(copy.hiddenPiles[1]);
+        assertEquals(state.getUnknownCards(1, 0, true), copyOfCopy.getUnknownCards(1, 0, true));
+        assertEquals(state.getDeck(DeckType.DRAW, 1).getSize(), copyOfCopy.getDeck(DeckType.DRAW, 1).getSize());
+    }
+}
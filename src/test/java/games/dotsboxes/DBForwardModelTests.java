@@ -0,0 +1,84 @@
+package games.dotsboxes;
+
+import core.Game;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.Vector2D;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DBForwardModelTests {
+
+    DBForwardModel fm = new DBForwardModel();
+    DBParameters params;
+    DBGameState state;
+
+    @Before
+    public void setup() {
+        params = new DBParameters();
+        params.setParameterValue("gridWidth", 2);
+        params.setParameterValue("gridHeight", 2);
+        Game game = GameType.DotsAndBoxes.createGameInstance(2, params);
+        state = (DBGameState) game.getGameState();
+    }
+
+    private AddGridCellEdge edge(int x1, int y1, int x2, int y2) {
+        return new AddGridCellEdge(new DBEdge(new Vector2D(x1, y1), new Vector2D(x2, y2)));
+    }
+
+    @Test
+    public void completingABoxScoresAndKeepsTheTurn() {
+        assertEquals(12, fm.computeAvailableActions(state).size());
+        fm.next(state, edge(0, 0, 1, 0));
+        fm.next(state, edge(0, 0, 0, 1));
+        fm.next(state, edge(1, 0, 1, 1));
+        assertEquals(1, state.getCurrentPlayer());
+        assertEquals(9, fm.computeAvailableActions(state).size());
+
+        fm.next(state, edge(1, 1, 0, 1));  // given in the other direction
+        assertEquals(1, state.getGameScore(1), 0.0);
+        assertEquals(1, state.getCurrentPlayer());
+        assertEquals(1, state.getCellOwner(new DBCell(0, 0)));
+        assertEquals(1, state.countCompleteEdges(new DBCell(1, 0)));
+        assertFalse(fm.computeAvailableActions(state).contains(edge(0, 1, 1, 1)));
+    }
+
+    @Test
+    public void threeBoxesAreAvoidedUntilTheyAreTheOnlyMove() {
+        params.setParameterValue("disallowThreeBoxCreationUntilMove", 100);
+        fm.setup(state);
+        fm.next(state, edge(0, 0, 1, 0));
+        fm.next(state, edge(0, 0, 0, 1));
+        // now the other two edges of cell (0, 0) would each give it a third side
+        List<AbstractAction> actions = fm.computeAvailableActions(state);
+        assertEquals(8, actions.size());
+        assertFalse(actions.contains(edge(1, 0, 1, 1)));
+        assertFalse(actions.contains(edge(0, 1, 1, 1)));
+
+        // and when every edge would create a three-box, all are allowed
+        while (state.isNotTerminal()) {
+            List<AbstractAction> available = fm.computeAvailableActions(state);
+            assertFalse(available.isEmpty());
+            fm.next(state, available.get(0));
+        }
+        assertEquals(4, state.getGameScore(0) + state.getGameScore(1), 0.0);
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        fm.next(state, edge(0, 0, 1, 0));
+        DBGameState copy = (DBGameState) state.copy();
+        assertEquals(state, copy);
+        assertEquals(state.hashCode(), copy.hashCode());
+
+        fm.next(copy, edge(0, 0, 0, 1));
+        assertNotEquals(state, copy);
+        assertEquals(-1, state.getEdgeOwner(new DBEdge(new Vector2D(0, 0), new Vector2D(0, 1))));
+        assertEquals(11, fm.computeAvailableActions(state).size());
+        assertEquals(10, fm.computeAvailableActions(copy).size());
+    }
+}
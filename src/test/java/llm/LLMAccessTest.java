@@ -0,0 +1,92 @@
+package llm;
+
+import llm.LLMAccess.LLM_MODEL;
+import llm.LLMAccess.LLM_SIZE;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LLMAccessTest {
+
+    private static void delete(File directory) throws IOException {
+        try (var paths = Files.walk(directory.toPath())) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    @Test
+    public void repeatedPromptsAreAnsweredFromTheCache() throws IOException {
+        File directory = Files.createTempDirectory("llmCache").toFile();
+        try {
+            checkCache(directory);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private void checkCache(File directory) {
+        AtomicInteger calls = new AtomicInteger();
+        LLMAccess llm = new LLMAccess(LLM_MODEL.MISTRAL, LLM_SIZE.SMALL, null);
+        llm.setCache(directory.getPath());
+        llm.setResponder((query, model, size) -> {
+            calls.incrementAndGet();
+            return "Reply to " + query + " from " + model + " " + size;
+        });
+
+        assertEquals("Reply to Hello from MISTRAL SMALL", llm.getResponse("Hello"));
+        assertEquals("Reply to Hello from MISTRAL SMALL", llm.getResponse("Hello"));
+        assertEquals(1, calls.get());
+        assertEquals("Reply to Hello from MISTRAL LARGE", llm.getResponse("Hello", LLM_MODEL.MISTRAL, LLM_SIZE.LARGE));
+        assertEquals(2, calls.get());
+
+        // a new run, with no model at all, can repeat the same prompts from the files
+        LLMAccess offline = new LLMAccess(LLM_MODEL.MISTRAL, LLM_SIZE.SMALL, null);
+        offline.setCache(directory.getPath());
+        offline.setOffline(true);
+        offline.setResponder((query, model, size) -> {
+            throw new AssertionError("Should not be called offline");
+        });
+        assertEquals("Reply to Hello from MISTRAL SMALL", offline.getResponse("Hello"));
+        assertEquals("No reply available", offline.getResponse("Hello", LLM_MODEL.OPENAI, LLM_SIZE.SMALL));
+        assertEquals("No reply available", offline.getResponse("Goodbye"));
+    }
+
+    @Test
+    public void batchKeepsOrderAndBoundsRequestsInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        LLMAccess llm = new LLMAccess(LLM_MODEL.GEMINI, LLM_SIZE.SMALL, null);
+        llm.setResponder((query, model, size) -> {
+            calls.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return query.toUpperCase();
+        });
+
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < 12; i++)
+            queries.add("prompt " + (i % 9));
+        List<String> responses = llm.getResponses(queries, 3);
+        assertEquals(queries.size(), responses.size());
+        for (int i = 0; i < queries.size(); i++)
+            assertEquals(queries.get(i).toUpperCase(), responses.get(i));
+        assertEquals(9, calls.get());
+        assertTrue(maxInFlight.get() <= 3);
+        assertTrue(maxInFlight.get() > 1);
+    }
+}
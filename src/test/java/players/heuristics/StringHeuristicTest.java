@@ -0,0 +1,76 @@
+package players.heuristics;
+
+import core.AbstractGameState;
+import core.Game;
+import games.GameType;
+import org.junit.Test;
+import utilities.Pair;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class StringHeuristicTest {
+
+    private File writeSource(String body) throws IOException {
+        File file = File.createTempFile("Heuristic", ".java");
+        file.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("import core.AbstractGameState;");
+            writer.println("public class Anything {");
+            writer.println("    public double evaluateState(AbstractGameState gameState, int playerId) {");
+            writer.println("        " + body);
+            writer.println("    }");
+            writer.println("}");
+        }
+        return file;
+    }
+
+    @Test
+    public void compiledInMemoryAndCalledDirectly() throws IOException {
+        File file = writeSource("return 0.25 + playerId;");
+        StringHeuristic heuristic = new StringHeuristic(file.getPath(), "InMemoryHeuristic");
+        AbstractGameState state = GameType.TicTacToe.createGameInstance(2, 42).getGameState();
+        assertEquals(0.25, heuristic.evaluateState(state, 0), 1e-9);
+        assertEquals(1.25, heuristic.evaluateState(state, 1), 1e-9);
+        assertFalse(new File("InMemoryHeuristic.class").exists());
+    }
+
+    @Test
+    public void exceptionsFromTheHeuristicAreNotWrapped() throws IOException {
+        File file = writeSource("throw new IllegalStateException(\"from the heuristic\");");
+        StringHeuristic heuristic = new StringHeuristic(file.getPath(), "ThrowingHeuristic");
+        AbstractGameState state = GameType.TicTacToe.createGameInstance(2, 42).getGameState();
+        try {
+            heuristic.evaluateState(state, 0);
+            fail("Expected the heuristic's exception");
+        } catch (IllegalStateException e) {
+            assertEquals("from the heuristic", e.getMessage());
+        }
+    }
+
+    @Test
+    public void batchOfCandidatesWithTheSameClassName() throws IOException {
+        File first = writeSource("return 0.1;");
+        File broken = writeSource("return undefinedVariable;");
+        File second = writeSource("return 0.2;");
+        Map<String, Pair<String, String>> files = new LinkedHashMap<>();
+        files.put("First", Pair.of(first.getPath(), "Candidate"));
+        files.put("Broken", Pair.of(broken.getPath(), "Candidate"));
+        files.put("Second", Pair.of(second.getPath(), "Candidate"));
+        files.put("SecondAgain", Pair.of(second.getPath(), "Candidate"));  // two agents can use the same file
+
+        Map<String, StringHeuristic> heuristics = StringHeuristic.loadAll(files, 2);
+        assertEquals(List.of("First", "Second", "SecondAgain"), new ArrayList<>(heuristics.keySet()));
+        Game game = GameType.TicTacToe.createGameInstance(2, 42);
+        assertEquals(0.1, heuristics.get("First").evaluateState(game.getGameState(), 0), 1e-9);
+        assertEquals(0.2, heuristics.get("Second").evaluateState(game.getGameState(), 0), 1e-9);
+        assertEquals(0.2, heuristics.get("SecondAgain").evaluateState(game.getGameState(), 0), 1e-9);
+    }
+}
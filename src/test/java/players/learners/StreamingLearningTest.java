@@ -0,0 +1,241 @@
+package players.learners;
+
+import core.AbstractGameState;
+import core.CoreConstants.VisibilityMode;
+import core.interfaces.IStateFeatureVector;
+import evaluation.features.AutomatedFeatures;
+import evaluation.loggers.ColumnarStatsLogger;
+import evaluation.loggers.DataChunkReader;
+import org.junit.Test;
+import players.heuristics.GLMHeuristic;
+import players.heuristics.LinearStateHeuristic;
+import players.heuristics.LogisticStateHeuristic;
+import utilities.Pair;
+import utilities.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class StreamingLearningTest {
+
+    public static class TestFeatures implements IStateFeatureVector {
+        @Override
+        public double[] doubleVector(AbstractGameState state, int playerID) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String[] names() {
+            return new String[]{"count", "mode"};
+        }
+
+        @Override
+        public Class<?>[] types() {
+            return new Class<?>[]{Integer.class, VisibilityMode.class};
+        }
+    }
+
+    // rows of x = (1, x1, x2), with y = beta.x (plus noise if required)
+    private StreamingGLM.DataPass syntheticData(int rows, double[] beta, boolean logistic) {
+        return consumer -> {
+            Random rnd = new Random(42);
+            double[] x = new double[3];
+            for (int i = 0; i < rows; i++) {
+                x[0] = 1.0;
+                x[1] = rnd.nextGaussian();
+                x[2] = rnd.nextInt(5);
+                double eta = StreamingGLM.dot(beta, x);
+                double y = logistic ? (rnd.nextDouble() < 1.0 / (1.0 + Math.exp(-eta)) ? 1.0 : 0.0) : eta;
+                consumer.accept(x, y);
+            }
+        };
+    }
+
+    @Test
+    public void olsRecoversExactCoefficients() {
+        double[] beta = {0.5, -2.0, 0.25};
+        StreamingGLM.Fit fit = new StreamingGLM(StreamingGLM.Family.GAUSSIAN, 0.0)
+                .fit(3, syntheticData(1000, beta, false));
+        assertEquals(1000, fit.rows());
+        assertArrayEquals(beta, fit.coefficients(), 1e-9);
+        assertEquals(0.0, fit.deviance(), 1e-9);
+    }
+
+    @Test
+    public void regularisationShrinksCoefficients() {
+        double[] beta = {0.5, -2.0, 0.25};
+        StreamingGLM.Fit fit = new StreamingGLM(StreamingGLM.Family.GAUSSIAN, 0.5)
+                .fit(3, syntheticData(1000, beta, false));
+        assertTrue(Math.abs(fit.coefficients()[1]) < 2.0);
+        assertTrue(Math.abs(fit.coefficients()[1]) > 1.0);
+    }
+
+    @Test
+    public void logisticRecoversCoefficients() {
+        double[] beta = {-0.5, 1.0, 0.3};
+        StreamingGLM.Fit fit = new StreamingGLM(StreamingGLM.Family.BINOMIAL, 0.0)
+                .fit(3, syntheticData(50000, beta, true));
+        assertArrayEquals(beta, fit.coefficients(), 0.05);
+        assertTrue(fit.iterations() > 1);
+        assertTrue(fit.aic() > 0.0);
+    }
+
+    public static class NumericFeatures implements IStateFeatureVector {
+        @Override
+        public double[] doubleVector(AbstractGameState state, int playerID) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String[] names() {
+            return new String[]{"a", "b"};
+        }
+    }
+
+    // 500 rows of processed data, with features a and b
+    private File processedData() throws IOException {
+        File data = File.createTempFile("data", ".txt");
+        data.deleteOnExit();
+        Random rnd = new Random(11);
+        try (PrintWriter writer = new PrintWriter(data)) {
+            writer.println("GameID\tPlayer\tTurn\tTotalTurns\tPlayerCount\tCurrentScore\tWin\tFinalScore\ta\tb");
+            for (int i = 0; i < 500; i++) {
+                double a = rnd.nextGaussian(), b = rnd.nextInt(4);
+                double score = 1.0 + 2.0 * a - 0.5 * b + rnd.nextGaussian() * 0.1;
+                int win = rnd.nextDouble() < 1.0 / (1.0 + Math.exp(-a)) ? 1 : 0;
+                writer.println(i + "\t0\t" + (i % 20) + "\t20\t2\t0\t" + win + "\t" + score + "\t" + a + "\t" + b);
+            }
+        }
+        return data;
+    }
+
+    @Test
+    public void nativeLearnersMatchStreamedFit() throws IOException {
+        File data = processedData();
+
+        AbstractLearner ols = new NativeOLSLearner(1.0, 0.1, AbstractLearner.Target.SCORE, new NumericFeatures());
+        GLMHeuristic inMemory = (GLMHeuristic) ols.learnFrom(data.getPath());
+        assertTrue(inMemory instanceof LinearStateHeuristic);
+        assertEquals(500, ols.getRowCount());
+        GLMHeuristic streamed = (GLMHeuristic) ols.learnFromStream(data.getPath());
+        assertArrayEquals(streamed.coefficients(), inMemory.coefficients(), 1e-9);
+        assertEquals(streamed.getAIC(), inMemory.getAIC(), 1e-6);
+
+        AbstractLearner logistic = new NativeLogisticLearner(1.0, 0.1, AbstractLearner.Target.WIN, new NumericFeatures());
+        inMemory = (GLMHeuristic) logistic.learnFrom(data.getPath());
+        assertTrue(inMemory instanceof LogisticStateHeuristic);
+        streamed = (GLMHeuristic) logistic.learnFromStream(data.getPath());
+        assertArrayEquals(streamed.coefficients(), inMemory.coefficients(), 1e-9);
+        assertTrue(inMemory.coefficients()[1] > 0.0);
+    }
+
+    @Test
+    public void expandedRowsMatchProcessedData() throws IOException {
+        File raw = File.createTempFile("raw", ".txt");
+        File processed = File.createTempFile("processed", ".txt");
+        raw.deleteOnExit();
+        processed.deleteOnExit();
+        Random rnd = new Random(7);
+        try (PrintWriter writer = new PrintWriter(raw)) {
+            writer.println("GameID\tcount\tmode\tWin");
+            for (int i = 0; i < 200; i++) {
+                VisibilityMode mode = VisibilityMode.values()[rnd.nextInt(VisibilityMode.values().length)];
+                writer.println(i + "\t" + rnd.nextInt(20) + "\t" + mode.name() + "\t" + rnd.nextInt(2));
+            }
+        }
+
+        AutomatedFeatures asf = new AutomatedFeatures(new TestFeatures());
+        asf.setBuckets(0, 3);
+        asf.processData(true, processed.getPath(), 0, raw.getPath());
+        asf.addInteraction(0, 1);
+        asf.processData(false, processed.getPath(), 0, raw.getPath());
+        String[] names = asf.names();
+
+        Pair<List<String>, List<List<String>>> expected = Utils.loadDataWithHeader("\t", processed.getPath());
+        try (DataChunkReader reader = new DataChunkReader(3, "\t", raw.getPath())) {
+            int[] columns = asf.underlyingColumns(reader.getHeader());
+            double[] values = new double[names.length];
+            int row = 0;
+            List<String[]> chunk;
+            while ((chunk = reader.nextChunk()) != null) {
+                assertTrue(chunk.size() <= 3);
+                for (String[] data : chunk) {
+                    asf.expandRow(data, columns, values, 0);
+                    for (int i = 0; i < names.length; i++) {
+                        String value = expected.b.get(row).get(expected.a.indexOf(names[i]));
+                        assertEquals(names[i] + " in row " + row, Double.parseDouble(value), values[i], 1e-9);
+                    }
+                    row++;
+                }
+            }
+            assertEquals(200, row);
+        }
+    }
+
+    @Test
+    public void streamedFitMatchesSpark() throws IOException {
+        File data = processedData();
+
+        AbstractLearner ols = new OLSLearner(1.0, 0.1, AbstractLearner.Target.SCORE, new NumericFeatures());
+        GLMHeuristic spark = (GLMHeuristic) ols.learnFrom(data.getPath());
+        GLMHeuristic streamed = (GLMHeuristic) ols.learnFromStream(data.getPath());
+        assertArrayEquals(spark.coefficients(), streamed.coefficients(), 1e-8);
+        assertEquals(spark.getAIC(), streamed.getAIC(), 1e-8 * Math.abs(spark.getAIC()));
+
+        AbstractLearner logistic = new LogisticLearner(1.0, 0.1, AbstractLearner.Target.WIN, new NumericFeatures());
+        spark = (GLMHeuristic) logistic.learnFrom(data.getPath());
+        streamed = (GLMHeuristic) logistic.learnFromStream(data.getPath());
+        // both stop iterating once no coefficient changes by more than 1e-6
+        assertArrayEquals(spark.coefficients(), streamed.coefficients(), 1e-6);
+        assertEquals(spark.getAIC(), streamed.getAIC(), 1e-6 * Math.abs(spark.getAIC()));
+    }
+
+    @Test
+    public void learnersWithoutAStreamedFitBufferTheRows() throws IOException {
+        File data = processedData();
+        AbstractLearner tree = new DecisionTreeLearner(1.0, AbstractLearner.Target.SCORE, new NumericFeatures());
+        assertNotNull(tree.learnFromStream(data.getPath()));
+        assertEquals(500, tree.getRowCount());
+    }
+
+    @Test
+    public void trailingEmptyFieldsAreRead() throws IOException {
+        File data = File.createTempFile("data", ".txt");
+        data.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(data)) {
+            writer.println("a\tb\tc");
+            writer.println("1\t2\t");
+            writer.println("1\t\t");
+        }
+        try (DataChunkReader reader = new DataChunkReader(10, "\t", data.getPath())) {
+            List<String[]> rows = reader.nextChunk();
+            assertEquals(2, rows.size());
+            assertArrayEquals(new String[]{"1", "", ""}, rows.get(1));
+        }
+    }
+
+    @Test
+    public void binaryDataGivesTheSameFitAsText() throws IOException {
+        File text = processedData();
+        File binary = File.createTempFile("data", ".bin");
+        binary.deleteOnExit();
+        Pair<List<String>, List<List<String>>> rows = Utils.loadDataWithHeader("\t", text.getPath());
+        List<List<Object>> values = new ArrayList<>();
+        for (List<String> row : rows.b)
+            values.add(row.stream().map(v -> (Object) Double.parseDouble(v)).toList());
+        ColumnarStatsLogger.writeDataWithHeader(rows.a, values, binary.getPath());
+
+        AbstractLearner ols = new NativeOLSLearner(1.0, 0.1, AbstractLearner.Target.SCORE, new NumericFeatures());
+        GLMHeuristic fromText = (GLMHeuristic) ols.learnFromStream(text.getPath());
+        GLMHeuristic fromBinary = (GLMHeuristic) ols.learnFromStream(binary.getPath());
+        assertArrayEquals(fromText.coefficients(), fromBinary.coefficients(), 1e-12);
+        // and a mix of the two, loaded into memory
+        GLMHeuristic fromBoth = (GLMHeuristic) ols.learnFrom(text.getPath(), binary.getPath());
+        assertEquals(1000, ols.getRowCount());
+        assertArrayEquals(fromText.coefficients(), fromBoth.coefficients(), 1e-6);
+    }
+}
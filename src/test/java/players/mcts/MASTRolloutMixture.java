@@ -53,8 +53,10 @@ public class MASTRolloutMixture {
         node.updateMASTStatistics(actions, new ArrayList<>(), new double[]{1.0});
         node.updateMASTStatistics(actions, new ArrayList<>(), new double[]{2.0});
 
-        assertEquals(new Pair<>(2, 3.0), node.MASTStatistics.get(0).get(new LMRAction("Left")));
-        assertNull(node.MASTStatistics.get(0).get(new LMRAction("Middle")));
+        long left = MASTTable.keyOf(null, new LMRAction("Left"));
+        assertEquals(2, node.MASTStatistics.get(0).visits(left));
+        assertEquals(3.0, node.MASTStatistics.get(0).total(left), 0.001);
+        assertFalse(node.MASTStatistics.get(0).contains(MASTTable.keyOf(null, new LMRAction("Middle"))));
 
         // Now check that the rollout policy uses the MAST statistics
         assertEquals(1.5, rolloutPlayer.valueOf(new LMRAction("Left"), game), 0.001);
@@ -87,8 +89,10 @@ public class MASTRolloutMixture {
         node.updateMASTStatistics(actions, new ArrayList<>(), new double[]{1.0});
         node.updateMASTStatistics(actions, new ArrayList<>(), new double[]{2.0});
 
-        assertEquals(new Pair<>(2, 3.0), node.MASTStatistics.get(0).get(new LMRAction("Left")));
-        assertNull(node.MASTStatistics.get(0).get(new LMRAction("Middle")));
+        long left = MASTTable.keyOf(null, new LMRAction("Left"));
+        assertEquals(2, node.MASTStatistics.get(0).visits(left));
+        assertEquals(3.0, node.MASTStatistics.get(0).total(left), 0.001);
+        assertFalse(node.MASTStatistics.get(0).contains(MASTTable.keyOf(null, new LMRAction("Middle"))));
 
         // Now check that the rollout policy uses the MAST statistics
         assertEquals(1.5, rolloutPlayer.valueOf(new LMRAction("Left"), game), 0.001);
@@ -127,8 +131,10 @@ public class MASTRolloutMixture {
         node.updateMASTStatistics(actions, new ArrayList<>(), new double[]{1.0});
         node.updateMASTStatistics(actions, new ArrayList<>(), new double[]{2.0});
 
-        assertEquals(new Pair<>(2, 3.0), node.MASTStatistics.get(0).get(new LMRAction("Left")));
-        assertNull(node.MASTStatistics.get(0).get(new LMRAction("Middle")));
+        long left = MASTTable.keyOf(null, new LMRAction("Left"));
+        assertEquals(2, node.MASTStatistics.get(0).visits(left));
+        assertEquals(3.0, node.MASTStatistics.get(0).total(left), 0.001);
+        assertFalse(node.MASTStatistics.get(0).contains(MASTTable.keyOf(null, new LMRAction("Middle"))));
 
         // Now check that the rollout policy uses the MAST statistics
         assertEquals((1.5 + 47.0) / 2.0, rolloutPlayer.valueOf(new LMRAction("Left"), game), 0.001);
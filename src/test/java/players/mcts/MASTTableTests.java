@@ -0,0 +1,94 @@
+package players.mcts;
+
+import core.AbstractGameState;
+import core.actions.AbstractAction;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MASTTableTests {
+
+    @Test
+    public void statisticsSurviveResizing() {
+        MASTTable table = new MASTTable();
+        for (long key = 0; key < 1000; key++) {
+            table.update(key, key);
+            table.update(key, 1.0);
+        }
+        assertEquals(1000, table.size());
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(2, table.visits(key));
+            assertEquals(key + 1.0, table.total(key), 0.001);
+        }
+        assertFalse(table.contains(1000));
+        assertEquals(-3.0, table.mean(1000, -3.0), 0.001);
+        assertEquals(table, table.copy());
+    }
+
+    @Test
+    public void decayMatchesUtilsDecay() {
+        MASTTable table = new MASTTable();
+        for (int i = 0; i < 10; i++)
+            table.update(7, 2.0);
+        table.update(8, 5.0);
+        MASTTable decayed = table.decay(0.5);
+        assertEquals(5, decayed.visits(7));
+        assertEquals(10.0, decayed.total(7), 0.001);
+        assertFalse(decayed.contains(8));  // decays to zero visits
+        assertEquals(10, table.visits(7));  // original unchanged
+    }
+
+    // two unequal actions with the same hashCode
+    private static class CollidingAction extends AbstractAction {
+        final String name;
+
+        CollidingAction(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean execute(AbstractGameState gs) {
+            return true;
+        }
+
+        @Override
+        public CollidingAction copy() {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CollidingAction other && other.name.equals(name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public String getString(AbstractGameState gameState) {
+            return name;
+        }
+    }
+
+    @Test
+    public void unequalActionsWithTheSameKeyAreHeldSeparately() {
+        CollidingAction left = new CollidingAction("Left");
+        CollidingAction right = new CollidingAction("Right");
+        assertEquals(MASTTable.keyOf(null, left), MASTTable.keyOf(null, right));
+        MASTTable table = new MASTTable();
+        for (int i = 0; i < 20; i++) {  // enough to resize the table
+            table.update(null, left, 1.0);
+            table.update(null, right, -1.0);
+            table.update(i, 0.0);
+        }
+        assertEquals(1.0, table.mean(null, new CollidingAction("Left"), 0.0), 0.001);
+        assertEquals(-1.0, table.mean(null, new CollidingAction("Right"), 0.0), 0.001);
+        assertEquals(5.0, table.mean(null, new CollidingAction("Middle"), 5.0), 0.001);
+        MASTTable decayed = table.decay(0.5);
+        assertEquals(1.0, decayed.mean(null, left, 0.0), 0.001);
+        assertEquals(-1.0, decayed.mean(null, right, 0.0), 0.001);
+        assertEquals(table, table.copy());
+    }
+}
@@ -18,6 +18,7 @@ import java.util.*;
 import java.util.function.Predicate;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class MCGSTests {
@@ -260,4 +261,74 @@ public class MCGSTests {
         assertEquals(0, root.getTranspositionMap().keySet().stream().filter(s -> !((String)s).startsWith("0-")).count());
         assertEquals(33, root.getTranspositionMap().size());
     }
+
+    @Test
+    public void DotsAndBoxesBoundedTranspositionTable() {
+        params.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.MCGS;
+        params.MCGSStateKey = new StateKeyFromFeatureVector(new DBStateFeaturesReduced());
+        params.MCGSTableSize = 64;
+        params.budget = 1000;
+        for (MCTSEnums.TranspositionReplacement policy : MCTSEnums.TranspositionReplacement.values()) {
+            params.MCGSReplacement = policy;
+            Game game = createDotsAndBoxes(params);
+            int evictions = 0;
+            do {
+                int p = game.getGameState().getCurrentPlayer();
+                game.oneAction();
+                if (p == 0) {
+                    MCGSNode root = (MCGSNode) mctsPlayer.getRoot(0);
+                    if (root == null) continue;
+                    MCGSTranspositionTable table = (MCGSTranspositionTable) root.getTranspositionMap();
+                    assertEquals(64, table.capacity());
+                    assertTrue(table.size() <= table.capacity());
+                    assertEquals(root, table.get(params.MCGSStateKey.getKey(root.state)));
+                    evictions += table.getEvictions();
+                    assertEquals(0, root.nonMatchingNodes(actionVisitsAddUp).size());
+                }
+            } while (game.getGameState().isNotTerminal());
+            assertTrue(evictions > 0);
+        }
+    }
+
+    @Test
+    public void staleNodesAreEvictedAfterResetDepth() {
+        params.opponentTreePolicy = MCTSEnums.OpponentTreePolicy.MCGS;
+        params.MCGSStateKey = new StateKeyFromFeatureVector(new DBStateFeaturesReduced());
+        params.MCGSTableSize = MCGSTranspositionTable.WAYS;  // a single bucket
+        params.MCGSReplacement = MCTSEnums.TranspositionReplacement.DEPTH;
+        Game game = createDotsAndBoxes(params);
+        game.oneAction();
+        MCGSNode root = (MCGSNode) mctsPlayer.getRoot(0);
+        MCGSTranspositionTable table = (MCGSTranspositionTable) root.getTranspositionMap();
+        table.clear();
+
+        MCGSNode used = new MCGSNode();
+        MCGSNode stale = new MCGSNode();
+        MCGSNode staleAndShallow = new MCGSNode();
+        root.depth = 0;
+        used.depth = 3;
+        stale.depth = 2;
+        staleAndShallow.depth = 1;
+        table.put("root", root);
+        table.put("used", used);
+        table.put("stale", stale);
+        table.put("staleAndShallow", staleAndShallow);
+
+        root.resetDepth(null);
+        assertEquals(0, table.getLookups());
+        assertEquals(0, table.getHits());
+
+        // only one of the old nodes is reached in the search for the new decision
+        table.nextIteration();
+        assertEquals(used, table.get("used"));
+        table.nextIteration();
+
+        // the deepest node is in use, so the deepest of the stale ones makes way
+        table.put("new", new MCGSNode());
+        assertEquals(1, table.getEvictions());
+        assertTrue(table.containsKey("used"));
+        assertFalse(table.containsKey("stale"));
+        assertTrue(table.containsKey("staleAndShallow"));
+        assertTrue(table.containsKey("root"));
+    }
 }
@@ -0,0 +1,67 @@
+package players.rhea;
+
+import core.AbstractPlayer;
+import core.Game;
+import games.GameType;
+import org.junit.Test;
+import players.PlayerConstants;
+import players.simple.RandomPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class RHEAPlayerTest {
+
+    private List<String> playGame(boolean useMAST, boolean prefixCache, int threads) {
+        RHEAParams params = new RHEAParams();
+        params.setRandomSeed(4231);
+        params.budgetType = PlayerConstants.BUDGET_ITERATIONS;
+        params.budget = 20;
+        params.useMAST = useMAST;
+        params.prefixCache = prefixCache;
+        params.evaluationThreads = threads;
+        List<AbstractPlayer> players = new ArrayList<>();
+        players.add(new RHEAPlayer(params));
+        players.add(new RandomPlayer(new Random(872)));
+        Game game = GameType.Connect4.createGameInstance(players.size(), 42);
+        game.reset(players);
+        game.run();
+        // without the componentID of the board, which differs from game to game
+        return game.getGameState().getHistory().stream()
+                .map(action -> action.toString().replaceAll("gridBoard=\\d+, ", ""))
+                .toList();
+    }
+
+    @Test
+    public void parallelEvaluationDoesNotDependOnTheNumberOfThreads() {
+        for (boolean useMAST : new boolean[]{false, true}) {
+            for (boolean prefixCache : new boolean[]{false, true}) {
+                List<String> twoThreads = playGame(useMAST, prefixCache, 2);
+                assertEquals(twoThreads, playGame(useMAST, prefixCache, 2));
+                assertEquals(twoThreads, playGame(useMAST, prefixCache, 4));
+                // and a sequential game runs with the same options
+                assertFalse(playGame(useMAST, prefixCache, 1).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void evaluationThreadsStopAtTheEndOfTheGame() {
+        playGame(false, true, 3);
+        // the pool is shut down when the game ends, and then its (idle) workers exit
+        long deadline = System.currentTimeMillis() + 5000;
+        while (poolThreads() > 0 && System.currentTimeMillis() < deadline)
+            Thread.onSpinWait();
+        assertEquals(0, poolThreads());
+    }
+
+    private static long poolThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.isAlive() && t.getName().startsWith("ForkJoinPool-"))
+                .count();
+    }
+}